@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.common;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.jcharm.common.CommonUtils;
+
+/**
+ * CommonUtils的UTF8编解码基准测试, 以JDK的String编解码作为基线.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommonUtilsBenchmark {
+
+	private static final String[] ASCII_WORDS = { "id", "name", "order", "2016-10-19", "http://jcharm.github.io/", "status", "PAID", "price", "128.50", "user@example.com", "{\"key\":1}" };
+
+	private static final String[] CJK_WORDS = { "王维", "订单", "已支付", "北京市", "商品描述" };
+
+	/** 负载内容: ascii全部为ASCII字符, mixed约95%为ASCII字符, cjk全部为中文. */
+	@Param({ "ascii", "mixed", "cjk" })
+	public String payload;
+
+	/** 负载的字符数. */
+	@Param({ "32", "512" })
+	public int size;
+
+	private String text;
+
+	private char[] chars;
+
+	private byte[] bytes;
+
+	private byte[] dest;
+
+	private ByteBuffer buffer;
+
+	/**
+	 * 按负载内容生成固定的文本.
+	 */
+	@Setup
+	public void setup() {
+		final Random random = new Random(this.size);
+		final StringBuilder sb = new StringBuilder(this.size + 32);
+		int cjk = 0;
+		while (sb.length() < this.size) {
+			final boolean ascii = "ascii".equals(this.payload) || ("mixed".equals(this.payload) && ((cjk * 20) >= sb.length()));
+			if (ascii) {
+				sb.append(CommonUtilsBenchmark.ASCII_WORDS[random.nextInt(CommonUtilsBenchmark.ASCII_WORDS.length)]).append(' ');
+			} else {
+				final String word = CommonUtilsBenchmark.CJK_WORDS[random.nextInt(CommonUtilsBenchmark.CJK_WORDS.length)];
+				sb.append(word);
+				cjk += word.length();
+			}
+		}
+		this.text = sb.substring(0, this.size);
+		this.chars = this.text.toCharArray();
+		this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+		this.dest = new byte[this.size * 3];
+		this.buffer = ByteBuffer.allocateDirect(this.size * 3);
+	}
+
+	/**
+	 * JDK编码.
+	 *
+	 * @return byte[]
+	 */
+	@Benchmark
+	public byte[] jdkEncode() {
+		return this.text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 编码字符数组为新的字节数组.
+	 *
+	 * @return byte[]
+	 */
+	@Benchmark
+	public byte[] encodeToBytes() {
+		return CommonUtils.encodeUTF8ToBytes(this.chars, 0, this.chars.length);
+	}
+
+	/**
+	 * 编码字符串到已有字节数组.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	public int encodeToArray() {
+		return CommonUtils.encodeUTF8(this.text, this.dest, 0);
+	}
+
+	/**
+	 * 编码字符串到直接内存的ByteBuffer.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	public int encodeToBuffer() {
+		this.buffer.clear();
+		return CommonUtils.encodeUTF8(this.text, this.buffer);
+	}
+
+	/**
+	 * 字符串编码后的字节数.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	public int encodeLength() {
+		return CommonUtils.encodeUTF8Length(this.chars, 0, this.chars.length);
+	}
+
+	/**
+	 * JDK解码.
+	 *
+	 * @return String
+	 */
+	@Benchmark
+	public String jdkDecode() {
+		return new String(this.bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 解码为字符数组.
+	 *
+	 * @return char[]
+	 */
+	@Benchmark
+	public char[] decodeToChars() {
+		return CommonUtils.decodeUTF8ToChars(this.bytes, 0, this.bytes.length);
+	}
+
+	/**
+	 * 解码为字符串.
+	 *
+	 * @return String
+	 */
+	@Benchmark
+	public String decodeToString() {
+		return CommonUtils.decodeUTF8ToString(this.bytes, 0, this.bytes.length);
+	}
+
+}
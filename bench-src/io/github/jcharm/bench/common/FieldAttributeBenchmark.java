@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.common;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.jcharm.bench.convert.SmallBean;
+import io.github.jcharm.common.FieldAttribute;
+
+/**
+ * FieldAttribute与反射读写字段的基准测试, 直接调用getter/setter作为基线.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAttributeBenchmark {
+
+	private SmallBean bean;
+
+	private String name;
+
+	private FieldAttribute<SmallBean, String> attribute;
+
+	private Method getter;
+
+	private Method setter;
+
+	private Field field;
+
+	/**
+	 * 创建FieldAttribute及反射对象.
+	 *
+	 * @throws Exception 反射异常
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.bean = new SmallBean();
+		this.name = "field";
+		this.bean.setName(this.name);
+		this.attribute = FieldAttribute.create(SmallBean.class, "name");
+		this.getter = SmallBean.class.getMethod("getName");
+		this.setter = SmallBean.class.getMethod("setName", String.class);
+		this.field = SmallBean.class.getDeclaredField("name");
+		this.field.setAccessible(true);
+	}
+
+	/**
+	 * 直接调用getter.
+	 *
+	 * @return String
+	 */
+	@Benchmark
+	public String directGet() {
+		return this.bean.getName();
+	}
+
+	/**
+	 * FieldAttribute读取字段.
+	 *
+	 * @return String
+	 */
+	@Benchmark
+	public String attributeGet() {
+		return this.attribute.getFieldValue(this.bean);
+	}
+
+	/**
+	 * Method.invoke调用getter.
+	 *
+	 * @return Object
+	 * @throws Exception 反射异常
+	 */
+	@Benchmark
+	public Object methodGet() throws Exception {
+		return this.getter.invoke(this.bean);
+	}
+
+	/**
+	 * Field.get读取字段.
+	 *
+	 * @return Object
+	 * @throws Exception 反射异常
+	 */
+	@Benchmark
+	public Object fieldGet() throws Exception {
+		return this.field.get(this.bean);
+	}
+
+	/**
+	 * 直接调用setter.
+	 */
+	@Benchmark
+	public void directSet() {
+		this.bean.setName(this.name);
+	}
+
+	/**
+	 * FieldAttribute设置字段.
+	 */
+	@Benchmark
+	public void attributeSet() {
+		this.attribute.setFieldValue(this.bean, this.name);
+	}
+
+	/**
+	 * Method.invoke调用setter.
+	 *
+	 * @throws Exception 反射异常
+	 */
+	@Benchmark
+	public void methodSet() throws Exception {
+		this.setter.invoke(this.bean, this.name);
+	}
+
+	/**
+	 * Field.set设置字段.
+	 *
+	 * @throws Exception 反射异常
+	 */
+	@Benchmark
+	public void fieldSet() throws Exception {
+		this.field.set(this.bean, this.name);
+	}
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.jcharm.common.ObjectPool;
+
+/**
+ * ObjectPool在1到64个线程同时取出及放回对象时的基准测试.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectPoolBenchmark {
+
+	/** 是否按线程缓存对象. */
+	@Param({ "false", "true" })
+	public boolean threadAffine;
+
+	private ObjectPool<StringBuilder> pool;
+
+	/**
+	 * 创建所有线程共用的ObjectPool.
+	 */
+	@Setup
+	public void setup() {
+		this.pool = new ObjectPool<>(null, null, 64, this.threadAffine, (final Object... params) -> new StringBuilder(64), null, (final StringBuilder t) -> {
+			t.setLength(0);
+			return true;
+		});
+	}
+
+	/**
+	 * 单线程.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	@Threads(1)
+	public int threads1() {
+		return this.cycle();
+	}
+
+	/**
+	 * 4个线程.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	@Threads(4)
+	public int threads4() {
+		return this.cycle();
+	}
+
+	/**
+	 * 16个线程.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	@Threads(16)
+	public int threads16() {
+		return this.cycle();
+	}
+
+	/**
+	 * 64个线程.
+	 *
+	 * @return int
+	 */
+	@Benchmark
+	@Threads(64)
+	public int threads64() {
+		return this.cycle();
+	}
+
+	private int cycle() {
+		final StringBuilder sb = this.pool.get();
+		sb.append("jcharm");
+		final int len = sb.length();
+		this.pool.offer(sb);
+		return len;
+	}
+
+}
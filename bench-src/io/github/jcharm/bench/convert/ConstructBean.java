@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.convert;
+
+/**
+ * 只能通过带参构造函数创建的基准测试实体类.
+ */
+public class ConstructBean {
+
+	private final int id;
+
+	private final String name;
+
+	private final double price;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param id int
+	 * @param name String
+	 * @param price double
+	 */
+	public ConstructBean(final int id, final String name, final double price) {
+		this.id = id;
+		this.name = name;
+		this.price = price;
+	}
+
+	/**
+	 * Gets the id.
+	 *
+	 * @return the id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Gets the name.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the price.
+	 *
+	 * @return the price
+	 */
+	public double getPrice() {
+		return this.price;
+	}
+
+}
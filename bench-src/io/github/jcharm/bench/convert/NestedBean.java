@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.convert;
+
+/**
+ * 多层嵌套的基准测试实体类.
+ */
+public class NestedBean {
+
+	private String name;
+
+	private long value;
+
+	private NestedBean child;
+
+	/**
+	 * Gets the name.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Sets the name.
+	 *
+	 * @param name the new name
+	 */
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gets the value.
+	 *
+	 * @return the value
+	 */
+	public long getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Sets the value.
+	 *
+	 * @param value the new value
+	 */
+	public void setValue(final long value) {
+		this.value = value;
+	}
+
+	/**
+	 * Gets the child.
+	 *
+	 * @return the child
+	 */
+	public NestedBean getChild() {
+		return this.child;
+	}
+
+	/**
+	 * Sets the child.
+	 *
+	 * @param child the new child
+	 */
+	public void setChild(final NestedBean child) {
+		this.child = child;
+	}
+
+}
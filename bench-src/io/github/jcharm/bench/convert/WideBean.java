@@ -0,0 +1,491 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.convert;
+
+/**
+ * 字段较多的基准测试实体类.
+ */
+public class WideBean {
+
+	private int count0;
+
+	private long time1;
+
+	private double rate2;
+
+	private boolean flag3;
+
+	private String text4;
+
+	private String text5;
+
+	private int count6;
+
+	private long time7;
+
+	private double rate8;
+
+	private boolean flag9;
+
+	private String text10;
+
+	private String text11;
+
+	private int count12;
+
+	private long time13;
+
+	private double rate14;
+
+	private boolean flag15;
+
+	private String text16;
+
+	private String text17;
+
+	private int count18;
+
+	private long time19;
+
+	private double rate20;
+
+	private boolean flag21;
+
+	private String text22;
+
+	private String text23;
+
+	/**
+	 * Gets the count.
+	 *
+	 * @return the count
+	 */
+	public int getCount0() {
+		return this.count0;
+	}
+
+	/**
+	 * Sets the count.
+	 *
+	 * @param count0 the new count
+	 */
+	public void setCount0(final int count0) {
+		this.count0 = count0;
+	}
+
+	/**
+	 * Gets the time.
+	 *
+	 * @return the time
+	 */
+	public long getTime1() {
+		return this.time1;
+	}
+
+	/**
+	 * Sets the time.
+	 *
+	 * @param time1 the new time
+	 */
+	public void setTime1(final long time1) {
+		this.time1 = time1;
+	}
+
+	/**
+	 * Gets the rate.
+	 *
+	 * @return the rate
+	 */
+	public double getRate2() {
+		return this.rate2;
+	}
+
+	/**
+	 * Sets the rate.
+	 *
+	 * @param rate2 the new rate
+	 */
+	public void setRate2(final double rate2) {
+		this.rate2 = rate2;
+	}
+
+	/**
+	 * Gets the flag.
+	 *
+	 * @return the flag
+	 */
+	public boolean isFlag3() {
+		return this.flag3;
+	}
+
+	/**
+	 * Sets the flag.
+	 *
+	 * @param flag3 the new flag
+	 */
+	public void setFlag3(final boolean flag3) {
+		this.flag3 = flag3;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText4() {
+		return this.text4;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text4 the new text
+	 */
+	public void setText4(final String text4) {
+		this.text4 = text4;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText5() {
+		return this.text5;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text5 the new text
+	 */
+	public void setText5(final String text5) {
+		this.text5 = text5;
+	}
+
+	/**
+	 * Gets the count.
+	 *
+	 * @return the count
+	 */
+	public int getCount6() {
+		return this.count6;
+	}
+
+	/**
+	 * Sets the count.
+	 *
+	 * @param count6 the new count
+	 */
+	public void setCount6(final int count6) {
+		this.count6 = count6;
+	}
+
+	/**
+	 * Gets the time.
+	 *
+	 * @return the time
+	 */
+	public long getTime7() {
+		return this.time7;
+	}
+
+	/**
+	 * Sets the time.
+	 *
+	 * @param time7 the new time
+	 */
+	public void setTime7(final long time7) {
+		this.time7 = time7;
+	}
+
+	/**
+	 * Gets the rate.
+	 *
+	 * @return the rate
+	 */
+	public double getRate8() {
+		return this.rate8;
+	}
+
+	/**
+	 * Sets the rate.
+	 *
+	 * @param rate8 the new rate
+	 */
+	public void setRate8(final double rate8) {
+		this.rate8 = rate8;
+	}
+
+	/**
+	 * Gets the flag.
+	 *
+	 * @return the flag
+	 */
+	public boolean isFlag9() {
+		return this.flag9;
+	}
+
+	/**
+	 * Sets the flag.
+	 *
+	 * @param flag9 the new flag
+	 */
+	public void setFlag9(final boolean flag9) {
+		this.flag9 = flag9;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText10() {
+		return this.text10;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text10 the new text
+	 */
+	public void setText10(final String text10) {
+		this.text10 = text10;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText11() {
+		return this.text11;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text11 the new text
+	 */
+	public void setText11(final String text11) {
+		this.text11 = text11;
+	}
+
+	/**
+	 * Gets the count.
+	 *
+	 * @return the count
+	 */
+	public int getCount12() {
+		return this.count12;
+	}
+
+	/**
+	 * Sets the count.
+	 *
+	 * @param count12 the new count
+	 */
+	public void setCount12(final int count12) {
+		this.count12 = count12;
+	}
+
+	/**
+	 * Gets the time.
+	 *
+	 * @return the time
+	 */
+	public long getTime13() {
+		return this.time13;
+	}
+
+	/**
+	 * Sets the time.
+	 *
+	 * @param time13 the new time
+	 */
+	public void setTime13(final long time13) {
+		this.time13 = time13;
+	}
+
+	/**
+	 * Gets the rate.
+	 *
+	 * @return the rate
+	 */
+	public double getRate14() {
+		return this.rate14;
+	}
+
+	/**
+	 * Sets the rate.
+	 *
+	 * @param rate14 the new rate
+	 */
+	public void setRate14(final double rate14) {
+		this.rate14 = rate14;
+	}
+
+	/**
+	 * Gets the flag.
+	 *
+	 * @return the flag
+	 */
+	public boolean isFlag15() {
+		return this.flag15;
+	}
+
+	/**
+	 * Sets the flag.
+	 *
+	 * @param flag15 the new flag
+	 */
+	public void setFlag15(final boolean flag15) {
+		this.flag15 = flag15;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText16() {
+		return this.text16;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text16 the new text
+	 */
+	public void setText16(final String text16) {
+		this.text16 = text16;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText17() {
+		return this.text17;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text17 the new text
+	 */
+	public void setText17(final String text17) {
+		this.text17 = text17;
+	}
+
+	/**
+	 * Gets the count.
+	 *
+	 * @return the count
+	 */
+	public int getCount18() {
+		return this.count18;
+	}
+
+	/**
+	 * Sets the count.
+	 *
+	 * @param count18 the new count
+	 */
+	public void setCount18(final int count18) {
+		this.count18 = count18;
+	}
+
+	/**
+	 * Gets the time.
+	 *
+	 * @return the time
+	 */
+	public long getTime19() {
+		return this.time19;
+	}
+
+	/**
+	 * Sets the time.
+	 *
+	 * @param time19 the new time
+	 */
+	public void setTime19(final long time19) {
+		this.time19 = time19;
+	}
+
+	/**
+	 * Gets the rate.
+	 *
+	 * @return the rate
+	 */
+	public double getRate20() {
+		return this.rate20;
+	}
+
+	/**
+	 * Sets the rate.
+	 *
+	 * @param rate20 the new rate
+	 */
+	public void setRate20(final double rate20) {
+		this.rate20 = rate20;
+	}
+
+	/**
+	 * Gets the flag.
+	 *
+	 * @return the flag
+	 */
+	public boolean isFlag21() {
+		return this.flag21;
+	}
+
+	/**
+	 * Sets the flag.
+	 *
+	 * @param flag21 the new flag
+	 */
+	public void setFlag21(final boolean flag21) {
+		this.flag21 = flag21;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText22() {
+		return this.text22;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text22 the new text
+	 */
+	public void setText22(final String text22) {
+		this.text22 = text22;
+	}
+
+	/**
+	 * Gets the text.
+	 *
+	 * @return the text
+	 */
+	public String getText23() {
+		return this.text23;
+	}
+
+	/**
+	 * Sets the text.
+	 *
+	 * @param text23 the new text
+	 */
+	public void setText23(final String text23) {
+		this.text23 = text23;
+	}
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.bench.network;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.jcharm.bench.convert.SmallBean;
+import io.github.jcharm.common.GenericsType;
+import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.bson.BsonConvert;
+import io.github.jcharm.convert.json.JsonConvert;
+
+/**
+ * 序列化到ObjectPool提供的ByteBuffer(Response输出的路径)与序列化到byte[]的基准测试.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferWriterBenchmark {
+
+	/** ByteBuffer的容量, 较小时输出需要多个ByteBuffer. */
+	@Param({ "512", "8192" })
+	public int bufferCapacity;
+
+	private final JsonConvert jsonConvert = JsonConvert.instance();
+
+	private final BsonConvert bsonConvert = BsonConvert.instance();
+
+	private final Type type = new GenericsType<List<SmallBean>>() {
+	}.getType();
+
+	private List<SmallBean> value;
+
+	private ObjectPool<ByteBuffer> bufferPool;
+
+	/**
+	 * 创建测试数据及直接内存的ByteBuffer池.
+	 */
+	@Setup
+	public void setup() {
+		this.value = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			final SmallBean bean = new SmallBean();
+			bean.setId(i);
+			bean.setName("buffer-" + i);
+			bean.setPrice(i * 2.5);
+			bean.setActive((i & 1) == 0);
+			this.value.add(bean);
+		}
+		final int capacity = this.bufferCapacity;
+		this.bufferPool = new ObjectPool<>(16, (final Object... params) -> ByteBuffer.allocateDirect(capacity), null, (final ByteBuffer t) -> {
+			t.clear();
+			return true;
+		});
+	}
+
+	/**
+	 * JSON序列化到byte[].
+	 *
+	 * @return byte[]
+	 */
+	@Benchmark
+	public byte[] jsonBytes() {
+		return this.jsonConvert.convertToBytes(this.type, this.value);
+	}
+
+	/**
+	 * JSON序列化到ByteBuffer池.
+	 *
+	 * @return int 输出的字节数
+	 */
+	@Benchmark
+	public int jsonBuffers() {
+		return this.recycle(this.jsonConvert.convertTo(this.bufferPool, this.type, this.value));
+	}
+
+	/**
+	 * BSON序列化到byte[].
+	 *
+	 * @return byte[]
+	 */
+	@Benchmark
+	public byte[] bsonBytes() {
+		return this.bsonConvert.convertTo(this.type, this.value);
+	}
+
+	/**
+	 * BSON序列化到ByteBuffer池.
+	 *
+	 * @return int 输出的字节数
+	 */
+	@Benchmark
+	public int bsonBuffers() {
+		return this.recycle(this.bsonConvert.convertTo(this.bufferPool, this.type, this.value));
+	}
+
+	private int recycle(final ByteBuffer[] buffers) {
+		int count = 0;
+		for (final ByteBuffer buffer : buffers) {
+			count += buffer.remaining();
+			this.bufferPool.offer(buffer);
+		}
+		return count;
+	}
+
+}
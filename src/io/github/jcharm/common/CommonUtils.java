@@ -3,8 +3,14 @@
  */
 package io.github.jcharm.common;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 实用工具处理类.
+ * <p>
+ * UTF8编解码先按块检查是否全部为ASCII字符(每次4个字符或8个字节, 合并后一次判断), 开头连续的ASCII部分直接逐个复制, 从第一个非ASCII字符起再逐个字符编解码; 逐个编解码的循环放在单独的方法中, 不影响其JIT编译. 字符串先通过String.getChars取得字符数组再编码, JDK8中按String.charAt逐个读取的循环比读取字符数组慢一倍以上; 频繁编码的调用方(如序列化输出)可传入自己持有的字符数组重复使用.
  */
 public final class CommonUtils {
 
@@ -17,38 +23,129 @@ public final class CommonUtils {
 	 * @return byte[]
 	 */
 	public static byte[] encodeUTF8ToBytes(final char[] text, final int start, final int len) {
-		char c;
-		int size = 0;
-		final char[] chars = text;
 		final int limit = start + len;
-		for (int i = start; i < limit; i++) {
-			c = chars[i];
-			if (c < 0x80) {
-				size++;
-			} else if (c < 0x800) {
-				size += 2;
-			} else {
-				size += 3;
-			}
-		}
-		final byte[] bytes = new byte[size];
-		size = 0;
-		for (int i = start; i < limit; i++) {
-			c = chars[i];
-			if (c < 0x80) {
-				bytes[size++] = (byte) c;
-			} else if (c < 0x800) {
-				bytes[size++] = (byte) (0xc0 | (c >> 6));
-				bytes[size++] = (byte) (0x80 | (c & 0x3f));
-			} else {
-				bytes[size++] = (byte) (0xe0 | ((c >> 12)));
-				bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
-				bytes[size++] = (byte) (0x80 | (c & 0x3f));
-			}
+		final int ascii = CommonUtils.asciiEnd(text, start, limit);
+		if (ascii == limit) {
+			final byte[] bytes = new byte[len];
+			CommonUtils.copyASCII(text, start, len, bytes, 0);
+			return bytes;
 		}
+		final byte[] bytes = new byte[(ascii - start) + CommonUtils.encodeUTF8Length0(text, ascii, limit - ascii)];
+		final int offset = CommonUtils.copyASCII(text, start, ascii - start, bytes, 0);
+		CommonUtils.encodeUTF8Each(text, ascii, limit - ascii, bytes, offset);
 		return bytes;
 	}
 
+	/**
+	 * 将字符串通过UTF8编码为字节数组.
+	 *
+	 * @param value String
+	 * @return byte[]
+	 */
+	public static byte[] encodeUTF8ToBytes(final String value) {
+		return CommonUtils.encodeUTF8ToBytes(value, new char[value.length()]);
+	}
+
+	/**
+	 * 将字符串通过UTF8编码为字节数组, 字符通过可重复使用的字符数组取得.
+	 *
+	 * @param value String
+	 * @param chars 字符数组, 长度不小于value.length()
+	 * @return byte[]
+	 */
+	public static byte[] encodeUTF8ToBytes(final String value, final char[] chars) {
+		final int len = value.length();
+		value.getChars(0, len, chars, 0);
+		return CommonUtils.encodeUTF8ToBytes(chars, 0, len);
+	}
+
+	/**
+	 * 将指定范围的字符数组通过UTF8编码到字节数组的指定位置, 不预先计算编码后的长度, 目标数组需预留最多len * 3个字节.
+	 *
+	 * @param text char[]
+	 * @param start int
+	 * @param len int
+	 * @param dest 目标字节数组
+	 * @param offset 目标字节数组的起始位置
+	 * @return 编码后的结束位置(不包含)
+	 */
+	public static int encodeUTF8(final char[] text, final int start, final int len, final byte[] dest, final int offset) {
+		final int limit = start + len;
+		final int ascii = CommonUtils.asciiEnd(text, start, limit);
+		final int end = CommonUtils.copyASCII(text, start, ascii - start, dest, offset);
+		if (ascii == limit) {
+			return end;
+		}
+		return CommonUtils.encodeUTF8Each(text, ascii, limit - ascii, dest, end);
+	}
+
+	/**
+	 * 将字符串通过UTF8编码到字节数组的指定位置, 不预先计算编码后的长度, 目标数组需预留最多value.length() * 3个字节.
+	 *
+	 * @param value String
+	 * @param dest 目标字节数组
+	 * @param offset 目标字节数组的起始位置
+	 * @return 编码后的结束位置(不包含)
+	 */
+	public static int encodeUTF8(final String value, final byte[] dest, final int offset) {
+		return CommonUtils.encodeUTF8(value, new char[value.length()], dest, offset);
+	}
+
+	/**
+	 * 将字符串通过UTF8编码到字节数组的指定位置, 字符通过可重复使用的字符数组取得, 目标数组需预留最多value.length() * 3个字节.
+	 *
+	 * @param value String
+	 * @param chars 字符数组, 长度不小于value.length()
+	 * @param dest 目标字节数组
+	 * @param offset 目标字节数组的起始位置
+	 * @return 编码后的结束位置(不包含)
+	 */
+	public static int encodeUTF8(final String value, final char[] chars, final byte[] dest, final int offset) {
+		final int len = value.length();
+		value.getChars(0, len, chars, 0);
+		return CommonUtils.encodeUTF8(chars, 0, len, dest, offset);
+	}
+
+	/**
+	 * 将字符串通过UTF8编码到ByteBuffer的当前位置, 编码后position后移; 堆内存的ByteBuffer直接编码到其数组中.
+	 *
+	 * @param value String
+	 * @param buffer ByteBuffer
+	 * @return 编码后的字节数
+	 * @throws BufferOverflowException ByteBuffer剩余空间不足时抛出, 此时position不变
+	 */
+	public static int encodeUTF8(final String value, final ByteBuffer buffer) {
+		return CommonUtils.encodeUTF8(value, new char[value.length()], buffer);
+	}
+
+	/**
+	 * 将字符串通过UTF8编码到ByteBuffer的当前位置, 字符通过可重复使用的字符数组取得, 编码后position后移; 堆内存的ByteBuffer直接编码到其数组中.
+	 *
+	 * @param value String
+	 * @param chars 字符数组, 长度不小于value.length()
+	 * @param buffer ByteBuffer
+	 * @return 编码后的字节数
+	 * @throws BufferOverflowException ByteBuffer剩余空间不足时抛出, 此时position不变
+	 */
+	public static int encodeUTF8(final String value, final char[] chars, final ByteBuffer buffer) {
+		final int len = value.length();
+		value.getChars(0, len, chars, 0);
+		final int remaining = buffer.remaining();
+		if ((remaining < (len * 3)) && (remaining < CommonUtils.encodeUTF8Length(chars, 0, len))) {
+			throw new BufferOverflowException();
+		}
+		final int pos = buffer.position();
+		if (buffer.hasArray()) {
+			final int start = buffer.arrayOffset() + pos;
+			final int size = CommonUtils.encodeUTF8(chars, 0, len, buffer.array(), start) - start;
+			buffer.position(pos + size);
+			return size;
+		}
+		final byte[] bytes = CommonUtils.encodeUTF8ToBytes(chars, 0, len); // 直接内存的ByteBuffer逐个字节put较慢, 整体写入
+		buffer.put(bytes);
+		return bytes.length;
+	}
+
 	/**
 	 * 将指定范围的字节数组通过UTF8解码为字符数组.
 	 *
@@ -58,30 +155,16 @@ public final class CommonUtils {
 	 * @return char[]
 	 */
 	public static char[] decodeUTF8ToChars(final byte[] array, final int start, final int len) {
-		byte b;
-		int size = len;
-		final byte[] bytes = array;
 		final int limit = start + len;
-		for (int i = start; i < limit; i++) {
-			b = bytes[i];
-			if ((b >> 5) == -2) {
-				size--;
-			} else if ((b >> 4) == -2) {
-				size -= 2;
-			}
-		}
-		final char[] text = new char[size];
-		size = 0;
-		for (int i = start; i < limit;) {
-			b = bytes[i++];
-			if (b >= 0) {
-				text[size++] = (char) b;
-			} else if ((b >> 5) == -2) {
-				text[size++] = (char) (((b << 6) ^ bytes[i++]) ^ (((byte) 0xC0 << 6) ^ ((byte) 0x80)));
-			} else if ((b >> 4) == -2) {
-				text[size++] = (char) ((b << 12) ^ (bytes[i++] << 6) ^ (bytes[i++] ^ (((byte) 0xE0 << 12) ^ ((byte) 0x80 << 6) ^ ((byte) 0x80))));
-			}
+		final int ascii = CommonUtils.asciiEnd(array, start, limit);
+		if (ascii == limit) {
+			final char[] text = new char[len];
+			CommonUtils.copyASCII(array, start, len, text, 0);
+			return text;
 		}
+		final char[] text = new char[(ascii - start) + CommonUtils.decodeUTF8Length(array, ascii, limit)];
+		final int offset = CommonUtils.copyASCII(array, start, ascii - start, text, 0);
+		CommonUtils.decodeUTF8Each(array, ascii, limit - ascii, text, offset);
 		return text;
 	}
 
@@ -95,6 +178,65 @@ public final class CommonUtils {
 		return CommonUtils.decodeUTF8ToChars(array, 0, array.length);
 	}
 
+	/**
+	 * 将指定范围的字节数组通过UTF8解码到字符数组的指定位置, 目标数组需预留最多len个字符.
+	 *
+	 * @param array byte[]
+	 * @param start int
+	 * @param len int
+	 * @param dest 目标字符数组
+	 * @param offset 目标字符数组的起始位置
+	 * @return 解码后的结束位置(不包含)
+	 */
+	public static int decodeUTF8(final byte[] array, final int start, final int len, final char[] dest, final int offset) {
+		final int limit = start + len;
+		final int ascii = CommonUtils.asciiEnd(array, start, limit);
+		final int end = CommonUtils.copyASCII(array, start, ascii - start, dest, offset);
+		if (ascii == limit) {
+			return end;
+		}
+		return CommonUtils.decodeUTF8Each(array, ascii, limit - ascii, dest, end);
+	}
+
+	/**
+	 * 将指定范围的字节数组通过UTF8解码为字符串, 全部为ASCII字符时不创建中间的字符数组.
+	 *
+	 * @param array byte[]
+	 * @param start int
+	 * @param len int
+	 * @return String
+	 */
+	public static String decodeUTF8ToString(final byte[] array, final int start, final int len) {
+		final int limit = start + len;
+		final int ascii = CommonUtils.asciiEnd(array, start, limit);
+		if (ascii == limit) {
+			return new String(array, start, len, StandardCharsets.ISO_8859_1);
+		}
+		final char[] text = new char[(ascii - start) + CommonUtils.decodeUTF8Length(array, ascii, limit)];
+		final int offset = CommonUtils.copyASCII(array, start, ascii - start, text, 0);
+		CommonUtils.decodeUTF8Each(array, ascii, limit - ascii, text, offset);
+		return new String(text);
+	}
+
+	/**
+	 * 将ByteBuffer当前位置起指定长度的字节通过UTF8解码为字符串, 解码后position后移.
+	 *
+	 * @param buffer ByteBuffer
+	 * @param len int
+	 * @return String
+	 */
+	public static String decodeUTF8ToString(final ByteBuffer buffer, final int len) {
+		final int pos = buffer.position();
+		if (buffer.hasArray()) {
+			final String value = CommonUtils.decodeUTF8ToString(buffer.array(), buffer.arrayOffset() + pos, len);
+			buffer.position(pos + len);
+			return value;
+		}
+		final byte[] bytes = new byte[len];
+		buffer.get(bytes);
+		return CommonUtils.decodeUTF8ToString(bytes, 0, len);
+	}
+
 	/**
 	 * 指定范围的字符数组UTF8编码后的大小.
 	 *
@@ -104,12 +246,26 @@ public final class CommonUtils {
 	 * @return int
 	 */
 	public static int encodeUTF8Length(final char[] text, final int start, final int len) {
+		final int limit = start + len;
+		final int ascii = CommonUtils.asciiEnd(text, start, limit);
+		if (ascii == limit) {
+			return len;
+		}
+		return (ascii - start) + CommonUtils.encodeUTF8Length0(text, ascii, limit - ascii);
+	}
+
+	/**
+	 * 字符串UTF8编码后的大小.
+	 *
+	 * @param value String
+	 * @return int
+	 */
+	public static int encodeUTF8Length(final String value) {
 		char c;
 		int size = 0;
-		final char[] chars = text;
-		final int limit = start + len;
-		for (int i = start; i < limit; i++) {
-			c = chars[i];
+		final int limit = value.length();
+		for (int i = 0; i < limit; i++) {
+			c = value.charAt(i);
 			size += (c < 0x80 ? 1 : (c < 0x800 ? 2 : 3));
 		}
 		return size;
@@ -154,4 +310,187 @@ public final class CommonUtils {
 		return size;
 	}
 
+	/**
+	 * 将全部为ASCII字符的字符数组复制到字节数组的指定位置.
+	 *
+	 * @param text char[]
+	 * @param start int
+	 * @param len int
+	 * @param dest byte[]
+	 * @param offset int
+	 * @return 复制后的结束位置(不包含)
+	 */
+	private static int copyASCII(final char[] text, final int start, final int len, final byte[] dest, final int offset) {
+		for (int i = 0; i < len; i++) {
+			dest[offset + i] = (byte) text[start + i];
+		}
+		return offset + len;
+	}
+
+	/**
+	 * 将全部为ASCII字节的字节数组复制到字符数组的指定位置.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 * @param dest char[]
+	 * @param offset int
+	 * @return 复制后的结束位置(不包含)
+	 */
+	private static int copyASCII(final byte[] bytes, final int start, final int len, final char[] dest, final int offset) {
+		for (int i = 0; i < len; i++) {
+			dest[offset + i] = (char) bytes[start + i];
+		}
+		return offset + len;
+	}
+
+	/**
+	 * 将指定范围的字符数组逐个字符通过UTF8编码到字节数组的指定位置.
+	 *
+	 * @param text char[]
+	 * @param start int
+	 * @param len int
+	 * @param dest byte[]
+	 * @param offset int
+	 * @return 编码后的结束位置(不包含)
+	 */
+	private static int encodeUTF8Each(final char[] text, final int start, final int len, final byte[] dest, final int offset) {
+		char c;
+		int size = offset;
+		final char[] chars = text;
+		final int limit = start + len;
+		for (int i = start; i < limit; i++) {
+			c = chars[i];
+			if (c < 0x80) {
+				dest[size++] = (byte) c;
+			} else if (c < 0x800) {
+				dest[size++] = (byte) (0xc0 | (c >> 6));
+				dest[size++] = (byte) (0x80 | (c & 0x3f));
+			} else {
+				dest[size++] = (byte) (0xe0 | ((c >> 12)));
+				dest[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				dest[size++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 将指定范围的字节数组逐个字符通过UTF8解码到字符数组的指定位置.
+	 *
+	 * @param array byte[]
+	 * @param start int
+	 * @param len int
+	 * @param dest char[]
+	 * @param offset int
+	 * @return 解码后的结束位置(不包含)
+	 */
+	private static int decodeUTF8Each(final byte[] array, final int start, final int len, final char[] dest, final int offset) {
+		byte b;
+		int size = offset;
+		final byte[] bytes = array;
+		final int limit = start + len;
+		for (int i = start; i < limit;) {
+			b = bytes[i++];
+			if (b >= 0) {
+				dest[size++] = (char) b;
+			} else if ((b >> 5) == -2) {
+				dest[size++] = (char) (((b << 6) ^ bytes[i++]) ^ (((byte) 0xC0 << 6) ^ ((byte) 0x80)));
+			} else if ((b >> 4) == -2) {
+				dest[size++] = (char) ((b << 12) ^ (bytes[i++] << 6) ^ (bytes[i++] ^ (((byte) 0xE0 << 12) ^ ((byte) 0x80 << 6) ^ ((byte) 0x80))));
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 指定范围的字符数组逐个字符计算UTF8编码后的大小.
+	 *
+	 * @param text char[]
+	 * @param start int
+	 * @param len int
+	 * @return int
+	 */
+	private static int encodeUTF8Length0(final char[] text, final int start, final int len) {
+		char c;
+		int size = 0;
+		final char[] chars = text;
+		final int limit = start + len;
+		for (int i = start; i < limit; i++) {
+			c = chars[i];
+			if (c < 0x80) {
+				size++;
+			} else if (c < 0x800) {
+				size += 2;
+			} else {
+				size += 3;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 指定范围的字节数组UTF8解码后的字符数, 与decodeUTF8的处理一致.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param limit 结束位置(不包含)
+	 * @return int
+	 */
+	private static int decodeUTF8Length(final byte[] bytes, final int start, final int limit) {
+		byte b;
+		int size = limit - start;
+		for (int i = start; i < limit; i++) {
+			b = bytes[i];
+			if ((b >> 5) == -2) {
+				size--;
+			} else if ((b >> 4) == -2) {
+				size -= 2;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 查找字符数组中从指定位置开始的连续ASCII字符的结束位置, 等于limit时全部为ASCII字符.
+	 *
+	 * @param chars char[]
+	 * @param start int
+	 * @param limit 结束位置(不包含)
+	 * @return 第一个非ASCII字符的位置, 全部为ASCII字符时返回limit
+	 */
+	private static int asciiEnd(final char[] chars, final int start, final int limit) {
+		int i = start;
+		for (final int bound = limit - 3; i < bound; i += 4) {
+			if (((chars[i] | chars[i + 1] | chars[i + 2] | chars[i + 3]) & 0xff80) != 0) {
+				break;
+			}
+		}
+		while ((i < limit) && (chars[i] < 0x80)) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * 查找字节数组中从指定位置开始的连续ASCII字节的结束位置, 等于limit时全部为ASCII字节.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param limit 结束位置(不包含)
+	 * @return 第一个非ASCII字节的位置, 全部为ASCII字节时返回limit
+	 */
+	private static int asciiEnd(final byte[] bytes, final int start, final int limit) {
+		int i = start;
+		for (final int bound = limit - 7; i < bound; i += 8) {
+			if ((bytes[i] | bytes[i + 1] | bytes[i + 2] | bytes[i + 3] | bytes[i + 4] | bytes[i + 5] | bytes[i + 6] | bytes[i + 7]) < 0) {
+				break;
+			}
+		}
+		while ((i < limit) && (bytes[i] >= 0)) {
+			i++;
+		}
+		return i;
+	}
+
 }
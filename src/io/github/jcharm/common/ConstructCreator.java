@@ -81,9 +81,9 @@ public interface ConstructCreator<T> {
 			classLoader = clazz.getClassLoader();
 			dynClassName = declaringClassName + "_Dyn_" + ConstructCreator.class.getSimpleName();
 		}
-		try {
-			return (ConstructCreator) Class.forName(dynClassName.replace('/', '.')).newInstance();
-		} catch (final Exception e) {
+		final ConstructCreator pregenerated = DynClasses.newInstance(dynClassName, classLoader);
+		if (pregenerated != null) {
+			return pregenerated;
 		}
 		// ===========================================ASM代码================================================
 		final ClassWriter cw = new ClassWriter(0);
@@ -192,17 +192,6 @@ public interface ConstructCreator<T> {
 			mv.visitEnd();
 		}
 		cw.visitEnd();
-		final byte[] bytes = cw.toByteArray();
-		final Class<ConstructCreator> creatorClass = (Class<ConstructCreator>) new ClassLoader(classLoader) {
-
-			public final Class<?> loadClass(final String name, final byte[] b) {
-				return this.defineClass(name, b, 0, b.length);
-			}
-		}.loadClass(dynClassName.replace('/', '.'), bytes);
-		try {
-			return creatorClass.newInstance();
-		} catch (final Exception e) {
-			throw new RuntimeException(e);
-		}
+		return DynClasses.define(clazz.getClassLoader() != null, dynClassName, cw.toByteArray(), classLoader);
 	}
 }
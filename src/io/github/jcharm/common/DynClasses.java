@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.common;
+
+import java.util.function.BiConsumer;
+
+/**
+ * FieldAttribute、ConstructCreator、ObjectCopy动态类的查找与定义.
+ * <p>
+ * 生成动态类之前先按类名查找构建时预先生成的类, 找不到时才使用ASM生成; 设置记录器后, 运行时生成的动态类字节码同时交给记录器, 供构建工具写入class文件.
+ */
+public final class DynClasses {
+
+	private static volatile BiConsumer<String, byte[]> recorder;
+
+	private DynClasses() {
+	}
+
+	/**
+	 * 设置动态类的记录器, 为null时不记录.
+	 *
+	 * @param recorder 接收动态类的内部名称(以/分隔)及字节码
+	 */
+	public static void setRecorder(final BiConsumer<String, byte[]> recorder) {
+		DynClasses.recorder = recorder;
+	}
+
+	/**
+	 * 创建预先生成的动态类的实例.
+	 *
+	 * @param <T> 动态类实现的接口
+	 * @param dynClassName 动态类的内部名称(以/分隔)
+	 * @param classLoader 查找动态类的ClassLoader
+	 * @return 不存在预先生成的动态类时返回null
+	 */
+	static <T> T newInstance(final String dynClassName, final ClassLoader classLoader) {
+		try {
+			return (T) Class.forName(dynClassName.replace('/', '.'), true, classLoader).newInstance();
+		} catch (final Exception | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 定义ASM生成的动态类并创建实例.
+	 *
+	 * @param <T> 动态类实现的接口
+	 * @param record 是否交给记录器, 动态类的类名不固定或内容与同名的预先生成的类不同时为false
+	 * @param dynClassName 动态类的内部名称(以/分隔)
+	 * @param bytes 字节码
+	 * @param classLoader 父ClassLoader
+	 * @return T
+	 */
+	static <T> T define(final boolean record, final String dynClassName, final byte[] bytes, final ClassLoader classLoader) {
+		final BiConsumer<String, byte[]> rec = DynClasses.recorder;
+		if (record && (rec != null)) {
+			rec.accept(dynClassName, bytes);
+		}
+		final Class<?> dynClass = new ClassLoader(classLoader) {
+
+			public final Class<?> loadClass(final String name, final byte[] b) {
+				return this.defineClass(name, b, 0, b.length);
+			}
+		}.loadClass(dynClassName.replace('/', '.'), bytes);
+		try {
+			return (T) dynClass.newInstance();
+		} catch (final Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -174,9 +174,9 @@ public interface FieldAttribute<T, F> {
 			classLoader = clazz.getClassLoader();
 			dynClassName = declaringClassName + "_Dyn_" + FieldAttribute.class.getSimpleName() + "_" + fieldAlias.substring(fieldAlias.indexOf('.') + 1) + "_" + fieldType.getSimpleName().replace("[]", "Array");
 		}
-		try {
-			return (FieldAttribute) Class.forName(dynClassName.replace('/', '.')).newInstance();
-		} catch (final Exception e) {
+		final FieldAttribute pregenerated = DynClasses.newInstance(dynClassName, classLoader);
+		if (pregenerated != null) {
+			return pregenerated;
 		}
 		// ===========================================ASM代码================================================
 		final ClassWriter cw = new ClassWriter(0);
@@ -348,18 +348,7 @@ public interface FieldAttribute<T, F> {
 			mv.visitEnd();
 		}
 		cw.visitEnd();
-		final byte[] bytes = cw.toByteArray();
-		final Class<FieldAttribute> creatorClass = (Class<FieldAttribute>) new ClassLoader(classLoader) {
-
-			public final Class<?> loadClass(final String name, final byte[] b) {
-				return this.defineClass(name, b, 0, b.length);
-			}
-		}.loadClass(dynClassName.replace('/', '.'), bytes);
-		try {
-			return creatorClass.newInstance();
-		} catch (final Exception e) {
-			throw new RuntimeException(e);
-		}
+		return DynClasses.define(clazz.getClassLoader() != null, dynClassName, cw.toByteArray(), classLoader);
 	}
 
 	/**
@@ -64,9 +64,11 @@ public interface ObjectCopy<D, S> {
 			loader = destClass.getClassLoader();
 			newDynName = destName + "_Dyn" + ObjectCopy.class.getSimpleName() + "_" + srcClass.getSimpleName();
 		}
-		try {
-			return (ObjectCopy) Class.forName(newDynName.replace('/', '.')).newInstance();
-		} catch (final Exception ex) {
+		if (columnPredicate == null) { // 按字段过滤的拷贝与预先生成的类同名但内容不同
+			final ObjectCopy pregenerated = DynClasses.newInstance(newDynName, loader);
+			if (pregenerated != null) {
+				return pregenerated;
+			}
 		}
 		// ===========================================ASM代码================================================
 		final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
@@ -166,18 +168,7 @@ public interface ObjectCopy<D, S> {
 			mv.visitEnd();
 		}
 		cw.visitEnd();
-		final byte[] bytes = cw.toByteArray();
-		final Class<?> creatorClazz = new ClassLoader(loader) {
-
-			public final Class<?> loadClass(final String name, final byte[] b) {
-				return this.defineClass(name, b, 0, b.length);
-			}
-		}.loadClass(newDynName.replace('/', '.'), bytes);
-		try {
-			return (ObjectCopy) creatorClazz.newInstance();
-		} catch (final Exception ex) {
-			throw new RuntimeException(ex);
-		}
+		return DynClasses.define((columnPredicate == null) && (destClass.getClassLoader() != null), newDynName, cw.toByteArray(), loader);
 	}
 
 }
@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.common;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import jdk.internal.org.objectweb.asm.ClassWriter;
+import jdk.internal.org.objectweb.asm.Label;
+import jdk.internal.org.objectweb.asm.MethodVisitor;
+import jdk.internal.org.objectweb.asm.Opcodes;
+import jdk.internal.org.objectweb.asm.Type;
+
+/**
+ * 比较差异的对象拷贝类, 只拷贝值不同的字段并返回改变字段的位掩码.
+ * <p>
+ * 第i个字段(见getColumns)对应掩码的第i位, 超过64个字段时第64个及之后的字段共用最高位; 基本类型字段直接比较, 不装箱, float、double按Float.compare、Double.compare比较, String、包装类型、枚举、java.time下的final类、BigDecimal、BigInteger等不可变类型按Objects.equals比较, 其他可变类型(数组、Date等)按mutableEquals比较; 目标类没有对应getter的字段无法比较, 总是拷贝并视为已改变.
+ *
+ * @param <D> 目标对象数据类型
+ * @param <S> 源对象数据类型
+ */
+public interface ObjectDiffCopy<D, S> extends ObjectCopy<D, S> {
+
+	/**
+	 * 拷贝值不同的字段.
+	 *
+	 * @param dest 目标对象
+	 * @param src 源对象
+	 * @return 改变字段的位掩码, 没有字段改变时为0
+	 */
+	public long diffCopy(D dest, S src);
+
+	/**
+	 * 只比较字段, 不拷贝.
+	 *
+	 * @param dest 目标对象
+	 * @param src 源对象
+	 * @return 值不同的字段的位掩码, 没有不同时为0
+	 */
+	public long diff(D dest, S src);
+
+	/**
+	 * 获取参与拷贝的字段名, 下标即掩码中的位, 每次调用返回新的数组.
+	 *
+	 * @return String[]
+	 */
+	public String[] getColumns();
+
+	@Override
+	public default D copy(final D dest, final S src) {
+		this.diffCopy(dest, src);
+		return dest;
+	}
+
+	/**
+	 * 获取字段下标对应的掩码位.
+	 *
+	 * @param index 字段下标
+	 * @return long
+	 */
+	public static long columnBit(final int index) {
+		return 1L << Math.min(index, 63);
+	}
+
+	/**
+	 * 比较可变类型的字段值, 数组按内容比较; 两边引用同一个非null对象时, 该对象可能已被原地修改(如浅拷贝共用的byte[]、Date), 视为已改变.
+	 *
+	 * @param dest 目标字段值
+	 * @param src 源字段值
+	 * @return 相同时为true
+	 */
+	public static boolean mutableEquals(final Object dest, final Object src) {
+		if (dest == src) {
+			return dest == null;
+		}
+		return Objects.deepEquals(dest, src);
+	}
+
+	/**
+	 * 判断类型的值是否不可变, 不可变类型的字段值可以按Objects.equals比较.
+	 *
+	 * @param type 字段类型
+	 * @return boolean
+	 */
+	public static boolean isImmutable(final Class<?> type) {
+		if (type.isPrimitive() || type.isEnum() || (type == String.class) || (type == Boolean.class) || (type == Character.class)) {
+			return true;
+		}
+		if ((type == Byte.class) || (type == Short.class) || (type == Integer.class) || (type == Long.class) || (type == Float.class) || (type == Double.class)) {
+			return true;
+		}
+		if ((type == java.math.BigDecimal.class) || (type == java.math.BigInteger.class) || (type == java.util.UUID.class)) {
+			return true;
+		}
+		return type.getName().startsWith("java.time.") && Modifier.isFinal(type.getModifiers());
+	}
+
+	/**
+	 * 根据源类和目标类生成ObjectDiffCopy.
+	 *
+	 * @param <D> 目标对象数据类型
+	 * @param <S> 源对象数据类型
+	 * @param destClass 目标类
+	 * @param srcClass 源类
+	 * @return ObjectDiffCopy
+	 */
+	public static <D, S> ObjectDiffCopy<D, S> create(final Class<D> destClass, final Class<S> srcClass) {
+		return ObjectDiffCopy.create(destClass, srcClass, null);
+	}
+
+	/**
+	 * 根据源类和目标类生成ObjectDiffCopy.
+	 *
+	 * @param <D> 目标对象数据类型
+	 * @param <S> 源对象数据类型
+	 * @param destClass 目标类
+	 * @param srcClass 源类
+	 * @param columnPredicate Predicate
+	 * @return ObjectDiffCopy
+	 */
+	public static <D, S> ObjectDiffCopy<D, S> create(final Class<D> destClass, final Class<S> srcClass, final Predicate<String> columnPredicate) {
+		final String supDynName = ObjectDiffCopy.class.getName().replace('.', '/');
+		final String destName = destClass.getName().replace('.', '/');
+		final String srcName = srcClass.getName().replace('.', '/');
+		final String destDesc = Type.getDescriptor(destClass);
+		final String srcDesc = Type.getDescriptor(srcClass);
+		String newDynName = supDynName + "Dyn_" + destClass.getSimpleName() + "_" + srcClass.getSimpleName();
+		ClassLoader loader = ObjectDiffCopy.class.getClassLoader();
+		if (String.class.getClassLoader() != destClass.getClassLoader()) {
+			loader = destClass.getClassLoader();
+			newDynName = destName + "_Dyn" + ObjectDiffCopy.class.getSimpleName() + "_" + srcClass.getSimpleName();
+		}
+		if (columnPredicate == null) { // 按字段过滤的拷贝与预先生成的类同名但内容不同
+			final ObjectDiffCopy pregenerated = DynClasses.newInstance(newDynName, loader);
+			if (pregenerated != null) {
+				return pregenerated;
+			}
+		}
+		// 字段依次为: 字段名, 源字段或getter, 目标字段或getter(无法比较时为null), 目标setter(字段拷贝时为null)
+		final List<Object[]> columns = new ArrayList<>();
+		for (final java.lang.reflect.Field field : srcClass.getFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			if (Modifier.isFinal(field.getModifiers())) {
+				continue;
+			}
+			if (!Modifier.isPublic(field.getModifiers())) {
+				continue;
+			}
+			final String fname = field.getName();
+			try {
+				final java.lang.reflect.Field destField = destClass.getField(fname);
+				if (!field.getType().equals(destField.getType())) {
+					continue;
+				}
+				if ((columnPredicate != null) && !columnPredicate.test(fname)) {
+					continue;
+				}
+				columns.add(new Object[] { fname, field, destField, null });
+			} catch (final Exception e) {
+				continue;
+			}
+		}
+		for (final Method getter : srcClass.getMethods()) {
+			if (Modifier.isStatic(getter.getModifiers())) {
+				continue;
+			}
+			if (getter.getParameterTypes().length > 0) {
+				continue;
+			}
+			if ("getClass".equals(getter.getName())) {
+				continue;
+			}
+			if (!getter.getName().startsWith("get") && !getter.getName().startsWith("is")) {
+				continue;
+			}
+			final boolean is = getter.getName().startsWith("is");
+			try {
+				final Method setter = destClass.getMethod(getter.getName().replaceFirst(is ? "is" : "get", "set"), getter.getReturnType());
+				String col = setter.getName().substring(3);
+				if ((col.length() < 2) || Character.isLowerCase(col.charAt(1))) {
+					final char[] cs = col.toCharArray();
+					cs[0] = Character.toLowerCase(cs[0]);
+					col = new String(cs);
+				}
+				if ((columnPredicate != null) && !columnPredicate.test(col)) {
+					continue;
+				}
+				Method destGetter = null;
+				try {
+					destGetter = destClass.getMethod(getter.getName());
+					if (!destGetter.getReturnType().equals(getter.getReturnType())) {
+						destGetter = null;
+					}
+				} catch (final NoSuchMethodException e) {
+					// 目标类没有getter时无法比较
+				}
+				columns.add(new Object[] { col, getter, destGetter, setter });
+			} catch (final Exception e) {
+				continue;
+			}
+		}
+		// ===========================================ASM代码================================================
+		final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		MethodVisitor mv;
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL + Opcodes.ACC_SUPER, newDynName, "Ljava/lang/Object;L" + supDynName + "<" + destDesc + srcDesc + ">;", "java/lang/Object", new String[] { supDynName });
+		{
+			// ASM编写构造函数
+			mv = (cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null));
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+			mv.visitInsn(Opcodes.RETURN);
+			mv.visitMaxs(1, 1);
+			mv.visitEnd();
+		}
+		{
+			// ASM编写getColumns方法
+			mv = (cw.visitMethod(Opcodes.ACC_PUBLIC, "getColumns", "()[Ljava/lang/String;", null, null));
+			mv.visitLdcInsn(columns.size());
+			mv.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/String");
+			for (int i = 0; i < columns.size(); i++) {
+				mv.visitInsn(Opcodes.DUP);
+				mv.visitLdcInsn(i);
+				mv.visitLdcInsn(columns.get(i)[0]);
+				mv.visitInsn(Opcodes.AASTORE);
+			}
+			mv.visitInsn(Opcodes.ARETURN);
+			mv.visitMaxs(4, 1);
+			mv.visitEnd();
+		}
+		for (final boolean copy : new boolean[] { true, false }) {
+			// ASM编写diffCopy、diff方法, 局部变量: 1目标对象, 2源对象, 3-4掩码, 5-6源字段值
+			final String methodName = copy ? "diffCopy" : "diff";
+			mv = (cw.visitMethod(Opcodes.ACC_PUBLIC, methodName, "(" + destDesc + srcDesc + ")J", null, null));
+			mv.visitInsn(Opcodes.LCONST_0);
+			mv.visitVarInsn(Opcodes.LSTORE, 3);
+			for (int i = 0; i < columns.size(); i++) {
+				final Object[] column = columns.get(i);
+				final Class fieldType;
+				if (column[1] instanceof java.lang.reflect.Field) {
+					fieldType = ((java.lang.reflect.Field) column[1]).getType();
+				} else {
+					fieldType = ((Method) column[1]).getReturnType();
+				}
+				final Type asmType = Type.getType(fieldType);
+				final Label skip = new Label();
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				if (column[1] instanceof java.lang.reflect.Field) {
+					mv.visitFieldInsn(Opcodes.GETFIELD, srcName, (String) column[0], asmType.getDescriptor());
+				} else {
+					mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, srcName, ((Method) column[1]).getName(), "()" + asmType.getDescriptor(), false);
+				}
+				mv.visitVarInsn(asmType.getOpcode(Opcodes.ISTORE), 5);
+				if (column[2] != null) {
+					mv.visitVarInsn(Opcodes.ALOAD, 1);
+					if (column[2] instanceof java.lang.reflect.Field) {
+						mv.visitFieldInsn(Opcodes.GETFIELD, destName, (String) column[0], asmType.getDescriptor());
+					} else {
+						mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, destName, ((Method) column[2]).getName(), "()" + asmType.getDescriptor(), false);
+					}
+					mv.visitVarInsn(asmType.getOpcode(Opcodes.ILOAD), 5);
+					if (fieldType == long.class) {
+						mv.visitInsn(Opcodes.LCMP);
+						mv.visitJumpInsn(Opcodes.IFEQ, skip);
+					} else if (fieldType == float.class) {
+						mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Float", "compare", "(FF)I", false);
+						mv.visitJumpInsn(Opcodes.IFEQ, skip);
+					} else if (fieldType == double.class) {
+						mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "compare", "(DD)I", false);
+						mv.visitJumpInsn(Opcodes.IFEQ, skip);
+					} else if (fieldType.isPrimitive()) {
+						mv.visitJumpInsn(Opcodes.IF_ICMPEQ, skip);
+					} else if (ObjectDiffCopy.isImmutable(fieldType)) {
+						mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "equals", "(Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+						mv.visitJumpInsn(Opcodes.IFNE, skip);
+					} else {
+						mv.visitMethodInsn(Opcodes.INVOKESTATIC, supDynName, "mutableEquals", "(Ljava/lang/Object;Ljava/lang/Object;)Z", true);
+						mv.visitJumpInsn(Opcodes.IFNE, skip);
+					}
+				}
+				if (copy) {
+					mv.visitVarInsn(Opcodes.ALOAD, 1);
+					mv.visitVarInsn(asmType.getOpcode(Opcodes.ILOAD), 5);
+					if (column[3] == null) {
+						mv.visitFieldInsn(Opcodes.PUTFIELD, destName, (String) column[0], asmType.getDescriptor());
+					} else {
+						final Method setter = (Method) column[3];
+						mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, destName, setter.getName(), Type.getMethodDescriptor(setter), false);
+						if (setter.getReturnType() != void.class) {
+							mv.visitInsn(Type.getType(setter.getReturnType()).getSize() == 2 ? Opcodes.POP2 : Opcodes.POP);
+						}
+					}
+				}
+				mv.visitVarInsn(Opcodes.LLOAD, 3);
+				mv.visitLdcInsn(ObjectDiffCopy.columnBit(i));
+				mv.visitInsn(Opcodes.LOR);
+				mv.visitVarInsn(Opcodes.LSTORE, 3);
+				mv.visitLabel(skip);
+			}
+			mv.visitVarInsn(Opcodes.LLOAD, 3);
+			mv.visitInsn(Opcodes.LRETURN);
+			mv.visitMaxs(5, 7);
+			mv.visitEnd();
+			// ASM编写虚拟方法
+			mv = (cw.visitMethod(Opcodes.ACC_PUBLIC + Opcodes.ACC_BRIDGE + Opcodes.ACC_SYNTHETIC, methodName, "(Ljava/lang/Object;Ljava/lang/Object;)J", null, null));
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, destName);
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, srcName);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, newDynName, methodName, "(" + destDesc + srcDesc + ")J", false);
+			mv.visitInsn(Opcodes.LRETURN);
+			mv.visitMaxs(3, 3);
+			mv.visitEnd();
+		}
+		cw.visitEnd();
+		return DynClasses.define((columnPredicate == null) && (destClass.getClassLoader() != null), newDynName, cw.toByteArray(), loader);
+	}
+
+}
@@ -29,6 +29,9 @@ public final class ObjectPool<T> implements Supplier<T> {
 
 	private final AtomicLong cycleCounter;
 
+	/** 每个线程缓存的一个对象, 为null时不按线程缓存. */
+	private final ThreadLocal<T> local;
+
 	/**
 	 * 构造函数.
 	 *
@@ -40,12 +43,28 @@ public final class ObjectPool<T> implements Supplier<T> {
 	 * @param recycler Predicate
 	 */
 	public ObjectPool(final AtomicLong creatCounter, final AtomicLong cycleCounter, final int max, final ConstructCreator<T> construct, final Consumer<T> prepare, final Predicate<T> recycler) {
+		this(creatCounter, cycleCounter, max, false, construct, prepare, recycler);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param creatCounter AtomicLong
+	 * @param cycleCounter AtomicLong
+	 * @param max int
+	 * @param threadAffine 是否为每个线程缓存一个对象, 为true时线程优先取回自己放回的对象, 其余对象放入共享的队列
+	 * @param construct the construct
+	 * @param prepare Consumer
+	 * @param recycler Predicate
+	 */
+	public ObjectPool(final AtomicLong creatCounter, final AtomicLong cycleCounter, final int max, final boolean threadAffine, final ConstructCreator<T> construct, final Consumer<T> prepare, final Predicate<T> recycler) {
 		this.creatCounter = creatCounter;
 		this.cycleCounter = cycleCounter;
 		this.constructCreator = construct;
 		this.prepare = prepare;
 		this.recycler = recycler;
 		this.queue = new LinkedBlockingQueue(Math.max(Runtime.getRuntime().availableProcessors() * 2, max));
+		this.local = threadAffine ? new ThreadLocal<>() : null;
 	}
 
 	/**
@@ -96,8 +115,17 @@ public final class ObjectPool<T> implements Supplier<T> {
 
 	@Override
 	public T get() {
-		// poll : 获取并移除此队列的头
-		T result = this.queue.poll();
+		T result = null;
+		if (this.local != null) {
+			result = this.local.get();
+			if (result != null) {
+				this.local.set(null); // 嵌套调用时同一线程取不到已取出的对象
+			}
+		}
+		if (result == null) {
+			// poll : 获取并移除此队列的头
+			result = this.queue.poll();
+		}
 		if (result == null) {
 			if (this.creatCounter != null) {
 				// incrementAndGet : 以原子方式将当前值加1
@@ -121,7 +149,11 @@ public final class ObjectPool<T> implements Supplier<T> {
 			if (this.cycleCounter != null) {
 				this.cycleCounter.incrementAndGet();
 			}
-			this.queue.offer(element);
+			if ((this.local != null) && (this.local.get() == null)) {
+				this.local.set(element);
+			} else {
+				this.queue.offer(element);
+			}
 		}
 	}
 
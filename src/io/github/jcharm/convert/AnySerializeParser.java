@@ -34,7 +34,11 @@ public final class AnySerializeParser<T> implements SerializeParser<SerializeWri
 			if (out.needWriteClassName()) {
 				out.writeClassName(value.getClass());
 			}
-			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(out, value);
+			SerializeParser parser = this.convertFactory.findCachedSerializeParser(value.getClass()); // 多态对象的快速路径, 只读取一次缓存
+			if (parser == null) {
+				parser = this.convertFactory.loadSerializeParser(value.getClass());
+			}
+			parser.convertTo(out, value);
 		}
 	}
 
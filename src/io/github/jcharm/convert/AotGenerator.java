@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.github.jcharm.common.ConstructCreator;
+import io.github.jcharm.common.DynClasses;
+import io.github.jcharm.common.FieldAttribute;
+import io.github.jcharm.common.ObjectCopy;
+import io.github.jcharm.convert.bson.BsonConvertFactory;
+import io.github.jcharm.convert.json.JsonConvertFactory;
+
+/**
+ * 构建时预先生成动态类的工具, 在编译之后、打包之前运行(见pom.xml中的aot profile).
+ * <p>
+ * 对指定的类执行与运行时相同的生成过程: ConstructCreator、FieldAttribute、ObjectCopy以及JSON、BSON序列化/反序列化解析器用到的FieldAttribute, 将生成的动态类写入编译输出目录; 运行时按类名先找到这些类, 不再使用ASM生成. 只写入宿主类位于输出目录中的动态类.
+ * <p>
+ * 用法: java io.github.jcharm.convert.AotGenerator 编译输出目录 类名或包名(以.*结尾, 包含子包), 多个时以逗号或空格分隔
+ */
+public final class AotGenerator {
+
+	private AotGenerator() {
+	}
+
+	/**
+	 * 命令行入口.
+	 *
+	 * @param args 编译输出目录 类名或包名...
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: java " + AotGenerator.class.getName() + " <classes-dir> <class-name|package.*>...");
+			return;
+		}
+		final Path outputDir = Paths.get(args[0]);
+		final List<Class> classes = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			for (final String arg : args[i].split(",")) {
+				for (final String name : AotGenerator.classNames(outputDir, arg.trim())) {
+					try {
+						classes.add(Class.forName(name, false, AotGenerator.class.getClassLoader()));
+					} catch (final ClassNotFoundException | LinkageError e) {
+						System.err.println("[AotGenerator] skip " + name + ": " + e);
+					}
+				}
+			}
+		}
+		final int count = AotGenerator.generate(outputDir, classes);
+		System.out.println("[AotGenerator] " + count + " classes generated in " + outputDir);
+	}
+
+	/**
+	 * 为指定的类生成动态类并写入输出目录.
+	 *
+	 * @param outputDir 编译输出目录
+	 * @param classes 需要预先生成动态类的类
+	 * @return 写入的class文件数
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static int generate(final Path outputDir, final List<Class> classes) throws IOException {
+		final Map<String, byte[]> generated = new LinkedHashMap<>();
+		DynClasses.setRecorder((name, bytes) -> {
+			synchronized (generated) {
+				generated.putIfAbsent(name, bytes); // 序列化和反序列化生成的同名FieldAttribute相同, 只保留一个
+			}
+		});
+		try {
+			for (final Class clazz : classes) {
+				if (clazz.isInterface() || clazz.isEnum() || clazz.isAnonymousClass() || clazz.isLocalClass() || clazz.isSynthetic() || !Modifier.isPublic(clazz.getModifiers()) || Modifier.isAbstract(clazz.getModifiers())) {
+					continue;
+				}
+				try {
+					ConstructCreator.create(clazz);
+					FieldAttribute.create(clazz);
+					ObjectCopy.create(clazz, clazz);
+					JsonConvertFactory.instance().loadSerializeParser(clazz);
+					JsonConvertFactory.instance().loadDeSerializeParser(clazz);
+					BsonConvertFactory.instance().loadSerializeParser(clazz);
+					BsonConvertFactory.instance().loadDeSerializeParser(clazz);
+				} catch (final RuntimeException | LinkageError e) {
+					System.err.println("[AotGenerator] skip " + clazz.getName() + ": " + e);
+				}
+			}
+		} finally {
+			DynClasses.setRecorder(null);
+		}
+		int count = 0;
+		for (final Map.Entry<String, byte[]> en : generated.entrySet()) {
+			final String name = en.getKey();
+			final int dyn = name.indexOf("_Dyn");
+			if ((dyn < 0) || !Files.exists(outputDir.resolve(name.substring(0, dyn) + ".class"))) {
+				continue;
+			}
+			final Path file = outputDir.resolve(name + ".class");
+			Files.createDirectories(file.getParent());
+			Files.write(file, en.getValue());
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 解析类名参数, 以.*结尾时列出输出目录中该包及子包下的所有类.
+	 */
+	private static List<String> classNames(final Path outputDir, final String arg) throws IOException {
+		if (!arg.endsWith(".*")) {
+			final List<String> list = new ArrayList<>();
+			list.add(arg);
+			return list;
+		}
+		final Path dir = outputDir.resolve(arg.substring(0, arg.length() - 2).replace('.', '/'));
+		if (!Files.isDirectory(dir)) {
+			return new ArrayList<>();
+		}
+		try (Stream<Path> stream = Files.walk(dir)) {
+			return stream.map((p) -> outputDir.relativize(p).toString().replace('\\', '/')).filter((n) -> n.endsWith(".class") && !n.contains("_Dyn") && !n.endsWith("package-info.class")).map((n) -> n.substring(0, n.length() - 6).replace('/', '.')).sorted().collect(Collectors.toList());
+		}
+	}
+
+}
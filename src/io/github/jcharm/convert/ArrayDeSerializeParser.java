@@ -9,6 +9,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -74,11 +75,30 @@ public final class ArrayDeSerializeParser<T> implements DeSerializeParser<Deseri
 			}
 		}
 		in.readArrayEnd();
+		return this.createArray(result);
+	}
+
+	/**
+	 * 按顺序将已反序列化的元素创建为数组.
+	 *
+	 * @param elements 数组元素
+	 * @return T[]
+	 */
+	public T[] createArray(final Collection<T> elements) {
 		// Array : 提供了动态创建和访问Java数组的方法, 同时允许在执行 get 或 set 操作期间进行扩展转换
 		// newInstance : 创建一个具有指定的组件类型和长度的新数组
-		final T[] rs = (T[]) Array.newInstance(this.componentClass, result.size());
+		final T[] rs = (T[]) Array.newInstance(this.componentClass, elements.size());
 		// toArray : 返回按适当顺序(从第一个元素到最后一个元素)包含列表中所有元素的数组, 返回数组的运行时类型是指定数组的运行时类型
-		return result.toArray(rs);
+		return elements.toArray(rs);
+	}
+
+	/**
+	 * 获取数组元素的反序列化解析器.
+	 *
+	 * @return DeSerializeParser
+	 */
+	public DeSerializeParser<DeserializeReader, T> getComponentDeSerializeParser() {
+		return this.deSerializeParser;
 	}
 
 	@Override
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 写入Supplier提供的ByteBuffer的输出流, 每个ByteBuffer写满后立即flip并交给Consumer, 不持有已写满的ByteBuffer.
+ * <p>
+ * 写完后需调用close, 将最后一个未写满的ByteBuffer交给Consumer.
+ */
+public final class ByteBufferOutputStream extends OutputStream {
+
+	private final Supplier<ByteBuffer> supplier;
+
+	private final Consumer<ByteBuffer> consumer;
+
+	private ByteBuffer buffer;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param supplier 提供空的ByteBuffer
+	 * @param consumer 接收已写入内容并flip后的ByteBuffer
+	 */
+	public ByteBufferOutputStream(final Supplier<ByteBuffer> supplier, final Consumer<ByteBuffer> consumer) {
+		this.supplier = supplier;
+		this.consumer = consumer;
+	}
+
+	@Override
+	public void write(final int b) {
+		this.current().put((byte) b);
+	}
+
+	@Override
+	public void write(final byte[] bytes, final int off, final int len) {
+		int pos = off;
+		final int end = off + len;
+		while (pos < end) {
+			final ByteBuffer buf = this.current();
+			final int n = Math.min(buf.remaining(), end - pos);
+			buf.put(bytes, pos, n);
+			pos += n;
+		}
+	}
+
+	/**
+	 * 将最后一个ByteBuffer交给Consumer.
+	 */
+	@Override
+	public void close() {
+		if ((this.buffer != null) && (this.buffer.position() > 0)) {
+			this.buffer.flip();
+			this.consumer.accept(this.buffer);
+		}
+		this.buffer = null;
+	}
+
+	private ByteBuffer current() {
+		if ((this.buffer != null) && !this.buffer.hasRemaining()) {
+			this.buffer.flip();
+			this.consumer.accept(this.buffer);
+			this.buffer = null;
+		}
+		if (this.buffer == null) {
+			this.buffer = this.supplier.get();
+		}
+		return this.buffer;
+	}
+
+}
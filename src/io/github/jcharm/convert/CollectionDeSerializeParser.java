@@ -64,6 +64,27 @@ public final class CollectionDeSerializeParser<T> implements DeSerializeParser<D
 		return result;
 	}
 
+	/**
+	 * 按顺序将已反序列化的元素创建为集合.
+	 *
+	 * @param elements 集合元素
+	 * @return Collection
+	 */
+	public Collection<T> createCollection(final Collection<T> elements) {
+		final Collection<T> result = this.constructCreator.construct();
+		result.addAll(elements);
+		return result;
+	}
+
+	/**
+	 * 获取集合元素的反序列化解析器.
+	 *
+	 * @return DeSerializeParser
+	 */
+	public DeSerializeParser<DeserializeReader, T> getComponentDeSerializeParser() {
+		return this.deSerializeParser;
+	}
+
 	@Override
 	public Type getType() {
 		return this.type;
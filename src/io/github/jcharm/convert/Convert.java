@@ -3,6 +3,14 @@
  */
 package io.github.jcharm.convert;
 
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import io.github.jcharm.common.ConstructCreator;
+import io.github.jcharm.common.ObjectPool;
+
 /**
  * 双向序列化类.
  *
@@ -14,6 +22,18 @@ public abstract class Convert<R extends DeserializeReader, W extends SerializeWr
 	/** 双向序列化工厂类. */
 	protected final ConvertFactory<R, W> convertFactory;
 
+	/** 默认的序列化输出流放回对象池时保留的缓冲区最大长度. */
+	public static final int DEFAULT_RETAINED_BUFFER_SIZE = 16 * 1024;
+
+	/** 当前Convert的对象池中创建新对象的次数. */
+	protected final AtomicLong creatCounter = new AtomicLong();
+
+	/** 当前Convert的对象池中对象回收的次数. */
+	protected final AtomicLong cycleCounter = new AtomicLong();
+
+	/** 序列化输出流放回对象池时保留的缓冲区最大长度. */
+	protected volatile int retainedBufferSize = Convert.DEFAULT_RETAINED_BUFFER_SIZE;
+
 	/**
 	 * 构造函数.
 	 *
@@ -32,4 +52,84 @@ public abstract class Convert<R extends DeserializeReader, W extends SerializeWr
 		return this.convertFactory;
 	}
 
+	/**
+	 * 获取当前Convert的对象池中创建新对象的次数, 与getCycleCounter比较可得出对象池的命中率.
+	 *
+	 * @return AtomicLong
+	 */
+	public AtomicLong getCreatCounter() {
+		return this.creatCounter;
+	}
+
+	/**
+	 * 获取当前Convert的对象池中对象回收的次数.
+	 *
+	 * @return AtomicLong
+	 */
+	public AtomicLong getCycleCounter() {
+		return this.cycleCounter;
+	}
+
+	/**
+	 * 获取序列化输出流放回对象池时保留的缓冲区最大长度.
+	 *
+	 * @return int
+	 */
+	public int getRetainedBufferSize() {
+		return this.retainedBufferSize;
+	}
+
+	/**
+	 * 设置序列化输出流放回对象池时保留的缓冲区最大长度, 超过此长度的缓冲区在放回时缩小为默认长度, 以免偶尔序列化的大对象长期占用内存.
+	 *
+	 * @param retainedBufferSize int
+	 */
+	public void setRetainedBufferSize(final int retainedBufferSize) {
+		this.retainedBufferSize = retainedBufferSize;
+	}
+
+	/**
+	 * 创建当前Convert使用的反序列化输入流对象池, 每个线程缓存一个对象, 计数计入当前Convert.
+	 *
+	 * @param <T> 反序列化输入流的数据类型
+	 * @param creator ConstructCreator
+	 * @param recycler Predicate
+	 * @return ObjectPool
+	 */
+	protected <T extends DeserializeReader> ObjectPool<T> createReaderPool(final ConstructCreator<T> creator, final Predicate<T> recycler) {
+		return new ObjectPool<>(this.creatCounter, this.cycleCounter, 16, true, creator, null, recycler);
+	}
+
+	/**
+	 * 创建当前Convert使用的序列化输出流对象池, 每个线程缓存一个对象, 计数计入当前Convert, 取出时设置保留的缓冲区最大长度.
+	 *
+	 * @param <T> 序列化输出流的数据类型
+	 * @param creator ConstructCreator
+	 * @param recycler Predicate
+	 * @return ObjectPool
+	 */
+	protected <T extends SerializeWriter> ObjectPool<T> createWriterPool(final ConstructCreator<T> creator, final Predicate<T> recycler) {
+		return new ObjectPool<>(this.creatCounter, this.cycleCounter, 16, true, creator, (final T t) -> t.setRetainedSize(this.retainedBufferSize), recycler);
+	}
+
+	/**
+	 * 将Iterator中的元素逐个序列化为一个长度未知的数组, 每次只持有一个元素, 无需先构建完整的集合.
+	 *
+	 * @param out 序列化输出流
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 */
+	protected void convertEachTo(final W out, final Type elementType, final Iterator<?> values) {
+		final SerializeParser<W, Object> serializeParser = this.convertFactory.loadSerializeParser(elementType);
+		out.writeUnsizedArrayBegin();
+		boolean first = true;
+		while (values.hasNext()) {
+			out.writeUnsizedArrayMark(first);
+			serializeParser.convertTo(out, values.next());
+			first = false;
+		}
+		out.writeUnsizedArrayEnd();
+		out.flush();
+	}
+
 }
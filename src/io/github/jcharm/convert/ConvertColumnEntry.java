@@ -14,6 +14,10 @@ public final class ConvertColumnEntry {
 
 	private boolean ignore;
 
+	private boolean ordinal;
+
+	private boolean intern;
+
 	private ConvertType convertType;
 
 	/**
@@ -33,6 +37,8 @@ public final class ConvertColumnEntry {
 		}
 		this.name = column.name();
 		this.ignore = column.ignore();
+		this.ordinal = column.ordinal();
+		this.intern = column.intern();
 		this.convertType = column.type();
 	}
 
@@ -106,6 +112,42 @@ public final class ConvertColumnEntry {
 		this.ignore = ignore;
 	}
 
+	/**
+	 * 获取枚举类型的字段是否按序号双向序列化.
+	 *
+	 * @return boolean
+	 */
+	public boolean isOrdinal() {
+		return this.ordinal;
+	}
+
+	/**
+	 * 设置枚举类型的字段是否按序号双向序列化.
+	 *
+	 * @param ordinal boolean
+	 */
+	public void setOrdinal(final boolean ordinal) {
+		this.ordinal = ordinal;
+	}
+
+	/**
+	 * 获取String类型的字段反序列化时是否去重.
+	 *
+	 * @return boolean
+	 */
+	public boolean isIntern() {
+		return this.intern;
+	}
+
+	/**
+	 * 设置String类型的字段反序列化时是否去重.
+	 *
+	 * @param intern boolean
+	 */
+	public void setIntern(final boolean intern) {
+		this.intern = intern;
+	}
+
 	/**
 	 * 获取在哪种双向序列化方式下ignore的值起作用.
 	 *
@@ -3,6 +3,7 @@
  */
 package io.github.jcharm.convert;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
@@ -21,8 +22,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import io.github.jcharm.common.ConstructCreator;
@@ -84,6 +90,16 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 
 	private final ConcurrentHashMap<AccessibleObject, ConvertColumnEntry> convertColumnEntryMap = new ConcurrentHashMap();
 
+	private final AtomicInteger parserVersion;
+
+	private final ParserCache serializeParserCache = new ParserCache();
+
+	private final ParserCache deSerializeParserCache = new ParserCache();
+
+	private final Building<SerializeParser<W, ?>> serializeBuilding = new Building<>(this.serializeParserMap);
+
+	private final Building<DeSerializeParser<R, ?>> deSerializeBuilding = new Building<>(this.deSerializeParserMap);
+
 	/**
 	 * 获取双向序列化工厂的父工厂类.
 	 *
@@ -123,6 +139,7 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	 */
 	protected ConvertFactory(final ConvertFactory parentConvertFactory) {
 		this.parentConvertFactory = parentConvertFactory;
+		this.parserVersion = parentConvertFactory == null ? new AtomicInteger() : parentConvertFactory.parserVersion; // 父子工厂共用版本号, 任一工厂的注册都使整条链上的查找缓存失效
 		if (parentConvertFactory == null) {
 			this.registerParser(boolean.class, BooleanSimpleParser.INSTANCE);
 			this.registerParser(Boolean.class, BooleanSimpleParser.INSTANCE);
@@ -176,6 +193,7 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	public <T> void registerParser(final Type type, final AbstractSimpleParser<R, W, T> parser) {
 		this.serializeParserMap.put(type, parser);
 		this.deSerializeParserMap.put(type, parser);
+		this.parserVersion.incrementAndGet();
 	}
 
 	/**
@@ -186,7 +204,10 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	 * @param serializeParser 注册的序列化解析器
 	 */
 	public <T> void registerSerializeParser(final Type type, final SerializeParser<W, T> serializeParser) {
-		this.serializeParserMap.put(type, serializeParser);
+		if (!this.serializeBuilding.register(type, serializeParser)) {
+			this.serializeParserMap.put(type, serializeParser);
+			this.parserVersion.incrementAndGet();
+		}
 	}
 
 	/**
@@ -197,7 +218,10 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	 * @param deSerializeParser 注册的反序列化解析器
 	 */
 	public <T> void registerDeSerializeParser(final Type type, final DeSerializeParser<R, T> deSerializeParser) {
-		this.deSerializeParserMap.put(type, deSerializeParser);
+		if (!this.deSerializeBuilding.register(type, deSerializeParser)) {
+			this.deSerializeParserMap.put(type, deSerializeParser);
+			this.parserVersion.incrementAndGet();
+		}
 	}
 
 	/**
@@ -295,8 +319,45 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 		} else {
 			throw new ConvertException("not support the type (" + type + ")");
 		}
-		this.registerSerializeParser(type, this.createSerializeParser(type, clazz));
-		this.registerDeSerializeParser(type, this.createDeSerializeParser(type, clazz));
+		this.registerSerializeParser(type, this.serializeBuilding.build(type, (t) -> this.createSerializeParser(t, clazz)));
+		this.registerDeSerializeParser(type, this.deSerializeBuilding.build(type, (t) -> this.createDeSerializeParser(t, clazz)));
+	}
+
+	/**
+	 * 在ForkJoinPool.commonPool()中并行预先加载数据类型的序列化和反序列化解析器.
+	 *
+	 * @param types 需要预先加载的数据类型
+	 */
+	public void preload(final Collection<? extends Type> types) {
+		this.preload(types, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * 在指定的ForkJoinPool中并行预先加载数据类型的序列化和反序列化解析器, 字段类型的解析器一并加载; 通常在启动时调用, 使第一个请求不再构建解析器. 等待所有类型加载完成后抛出第一个失败类型的异常.
+	 *
+	 * @param types 需要预先加载的数据类型
+	 * @param pool ForkJoinPool
+	 */
+	public void preload(final Collection<? extends Type> types, final ForkJoinPool pool) {
+		final ForkJoinTask[] tasks = new ForkJoinTask[types.size() * 2];
+		int i = 0;
+		for (final Type type : types) {
+			tasks[i++] = pool.submit(() -> this.loadSerializeParser(type));
+			tasks[i++] = pool.submit(() -> this.loadDeSerializeParser(type));
+		}
+		RuntimeException error = null;
+		for (final ForkJoinTask task : tasks) {
+			try {
+				task.join();
+			} catch (final RuntimeException e) {
+				if (error == null) {
+					error = e;
+				}
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
 	}
 
 	/**
@@ -336,11 +397,38 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	}
 
 	private <T> SerializeParser<W, T> findSerializeParser(final Type type) {
+		final SerializeParser<W, T> serializeParser = (SerializeParser<W, T>) this.serializeBuilding.find(type);
+		if (serializeParser != null) {
+			return serializeParser;
+		}
+		if (!(type instanceof Class)) {
+			return this.lookupSerializeParser(type);
+		}
+		final ParserCache.Slot slot = this.serializeParserCache.get((Class) type);
+		final int version = this.parserVersion.get(); // 先读版本号再查找, 查找期间有注册时缓存的结果直接失效
+		final Object parser = slot.find(version);
+		if (parser != null) {
+			return (SerializeParser<W, T>) parser;
+		}
+		return (SerializeParser<W, T>) slot.cache(this.lookupSerializeParser(type), version);
+	}
+
+	/**
+	 * 从缓存中获取Class对应的已发布的序列化解析器.
+	 *
+	 * @param clazz Class
+	 * @return 缓存中没有或已失效时返回null
+	 */
+	SerializeParser<W, ?> findCachedSerializeParser(final Class clazz) {
+		return (SerializeParser<W, ?>) this.serializeParserCache.get(clazz).find(this.parserVersion.get());
+	}
+
+	private <T> SerializeParser<W, T> lookupSerializeParser(final Type type) {
 		final SerializeParser<W, T> serializeParser = (SerializeParser<W, T>) this.serializeParserMap.get(type);
 		if (serializeParser != null) {
 			return serializeParser;
 		}
-		return this.parentConvertFactory == null ? null : this.parentConvertFactory.findSerializeParser(type);
+		return this.parentConvertFactory == null ? null : this.parentConvertFactory.lookupSerializeParser(type);
 	}
 
 	private <T> SerializeParser<W, T> createSerializeParser(final Type type, final Class clazz) {
@@ -378,10 +466,15 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	 * @return SerializeParser
 	 */
 	public <T> SerializeParser<W, T> loadSerializeParser(final Type type) {
-		SerializeParser<W, T> serializeParser = this.findSerializeParser(type);
+		final SerializeParser<W, T> serializeParser = this.findSerializeParser(type);
 		if (serializeParser != null) {
 			return serializeParser;
 		}
+		return (SerializeParser<W, T>) this.serializeBuilding.build(type, this::buildSerializeParser);
+	}
+
+	private <T> SerializeParser<W, T> buildSerializeParser(final Type type) {
+		SerializeParser<W, T> serializeParser;
 		if (type instanceof GenericArrayType) {
 			return new ArraySerializeParser(this, type);
 		}
@@ -412,11 +505,28 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	}
 
 	private <T> DeSerializeParser<R, T> findDeSerializeParser(final Type type) {
+		final DeSerializeParser deSerializeParser = this.deSerializeBuilding.find(type);
+		if (deSerializeParser != null) {
+			return deSerializeParser;
+		}
+		if (!(type instanceof Class)) {
+			return this.lookupDeSerializeParser(type);
+		}
+		final ParserCache.Slot slot = this.deSerializeParserCache.get((Class) type);
+		final int version = this.parserVersion.get();
+		final Object parser = slot.find(version);
+		if (parser != null) {
+			return (DeSerializeParser<R, T>) parser;
+		}
+		return (DeSerializeParser<R, T>) slot.cache(this.lookupDeSerializeParser(type), version);
+	}
+
+	private <T> DeSerializeParser<R, T> lookupDeSerializeParser(final Type type) {
 		final DeSerializeParser deSerializeParser = this.deSerializeParserMap.get(type);
 		if (deSerializeParser != null) {
 			return deSerializeParser;
 		}
-		return this.parentConvertFactory == null ? null : this.parentConvertFactory.findDeSerializeParser(type);
+		return this.parentConvertFactory == null ? null : this.parentConvertFactory.lookupDeSerializeParser(type);
 	}
 
 	private <T> DeSerializeParser<R, T> createDeSerializeParser(final Type type, final Class clazz) {
@@ -455,10 +565,15 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 	 * @return DeSerializeParser
 	 */
 	public <T> DeSerializeParser<R, T> loadDeSerializeParser(final Type type) {
-		DeSerializeParser deSerializeParser = this.findDeSerializeParser(type);
+		final DeSerializeParser deSerializeParser = this.findDeSerializeParser(type);
 		if (deSerializeParser != null) {
 			return deSerializeParser;
 		}
+		return (DeSerializeParser<R, T>) this.deSerializeBuilding.build(type, this::buildDeSerializeParser);
+	}
+
+	private <T> DeSerializeParser<R, T> buildDeSerializeParser(final Type type) {
+		DeSerializeParser deSerializeParser;
 		if (type instanceof GenericArrayType) {
 			return new ArrayDeSerializeParser(this, type);
 		}
@@ -531,4 +646,100 @@ public abstract class ConvertFactory<R extends DeserializeReader, W extends Seri
 		return null;
 	}
 
+	/**
+	 * 当前线程正在构建的解析器.
+	 * <p>
+	 * 构建中(包括递归加载字段类型时)注册的解析器只对本线程可见, 最外层的构建完成后才一起发布到共享的解析器表中, 其他线程只会取到已初始化完成的解析器, 不需要等待; 多个线程同时构建同一类型时各自构建, 先发布的生效.
+	 *
+	 * @param <P> 解析器类型
+	 */
+	private static final class Building<P> {
+
+		private final ThreadLocal<Map<Type, P>> local = new ThreadLocal<>();
+
+		private final ConcurrentHashMap<Type, P> shared;
+
+		private Building(final ConcurrentHashMap<Type, P> shared) {
+			this.shared = shared;
+		}
+
+		private P find(final Type type) {
+			final Map<Type, P> map = this.local.get();
+			return map == null ? null : map.get(type);
+		}
+
+		private boolean register(final Type type, final P parser) {
+			final Map<Type, P> map = this.local.get();
+			if (map == null) {
+				return false;
+			}
+			map.put(type, parser);
+			return true;
+		}
+
+		private <T extends P> T build(final Type type, final Function<Type, T> creator) {
+			if (this.local.get() != null) { // 嵌套构建, 由最外层统一发布
+				return creator.apply(type);
+			}
+			final Map<Type, P> map = new LinkedHashMap<>();
+			this.local.set(map);
+			final T parser;
+			try {
+				parser = creator.apply(type);
+			} finally {
+				this.local.remove();
+			}
+			for (final Map.Entry<Type, P> en : map.entrySet()) {
+				this.shared.putIfAbsent(en.getKey(), en.getValue());
+			}
+			return parser;
+		}
+	}
+
+	/**
+	 * 按Class缓存在当前工厂及父工厂链中找到的已发布解析器, 每次查找只需一次ClassValue读取; 缓存项记录查找时的版本号, 版本号变化(注册或重新加载解析器)后失效.
+	 * <p>
+	 * ClassValue的值存放在Class中, 解析器通常引用其工厂, 而工厂又持有本ClassValue, 强引用解析器会使不再使用的工厂(如createChildFactory创建的子工厂)一直无法回收; 因此缓存项弱引用解析器, 解析器由工厂的解析器表强引用, 工厂存活期间不会被回收.
+	 */
+	private static final class ParserCache extends ClassValue<ParserCache.Slot> {
+
+		@Override
+		protected Slot computeValue(final Class<?> type) {
+			return new Slot();
+		}
+
+		/**
+		 * 一个Class的缓存位置.
+		 */
+		private static final class Slot {
+
+			private volatile Cached cached;
+
+			private Object find(final int version) {
+				final Cached c = this.cached;
+				return (c != null) && (c.version == version) ? c.get() : null;
+			}
+
+			private Object cache(final Object parser, final int version) {
+				if (parser != null) { // 不缓存未找到的结果, 新发布的解析器下次查找即可取到
+					this.cached = new Cached(parser, version);
+				}
+				return parser;
+			}
+		}
+
+		/**
+		 * 弱引用缓存的解析器及其版本号.
+		 */
+		private static final class Cached extends WeakReference<Object> {
+
+			private final int version;
+
+			private Cached(final Object parser, final int version) {
+				super(parser);
+				this.version = version;
+			}
+		}
+	}
+
 }
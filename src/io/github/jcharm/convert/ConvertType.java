@@ -12,6 +12,8 @@ public enum ConvertType {
 	JSON(1),
 	/** BSON. */
 	BSON(2),
+	/** MessagePack. */
+	MSGPACK(4),
 	/** ALL. */
 	ALL(127);
 
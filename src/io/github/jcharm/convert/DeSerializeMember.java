@@ -109,6 +109,15 @@ public final class DeSerializeMember<R extends DeserializeReader, C, F> implemen
 		return this.fieldAttribute;
 	}
 
+	/**
+	 * 获取反序列化解析器.
+	 *
+	 * @return DeSerializeParser
+	 */
+	public DeSerializeParser<R, F> getDeSerializeParser() {
+		return this.deSerializeParser;
+	}
+
 	@Override
 	public int compareTo(final DeSerializeMember<R, C, F> o) {
 		if (o == null) {
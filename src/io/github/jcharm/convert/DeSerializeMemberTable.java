@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 反序列化成员的字段名散列表, 反序列化输入流可直接用原始字符或字节匹配字段名而无需创建String.
+ */
+public final class DeSerializeMemberTable {
+
+	/** 反序列化成员. */
+	private final DeSerializeMember[] members;
+
+	private final NameTable names;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param members DeSerializeMember集合
+	 */
+	public DeSerializeMemberTable(final DeSerializeMember[] members) {
+		this.members = members;
+		final String[] aliases = new String[members.length];
+		for (int i = 0; i < members.length; i++) {
+			aliases[i] = members[i].getFieldAttribute().getFieldAliasName();
+		}
+		this.names = new NameTable(aliases);
+	}
+
+	/**
+	 * 获取全部反序列化成员.
+	 *
+	 * @return DeSerializeMember集合
+	 */
+	public DeSerializeMember[] getMembers() {
+		return this.members;
+	}
+
+	/**
+	 * 根据字段名查找反序列化成员.
+	 *
+	 * @param name 字段名
+	 * @return DeSerializeMember, 不存在返回null
+	 */
+	public DeSerializeMember find(final String name) {
+		return this.member(this.names.indexOf(name));
+	}
+
+	/**
+	 * 根据字符数组中指定范围的字段名查找反序列化成员, hash值需与String.hashCode算法一致.
+	 *
+	 * @param chars char[]
+	 * @param start int
+	 * @param len int
+	 * @param hash 字段名的hash值
+	 * @return DeSerializeMember, 不存在返回null
+	 */
+	public DeSerializeMember find(final char[] chars, final int start, final int len, final int hash) {
+		return this.member(this.names.indexOf(chars, start, len, hash));
+	}
+
+	/**
+	 * 根据字节数组中指定范围的字段名查找反序列化成员, 字段名只能是ASCII字符.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 * @return DeSerializeMember, 不存在返回null
+	 */
+	public DeSerializeMember find(final byte[] bytes, final int start, final int len) {
+		return this.member(this.names.indexOf(bytes, start, len));
+	}
+
+	/**
+	 * 根据ByteBuffer中指定绝对位置的字段名查找反序列化成员, 不改变ByteBuffer的position, 字段名只能是ASCII字符.
+	 *
+	 * @param buffer ByteBuffer
+	 * @param start 绝对位置
+	 * @param len int
+	 * @return DeSerializeMember, 不存在返回null
+	 */
+	public DeSerializeMember find(final ByteBuffer buffer, final int start, final int len) {
+		return this.member(this.names.indexOf(buffer, start, len));
+	}
+
+	private DeSerializeMember member(final int index) {
+		return index < 0 ? null : this.members[index];
+	}
+
+}
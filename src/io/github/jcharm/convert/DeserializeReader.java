@@ -17,6 +17,9 @@ public abstract class DeserializeReader {
 	/** 数组存在的标识. */
 	public static final short SIGN_NOLENGTH = -2;
 
+	/** readObjectBegin返回此实例表示对象是之前已读取的对象的引用, 需调用readReference获取. */
+	public static final String REFERENCE = new String("@reference");
+
 	/**
 	 * 读取一个boolean值.
 	 *
@@ -80,6 +83,17 @@ public abstract class DeserializeReader {
 	 */
 	public abstract String readSmallString();
 
+	/**
+	 * 读取一个短字符串并返回其在名称表中的序号, 子类可覆盖此方法直接匹配原始字符或字节以避免创建String.
+	 *
+	 * @param names 名称表
+	 * @return 序号, 值为null时返回SIGN_NULL, 名称表中不存在时返回NameTable.NOT_FOUND
+	 */
+	public int readSmallString(final NameTable names) {
+		final String value = this.readSmallString();
+		return value == null ? DeserializeReader.SIGN_NULL : names.indexOf(value);
+	}
+
 	/**
 	 * 读取一个String值.
 	 *
@@ -87,6 +101,16 @@ public abstract class DeserializeReader {
 	 */
 	public abstract String readString();
 
+	/**
+	 * 读取一个String值并在去重表中取得相等的实例, 子类可覆盖此方法直接用原始字符或字节查找以避免创建临时的String.
+	 *
+	 * @param table 字符串去重表
+	 * @return String
+	 */
+	public String readString(final StringInternTable table) {
+		return table.intern(this.readString());
+	}
+
 	/**
 	 * 读取数组开头并返回数组长度.
 	 *
@@ -122,6 +146,23 @@ public abstract class DeserializeReader {
 		return null;
 	}
 
+	/**
+	 * 读取对象开头返回REFERENCE时, 获取所引用的之前已读取的对象.
+	 *
+	 * @return Object
+	 */
+	public Object readReference() {
+		throw new ConvertException(this.getClass().getSimpleName() + " not support object reference");
+	}
+
+	/**
+	 * 对象已创建且尚未读取对象结尾时调用, 引用跟踪模式下子类登记该对象, 之后对它的引用(包括其字段中的循环引用)还原为同一实例; 默认无操作.
+	 *
+	 * @param obj Object
+	 */
+	public void readObjectCreated(final Object obj) {
+	}
+
 	/**
 	 * 读取对象结尾.
 	 *
@@ -136,6 +177,15 @@ public abstract class DeserializeReader {
 	 */
 	public abstract boolean hasNext();
 
+	/**
+	 * 对象中是否还存在下个字段, 默认同hasNext, 子类可覆盖此方法使用其他的字段编码.
+	 *
+	 * @return boolean
+	 */
+	public boolean hasNextField() {
+		return this.hasNext();
+	}
+
 	/**
 	 * 跳过值(不包含值前面的字段).
 	 */
@@ -161,4 +211,14 @@ public abstract class DeserializeReader {
 	 */
 	public abstract DeSerializeMember readFieldName(DeSerializeMember[] deSerializeMembers);
 
+	/**
+	 * 根据字段名散列表读取字段对应的DeSerializeMember, 子类可覆盖此方法直接匹配原始字符或字节以避免创建String.
+	 *
+	 * @param memberTable DeSerializeMemberTable
+	 * @return DeSerializeMember, 字段不存在返回null
+	 */
+	public DeSerializeMember readFieldName(final DeSerializeMemberTable memberTable) {
+		return this.readFieldName(memberTable.getMembers());
+	}
+
 }
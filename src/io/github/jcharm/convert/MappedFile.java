@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 按窗口内存映射的文件, 供ByteBuffer反序列化输入流直接读取或ByteBuffer序列化输出流直接写入映射区域, 单个窗口不超过2G, 文件大小不受限制.
+ * <p>
+ * 只读模式下get依次返回文件内容的各个窗口, 到文件末尾时返回null; 写模式下get依次返回文件中下一个可写的窗口(文件随之扩大), 写完后调用finish按实际写入的长度截断文件.
+ */
+public final class MappedFile implements Supplier<ByteBuffer>, Closeable {
+
+	/** 默认的窗口大小. */
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private final FileChannel channel;
+
+	private final MapMode mode;
+
+	private final int windowSize;
+
+	/** 只读模式下为文件大小. */
+	private final long size;
+
+	/** 下一个窗口在文件中的起始位置. */
+	private long position;
+
+	/** 写模式下最后映射的窗口. */
+	private MappedByteBuffer last;
+
+	private MappedFile(final FileChannel channel, final MapMode mode, final int windowSize) throws IOException {
+		this.channel = channel;
+		this.mode = mode;
+		this.windowSize = windowSize;
+		this.size = mode == MapMode.READ_ONLY ? channel.size() : 0;
+	}
+
+	/**
+	 * 以只读模式打开文件.
+	 *
+	 * @param path Path
+	 * @return MappedFile
+	 */
+	public static MappedFile forRead(final Path path) {
+		return MappedFile.forRead(path, MappedFile.DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * 以只读模式打开文件.
+	 *
+	 * @param path Path
+	 * @param windowSize 窗口大小
+	 * @return MappedFile
+	 */
+	public static MappedFile forRead(final Path path, final int windowSize) {
+		MappedFile.checkWindowSize(windowSize);
+		try {
+			return new MappedFile(FileChannel.open(path, StandardOpenOption.READ), MapMode.READ_ONLY, windowSize);
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+	/**
+	 * 以写模式打开文件, 文件已存在时清空原有内容.
+	 *
+	 * @param path Path
+	 * @return MappedFile
+	 */
+	public static MappedFile forWrite(final Path path) {
+		return MappedFile.forWrite(path, MappedFile.DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * 以写模式打开文件, 文件已存在时清空原有内容.
+	 *
+	 * @param path Path
+	 * @param windowSize 窗口大小
+	 * @return MappedFile
+	 */
+	public static MappedFile forWrite(final Path path, final int windowSize) {
+		MappedFile.checkWindowSize(windowSize);
+		try {
+			return new MappedFile(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE), MapMode.READ_WRITE, windowSize);
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+	private static void checkWindowSize(final int windowSize) {
+		if (windowSize < 1) {
+			throw new ConvertException("illegal mapped window size (" + windowSize + ")");
+		}
+	}
+
+	/**
+	 * 映射下一个窗口.
+	 *
+	 * @return ByteBuffer, 只读模式下已到文件末尾时返回null
+	 */
+	@Override
+	public ByteBuffer get() {
+		final long len = this.mode == MapMode.READ_ONLY ? Math.min(this.windowSize, this.size - this.position) : this.windowSize;
+		if (len < 1) {
+			return null;
+		}
+		try {
+			final MappedByteBuffer buffer = this.channel.map(this.mode, this.position, len);
+			this.position += len;
+			if (this.mode == MapMode.READ_WRITE) {
+				this.last = buffer;
+			}
+			return buffer;
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+	/**
+	 * 只读模式下映射剩余的所有窗口.
+	 *
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] getAll() {
+		final List<ByteBuffer> list = new ArrayList<>();
+		for (ByteBuffer buffer = this.get(); buffer != null; buffer = this.get()) {
+			list.add(buffer);
+		}
+		return list.toArray(new ByteBuffer[list.size()]);
+	}
+
+	/**
+	 * 写模式下按实际写入的长度截断文件, 序列化输出流按顺序写满每个窗口, 须在翻转最后一个窗口之前调用.
+	 */
+	public void finish() {
+		final long length = this.last == null ? 0 : (this.position - this.windowSize) + this.last.position();
+		try {
+			this.channel.truncate(length);
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+	/**
+	 * 关闭文件, 已映射的窗口在关闭后仍然有效.
+	 */
+	@Override
+	public void close() {
+		try {
+			this.channel.close();
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+}
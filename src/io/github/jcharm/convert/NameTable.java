@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert;
+
+import java.nio.ByteBuffer;
+
+import io.github.jcharm.common.CommonUtils;
+
+/**
+ * 名称散列表, 反序列化输入流可直接用原始字符或字节匹配名称得到其序号而无需创建String; 同时缓存名称的字符和UTF-8字节, 序列化输出流可直接输出.
+ */
+public final class NameTable {
+
+	/** 名称不存在时返回的序号. */
+	public static final int NOT_FOUND = -2;
+
+	private final String[] names;
+
+	private final char[][] chars;
+
+	private final byte[][] bytes;
+
+	private final int[] slots; // 序号+1, 0表示空位
+
+	private final int[] hashes;
+
+	private final int mask;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param names 名称数组, 数组下标即名称的序号
+	 */
+	public NameTable(final String... names) {
+		this.names = names;
+		this.chars = new char[names.length][];
+		this.bytes = new byte[names.length][];
+		int capacity = 4;
+		while (capacity < (names.length * 2)) {
+			capacity <<= 1;
+		}
+		this.mask = capacity - 1;
+		this.slots = new int[capacity];
+		this.hashes = new int[capacity];
+		for (int k = 0; k < names.length; k++) {
+			this.chars[k] = names[k].toCharArray();
+			this.bytes[k] = CommonUtils.encodeUTF8ToBytes(this.chars[k], 0, this.chars[k].length);
+			final int hash = names[k].hashCode();
+			int index = NameTable.spread(hash) & this.mask;
+			while (this.slots[index] != 0) {
+				index = (index + 1) & this.mask;
+			}
+			this.slots[index] = k + 1;
+			this.hashes[index] = hash;
+		}
+	}
+
+	/**
+	 * 获取名称数.
+	 *
+	 * @return int
+	 */
+	public int size() {
+		return this.names.length;
+	}
+
+	/**
+	 * 获取指定序号的名称.
+	 *
+	 * @param index 序号
+	 * @return String
+	 */
+	public String getName(final int index) {
+		return this.names[index];
+	}
+
+	/**
+	 * 获取指定序号的名称的字符数组.
+	 *
+	 * @param index 序号
+	 * @return char[]
+	 */
+	public char[] getChars(final int index) {
+		return this.chars[index];
+	}
+
+	/**
+	 * 获取指定序号的名称的UTF-8字节数组.
+	 *
+	 * @param index 序号
+	 * @return byte[]
+	 */
+	public byte[] getBytes(final int index) {
+		return this.bytes[index];
+	}
+
+	/**
+	 * 根据名称查找序号.
+	 *
+	 * @param name 名称
+	 * @return 序号, 不存在返回NOT_FOUND
+	 */
+	public int indexOf(final String name) {
+		if (name == null) {
+			return NameTable.NOT_FOUND;
+		}
+		final int hash = name.hashCode();
+		final int len = name.length();
+		int index = NameTable.spread(hash) & this.mask;
+		for (;;) {
+			final int slot = this.slots[index];
+			if (slot == 0) {
+				return NameTable.NOT_FOUND;
+			}
+			if (this.hashes[index] == hash) {
+				final char[] cs = this.chars[slot - 1];
+				if (cs.length == len) {
+					int i = 0;
+					while ((i < len) && (cs[i] == name.charAt(i))) {
+						i++;
+					}
+					if (i == len) {
+						return slot - 1;
+					}
+				}
+			}
+			index = (index + 1) & this.mask;
+		}
+	}
+
+	/**
+	 * 根据字符数组中指定范围的名称查找序号, hash值需与String.hashCode算法一致.
+	 *
+	 * @param src char[]
+	 * @param start int
+	 * @param len int
+	 * @param hash 名称的hash值
+	 * @return 序号, 不存在返回NOT_FOUND
+	 */
+	public int indexOf(final char[] src, final int start, final int len, final int hash) {
+		int index = NameTable.spread(hash) & this.mask;
+		for (;;) {
+			final int slot = this.slots[index];
+			if (slot == 0) {
+				return NameTable.NOT_FOUND;
+			}
+			if (this.hashes[index] == hash) {
+				final char[] cs = this.chars[slot - 1];
+				if (cs.length == len) {
+					int i = 0;
+					while ((i < len) && (cs[i] == src[start + i])) {
+						i++;
+					}
+					if (i == len) {
+						return slot - 1;
+					}
+				}
+			}
+			index = (index + 1) & this.mask;
+		}
+	}
+
+	/**
+	 * 根据字节数组中指定范围的名称查找序号, 名称只能是ASCII字符.
+	 *
+	 * @param src byte[]
+	 * @param start int
+	 * @param len int
+	 * @return 序号, 不存在返回NOT_FOUND
+	 */
+	public int indexOf(final byte[] src, final int start, final int len) {
+		int hash = 0;
+		final int limit = start + len;
+		for (int i = start; i < limit; i++) {
+			hash = (31 * hash) + (src[i] & 0xff);
+		}
+		int index = NameTable.spread(hash) & this.mask;
+		for (;;) {
+			final int slot = this.slots[index];
+			if (slot == 0) {
+				return NameTable.NOT_FOUND;
+			}
+			if (this.hashes[index] == hash) {
+				final char[] cs = this.chars[slot - 1];
+				if (cs.length == len) {
+					int i = 0;
+					while ((i < len) && (cs[i] == (src[start + i] & 0xff))) {
+						i++;
+					}
+					if (i == len) {
+						return slot - 1;
+					}
+				}
+			}
+			index = (index + 1) & this.mask;
+		}
+	}
+
+	/**
+	 * 根据ByteBuffer中指定绝对位置的名称查找序号, 不改变ByteBuffer的position, 名称只能是ASCII字符.
+	 *
+	 * @param buffer ByteBuffer
+	 * @param start 绝对位置
+	 * @param len int
+	 * @return 序号, 不存在返回NOT_FOUND
+	 */
+	public int indexOf(final ByteBuffer buffer, final int start, final int len) {
+		if (buffer.hasArray()) {
+			return this.indexOf(buffer.array(), buffer.arrayOffset() + start, len);
+		}
+		int hash = 0;
+		final int limit = start + len;
+		for (int i = start; i < limit; i++) {
+			hash = (31 * hash) + (buffer.get(i) & 0xff);
+		}
+		int index = NameTable.spread(hash) & this.mask;
+		for (;;) {
+			final int slot = this.slots[index];
+			if (slot == 0) {
+				return NameTable.NOT_FOUND;
+			}
+			if (this.hashes[index] == hash) {
+				final char[] cs = this.chars[slot - 1];
+				if (cs.length == len) {
+					int i = 0;
+					while ((i < len) && (cs[i] == (buffer.get(start + i) & 0xff))) {
+						i++;
+					}
+					if (i == len) {
+						return slot - 1;
+					}
+				}
+			}
+			index = (index + 1) & this.mask;
+		}
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+}
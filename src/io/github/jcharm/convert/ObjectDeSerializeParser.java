@@ -16,6 +16,8 @@ import java.util.Set;
 import io.github.jcharm.common.ConstructCreator;
 import io.github.jcharm.common.FieldAttribute;
 import io.github.jcharm.common.GenericsType;
+import io.github.jcharm.convert.parser.EnumSimpleParser;
+import io.github.jcharm.convert.parser.StringSimpleParser;
 
 /**
  * 对象反序列化解析器.
@@ -43,9 +45,8 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 	/** 反序列化构造函数参数成员. */
 	protected DeSerializeMember<R, T, ?>[] constructMembers;
 
-	private boolean inited = false;
-
-	private final Object lock = new Object();
+	/** 反序列化成员的字段名散列表. */
+	protected DeSerializeMemberTable deSerializeMemberTable;
 
 	/**
 	 * 构造函数.
@@ -61,10 +62,13 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 			this.typeClass = (Class) type;
 		}
 		this.deSerializeMembers = new DeSerializeMember[0];
+		this.deSerializeMemberTable = new DeSerializeMemberTable(this.deSerializeMembers);
 	}
 
 	/**
 	 * 初始化反序列化解析器.
+	 * <p>
+	 * 由ConvertFactory在解析器发布到共享的解析器表之前调用, 发布后的解析器都已初始化完成.
 	 *
 	 * @param convertFactory ConvertFactory
 	 */
@@ -92,21 +96,37 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 				if ((convertColumnEntry != null) && convertColumnEntry.isIgnore()) {
 					continue;
 				}
+				boolean ordinal = (convertColumnEntry != null) && convertColumnEntry.isOrdinal();
+				boolean intern = (convertColumnEntry != null) && convertColumnEntry.isIntern();
 				final Method setMethod = this.getSetMethod(clazz, field);
 				if (setMethod == null) {
-					continue;
+					if ((paramNames == null) || !Arrays.asList(paramNames).contains(field.getName())) {
+						continue; // 没有setter的字段只有作为构造函数参数时才需要反序列化
+					}
 				} else {
 					convertColumnEntry = convertFactory.loadConvertColumnEntry(setMethod);
 					if ((convertColumnEntry != null) && convertColumnEntry.isIgnore()) {
 						continue;
 					}
+					ordinal |= (convertColumnEntry != null) && convertColumnEntry.isOrdinal();
+					intern |= (convertColumnEntry != null) && convertColumnEntry.isIntern();
 				}
 				final Type t = this.createClassType(field.getGenericType(), this.type);
 				final FieldAttribute fieldAttribute = this.createFieldAttribute(convertFactory, clazz, field, setMethod);
-				set.add(new DeSerializeMember<>(fieldAttribute, convertFactory.loadDeSerializeParser(t)));
+				if (fieldAttribute == null) {
+					continue;
+				}
+				if (ordinal && field.getType().isEnum()) { // 按序号双向序列化的枚举字段
+					set.add(new DeSerializeMember<>(fieldAttribute, new EnumSimpleParser(field.getType(), true)));
+				} else if (intern && (field.getType() == String.class)) { // 去重的String字段, 每个字段一个去重表
+					set.add(new DeSerializeMember<>(fieldAttribute, new StringSimpleParser(new StringInternTable())));
+				} else {
+					set.add(new DeSerializeMember<>(fieldAttribute, convertFactory.loadDeSerializeParser(t)));
+				}
 			}
 			this.deSerializeMembers = set.toArray(new DeSerializeMember[set.size()]);
 			Arrays.sort(this.deSerializeMembers);
+			this.deSerializeMemberTable = new DeSerializeMemberTable(this.deSerializeMembers);
 			if (paramNames != null) {
 				final String[] fieldNames = paramNames;
 				final DeSerializeMember<R, T, ?>[] deSerializeMembers = new DeSerializeMember[fieldNames.length];
@@ -122,12 +142,6 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 			}
 		} catch (final Exception e) {
 			throw new ConvertException(e);
-		} finally {
-			this.inited = true;
-			synchronized (this.lock) {
-				// notifyAll : 唤醒在此对象监视器上等待的所有线程
-				this.lock.notifyAll();
-			}
 		}
 	}
 
@@ -138,22 +152,17 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 			if (clazz == null) {
 				return null;
 			}
+			if (clazz == DeserializeReader.REFERENCE) {
+				return (T) in.readReference();
+			}
 			if (!clazz.isEmpty()) {
 				return (T) this.convertFactory.loadDeSerializeParser(Class.forName(clazz)).convertFrom(in);
 			}
-			if (!this.inited) {
-				synchronized (this.lock) {
-					try {
-						this.lock.wait();
-					} catch (final Exception e) {
-						e.printStackTrace();
-					}
-				}
-			}
 			if (this.constructMembers == null) { // 无参构造函数
 				final T result = this.constructCreator.construct();
-				while (in.hasNext()) {
-					final DeSerializeMember member = in.readFieldName(this.deSerializeMembers);
+				in.readObjectCreated(result);
+				while (in.hasNextField()) {
+					final DeSerializeMember member = in.readFieldName(this.deSerializeMemberTable);
 					in.readBlank();
 					if (member == null) {
 						in.skipValue(); // 跳过不存在的属性的值
@@ -168,8 +177,8 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 				final Object[] constructorParams = new Object[constructMembers.length];
 				final Object[][] otherParams = new Object[this.deSerializeMembers.length][2];
 				int oc = 0;
-				while (in.hasNext()) {
-					final DeSerializeMember<R, T, ?> member = in.readFieldName(this.deSerializeMembers);
+				while (in.hasNextField()) {
+					final DeSerializeMember<R, T, ?> member = in.readFieldName(this.deSerializeMemberTable);
 					in.readBlank();
 					if (member == null) {
 						in.skipValue(); // 跳过不存在的属性的值
@@ -188,11 +197,12 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 						}
 					}
 				}
-				in.readObjectEnd(this.typeClass);
 				final T result = this.constructCreator.construct(constructorParams);
+				in.readObjectCreated(result); // 字段已读取完, 字段中对此对象的循环引用无法还原
 				for (int i = 0; i < oc; i++) {
 					((FieldAttribute) otherParams[i][0]).setFieldValue(result, otherParams[i][1]);
 				}
+				in.readObjectEnd(this.typeClass);
 				return result;
 			}
 		} catch (final Exception e) {
@@ -212,7 +222,7 @@ public final class ObjectDeSerializeParser<R extends DeserializeReader, T> imple
 
 	private String[] findConstructorParameters(final ConstructCreator constructCreator) {
 		try {
-			final ConstructCreator.ConstructorParameters constructorParameters = constructCreator.getClass().getMethod("constructCreator", Object[].class).getAnnotation(ConstructCreator.ConstructorParameters.class);
+			final ConstructCreator.ConstructorParameters constructorParameters = constructCreator.getClass().getMethod("construct", Object[].class).getAnnotation(ConstructCreator.ConstructorParameters.class);
 			return constructorParameters == null ? null : constructorParameters.value();
 		} catch (final Exception e) {
 			return null;
@@ -15,6 +15,7 @@ import java.util.Set;
 
 import io.github.jcharm.common.FieldAttribute;
 import io.github.jcharm.common.GenericsType;
+import io.github.jcharm.convert.parser.EnumSimpleParser;
 
 /**
  * 对象序列化解析器.
@@ -36,10 +37,6 @@ public final class ObjectSerializeParser<W extends SerializeWriter, T> implement
 	/** 序列化成员. */
 	protected SerializeMember<W, T, ?>[] serializeMembers;
 
-	private final Object lock = new Object();
-
-	private boolean inited = false;
-
 	/**
 	 * 构造函数.
 	 *
@@ -60,6 +57,8 @@ public final class ObjectSerializeParser<W extends SerializeWriter, T> implement
 
 	/**
 	 * 初始化对象序列化解析器.
+	 * <p>
+	 * 由ConvertFactory在解析器发布到共享的解析器表之前调用, 发布后的解析器都已初始化完成.
 	 *
 	 * @param convertFactory ConvertFactory
 	 */
@@ -77,6 +76,7 @@ public final class ObjectSerializeParser<W extends SerializeWriter, T> implement
 				if ((convertColumnEntry != null) && convertColumnEntry.isIgnore()) {
 					continue;
 				}
+				boolean ordinal = (convertColumnEntry != null) && convertColumnEntry.isOrdinal();
 				final Method getMethod = this.getGetMethod(clazz, field);
 				if (getMethod == null) {
 					continue;
@@ -85,21 +85,20 @@ public final class ObjectSerializeParser<W extends SerializeWriter, T> implement
 					if ((convertColumnEntry != null) && convertColumnEntry.isIgnore()) {
 						continue;
 					}
+					ordinal |= (convertColumnEntry != null) && convertColumnEntry.isOrdinal();
 				}
 				final Type t = this.createClassType(field.getGenericType(), this.type);
 				final FieldAttribute fieldAttribute = this.createFieldAttribute(convertFactory, clazz, field, getMethod);
-				set.add(new SerializeMember<>(fieldAttribute, convertFactory.loadSerializeParser(t)));
+				if (ordinal && field.getType().isEnum()) { // 按序号双向序列化的枚举字段
+					set.add(new SerializeMember<>(fieldAttribute, new EnumSimpleParser(field.getType(), true)));
+				} else {
+					set.add(new SerializeMember<>(fieldAttribute, convertFactory.loadSerializeParser(t)));
+				}
 			}
 			this.serializeMembers = set.toArray(new SerializeMember[set.size()]);
 			Arrays.sort(this.serializeMembers);
 		} catch (final Exception e) {
 			throw new ConvertException(e);
-		} finally {
-			this.inited = true;
-			synchronized (this.lock) {
-				// notifyAll : 唤醒在此对象监视器上等待的所有线程
-				this.lock.notifyAll();
-			}
 		}
 	}
 
@@ -109,14 +108,8 @@ public final class ObjectSerializeParser<W extends SerializeWriter, T> implement
 			out.writeObjectNull();
 			return;
 		}
-		if (!this.inited) {
-			synchronized (this.lock) {
-				try {
-					this.lock.wait();
-				} catch (final Exception e) {
-					e.printStackTrace();
-				}
-			}
+		if (out.writeObjectReference(value)) {
+			return;
 		}
 		if ((value != null) && (value.getClass() != this.typeClass)) {
 			final Class clz = value.getClass();
@@ -127,9 +120,7 @@ public final class ObjectSerializeParser<W extends SerializeWriter, T> implement
 			return;
 		}
 		out.writeObjectBegin(value);
-		for (final SerializeMember member : this.serializeMembers) {
-			out.writeObjectField(member, value);
-		}
+		out.writeObjectFields(this.serializeMembers, value);
 		out.writeObjectEnd(value);
 	}
 
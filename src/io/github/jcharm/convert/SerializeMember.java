@@ -5,6 +5,7 @@ package io.github.jcharm.convert;
 
 import java.lang.reflect.Field;
 
+import io.github.jcharm.common.CommonUtils;
 import io.github.jcharm.common.FieldAttribute;
 
 /**
@@ -22,6 +23,12 @@ public final class SerializeMember<W extends SerializeWriter, C, F> implements C
 	/** 序列化解析器. */
 	final SerializeParser<W, F> serializeParser;
 
+	/** 字段别名的字符数组, 序列化输出流可直接输出而无需每次从String中复制. */
+	final char[] fieldNameChars;
+
+	/** 字段别名的UTF-8字节数组, 序列化输出流可直接输出而无需每次编码. */
+	final byte[] fieldNameBytes;
+
 	/**
 	 * 构造函数.
 	 *
@@ -31,6 +38,8 @@ public final class SerializeMember<W extends SerializeWriter, C, F> implements C
 	public SerializeMember(final FieldAttribute<C, F> fieldAttribute, final SerializeParser<W, F> serializeParser) {
 		this.fieldAttribute = fieldAttribute;
 		this.serializeParser = serializeParser;
+		this.fieldNameChars = fieldAttribute.getFieldAliasName().toCharArray();
+		this.fieldNameBytes = CommonUtils.encodeUTF8ToBytes(this.fieldNameChars, 0, this.fieldNameChars.length);
 	}
 
 	/**
@@ -98,6 +107,24 @@ public final class SerializeMember<W extends SerializeWriter, C, F> implements C
 		return this.serializeParser;
 	}
 
+	/**
+	 * 获取字段别名的字符数组, 调用方不可修改该数组.
+	 *
+	 * @return char[]
+	 */
+	public char[] getFieldNameChars() {
+		return this.fieldNameChars;
+	}
+
+	/**
+	 * 获取字段别名的UTF-8字节数组, 调用方不可修改该数组.
+	 *
+	 * @return byte[]
+	 */
+	public byte[] getFieldNameBytes() {
+		return this.fieldNameBytes;
+	}
+
 	@Override
 	public final int compareTo(final SerializeMember<W, C, F> o) {
 		// 比较此对象与指定对象的顺序, 如果该对象小于、等于或大于指定对象, 则分别返回负整数、零或正整数
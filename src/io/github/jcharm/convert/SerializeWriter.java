@@ -13,6 +13,18 @@ public abstract class SerializeWriter {
 	/** 当前对象输出字段名之前是否需要分隔符, JSON字段间的分隔符为逗号. */
 	protected boolean isComma;
 
+	/** 放回对象池时保留的缓冲区的最大长度, 缓冲区超过此长度(且超过默认长度)时缩小为默认长度. */
+	protected int retainedSize;
+
+	/**
+	 * 设置放回对象池时保留的缓冲区的最大长度.
+	 *
+	 * @param retainedSize int
+	 */
+	public void setRetainedSize(final int retainedSize) {
+		this.retainedSize = retainedSize;
+	}
+
 	/**
 	 * 输出一个boolean值.
 	 *
@@ -76,6 +88,27 @@ public abstract class SerializeWriter {
 	 */
 	public abstract void writeSmallString(String value);
 
+	/**
+	 * 输出名称表中指定序号的短字符串, 子类可覆盖此方法直接使用名称表中缓存的字符或字节.
+	 *
+	 * @param names 名称表
+	 * @param index 序号
+	 */
+	public void writeSmallString(final NameTable names, final int index) {
+		this.writeSmallString(names.getName(index));
+	}
+
+	/**
+	 * 输出字符数组中指定范围的短字符串, 子类可覆盖此方法直接输出字符以避免创建String.
+	 *
+	 * @param chars 字符数组
+	 * @param offset 起始位置
+	 * @param len 字符个数
+	 */
+	public void writeSmallString(final char[] chars, final int offset, final int len) {
+		this.writeSmallString(new String(chars, offset, len));
+	}
+
 	/**
 	 * 输出一个String值.
 	 *
@@ -100,6 +133,31 @@ public abstract class SerializeWriter {
 	 */
 	public abstract void writeArrayEnd();
 
+	/**
+	 * 输出一个长度未知的数组前的操作, 用于逐个输出元素而无需预先知道数组长度.
+	 */
+	public void writeUnsizedArrayBegin() {
+		this.writeArrayBegin(DeserializeReader.SIGN_NOLENGTH);
+	}
+
+	/**
+	 * 输出长度未知的数组中每个元素前的标识.
+	 *
+	 * @param first 是否为第一个元素
+	 */
+	public void writeUnsizedArrayMark(final boolean first) {
+		if (!first) {
+			this.writeArrayMark();
+		}
+	}
+
+	/**
+	 * 输出一个长度未知的数组后的操作.
+	 */
+	public void writeUnsizedArrayEnd() {
+		this.writeArrayEnd();
+	}
+
 	/**
 	 * 输出一个Map前的操作.
 	 *
@@ -145,6 +203,15 @@ public abstract class SerializeWriter {
 	 */
 	public abstract void writeFieldName(FieldAttribute fieldAttribute);
 
+	/**
+	 * 输出一个序列化成员的字段名, 子类可覆盖此方法直接使用SerializeMember中缓存的字段名.
+	 *
+	 * @param serializeMember 序列化成员
+	 */
+	public void writeFieldName(final SerializeMember serializeMember) {
+		this.writeFieldName(serializeMember.getFieldAttribute());
+	}
+
 	/**
 	 * 输入一个类名, JSON是不需要类名的, 但是BSON需要类名.
 	 *
@@ -159,6 +226,16 @@ public abstract class SerializeWriter {
 	 */
 	public abstract boolean needWriteClassName();
 
+	/**
+	 * 输出对象前调用, 引用跟踪模式下对象已输出过时子类输出其引用并返回true; 默认返回false.
+	 *
+	 * @param obj Object
+	 * @return 是否已输出为引用
+	 */
+	public boolean writeObjectReference(final Object obj) {
+		return false;
+	}
+
 	/**
 	 * 输出一个为null的对象.
 	 */
@@ -167,6 +244,12 @@ public abstract class SerializeWriter {
 		this.writeNull();
 	}
 
+	/**
+	 * 将缓存的内容输出到目标, 存在输出目标的子类需覆盖此方法, 默认无操作.
+	 */
+	public void flush() {
+	}
+
 	/**
 	 * 输出一个对象的某个字段.
 	 *
@@ -178,9 +261,21 @@ public abstract class SerializeWriter {
 		if (value == null) {
 			return;
 		}
-		this.writeFieldName(serializeMember.getFieldAttribute());
+		this.writeFieldName(serializeMember);
 		serializeMember.getSerializeParser().convertTo(this, value);
 		this.isComma = true;
 	}
 
+	/**
+	 * 按顺序输出一个对象的全部字段, 默认逐个调用writeObjectField, 子类可覆盖此方法使用其他的字段编码.
+	 *
+	 * @param serializeMembers 按字段别名排序的序列化成员
+	 * @param obj 指定对象
+	 */
+	public void writeObjectFields(final SerializeMember[] serializeMembers, final Object obj) {
+		for (final SerializeMember member : serializeMembers) {
+			this.writeObjectField(member, obj);
+		}
+	}
+
 }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert;
+
+import java.nio.charset.StandardCharsets;
+
+import io.github.jcharm.common.CommonUtils;
+
+/**
+ * 有界的字符串去重表, 用于反序列化取值种类很少的字符串字段(见ConvertColumn.intern), 使相同的值共用一个String实例.
+ * <p>
+ * 直接用原始字符或字节及其hash值查找, 命中时不创建String; 表按hash值直接映射, 冲突时新值覆盖旧值, 占用的内存固定且无需加锁. String是不可变对象, 多线程下读到其他线程写入的实例也是安全的, 最多是一次未命中.
+ */
+public final class StringInternTable {
+
+	/** 默认的表大小. */
+	public static final int DEFAULT_SIZE = 1024;
+
+	/** 去重的字符串的最大长度, 超过的直接创建. */
+	public static final int MAX_LENGTH = 64;
+
+	private final String[] strings;
+
+	private final int mask;
+
+	/**
+	 * 构造函数.
+	 */
+	public StringInternTable() {
+		this(StringInternTable.DEFAULT_SIZE);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param size 表大小, 向上取2的幂
+	 */
+	public StringInternTable(final int size) {
+		int capacity = 16;
+		while (capacity < size) {
+			capacity <<= 1;
+		}
+		this.strings = new String[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * 获取与指定字符串相等的实例.
+	 *
+	 * @param value 字符串
+	 * @return String
+	 */
+	public String intern(final String value) {
+		if ((value == null) || (value.length() > StringInternTable.MAX_LENGTH)) {
+			return value;
+		}
+		final int index = StringInternTable.spread(value.hashCode()) & this.mask;
+		final String str = this.strings[index];
+		if (value.equals(str)) {
+			return str;
+		}
+		this.strings[index] = value;
+		return value;
+	}
+
+	/**
+	 * 获取与字符数组中指定范围的字符相等的实例, hash值需与String.hashCode算法一致.
+	 *
+	 * @param chars char[]
+	 * @param start int
+	 * @param len int
+	 * @param hash hash值
+	 * @return String
+	 */
+	public String intern(final char[] chars, final int start, final int len, final int hash) {
+		if (len > StringInternTable.MAX_LENGTH) {
+			return new String(chars, start, len);
+		}
+		final int index = StringInternTable.spread(hash) & this.mask;
+		final String str = this.strings[index];
+		if ((str != null) && (str.length() == len) && (str.hashCode() == hash)) {
+			int i = 0;
+			while ((i < len) && (str.charAt(i) == chars[start + i])) {
+				i++;
+			}
+			if (i == len) {
+				return str;
+			}
+		}
+		final String value = new String(chars, start, len);
+		this.strings[index] = value;
+		return value;
+	}
+
+	/**
+	 * 获取与字节数组中指定范围的UTF-8字节相等的实例, 只有ASCII字符时不创建String直接查找.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 * @return String
+	 */
+	public String intern(final byte[] bytes, final int start, final int len) {
+		if (len > StringInternTable.MAX_LENGTH) {
+			return CommonUtils.decodeUTF8ToString(bytes, start, len);
+		}
+		int hash = 0;
+		final int limit = start + len;
+		for (int i = start; i < limit; i++) {
+			final byte b = bytes[i];
+			if (b < 0) { // 非ASCII字符, 解码后查找
+				return this.intern(CommonUtils.decodeUTF8ToString(bytes, start, len));
+			}
+			hash = (31 * hash) + b;
+		}
+		final int index = StringInternTable.spread(hash) & this.mask;
+		final String str = this.strings[index];
+		if ((str != null) && (str.length() == len) && (str.hashCode() == hash)) {
+			int i = 0;
+			while ((i < len) && (str.charAt(i) == bytes[start + i])) {
+				i++;
+			}
+			if (i == len) {
+				return str;
+			}
+		}
+		final String value = new String(bytes, start, len, StandardCharsets.ISO_8859_1);
+		this.strings[index] = value;
+		return value;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+}
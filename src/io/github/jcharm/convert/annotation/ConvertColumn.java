@@ -35,6 +35,20 @@ public @interface ConvertColumn {
 	 */
 	public boolean ignore() default false;
 
+	/**
+	 * 枚举类型的字段是否按序号而不是名称双向序列化, 与type()配合可只在BSON中使用序号; 序号依赖枚举常量的声明顺序, 增删常量时需保持已有常量的顺序.
+	 *
+	 * @return boolean
+	 */
+	public boolean ordinal() default false;
+
+	/**
+	 * String类型的字段反序列化时是否去重, 相同的值共用一个String实例; 适用于取值种类很少的字段, 如状态码、国家代码等.
+	 *
+	 * @return boolean
+	 */
+	public boolean intern() default false;
+
 	/**
 	 * 指定在哪种双向序列化方式下ignore的值起作用.
 	 *
@@ -6,7 +6,11 @@ package io.github.jcharm.convert.bson;
 import java.nio.ByteBuffer;
 
 import io.github.jcharm.common.CommonUtils;
+import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
 import io.github.jcharm.convert.DeserializeReader;
+import io.github.jcharm.convert.NameTable;
+import io.github.jcharm.convert.StringInternTable;
 
 /**
  * BSON ByteBuffer反序列化输入流.
@@ -43,7 +47,7 @@ public class BsonByteBufferDeserializeReader extends BsonDeserializeReader {
 	@Override
 	public final int readArrayBegin() {
 		final short bt = this.readShort();
-		if (bt == DeserializeReader.SIGN_NULL) {
+		if ((bt == DeserializeReader.SIGN_NULL) || (bt == DeserializeReader.SIGN_NOLENGTH)) {
 			return bt;
 		}
 		final short lt = this.readShort();
@@ -96,6 +100,9 @@ public class BsonByteBufferDeserializeReader extends BsonDeserializeReader {
 
 	@Override
 	public final int readInt() {
+		if (this.varint) {
+			return this.readZigzagInt();
+		}
 		if (this.currentBuffer != null) {
 			final int remain = this.currentBuffer.remaining();
 			if (remain >= 4) {
@@ -108,6 +115,9 @@ public class BsonByteBufferDeserializeReader extends BsonDeserializeReader {
 
 	@Override
 	public final long readLong() {
+		if (this.varint) {
+			return this.readZigzag();
+		}
 		if (this.currentBuffer != null) {
 			final int remain = this.currentBuffer.remaining();
 			if (remain >= 8) {
@@ -153,6 +163,19 @@ public class BsonByteBufferDeserializeReader extends BsonDeserializeReader {
 		return new String(this.read(len));
 	}
 
+	@Override
+	public final int readSmallString(final NameTable names) {
+		final int len = 0xff & this.readByte();
+		final ByteBuffer buffer = this.currentBuffer;
+		if ((buffer != null) && (buffer.remaining() >= len)) { // 字符串在同一个buffer中, 直接匹配
+			final int index = names.indexOf(buffer, buffer.position(), len);
+			buffer.position(buffer.position() + len);
+			this.position += len;
+			return index;
+		}
+		return names.indexOf(this.read(len), 0, len);
+	}
+
 	@Override
 	public final String readString() {
 		final int len = this.readInt();
@@ -162,7 +185,51 @@ public class BsonByteBufferDeserializeReader extends BsonDeserializeReader {
 		if (len == 0) {
 			return "";
 		}
-		return new String(CommonUtils.decodeUTF8ToChars(this.read(len)));
+		final ByteBuffer buffer = this.currentBuffer;
+		if ((buffer != null) && (buffer.remaining() >= len)) { // 字符串在同一个buffer中, 直接解码
+			final String value = CommonUtils.decodeUTF8ToString(buffer, len);
+			this.position += len;
+			return value;
+		}
+		return CommonUtils.decodeUTF8ToString(this.read(len), 0, len);
+	}
+
+	@Override
+	public final String readString(final StringInternTable table) {
+		final int len = this.readInt();
+		if (len == DeserializeReader.SIGN_NULL) {
+			return null;
+		}
+		if (len == 0) {
+			return "";
+		}
+		final ByteBuffer buffer = this.currentBuffer;
+		if ((buffer != null) && buffer.hasArray() && (buffer.remaining() >= len)) { // 字符串在同一个buffer中, 直接查找
+			final String value = table.intern(buffer.array(), buffer.arrayOffset() + buffer.position(), len);
+			buffer.position(buffer.position() + len);
+			this.position += len;
+			return value;
+		}
+		return table.intern(this.read(len), 0, len);
+	}
+
+	@Override
+	public final DeSerializeMember readFieldName(final DeSerializeMemberTable memberTable) {
+		if (this.isCompactField()) {
+			return this.readCompactField(memberTable);
+		}
+		final int len = 0xff & this.readByte();
+		final DeSerializeMember member;
+		final ByteBuffer buffer = this.currentBuffer;
+		if ((buffer != null) && (buffer.remaining() >= len)) { // 字段名在同一个buffer中, 直接匹配
+			member = memberTable.find(buffer, buffer.position(), len);
+			buffer.position(buffer.position() + len);
+			this.position += len;
+		} else {
+			member = memberTable.find(this.read(len), 0, len);
+		}
+		this.typeval = this.readByte();
+		return member;
 	}
 
 }
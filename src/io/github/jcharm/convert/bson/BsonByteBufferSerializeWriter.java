@@ -6,6 +6,8 @@ package io.github.jcharm.convert.bson;
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
 
+import io.github.jcharm.common.CommonUtils;
+
 /**
  * BSON ByteBuffer序列化输出流.
  */
@@ -127,6 +129,25 @@ public class BsonByteBufferSerializeWriter extends BsonSerializeWriter {
 		this.count++;
 	}
 
+	@Override
+	protected void writeUTF8(final String value) {
+		final ByteBuffer buffer = this.buffers == null ? null : this.buffers[this.index];
+		if ((buffer != null) && (buffer.remaining() >= (4 + (value.length() * 3)))) { // 当前buffer足够时直接编码, 字节数在编码后回填
+			final int pos = buffer.position();
+			buffer.position(pos + 4);
+			final int size = CommonUtils.encodeUTF8(value, this.chars(value.length()), buffer);
+			buffer.put(pos, (byte) (size >> 24));
+			buffer.put(pos + 1, (byte) (size >> 16));
+			buffer.put(pos + 2, (byte) (size >> 8));
+			buffer.put(pos + 3, (byte) size);
+			this.count += 4 + size;
+			return;
+		}
+		final byte[] bytes = CommonUtils.encodeUTF8ToBytes(value, this.chars(value.length()));
+		this.writeInt(bytes.length);
+		this.writeTo(bytes);
+	}
+
 	@Override
 	protected boolean recycle() {
 		this.index = 0;
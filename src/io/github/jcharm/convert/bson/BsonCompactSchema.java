@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.bson;
+
+import java.util.Arrays;
+
+import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
+
+/**
+ * BSON紧凑模式中对象的字段结构.
+ * <p>
+ * 紧凑模式下一个消息中每个类的字段结构只在第一次出现时输出(指纹、字段名和类型值), 之后的对象只输出结构序号、存在位图和按序号排列的字段值. 读取时指纹与本地类一致则按序号直接对应字段, 不一致则按字段名匹配, 不存在的字段按类型值跳过.
+ */
+final class BsonCompactSchema {
+
+	/** 指纹的初始值. */
+	static final int OFFSET = 0x811c9dc5;
+
+	private static final int PRIME = 0x01000193;
+
+	/** 字段结构的指纹. */
+	final int fingerprint;
+
+	/** 按序号排列的字段名. */
+	final String[] names;
+
+	/** 按序号排列的字段类型值. */
+	final byte[] typevals;
+
+	private DeSerializeMemberTable memberTable;
+
+	private DeSerializeMember[] members;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param fingerprint 指纹
+	 * @param names 字段名
+	 * @param typevals 字段类型值
+	 */
+	BsonCompactSchema(final int fingerprint, final String[] names, final byte[] typevals) {
+		this.fingerprint = fingerprint;
+		this.names = names;
+		this.typevals = typevals;
+	}
+
+	/**
+	 * 累加一个字段到指纹中(FNV-1a).
+	 *
+	 * @param hash 当前的指纹, 初始值为FNV偏移量
+	 * @param name 字段名
+	 * @param typeval 字段类型值
+	 * @return int
+	 */
+	static int fingerprint(int hash, final String name, final byte typeval) {
+		for (int i = 0; i < name.length(); i++) {
+			hash = (hash ^ name.charAt(i)) * BsonCompactSchema.PRIME;
+		}
+		hash = (hash ^ 0xffff) * BsonCompactSchema.PRIME; // 字段名的结束标记
+		return (hash ^ (typeval & 0xff)) * BsonCompactSchema.PRIME;
+	}
+
+	/**
+	 * 获取序号对应的本地反序列化成员, 结果按DeSerializeMemberTable缓存.
+	 *
+	 * @param table 本地类的字段名散列表
+	 * @return 按序号排列的DeSerializeMember, 本地不存在或类型不一致的字段为null
+	 */
+	DeSerializeMember[] resolve(final DeSerializeMemberTable table) {
+		if (this.memberTable == table) {
+			return this.members;
+		}
+		final DeSerializeMember[] locals = table.getMembers().clone();
+		Arrays.sort(locals);
+		int hash = BsonCompactSchema.OFFSET;
+		for (final DeSerializeMember member : locals) {
+			hash = BsonCompactSchema.fingerprint(hash, member.getFieldAttribute().getFieldAliasName(), BsonSerializeWriter.typeval(member.getDeSerializeParser(), member.getFieldAttribute().getFieldType()));
+		}
+		DeSerializeMember[] rs = locals;
+		if ((hash != this.fingerprint) || (locals.length != this.names.length)) { // 结构不一致, 按字段名匹配
+			rs = new DeSerializeMember[this.names.length];
+			for (int i = 0; i < rs.length; i++) {
+				final DeSerializeMember member = table.find(this.names[i]);
+				if ((member != null) && (BsonSerializeWriter.typeval(member.getDeSerializeParser(), member.getFieldAttribute().getFieldType()) == this.typevals[i])) { // 类型不一致的字段按类型值跳过
+					rs[i] = member;
+				}
+			}
+		}
+		this.members = rs;
+		this.memberTable = table;
+		return rs;
+	}
+
+}
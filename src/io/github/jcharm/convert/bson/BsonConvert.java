@@ -7,20 +7,36 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.ByteBufferOutputStream;
 import io.github.jcharm.convert.Convert;
 import io.github.jcharm.convert.ConvertFactory;
+import io.github.jcharm.convert.MappedFile;
 
 /**
  * BSON双向序列化类.
  */
 public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerializeWriter> {
 
-	private static final ObjectPool<BsonDeserializeReader> readerPool = BsonDeserializeReader.createPool(16);
+	private final ObjectPool<BsonDeserializeReader> readerPool = this.createReaderPool((final Object... params) -> new BsonDeserializeReader(), (final BsonDeserializeReader t) -> t.recycle());
 
-	private static final ObjectPool<BsonSerializeWriter> writerPool = BsonSerializeWriter.createPool(16);
+	private final ObjectPool<BsonSerializeWriter> writerPool = this.createWriterPool((final Object... params) -> new BsonSerializeWriter(), (final BsonSerializeWriter t) -> t.recycle());
+
+	/** 序列化时是否使用紧凑模式. */
+	private final boolean compact;
+
+	private BsonConvert compactConvert;
+
+	/** 序列化时是否使用引用跟踪模式. */
+	private final boolean reference;
+
+	private BsonConvert referenceConvert;
 
 	/**
 	 * 构造函数.
@@ -28,7 +44,13 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 * @param convertFactory ConvertFactory
 	 */
 	protected BsonConvert(final ConvertFactory<BsonDeserializeReader, BsonSerializeWriter> convertFactory) {
+		this(convertFactory, false, false);
+	}
+
+	private BsonConvert(final ConvertFactory<BsonDeserializeReader, BsonSerializeWriter> convertFactory, final boolean compact, final boolean reference) {
 		super(convertFactory);
+		this.compact = compact;
+		this.reference = reference;
 	}
 
 	@Override
@@ -45,6 +67,58 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		return BsonConvertFactory.instance().getConvert();
 	}
 
+	/**
+	 * 获取使用紧凑模式序列化的BsonConvert, 与当前BsonConvert共用BsonConvertFactory.
+	 * <p>
+	 * 紧凑模式适用于共享实体类的JVM之间通信: 每个类的字段结构在一个消息中只输出一次, 对象的字段按序号输出, int和long为zigzag变长整数, 为null的字段只占存在位图中的一位. 反序列化不区分模式, 任意BsonConvert均可读取; 字段结构的指纹与本地类不一致时按字段名匹配.
+	 *
+	 * @return BsonConvert
+	 */
+	public BsonConvert compact() {
+		if (this.compact) {
+			return this;
+		}
+		if (this.compactConvert == null) {
+			this.compactConvert = new BsonConvert(this.convertFactory, true, this.reference);
+		}
+		return this.compactConvert;
+	}
+
+	/**
+	 * 获取使用引用跟踪模式序列化的BsonConvert, 与当前BsonConvert共用BsonConvertFactory, 可与紧凑模式组合.
+	 * <p>
+	 * 引用跟踪模式下同一对象在一个消息中第一次出现时完整输出, 之后输出为引用序号, 反序列化时还原为同一实例, 对象间的循环引用也可序列化; 只有对象按引用跟踪, 集合、数组和Map仍按值输出. 反序列化不区分模式, 任意BsonConvert均可读取; 通过构造函数参数创建的对象无法还原其字段中对自身的循环引用. 只有此模式的输出流维护对象的身份映射, 默认模式没有额外开销.
+	 *
+	 * @return BsonConvert
+	 */
+	public BsonConvert references() {
+		if (this.reference) {
+			return this;
+		}
+		if (this.referenceConvert == null) {
+			this.referenceConvert = new BsonConvert(this.convertFactory, this.compact, true);
+		}
+		return this.referenceConvert;
+	}
+
+	/**
+	 * 序列化时是否使用引用跟踪模式.
+	 *
+	 * @return boolean
+	 */
+	public boolean isReference() {
+		return this.reference;
+	}
+
+	/**
+	 * 序列化时是否使用紧凑模式.
+	 *
+	 * @return boolean
+	 */
+	public boolean isCompact() {
+		return this.compact;
+	}
+
 	// ---------------------------------------BsonDeserializeReader--------------------------------------------------
 
 	/**
@@ -73,7 +147,7 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 * @return BsonDeserializeReader
 	 */
 	public BsonDeserializeReader pollBsonDeserializeReader() {
-		return BsonConvert.readerPool.get();
+		return this.readerPool.get();
 	}
 
 	/**
@@ -83,7 +157,7 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 */
 	public void offerBsonDeserializeReader(final BsonDeserializeReader in) {
 		if (in != null) {
-			BsonConvert.readerPool.offer(in);
+			this.readerPool.offer(in);
 		}
 	}
 
@@ -96,17 +170,23 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 * @return BsonByteBufferSerializeWriter
 	 */
 	public BsonByteBufferSerializeWriter pollBsonSerializeWriter(final Supplier<ByteBuffer> supplier) {
-		return new BsonByteBufferSerializeWriter(supplier);
+		final BsonByteBufferSerializeWriter out = new BsonByteBufferSerializeWriter(supplier);
+		out.compact = this.compact;
+		out.reference = this.reference;
+		return out;
 	}
 
 	/**
-	 * 获取BsonStreamByteBufferSerializeWriter序列化输出流.
+	 * 获取BsonStreamSerializeWriter序列化输出流, 输出完毕后需调用flush方法将缓存的内容写入OutputStream.
 	 *
 	 * @param out OutputStream
 	 * @return BsonSerializeWriter
 	 */
 	public BsonSerializeWriter pollBsonSerializeWriter(final OutputStream out) {
-		return new BsonStreamSerializeWriter(out);
+		final BsonSerializeWriter writer = new BsonStreamSerializeWriter(out);
+		writer.compact = this.compact;
+		writer.reference = this.reference;
+		return writer;
 	}
 
 	/**
@@ -115,7 +195,10 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 * @return BsonSerializeWriter
 	 */
 	public BsonSerializeWriter pollBsonSerializeWriter() {
-		return BsonConvert.writerPool.get();
+		final BsonSerializeWriter out = this.writerPool.get();
+		out.compact = this.compact;
+		out.reference = this.reference;
+		return out;
 	}
 
 	/**
@@ -125,7 +208,7 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 */
 	public void offerBsonSerializeWriter(final BsonSerializeWriter out) {
 		if (out != null) {
-			BsonConvert.writerPool.offer(out);
+			this.writerPool.offer(out);
 		}
 	}
 
@@ -145,10 +228,10 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		if (type == null) {
 			return null;
 		}
-		final BsonDeserializeReader in = BsonConvert.readerPool.get();
+		final BsonDeserializeReader in = this.readerPool.get();
 		in.setBytes(bytes, start, len);
 		final T rs = (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(in);
-		BsonConvert.readerPool.offer(in);
+		this.readerPool.offer(in);
 		return rs;
 	}
 
@@ -182,6 +265,27 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new BsonStreamDeserializeReader(in));
 	}
 
+	/**
+	 * 反序列化操作, 按窗口内存映射文件并直接读取映射区域, 文件大小可超过2G.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param path 文件路径
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final Path path) {
+		if ((type == null) || (path == null)) {
+			return null;
+		}
+		try (MappedFile file = MappedFile.forRead(path)) {
+			final ByteBuffer[] buffers = file.getAll();
+			if (buffers.length < 1) {
+				return null;
+			}
+			return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new BsonByteBufferDeserializeReader(buffers));
+		}
+	}
+
 	/**
 	 * 反序列化操作.
 	 *
@@ -226,10 +330,10 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		if (type == null) {
 			return null;
 		}
-		final BsonSerializeWriter out = BsonConvert.writerPool.get();
+		final BsonSerializeWriter out = this.pollBsonSerializeWriter();
 		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
 		final byte[] result = out.toArray();
-		BsonConvert.writerPool.offer(out);
+		this.writerPool.offer(out);
 		return result;
 	}
 
@@ -241,10 +345,10 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 */
 	public byte[] convertTo(final Object value) {
 		if (value == null) {
-			final BsonSerializeWriter out = BsonConvert.writerPool.get();
+			final BsonSerializeWriter out = this.pollBsonSerializeWriter();
 			out.writeNull();
 			final byte[] result = out.toArray();
-			BsonConvert.writerPool.offer(out);
+			this.writerPool.offer(out);
 			return result;
 		}
 		return this.convertTo(value.getClass(), value);
@@ -257,11 +361,13 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 	 * @param value the value
 	 */
 	public void convertTo(final OutputStream out, final Object value) {
+		final BsonSerializeWriter writer = this.pollBsonSerializeWriter(out);
 		if (value == null) {
-			new BsonStreamSerializeWriter(out).writeNull();
+			writer.writeNull();
 		} else {
-			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(new BsonStreamSerializeWriter(out), value);
+			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(writer, value);
 		}
+		writer.flush();
 	}
 
 	/**
@@ -275,10 +381,44 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		if (type == null) {
 			return;
 		}
+		final BsonSerializeWriter writer = this.pollBsonSerializeWriter(out);
 		if (value == null) {
-			new BsonStreamSerializeWriter(out).writeNull();
+			writer.writeNull();
 		} else {
-			this.convertFactory.loadSerializeParser(type).convertTo(new BsonStreamSerializeWriter(out), value);
+			this.convertFactory.loadSerializeParser(type).convertTo(writer, value);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 序列化操作, 按窗口内存映射文件并直接写入映射区域, 写完后按实际长度截断文件, 文件大小可超过2G.
+	 *
+	 * @param path 文件路径
+	 * @param value Object
+	 */
+	public void convertTo(final Path path, final Object value) {
+		this.convertTo(path, value == null ? Object.class : value.getClass(), value);
+	}
+
+	/**
+	 * 序列化操作, 按窗口内存映射文件并直接写入映射区域, 写完后按实际长度截断文件, 文件大小可超过2G.
+	 *
+	 * @param path 文件路径
+	 * @param type Type
+	 * @param value Object
+	 */
+	public void convertTo(final Path path, final Type type, final Object value) {
+		if ((path == null) || (type == null)) {
+			return;
+		}
+		try (MappedFile file = MappedFile.forWrite(path)) {
+			final BsonByteBufferSerializeWriter out = this.pollBsonSerializeWriter(file);
+			if (value == null) {
+				out.writeNull();
+			} else {
+				this.convertFactory.loadSerializeParser(type).convertTo(out, value);
+			}
+			file.finish();
 		}
 	}
 
@@ -294,7 +434,7 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		if ((supplier == null) || (type == null)) {
 			return null;
 		}
-		final BsonByteBufferSerializeWriter out = new BsonByteBufferSerializeWriter(supplier);
+		final BsonByteBufferSerializeWriter out = this.pollBsonSerializeWriter(supplier);
 		if (value == null) {
 			out.writeNull();
 		} else {
@@ -314,7 +454,7 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		if (supplier == null) {
 			return null;
 		}
-		final BsonByteBufferSerializeWriter out = new BsonByteBufferSerializeWriter(supplier);
+		final BsonByteBufferSerializeWriter out = this.pollBsonSerializeWriter(supplier);
 		if (value == null) {
 			out.writeNull();
 		} else {
@@ -323,6 +463,99 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		return out.toBuffers();
 	}
 
+	/**
+	 * 将Iterator中的元素逐个序列化为数组并写入OutputStream, 内存占用只有一个输出块和一个元素.
+	 *
+	 * @param out OutputStream
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 */
+	public void convertEachTo(final OutputStream out, final Type elementType, final Iterator<?> values) {
+		if ((elementType == null) || (values == null)) {
+			return;
+		}
+		this.convertEachTo(this.pollBsonSerializeWriter(out), elementType, values);
+	}
+
+	/**
+	 * 将Stream中的元素逐个序列化为数组并写入OutputStream, 内存占用只有一个输出块和一个元素, 不会关闭Stream.
+	 *
+	 * @param out OutputStream
+	 * @param elementType 元素的Type
+	 * @param values Stream
+	 */
+	public void convertEachTo(final OutputStream out, final Type elementType, final Stream<?> values) {
+		if (values == null) {
+			return;
+		}
+		this.convertEachTo(out, elementType, values.iterator());
+	}
+
+	/**
+	 * 将Iterator中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 全部ByteBuffer在结束时一起返回, 内存占用随元素个数增长;
+	 * 元素个数未知时使用convertEachTo(OutputStream, ...)或convertEachTo(Supplier, Consumer, ...).
+	 *
+	 * @param supplier Supplier
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] convertEachTo(final Supplier<ByteBuffer> supplier, final Type elementType, final Iterator<?> values) {
+		if ((supplier == null) || (elementType == null) || (values == null)) {
+			return null;
+		}
+		final BsonByteBufferSerializeWriter out = this.pollBsonSerializeWriter(supplier);
+		this.convertEachTo(out, elementType, values);
+		return out.toBuffers();
+	}
+
+	/**
+	 * 将Stream中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 不会关闭Stream, 全部ByteBuffer在结束时一起返回, 内存占用随元素个数增长.
+	 *
+	 * @param supplier Supplier
+	 * @param elementType 元素的Type
+	 * @param values Stream
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] convertEachTo(final Supplier<ByteBuffer> supplier, final Type elementType, final Stream<?> values) {
+		if (values == null) {
+			return null;
+		}
+		return this.convertEachTo(supplier, elementType, values.iterator());
+	}
+
+	/**
+	 * 将Iterator中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 每个ByteBuffer写满后flip并立即交给Consumer, 不持有已写满的ByteBuffer.
+	 *
+	 * @param supplier Supplier
+	 * @param consumer 接收写满的ByteBuffer
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 */
+	public void convertEachTo(final Supplier<ByteBuffer> supplier, final Consumer<ByteBuffer> consumer, final Type elementType, final Iterator<?> values) {
+		if ((supplier == null) || (consumer == null) || (elementType == null) || (values == null)) {
+			return;
+		}
+		final ByteBufferOutputStream out = new ByteBufferOutputStream(supplier, consumer);
+		this.convertEachTo(out, elementType, values);
+		out.close();
+	}
+
+	/**
+	 * 将Stream中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 每个ByteBuffer写满后flip并立即交给Consumer, 不会关闭Stream.
+	 *
+	 * @param supplier Supplier
+	 * @param consumer 接收写满的ByteBuffer
+	 * @param elementType 元素的Type
+	 * @param values Stream
+	 */
+	public void convertEachTo(final Supplier<ByteBuffer> supplier, final Consumer<ByteBuffer> consumer, final Type elementType, final Stream<?> values) {
+		if (values == null) {
+			return;
+		}
+		this.convertEachTo(supplier, consumer, elementType, values.iterator());
+	}
+
 	/**
 	 * 序列化操作.
 	 *
@@ -375,7 +608,7 @@ public final class BsonConvert extends Convert<BsonDeserializeReader, BsonSerial
 		if (type == null) {
 			return null;
 		}
-		final BsonSerializeWriter out = BsonConvert.writerPool.get();
+		final BsonSerializeWriter out = this.pollBsonSerializeWriter();
 		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
 		return out;
 	}
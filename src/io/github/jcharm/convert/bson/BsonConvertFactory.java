@@ -4,6 +4,9 @@
 package io.github.jcharm.convert.bson;
 
 import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 import io.github.jcharm.convert.ConvertFactory;
 import io.github.jcharm.convert.ConvertType;
@@ -50,6 +53,15 @@ public final class BsonConvertFactory extends ConvertFactory<BsonDeserializeRead
 		return new BsonConvertFactory(null);
 	}
 
+	/**
+	 * 本工厂中LocalDate、LocalTime、LocalDateTime改用BsonTemporalSimpleParser的定长二进制格式, 与默认的字符串格式不兼容, 序列化和反序列化双方的工厂需同时启用.
+	 */
+	public void registerBinaryTemporal() {
+		this.registerParser(LocalDate.class, BsonTemporalSimpleParser.LOCALDATE);
+		this.registerParser(LocalTime.class, BsonTemporalSimpleParser.LOCALTIME);
+		this.registerParser(LocalDateTime.class, BsonTemporalSimpleParser.LOCALDATETIME);
+	}
+
 	@Override
 	public ConvertType getConvertType() {
 		return ConvertType.BSON;
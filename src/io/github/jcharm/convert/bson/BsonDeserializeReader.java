@@ -3,6 +3,8 @@
  */
 package io.github.jcharm.convert.bson;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import io.github.jcharm.common.CommonUtils;
@@ -10,7 +12,10 @@ import io.github.jcharm.common.ConstructCreator;
 import io.github.jcharm.common.ObjectPool;
 import io.github.jcharm.convert.ConvertException;
 import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
 import io.github.jcharm.convert.DeserializeReader;
+import io.github.jcharm.convert.NameTable;
+import io.github.jcharm.convert.StringInternTable;
 import io.github.jcharm.convert.parser.BooleanArraySimpleParser;
 import io.github.jcharm.convert.parser.ByteArraySimpleParser;
 import io.github.jcharm.convert.parser.CharArraySimpleParser;
@@ -34,14 +39,47 @@ public class BsonDeserializeReader extends DeserializeReader {
 
 	private static final byte SIGN_NONEXT = 0;
 
+	/** 已分配引用序号但尚未创建的对象. */
+	private static final Object PENDING = new Object();
+
 	/** 字段的类型值, 对应 BsonSerializeWriter.writeField. */
 	protected byte typeval;
 
 	/** 位置下标. */
 	protected int position = -1;
 
+	/** 下一个int或long是否为zigzag变长整数, 对应 BsonSerializeWriter的紧凑模式. */
+	boolean varint;
+
 	private byte[] content;
 
+	/** 已读取开头且未读取结尾的对象层数. */
+	private int objectDepth;
+
+	/** 紧凑模式字段块的栈. */
+	private CompactFrame[] frames = new CompactFrame[0];
+
+	private int frameCount;
+
+	/** hasNextField返回true且尚未读取字段的紧凑模式字段块. */
+	private CompactFrame compactFrame;
+
+	/** 当前消息中已读取的紧凑模式字段结构. */
+	private ArrayList<BsonCompactSchema> schemas;
+
+	/** 引用跟踪模式下当前消息已读取的对象, 下标为引用序号. */
+	private ArrayList<Object> references;
+
+	/** 已分配引用序号但尚未创建的对象的层数, 与pendingIndexes组成栈. */
+	private int[] pendingDepths = new int[0];
+
+	private int[] pendingIndexes = new int[0];
+
+	private int pendingCount;
+
+	/** readObjectBegin读取到的引用序号. */
+	private int referenceIndex;
+
 	/**
 	 * 构造函数.
 	 */
@@ -128,6 +166,17 @@ public class BsonDeserializeReader extends DeserializeReader {
 		this.position = -1;
 		this.typeval = 0;
 		this.content = null;
+		this.varint = false;
+		this.objectDepth = 0;
+		this.frameCount = 0;
+		this.compactFrame = null;
+		if (this.schemas != null) {
+			this.schemas.clear();
+		}
+		if (this.references != null) {
+			this.references.clear();
+		}
+		this.pendingCount = 0;
 		return true;
 	}
 
@@ -162,15 +211,61 @@ public class BsonDeserializeReader extends DeserializeReader {
 
 	@Override
 	public int readInt() {
+		if (this.varint) {
+			return this.readZigzagInt();
+		}
 		return ((this.content[++this.position] & 0xff) << 24) | ((this.content[++this.position] & 0xff) << 16) | ((this.content[++this.position] & 0xff) << 8) | (this.content[++this.position] & 0xff);
 	}
 
 	@Override
 	public long readLong() {
+		if (this.varint) {
+			return this.readZigzag();
+		}
 		return ((((long) this.content[++this.position] & 0xff) << 56) | (((long) this.content[++this.position] & 0xff) << 48) | (((long) this.content[++this.position] & 0xff) << 40) | (((long) this.content[++this.position] & 0xff) << 32) | (((long) this.content[++this.position] & 0xff) << 24)
 				| (((long) this.content[++this.position] & 0xff) << 16) | (((long) this.content[++this.position] & 0xff) << 8) | (((long) this.content[++this.position] & 0xff)));
 	}
 
+	/**
+	 * 读取32位zigzag变长整数并清除varint标记.
+	 *
+	 * @return int
+	 */
+	final int readZigzagInt() {
+		this.varint = false;
+		final long value = this.readVarint();
+		return ((int) (value >>> 1)) ^ -((int) value & 1);
+	}
+
+	/**
+	 * 读取zigzag变长整数并清除varint标记.
+	 *
+	 * @return long
+	 */
+	final long readZigzag() {
+		this.varint = false;
+		final long value = this.readVarint();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * 读取无符号的变长整数, 每个字节低7位为数据, 最高位表示后面还有字节.
+	 */
+	private long readVarint() {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			if (shift > 63) {
+				throw new ConvertException("malformed bson varint at position(" + this.position + ")");
+			}
+			b = this.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		return value;
+	}
+
 	@Override
 	public short readShort() {
 		return (short) ((0xff00 & (this.content[++this.position] << 8)) | (0xff & this.content[++this.position]));
@@ -187,6 +282,14 @@ public class BsonDeserializeReader extends DeserializeReader {
 		return value;
 	}
 
+	@Override
+	public int readSmallString(final NameTable names) {
+		final int len = 0xff & this.readByte();
+		final int index = names.indexOf(this.content, this.position + 1, len);
+		this.position += len;
+		return index;
+	}
+
 	@Override
 	public String readString() {
 		final int len = this.readInt();
@@ -196,15 +299,29 @@ public class BsonDeserializeReader extends DeserializeReader {
 		if (len == 0) {
 			return "";
 		}
-		final String value = new String(CommonUtils.decodeUTF8ToChars(this.content, ++this.position, len));
+		final String value = CommonUtils.decodeUTF8ToString(this.content, ++this.position, len);
 		this.position += len - 1;// 上一行已经++this.position，所以此处要-1
 		return value;
 	}
 
+	@Override
+	public String readString(final StringInternTable table) {
+		final int len = this.readInt();
+		if (len == DeserializeReader.SIGN_NULL) {
+			return null;
+		}
+		if (len == 0) {
+			return "";
+		}
+		final String value = table.intern(this.content, ++this.position, len);
+		this.position += len - 1;
+		return value;
+	}
+
 	@Override
 	public int readArrayBegin() {
 		final short bt = this.readShort();
-		if (bt == DeserializeReader.SIGN_NULL) {
+		if ((bt == DeserializeReader.SIGN_NULL) || (bt == DeserializeReader.SIGN_NOLENGTH)) {
 			return bt;
 		}
 		return ((bt & 0xffff) << 16) | ((this.content[++this.position] & 0xff) << 8) | (this.content[++this.position] & 0xff);
@@ -234,9 +351,28 @@ public class BsonDeserializeReader extends DeserializeReader {
 		if (bt == DeserializeReader.SIGN_NULL) {
 			return null;
 		}
+		if (bt == BsonSerializeWriter.SIGN_REFERENCE) {
+			this.referenceIndex = (int) this.readVarint();
+			return DeserializeReader.REFERENCE;
+		}
+		if (bt == BsonSerializeWriter.SIGN_OBJECTR) { // 引用跟踪模式的对象, 按出现顺序分配引用序号
+			this.objectDepth++;
+			if (this.references == null) {
+				this.references = new ArrayList<>();
+			}
+			if (this.pendingCount == this.pendingDepths.length) {
+				this.pendingDepths = Arrays.copyOf(this.pendingDepths, this.pendingCount + 8);
+				this.pendingIndexes = Arrays.copyOf(this.pendingIndexes, this.pendingCount + 8);
+			}
+			this.pendingDepths[this.pendingCount] = this.objectDepth;
+			this.pendingIndexes[this.pendingCount++] = this.references.size();
+			this.references.add(BsonDeserializeReader.PENDING);
+			return "";
+		}
 		if (bt != BsonDeserializeReader.SIGN_OBJECTB) {
 			throw new ConvertException("a bson object must begin with " + (BsonDeserializeReader.SIGN_OBJECTB) + " (position = " + this.position + ") but '" + this.currentByte() + "'");
 		}
+		this.objectDepth++;
 		return "";
 	}
 
@@ -245,6 +381,126 @@ public class BsonDeserializeReader extends DeserializeReader {
 		if (this.readShort() != BsonDeserializeReader.SIGN_OBJECTE) {
 			throw new ConvertException("a bson object must end with " + (BsonDeserializeReader.SIGN_OBJECTE) + " (position = " + this.position + ") but '" + this.currentByte() + "'");
 		}
+		if ((this.pendingCount > 0) && (this.pendingDepths[this.pendingCount - 1] == this.objectDepth)) { // 跳过的对象未创建
+			this.references.set(this.pendingIndexes[--this.pendingCount], null);
+		}
+		this.objectDepth--;
+	}
+
+	@Override
+	public Object readReference() {
+		final int index = this.referenceIndex;
+		if ((this.references == null) || (index >= this.references.size())) {
+			throw new ConvertException("unknown bson reference " + index + " at position(" + this.position + ")");
+		}
+		final Object obj = this.references.get(index);
+		if (obj == BsonDeserializeReader.PENDING) {
+			throw new ConvertException("bson reference " + index + " at position(" + this.position + ") refers to an object that is not created yet, cyclic reference through constructor parameters is not supported");
+		}
+		return obj;
+	}
+
+	@Override
+	public void readObjectCreated(final Object obj) {
+		if ((this.pendingCount > 0) && (this.pendingDepths[this.pendingCount - 1] == this.objectDepth)) {
+			this.references.set(this.pendingIndexes[--this.pendingCount], obj);
+		}
+	}
+
+	@Override
+	public boolean hasNextField() {
+		this.varint = false;
+		if (this.frameCount > 0) {
+			final CompactFrame frame = this.frames[this.frameCount - 1];
+			if (frame.depth == this.objectDepth) { // 当前对象的紧凑模式字段块
+				if (frame.advance()) {
+					this.compactFrame = frame;
+					return true;
+				}
+				this.frameCount--;
+			}
+		}
+		final byte b = this.readByte();
+		if (b == BsonSerializeWriter.SIGN_COMPACT) {
+			this.readCompactFrame();
+			return this.hasNextField();
+		}
+		if (b == BsonDeserializeReader.SIGN_HASNEXT) {
+			return true;
+		}
+		if (b != BsonDeserializeReader.SIGN_NONEXT) {
+			throw new ConvertException("hasNext option must be (" + (BsonDeserializeReader.SIGN_HASNEXT) + " or " + (BsonDeserializeReader.SIGN_NONEXT) + ") but '" + b + "' at position(" + this.position + ")");
+		}
+		return false;
+	}
+
+	/**
+	 * 读取紧凑模式字段块的结构序号(或字段结构)及存在位图.
+	 */
+	private void readCompactFrame() {
+		final int index = (int) this.readVarint();
+		if (this.schemas == null) {
+			this.schemas = new ArrayList<>();
+		}
+		final BsonCompactSchema schema;
+		if (index == 0) {
+			final int fingerprint = this.readInt();
+			final int len = (int) this.readVarint();
+			final String[] names = new String[len];
+			final byte[] typevals = new byte[len];
+			for (int i = 0; i < len; i++) {
+				names[i] = this.readSmallString();
+				typevals[i] = this.readByte();
+			}
+			schema = new BsonCompactSchema(fingerprint, names, typevals);
+			this.schemas.add(schema);
+		} else if (index <= this.schemas.size()) {
+			schema = this.schemas.get(index - 1);
+		} else {
+			throw new ConvertException("unknown bson compact schema " + index + " at position(" + this.position + ")");
+		}
+		if (this.frameCount == this.frames.length) {
+			this.frames = Arrays.copyOf(this.frames, this.frameCount + 4);
+		}
+		CompactFrame frame = this.frames[this.frameCount];
+		if (frame == null) {
+			frame = new CompactFrame();
+			this.frames[this.frameCount] = frame;
+		}
+		this.frameCount++;
+		frame.schema = schema;
+		frame.depth = this.objectDepth;
+		frame.ordinal = 0;
+		final int size = (schema.names.length + 7) >> 3;
+		if (frame.bitmap.length < size) {
+			frame.bitmap = new byte[size];
+		}
+		for (int i = 0; i < size; i++) {
+			frame.bitmap[i] = this.readByte();
+		}
+	}
+
+	/**
+	 * 当前是否为紧凑模式字段块中的字段.
+	 *
+	 * @return boolean
+	 */
+	final boolean isCompactField() {
+		return this.compactFrame != null;
+	}
+
+	/**
+	 * 读取紧凑模式字段块中当前序号对应的DeSerializeMember.
+	 *
+	 * @param memberTable DeSerializeMemberTable
+	 * @return DeSerializeMember, 字段不存在返回null
+	 */
+	final DeSerializeMember readCompactField(final DeSerializeMemberTable memberTable) {
+		final CompactFrame frame = this.compactFrame;
+		this.compactFrame = null;
+		this.typeval = frame.schema.typevals[frame.current];
+		this.varint = (this.typeval == 5) || (this.typeval == 6);
+		return frame.schema.resolve(memberTable)[frame.current];
 	}
 
 	@Override
@@ -294,6 +550,18 @@ public class BsonDeserializeReader extends DeserializeReader {
 		case 9:
 			this.readString();
 			break;
+		case 10:
+			BsonTemporalSimpleParser.LOCALDATE.convertFrom(this);
+			break;
+		case 11:
+			BsonTemporalSimpleParser.LOCALTIME.convertFrom(this);
+			break;
+		case 12:
+			BsonTemporalSimpleParser.LOCALDATETIME.convertFrom(this);
+			break;
+		case 13:
+			this.readSmallString();
+			break;
 		case 101:
 			BooleanArraySimpleParser.INSTANCE.convertFrom(this);
 			break;
@@ -338,6 +606,9 @@ public class BsonDeserializeReader extends DeserializeReader {
 
 	@Override
 	public DeSerializeMember readFieldName(final DeSerializeMember[] deSerializeMembers) {
+		if (this.compactFrame != null) {
+			return this.readCompactField(new DeSerializeMemberTable(deSerializeMembers));
+		}
 		final String exceptedfield = this.readSmallString();
 		this.typeval = this.readByte();
 		final int len = deSerializeMembers.length;
@@ -359,4 +630,47 @@ public class BsonDeserializeReader extends DeserializeReader {
 		return null;
 	}
 
+	@Override
+	public DeSerializeMember readFieldName(final DeSerializeMemberTable memberTable) {
+		if (this.compactFrame != null) {
+			return this.readCompactField(memberTable);
+		}
+		final int len = 0xff & this.readByte();
+		final DeSerializeMember member = memberTable.find(this.content, this.position + 1, len);
+		this.position += len;
+		this.typeval = this.readByte();
+		return member;
+	}
+
+	/**
+	 * 紧凑模式的字段块.
+	 */
+	private static final class CompactFrame {
+
+		private BsonCompactSchema schema;
+
+		private byte[] bitmap = new byte[8];
+
+		private int depth;
+
+		private int ordinal;
+
+		private int current;
+
+		/**
+		 * 移动到下一个存在的字段, 不存在时返回false.
+		 */
+		private boolean advance() {
+			final int len = this.schema.names.length;
+			while (this.ordinal < len) {
+				final int i = this.ordinal++;
+				if ((this.bitmap[i >> 3] & (1 << (i & 7))) != 0) {
+					this.current = i;
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 }
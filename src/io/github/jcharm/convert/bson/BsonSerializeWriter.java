@@ -4,6 +4,7 @@
 package io.github.jcharm.convert.bson;
 
 import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
 import java.util.function.Predicate;
 
 import io.github.jcharm.common.CommonUtils;
@@ -11,7 +12,11 @@ import io.github.jcharm.common.ConstructCreator;
 import io.github.jcharm.common.FieldAttribute;
 import io.github.jcharm.common.ObjectPool;
 import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.DeserializeReader;
+import io.github.jcharm.convert.NameTable;
+import io.github.jcharm.convert.SerializeMember;
 import io.github.jcharm.convert.SerializeWriter;
+import io.github.jcharm.convert.parser.EnumSimpleParser;
 
 /**
  * BSON序列化输出流.
@@ -24,14 +29,41 @@ public class BsonSerializeWriter extends SerializeWriter {
 
 	private static final short SIGN_OBJECTE = (short) 0xEE;
 
+	/** 引用跟踪模式下对象开头的标记, 读取时按出现顺序为对象分配引用序号. */
+	static final short SIGN_OBJECTR = (short) 0xBC;
+
+	/** 对之前已输出的对象的引用的标记, 其后为引用序号. */
+	static final short SIGN_REFERENCE = (short) 0xAA;
+
 	private static final byte SIGN_NONEXT = 0;
 
 	private static final byte SIGN_HASNEXT = 1;
 
 	private static final short SIGN_NULL = -1;
 
+	/** 紧凑模式字段块的标记, 出现在hasNext的位置. */
+	static final byte SIGN_COMPACT = 2;
+
 	private byte[] content;
 
+	/** 是否使用紧凑模式输出对象. */
+	boolean compact;
+
+	/** 是否使用引用跟踪模式输出对象. */
+	boolean reference;
+
+	/** 引用跟踪模式下当前消息已输出的对象及其引用序号. */
+	private IdentityHashMap<Object, Integer> references;
+
+	/** 下一个int或long是否输出为zigzag变长整数. */
+	private boolean varint;
+
+	/** 紧凑模式下当前消息已输出的字段结构及其序号. */
+	private IdentityHashMap<SerializeMember[], Integer> schemas;
+
+	/** 编码字符串时重复使用的字符数组. */
+	private char[] chars;
+
 	/** 字节内容数组大小. */
 	protected int count;
 
@@ -83,14 +115,11 @@ public class BsonSerializeWriter extends SerializeWriter {
 	}
 
 	/**
-	 * 输出字节数组.
+	 * 输出字节数组, 总是返回副本, 字节内容数组随输出流回收到池中后会被复用.
 	 *
 	 * @return byte[]
 	 */
 	public byte[] toArray() {
-		if (this.count == this.content.length) {
-			return this.content;
-		}
 		final byte[] newdata = new byte[this.count];
 		System.arraycopy(this.content, 0, newdata, 0, this.count);
 		return newdata;
@@ -162,12 +191,73 @@ public class BsonSerializeWriter extends SerializeWriter {
 	 */
 	protected boolean recycle() {
 		this.count = 0;
-		if (this.content.length > BsonSerializeWriter.defaultSize) {
+		this.compact = false;
+		this.reference = false;
+		this.varint = false;
+		if (this.schemas != null) {
+			this.schemas.clear();
+		}
+		if (this.references != null) {
+			this.references.clear();
+		}
+		if (this.content.length > Math.max(BsonSerializeWriter.defaultSize, this.retainedSize)) {
 			this.content = new byte[BsonSerializeWriter.defaultSize];
 		}
+		if ((this.chars != null) && (this.chars.length > BsonSerializeWriter.defaultSize)) {
+			this.chars = null;
+		}
 		return true;
 	}
 
+	/**
+	 * 获取编码字符串时重复使用的字符数组, 不足时扩容.
+	 *
+	 * @param len 需要的最小长度
+	 * @return char[]
+	 */
+	protected final char[] chars(final int len) {
+		if ((this.chars == null) || (this.chars.length < len)) {
+			this.chars = new char[Math.max(len, 64)];
+		}
+		return this.chars;
+	}
+
+	/**
+	 * 是否使用紧凑模式输出对象.
+	 *
+	 * @return boolean
+	 */
+	public boolean isCompact() {
+		return this.compact;
+	}
+
+	/**
+	 * 设置是否使用紧凑模式输出对象, 紧凑模式按字段序号输出对象的字段, int和long输出为zigzag变长整数, 为null的字段记录在存在位图中, 任意BsonDeserializeReader均可读取.
+	 *
+	 * @param compact boolean
+	 */
+	public void setCompact(final boolean compact) {
+		this.compact = compact;
+	}
+
+	/**
+	 * 是否使用引用跟踪模式输出对象.
+	 *
+	 * @return boolean
+	 */
+	public boolean isReference() {
+		return this.reference;
+	}
+
+	/**
+	 * 设置是否使用引用跟踪模式输出对象, 同一对象在消息中只完整输出一次, 之后输出为引用序号, 对象间的循环引用也可输出; 任意BsonDeserializeReader均可读取.
+	 *
+	 * @param reference boolean
+	 */
+	public void setReference(final boolean reference) {
+		this.reference = reference;
+	}
+
 	@Override
 	public void writeBoolean(final boolean value) {
 		this.writeTo(value ? (byte) 1 : (byte) 0);
@@ -195,14 +285,35 @@ public class BsonSerializeWriter extends SerializeWriter {
 
 	@Override
 	public void writeInt(final int value) {
+		if (this.varint) {
+			this.varint = false;
+			this.writeVarint(((value << 1) ^ (value >> 31)) & 0xffffffffL); // 按32位zigzag编码, 不能符号扩展到long
+			return;
+		}
 		this.writeTo((byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value);
 	}
 
 	@Override
 	public void writeLong(final long value) {
+		if (this.varint) {
+			this.varint = false;
+			this.writeVarint((value << 1) ^ (value >> 63));
+			return;
+		}
 		this.writeTo((byte) (value >> 56), (byte) (value >> 48), (byte) (value >> 40), (byte) (value >> 32), (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value);
 	}
 
+	/**
+	 * 输出无符号的变长整数, 每个字节低7位为数据, 最高位表示后面还有字节.
+	 */
+	private void writeVarint(long value) {
+		while ((value & ~0x7FL) != 0) {
+			this.writeTo((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		this.writeTo((byte) value);
+	}
+
 	@Override
 	public void writeShort(final short value) {
 		this.writeTo((byte) (value >> 8), (byte) value);
@@ -229,6 +340,35 @@ public class BsonSerializeWriter extends SerializeWriter {
 		this.writeTo(bytes);
 	}
 
+	@Override
+	public void writeSmallString(final NameTable names, final int index) {
+		final byte[] bytes = names.getBytes(index);
+		if ((bytes.length != names.getChars(index).length) || (bytes.length > 255)) { // 非ASCII字符或过长, 按原方式输出并抛出异常
+			this.writeSmallString(names.getName(index));
+			return;
+		}
+		this.writeTo((byte) bytes.length);
+		this.writeTo(bytes, 0, bytes.length);
+	}
+
+	@Override
+	public void writeSmallString(final char[] chars, final int offset, final int len) {
+		if (len > 255) {
+			super.writeSmallString(chars, offset, len);
+			return;
+		}
+		final byte[] bytes = new byte[len + 1];
+		bytes[0] = (byte) len;
+		for (int i = 0; i < len; i++) {
+			if (chars[offset + i] > Byte.MAX_VALUE) { // 非ASCII字符, 按原方式输出并抛出异常
+				super.writeSmallString(chars, offset, len);
+				return;
+			}
+			bytes[i + 1] = (byte) chars[offset + i];
+		}
+		this.writeTo(bytes);
+	}
+
 	@Override
 	public void writeString(final String value) {
 		if (value == null) {
@@ -238,10 +378,24 @@ public class BsonSerializeWriter extends SerializeWriter {
 			this.writeInt(0);
 			return;
 		}
-		final char[] chars = value.toCharArray();
-		final byte[] bytes = CommonUtils.encodeUTF8ToBytes(chars, 0, chars.length);
-		this.writeInt(bytes.length);
-		this.writeTo(bytes);
+		this.writeUTF8(value);
+	}
+
+	/**
+	 * 输出非空字符串的UTF8字节数及内容, 直接编码到字节内容数组中, 字节数在编码后回填.
+	 *
+	 * @param value String
+	 */
+	protected void writeUTF8(final String value) {
+		this.expand(4 + (value.length() * 3));
+		final byte[] bs = this.content;
+		final int start = this.count + 4;
+		final int size = CommonUtils.encodeUTF8(value, this.chars(value.length()), bs, start) - start;
+		bs[this.count] = (byte) (size >> 24);
+		bs[this.count + 1] = (byte) (size >> 16);
+		bs[this.count + 2] = (byte) (size >> 8);
+		bs[this.count + 3] = (byte) size;
+		this.count = start + size;
 	}
 
 	@Override
@@ -253,6 +407,21 @@ public class BsonSerializeWriter extends SerializeWriter {
 	public void writeArrayMark() {
 	}
 
+	@Override
+	public void writeUnsizedArrayBegin() {
+		this.writeShort(DeserializeReader.SIGN_NOLENGTH);
+	}
+
+	@Override
+	public void writeUnsizedArrayMark(final boolean first) {
+		this.writeByte(BsonSerializeWriter.SIGN_HASNEXT);
+	}
+
+	@Override
+	public void writeUnsizedArrayEnd() {
+		this.writeByte(BsonSerializeWriter.SIGN_NONEXT);
+	}
+
 	@Override
 	public void writeArrayEnd() {
 	}
@@ -270,11 +439,34 @@ public class BsonSerializeWriter extends SerializeWriter {
 	public void writeMapEnd() {
 	}
 
+	@Override
+	public boolean writeObjectReference(final Object obj) {
+		if (!this.reference || (this.references == null)) {
+			return false;
+		}
+		final Integer index = this.references.get(obj);
+		if (index == null) {
+			return false;
+		}
+		this.writeSmallString("");
+		this.writeShort(BsonSerializeWriter.SIGN_REFERENCE);
+		this.writeVarint(index);
+		return true;
+	}
+
 	@Override
 	public void writeObjectBegin(final Object obj) {
 		super.writeObjectBegin(obj);
 		this.writeSmallString("");
-		this.writeShort(BsonSerializeWriter.SIGN_OBJECTB);
+		if (!this.reference) {
+			this.writeShort(BsonSerializeWriter.SIGN_OBJECTB);
+			return;
+		}
+		if (this.references == null) {
+			this.references = new IdentityHashMap<>();
+		}
+		this.references.put(obj, this.references.size());
+		this.writeShort(BsonSerializeWriter.SIGN_OBJECTR);
 	}
 
 	@Override
@@ -283,6 +475,60 @@ public class BsonSerializeWriter extends SerializeWriter {
 		this.writeShort(BsonSerializeWriter.SIGN_OBJECTE);
 	}
 
+	@Override
+	public void writeObjectFields(final SerializeMember[] serializeMembers, final Object obj) {
+		final int len = serializeMembers.length;
+		if (!this.compact || (len == 0)) {
+			super.writeObjectFields(serializeMembers, obj);
+			return;
+		}
+		this.writeByte(BsonSerializeWriter.SIGN_COMPACT);
+		if (this.schemas == null) {
+			this.schemas = new IdentityHashMap<>();
+		}
+		final Integer index = this.schemas.get(serializeMembers);
+		if (index != null) {
+			this.writeVarint(index);
+		} else { // 当前消息中第一次出现, 输出字段结构
+			this.schemas.put(serializeMembers, this.schemas.size() + 1);
+			int fingerprint = BsonCompactSchema.OFFSET;
+			for (final SerializeMember member : serializeMembers) {
+				final FieldAttribute attribute = member.getFieldAttribute();
+				fingerprint = BsonCompactSchema.fingerprint(fingerprint, attribute.getFieldAliasName(), BsonSerializeWriter.typeval(member.getSerializeParser(), attribute.getFieldType()));
+			}
+			this.writeVarint(0);
+			this.writeInt(fingerprint);
+			this.writeVarint(len);
+			for (final SerializeMember member : serializeMembers) {
+				final FieldAttribute attribute = member.getFieldAttribute();
+				this.writeSmallString(attribute.getFieldAliasName());
+				this.writeByte(BsonSerializeWriter.typeval(member.getSerializeParser(), attribute.getFieldType()));
+			}
+		}
+		int bits = 0; // 存在位图, 基本类型的字段总是存在
+		for (int i = 0; i < len; i++) {
+			final FieldAttribute attribute = serializeMembers[i].getFieldAttribute();
+			if (attribute.getFieldType().isPrimitive() || (attribute.getFieldValue(obj) != null)) {
+				bits |= 1 << (i & 7);
+			}
+			if (((i & 7) == 7) || (i == (len - 1))) {
+				this.writeByte((byte) bits);
+				bits = 0;
+			}
+		}
+		for (final SerializeMember member : serializeMembers) {
+			final FieldAttribute attribute = member.getFieldAttribute();
+			final Object value = attribute.getFieldValue(obj);
+			if (value == null) { // 输出过程中字段值不应被修改, 否则与存在位图不一致
+				continue;
+			}
+			final Class type = attribute.getFieldType();
+			this.varint = (type == int.class) || (type == Integer.class) || (type == long.class) || (type == Long.class);
+			member.getSerializeParser().convertTo(this, value);
+			this.varint = false;
+		}
+	}
+
 	@Override
 	public void writeNull() {
 		this.writeShort(BsonSerializeWriter.SIGN_NULL);
@@ -292,8 +538,42 @@ public class BsonSerializeWriter extends SerializeWriter {
 	public void writeFieldName(final FieldAttribute fieldAttribute) {
 		this.writeByte(BsonSerializeWriter.SIGN_HASNEXT);
 		this.writeSmallString(fieldAttribute.getFieldAliasName());
+		this.writeByte(BsonSerializeWriter.typeval(fieldAttribute.getFieldType()));
+	}
+
+	@Override
+	public void writeFieldName(final SerializeMember serializeMember) {
+		final FieldAttribute attribute = serializeMember.getFieldAttribute();
+		this.writeByte(BsonSerializeWriter.SIGN_HASNEXT);
+		this.writeSmallString(attribute.getFieldAliasName());
+		this.writeByte(BsonSerializeWriter.typeval(serializeMember.getSerializeParser(), attribute.getFieldType()));
+	}
+
+	/**
+	 * 获取字段的解析器及数据类型对应的类型值, 按序号双向序列化的枚举字段为short的类型值.
+	 *
+	 * @param parser 字段的序列化或反序列化解析器
+	 * @param type 字段数据类型
+	 * @return byte
+	 */
+	static byte typeval(final Object parser, final Class type) {
+		if ((parser instanceof EnumSimpleParser) && ((EnumSimpleParser) parser).isOrdinal()) {
+			return 3;
+		}
+		if (parser instanceof BsonTemporalSimpleParser) {
+			return ((BsonTemporalSimpleParser) parser).typeval;
+		}
+		return BsonSerializeWriter.typeval(type);
+	}
+
+	/**
+	 * 获取字段数据类型对应的类型值, 反序列化时按类型值跳过不存在的字段.
+	 *
+	 * @param type 字段数据类型
+	 * @return byte
+	 */
+	static byte typeval(final Class type) {
 		byte typeval = 127; // 字段的类型值
-		final Class type = fieldAttribute.getFieldType();
 		if ((type == boolean.class) || (type == Boolean.class)) {
 			typeval = 1;
 		} else if ((type == byte.class) || (type == Byte.class)) {
@@ -330,8 +610,10 @@ public class BsonSerializeWriter extends SerializeWriter {
 			typeval = 108;
 		} else if (type == String[].class) {
 			typeval = 109;
+		} else if (type.isEnum()) {
+			typeval = 13;
 		}
-		this.writeByte(typeval);
+		return typeval;
 	}
 
 	@Override
@@ -6,15 +6,22 @@ package io.github.jcharm.convert.bson;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import io.github.jcharm.common.CommonUtils;
 import io.github.jcharm.convert.ConvertException;
 
 /**
- * BSON Stream序列化输出流.
+ * BSON Stream序列化输出流, 内容先输出到固定大小的块中, 块写满或调用flush时批量写入OutputStream.
  */
 class BsonStreamSerializeWriter extends BsonByteBufferSerializeWriter {
 
+	private static final int chunkSize = 8192;
+
 	private OutputStream out;
 
+	private final byte[] chunk = new byte[BsonStreamSerializeWriter.chunkSize];
+
+	private int chunkCount;
+
 	/**
 	 * 构造函数.
 	 *
@@ -29,22 +36,65 @@ class BsonStreamSerializeWriter extends BsonByteBufferSerializeWriter {
 	protected boolean recycle() {
 		super.recycle();
 		this.out = null;
+		this.chunkCount = 0;
 		return false;
 	}
 
 	@Override
 	public void writeTo(final byte[] chs, final int start, final int len) {
-		try {
-			this.out.write(chs, start, len);
-		} catch (final IOException e) {
-			throw new ConvertException(e);
+		if (len > (this.chunk.length - this.chunkCount)) {
+			this.flush();
+			if (len > this.chunk.length) {
+				this.write(chs, start, len);
+				return;
+			}
 		}
+		System.arraycopy(chs, start, this.chunk, this.chunkCount, len);
+		this.chunkCount += len;
 	}
 
 	@Override
 	public void writeTo(final byte ch) {
+		if (this.chunkCount == this.chunk.length) {
+			this.flush();
+		}
+		this.chunk[this.chunkCount++] = ch;
+	}
+
+	@Override
+	protected void writeUTF8(final String value) {
+		final int max = 4 + (value.length() * 3);
+		if (max > (this.chunk.length - this.chunkCount)) {
+			this.flush();
+			if (max > this.chunk.length) {
+				super.writeUTF8(value);
+				return;
+			}
+		}
+		final byte[] bs = this.chunk;
+		final int start = this.chunkCount + 4;
+		final int size = CommonUtils.encodeUTF8(value, this.chars(value.length()), bs, start) - start;
+		bs[this.chunkCount] = (byte) (size >> 24);
+		bs[this.chunkCount + 1] = (byte) (size >> 16);
+		bs[this.chunkCount + 2] = (byte) (size >> 8);
+		bs[this.chunkCount + 3] = (byte) size;
+		this.chunkCount = start + size;
+	}
+
+	/**
+	 * 将块中的内容写入OutputStream.
+	 */
+	@Override
+	public void flush() {
+		if (this.chunkCount > 0) {
+			this.write(this.chunk, 0, this.chunkCount);
+			this.chunkCount = 0;
+		}
+	}
+
+	private void write(final byte[] bs, final int start, final int len) {
 		try {
-			this.out.write(ch);
+			this.out.write(bs, start, len);
 		} catch (final IOException e) {
 			throw new ConvertException(e);
 		}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.bson;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAccessor;
+
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.DeserializeReader;
+
+/**
+ * LocalDate、LocalTime、LocalDateTime的BSON定长二进制双向序列化解析器, 通过BsonConvertFactory.registerBinaryTemporal启用.
+ * <p>
+ * 日期为距LocalDate.MIN的天数, 时间为当天的纳秒数, 均按short(高位)和int(低32位)输出, 高位非负因此不会与null标识混淆; LocalDateTime依次输出日期和时间. 与默认的字符串格式不兼容, 序列化和反序列化双方需同时启用.
+ *
+ * @param <T> LocalDate、LocalTime或LocalDateTime
+ */
+public final class BsonTemporalSimpleParser<T extends TemporalAccessor> extends BsonSimpleParser<T> {
+
+	/** LocalDate实例. */
+	public static final BsonTemporalSimpleParser<LocalDate> LOCALDATE = new BsonTemporalSimpleParser<>((byte) 10);
+
+	/** LocalTime实例. */
+	public static final BsonTemporalSimpleParser<LocalTime> LOCALTIME = new BsonTemporalSimpleParser<>((byte) 11);
+
+	/** LocalDateTime实例. */
+	public static final BsonTemporalSimpleParser<LocalDateTime> LOCALDATETIME = new BsonTemporalSimpleParser<>((byte) 12);
+
+	private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+
+	/** 字段的类型值, 反序列化时按类型值跳过不存在的字段. */
+	final byte typeval;
+
+	private BsonTemporalSimpleParser(final byte typeval) {
+		this.typeval = typeval;
+	}
+
+	@Override
+	public void convertTo(final BsonSerializeWriter out, final T value) {
+		if (value == null) {
+			out.writeNull();
+			return;
+		}
+		if (this.typeval == 10) {
+			BsonTemporalSimpleParser.writeCompact(out, ((LocalDate) value).toEpochDay() - BsonTemporalSimpleParser.MIN_EPOCH_DAY);
+		} else if (this.typeval == 11) {
+			BsonTemporalSimpleParser.writeCompact(out, ((LocalTime) value).toNanoOfDay());
+		} else {
+			final LocalDateTime dateTime = (LocalDateTime) value;
+			BsonTemporalSimpleParser.writeCompact(out, dateTime.toLocalDate().toEpochDay() - BsonTemporalSimpleParser.MIN_EPOCH_DAY);
+			BsonTemporalSimpleParser.writeCompact(out, dateTime.toLocalTime().toNanoOfDay());
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T convertFrom(final BsonDeserializeReader in) {
+		final short high = in.readShort();
+		if (high == DeserializeReader.SIGN_NULL) {
+			return null;
+		}
+		final long value = BsonTemporalSimpleParser.readCompact(in, high);
+		try {
+			if (this.typeval == 10) {
+				return (T) LocalDate.ofEpochDay(value + BsonTemporalSimpleParser.MIN_EPOCH_DAY);
+			} else if (this.typeval == 11) {
+				return (T) LocalTime.ofNanoOfDay(value);
+			}
+			final LocalDate date = LocalDate.ofEpochDay(value + BsonTemporalSimpleParser.MIN_EPOCH_DAY);
+			return (T) LocalDateTime.of(date, LocalTime.ofNanoOfDay(BsonTemporalSimpleParser.readCompact(in, in.readShort())));
+		} catch (final RuntimeException e) {
+			throw new ConvertException("invalid bson temporal value " + value, e);
+		}
+	}
+
+	private static void writeCompact(final BsonSerializeWriter out, final long value) {
+		out.writeShort((short) (value >>> 32));
+		out.writeInt((int) value);
+	}
+
+	private static long readCompact(final BsonDeserializeReader in, final short high) {
+		return ((long) high << 32) | (in.readInt() & 0xFFFFFFFFL);
+	}
+
+}
@@ -4,23 +4,44 @@
 package io.github.jcharm.convert.json;
 
 import java.nio.ByteBuffer;
-import java.nio.charset.UnmappableCharacterException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.ConvertFactory;
+import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
 import io.github.jcharm.convert.DeserializeReader;
+import io.github.jcharm.convert.NameTable;
+import io.github.jcharm.convert.StringInternTable;
 
 /**
- * JSON ByteBuffer反序列化输入流.
+ * JSON ByteBuffer反序列化输入流, 直接在字节数组上解析, 只有含非ASCII字符或转义字符的字符串才需要解码.
+ * <p>
+ * 单个非直接ByteBuffer时直接使用其底层数组, 其他情况将全部内容批量复制到一个字节数组中, 不改变ByteBuffer的position.
  */
 public class JsonByteBufferDeserializeReader extends JsonDeserializeReader {
 
-	private char currentChar;
+	/** 内容字节数组. */
+	protected byte[] bytes;
 
-	private ByteBuffer[] buffers;
+	/** 内容字节数组中最后一个有效字节的下标. */
+	protected int limit = -1;
 
-	private int currentIndex = 0;
+	/** 填充内容字节数组时需要保留的起始下标, -1表示无需保留. */
+	protected int mark = -1;
 
-	private ByteBuffer currentBuffer;
+	/** 解码字符串时重复使用的字符数组. */
+	private char[] chars = new char[64];
+
+	/** 最后扫描的带引号字符串是否只含ASCII字符且无转义字符. */
+	private boolean plain;
+
+	/**
+	 * 构造函数, 供自行填充内容字节数组的子类使用.
+	 */
+	protected JsonByteBufferDeserializeReader() {
+	}
 
 	/**
 	 * 构造函数.
@@ -28,87 +49,136 @@ public class JsonByteBufferDeserializeReader extends JsonDeserializeReader {
 	 * @param buffers ByteBuffer
 	 */
 	protected JsonByteBufferDeserializeReader(final ByteBuffer... buffers) {
-		this.buffers = buffers;
-		if ((buffers != null) && (buffers.length > 0)) {
-			this.currentBuffer = buffers[this.currentIndex];
+		if ((buffers == null) || (buffers.length == 0)) {
+			this.bytes = new byte[0];
+			return;
 		}
+		if ((buffers.length == 1) && buffers[0].hasArray()) {
+			final ByteBuffer buffer = buffers[0];
+			this.bytes = buffer.array();
+			this.position = (buffer.arrayOffset() + buffer.position()) - 1;
+			this.limit = (buffer.arrayOffset() + buffer.limit()) - 1;
+			return;
+		}
+		int total = 0;
+		for (final ByteBuffer buffer : buffers) {
+			total += buffer.remaining();
+		}
+		this.bytes = new byte[total];
+		int offset = 0;
+		for (final ByteBuffer buffer : buffers) {
+			final int len = buffer.remaining();
+			buffer.duplicate().get(this.bytes, offset, len);
+			offset += len;
+		}
+		this.limit = total - 1;
 	}
 
 	@Override
 	protected boolean recycle() {
 		super.recycle(); // this.position 初始化值为-1
-		this.currentIndex = 0;
-		this.currentChar = 0;
-		this.currentBuffer = null;
-		this.buffers = null;
+		this.bytes = null;
+		this.limit = -1;
+		this.mark = -1;
 		return false;
 	}
 
 	/**
-	 * 获取下一个字节.
+	 * 将指定范围的字节数组赋值给内容字节数组, 用于重复使用同一个输入流读取多段内容.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 */
+	final void setBytes(final byte[] bytes, final int start, final int len) {
+		this.bytes = bytes;
+		this.position = start - 1;
+		this.limit = (start + len) - 1;
+		this.mark = -1;
+	}
+
+	/**
+	 * 内容字节数组已读完时读取更多的字节, 子类覆盖此方法时可丢弃mark(存在时)和position - 3之前的字节并相应调整position、limit和mark.
 	 *
-	 * @return byte
+	 * @return 没有更多字节返回false
 	 */
-	protected byte nextByte() {
-		if (this.currentBuffer.hasRemaining()) {
-			this.position++;
-			return this.currentBuffer.get();
+	protected boolean fill() {
+		return false;
+	}
+
+	/**
+	 * 丢弃内容字节数组中已解析完的字节(保留mark之后及最后读取的几个字节以便回退), 内容字节数组已满时扩大一倍, 供覆盖fill方法的子类在填充前调用.
+	 */
+	protected final void compact() {
+		int from = this.position - 3; // 保留最后读取的字符以便回退
+		if ((this.mark >= 0) && (this.mark < from)) {
+			from = this.mark;
 		}
-		for (;;) {
-			this.currentBuffer = this.buffers[++this.currentIndex];
-			if (this.currentBuffer.hasRemaining()) {
-				this.position++;
-				return this.currentBuffer.get();
+		if (from > 0) {
+			System.arraycopy(this.bytes, from, this.bytes, 0, (this.limit + 1) - from);
+			this.position -= from;
+			this.limit -= from;
+			if (this.mark >= 0) {
+				this.mark -= from;
 			}
 		}
+		if ((this.limit + 1) == this.bytes.length) {
+			this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+		}
+	}
+
+	private int read() {
+		if ((this.position == this.limit) && !this.fill()) {
+			return -1;
+		}
+		return this.bytes[++this.position] & 0xff;
+	}
+
+	private int nextGoodByte() {
+		int b = this.read();
+		while ((b >= 0) && (b <= ' ')) {
+			b = this.read();
+		}
+		return b;
+	}
+
+	private char decodeChar(final int b1) {
+		if ((b1 >> 5) == 0x06) { // 2 bytes, 11 bits: 110xxxxx 10xxxxxx
+			return (char) (((b1 & 0x1f) << 6) | (this.read() & 0x3f));
+		} else if ((b1 >> 4) == 0x0e) { // 3 bytes, 16 bits: 1110xxxx 10xxxxxx 10xxxxxx
+			return (char) (((b1 & 0x0f) << 12) | ((this.read() & 0x3f) << 6) | (this.read() & 0x3f));
+		}
+		throw new ConvertException("illegal utf-8 byte(" + b1 + ") (position = " + this.position + ")");
 	}
 
 	@Override
 	protected final char nextChar() {
-		if (this.currentChar != 0) {
-			final char ch = this.currentChar;
-			this.currentChar = 0;
-			return ch;
-		}
-		if (this.currentBuffer != null) {
-			final int remain = this.currentBuffer.remaining();
-			if ((remain == 0) && ((this.currentIndex + 1) >= this.buffers.length)) {
-				return 0;
-			}
-		}
-		final byte b1 = this.nextByte();
-		if (b1 >= 0) {// 1 byte, 7 bits: 0xxxxxxx
-			return (char) b1;
-		} else if (((b1 >> 5) == -2) && ((b1 & 0x1e) != 0)) { // 2 bytes, 11 bits: 110xxxxx 10xxxxxx
-			return (char) (((b1 << 6) ^ this.nextByte()) ^ (((byte) 0xC0 << 6) ^ ((byte) 0x80)));
-		} else if ((b1 >> 4) == -2) { // 3 bytes, 16 bits: 1110xxxx 10xxxxxx 10xxxxxx
-			return (char) ((b1 << 12) ^ (this.nextByte() << 6) ^ (this.nextByte() ^ (((byte) 0xE0 << 12) ^ ((byte) 0x80 << 6) ^ ((byte) 0x80))));
-		} else { // 4 bytes, 21 bits: 11110xxx 10xxxxxx 10xxxxxx 10xxxxxx
-			throw new RuntimeException(new UnmappableCharacterException(4));
+		final int b = this.read();
+		if (b < 0x80) {
+			return b < 0 ? 0 : (char) b; // 0 表示buffer结尾了
 		}
+		return this.decodeChar(b);
 	}
 
 	@Override
 	protected final char nextGoodChar() {
-		char c = this.nextChar();
-		if ((c > ' ') || (c == 0)) {// 0 表示buffer结尾了
-			return c;
-		}
-		for (;;) {
-			c = this.nextChar();
-			if ((c > ' ') || (c == 0)) {
-				return c;
-			}
+		final int b = this.nextGoodByte();
+		if (b < 0x80) {
+			return b < 0 ? 0 : (char) b; // 0 表示buffer结尾了
 		}
+		return this.decodeChar(b);
 	}
 
 	@Override
 	protected final void backChar(final char ch) {
-		this.currentChar = ch;
+		if (ch != 0) {
+			this.position -= ch < 0x80 ? 1 : (ch < 0x800 ? 2 : 3);
+		}
 	}
 
 	@Override
 	public String readObjectBegin(final Class clazz) {
+		this.fieldIndex = 0; // 必须要重置为0
 		final char ch = this.nextGoodChar();
 		if (ch == '{') {
 			return "";
@@ -161,170 +231,442 @@ public class JsonByteBufferDeserializeReader extends JsonDeserializeReader {
 
 	@Override
 	public final String readSmallString() {
-		char ch = this.nextGoodChar();
-		if (ch == 0) {
+		final int b = this.nextGoodByte();
+		if (b < 0) {
 			return null;
 		}
-		final StringBuilder sb = new StringBuilder();
-		if ((ch == '"') || (ch == '\'')) {
-			final char quote = ch;
-			for (;;) {
-				ch = this.nextChar();
-				if (ch == '\\') {
-					final char c = this.nextChar();
-					switch (c) {
-					case '"':
-					case '\'':
-					case '\\':
-					case '/':
-						sb.append(c);
-						break;
-					case 'n':
-						sb.append('\n');
-						break;
-					case 'r':
-						sb.append('\r');
-						break;
-					case 'u':
-						sb.append((char) Integer.parseInt(new String(new char[] { this.nextChar(), this.nextChar(), this.nextChar(), this.nextChar() }), 16));
-						break;
-					case 't':
-						sb.append('\t');
-						break;
-					case 'b':
-						sb.append('\b');
-						break;
-					case 'f':
-						sb.append('\f');
-						break;
-					default:
-						throw new ConvertException("illegal escape(" + c + ") (position = " + this.position + ")");
-					}
-				} else if ((ch == quote) || (ch == 0)) {
-					break;
-				} else {
-					sb.append(ch);
-				}
+		if ((b == '"') || (b == '\'')) {
+			final int end = this.scanQuoted(b);
+			final int start = this.mark;
+			this.mark = -1;
+			if (this.plain) {
+				return new String(this.bytes, start, end - start, StandardCharsets.ISO_8859_1);
 			}
-			return sb.toString();
-		} else {
-			sb.append(ch);
-			for (;;) {
-				ch = this.nextChar();
-				if (ch == '\\') {
-					final char c = this.nextChar();
-					switch (c) {
-					case '"':
-					case '\'':
-					case '\\':
-					case '/':
-						sb.append(c);
-						break;
-					case 'n':
-						sb.append('\n');
-						break;
-					case 'r':
-						sb.append('\r');
-						break;
-					case 'u':
-						sb.append((char) Integer.parseInt(new String(new char[] { this.nextChar(), this.nextChar(), this.nextChar(), this.nextChar() }), 16));
-						break;
-					case 't':
-						sb.append('\t');
-						break;
-					case 'b':
-						sb.append('\b');
-						break;
-					case 'f':
-						sb.append('\f');
-						break;
-					default:
-						throw new ConvertException("illegal escape(" + c + ") (position = " + this.position + ")");
-					}
-				} else if ((ch == ',') || (ch == ']') || (ch == '}') || (ch <= ' ') || (ch == ':')) { // ch <= ' ' 包含 0
-					break;
-				} else {
-					sb.append(ch);
-				}
+			return this.decodeString(this.bytes, start, end);
+		}
+		final int end = this.scanToken();
+		final int start = this.mark;
+		this.mark = -1;
+		final byte[] bs = this.bytes;
+		final int len = end - start;
+		if ((len == 4) && ((bs[start] | 0x20) == 'n') && ((bs[start + 1] | 0x20) == 'u') && ((bs[start + 2] | 0x20) == 'l') && ((bs[start + 3] | 0x20) == 'l')) {
+			return null;
+		}
+		return this.plain ? new String(bs, start, len, StandardCharsets.ISO_8859_1) : this.decodeString(bs, start, end);
+	}
+
+	@Override
+	public final int readSmallString(final NameTable names) {
+		final int b = this.nextGoodByte();
+		if (b < 0) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		final boolean quoted = (b == '"') || (b == '\'');
+		final int end = quoted ? this.scanQuoted(b) : this.scanToken();
+		final int start = this.mark;
+		this.mark = -1;
+		final byte[] bs = this.bytes;
+		final int len = end - start;
+		if (!quoted && (len == 4) && ((bs[start] | 0x20) == 'n') && ((bs[start + 1] | 0x20) == 'u') && ((bs[start + 2] | 0x20) == 'l') && ((bs[start + 3] | 0x20) == 'l')) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		return this.plain ? names.indexOf(bs, start, len) : names.indexOf(this.decodeString(bs, start, end));
+	}
+
+	@Override
+	public final String readString() {
+		return this.readSmallString();
+	}
+
+	@Override
+	public final String readString(final StringInternTable table) {
+		final int b = this.nextGoodByte();
+		if ((b != '"') && (b != '\'')) { // null或不带引号的值
+			if (b >= 0) {
+				this.position--;
 			}
-			final String rs = sb.toString();
-			return "null".equalsIgnoreCase(rs) ? null : rs;
+			return table.intern(this.readSmallString());
 		}
+		final int end = this.scanQuoted(b);
+		final int start = this.mark;
+		this.mark = -1;
+		return this.plain ? table.intern(this.bytes, start, end - start) : table.intern(this.decodeString(this.bytes, start, end));
 	}
 
 	@Override
 	public final int readInt() {
-		char firstchar = this.nextGoodChar();
-		if ((firstchar == '"') || (firstchar == '\'')) {
-			firstchar = this.nextChar();
-			if ((firstchar == '"') || (firstchar == '\'')) {
-				return 0;
+		return (int) this.readLong();
+	}
+
+	@Override
+	public final long readLong() {
+		int b = this.nextGoodByte();
+		if ((b == '"') || (b == '\'')) {
+			b = this.read();
+			if ((b == '"') || (b == '\'')) {
+				return 0L;
 			}
 		}
-		int value = 0;
-		final boolean negative = firstchar == '-';
+		long value = 0;
+		final boolean negative = b == '-';
 		if (!negative) {
-			if ((firstchar < '0') || (firstchar > '9')) {
-				throw new ConvertException("illegal escape(" + firstchar + ") (position = " + this.position + ")");
+			if ((b < '0') || (b > '9')) {
+				throw new ConvertException("illegal escape(" + (char) b + ") (position = " + this.position + ")");
 			}
-			value = firstchar - '0';
+			value = b - '0';
 		}
+		byte[] bs = this.bytes;
+		int pos = this.position;
 		for (;;) {
-			final char ch = this.nextChar();
-			if (ch == 0) {
-				break;
+			if (pos == this.limit) {
+				this.position = pos;
+				if (!this.fill()) {
+					break;
+				}
+				bs = this.bytes;
+				pos = this.position;
 			}
+			final byte ch = bs[pos + 1];
 			if ((ch >= '0') && (ch <= '9')) {
 				value = (value << 3) + (value << 1) + (ch - '0');
 			} else if ((ch == '"') || (ch == '\'')) {
-			} else if ((ch == ',') || (ch == '}') || (ch == ']') || (ch <= ' ') || (ch == ':')) {
-				this.backChar(ch);
+			} else if ((ch == ',') || (ch == '}') || (ch == ']') || ((ch >= 0) && (ch <= ' ')) || (ch == ':')) {
 				break;
 			} else {
-				throw new ConvertException("illegal escape(" + ch + ") (position = " + this.position + ")");
+				throw new ConvertException("illegal escape(" + (char) (ch & 0xff) + ") (position = " + (pos + 1) + ")");
 			}
+			pos++;
 		}
+		this.position = pos;
 		return negative ? -value : value;
 	}
 
 	@Override
-	public final long readLong() {
-		char firstchar = this.nextGoodChar();
-		if ((firstchar == '"') || (firstchar == '\'')) {
-			firstchar = this.nextChar();
-			if ((firstchar == '"') || (firstchar == '\'')) {
-				return 0L;
+	public final double readDouble() {
+		return this.readDecimal(false);
+	}
+
+	@Override
+	public final float readFloat() {
+		return (float) this.readDecimal(true);
+	}
+
+	private double readDecimal(final boolean isFloat) {
+		final int b = this.nextGoodByte();
+		if (b < 0) {
+			return 0.0;
+		}
+		final int end = (b == '"') || (b == '\'') ? this.scanQuoted(b) : this.scanToken();
+		final int start = this.mark;
+		this.mark = -1;
+		final byte[] bs = this.bytes;
+		final int len = end - start;
+		if ((len == 0) || ((len == 4) && (bs[start] == 'n') && (bs[start + 1] == 'u') && (bs[start + 2] == 'l') && (bs[start + 3] == 'l'))) {
+			return 0.0;
+		}
+		return JsonNumberUtils.parse(bs, start, end, isFloat);
+	}
+
+	@Override
+	final int readTo(final byte[] bs) {
+		final int b = this.nextGoodByte();
+		if (b < 0) {
+			return -1;
+		}
+		final int end = (b == '"') || (b == '\'') ? this.scanQuoted(b) : this.scanToken();
+		final int start = this.mark;
+		this.mark = -1;
+		final byte[] src = this.bytes;
+		final int len = end - start;
+		if ((len == 0) || ((len == 4) && (src[start] == 'n') && (src[start + 1] == 'u') && (src[start + 2] == 'l') && (src[start + 3] == 'l'))) {
+			return -1;
+		}
+		if ((len > bs.length) || !this.plain) {
+			throw new ConvertException("illegal value (position = " + start + ")");
+		}
+		System.arraycopy(src, start, bs, 0, len);
+		return len;
+	}
+
+	@Override
+	public final DeSerializeMember readFieldName(final DeSerializeMemberTable memberTable) {
+		final int b = this.nextGoodByte();
+		if ((b != '"') && (b != '\'')) {
+			if (b >= 0) {
+				this.position--;
 			}
+			return memberTable.find(this.readSmallString());
 		}
-		long value = 0;
-		final boolean negative = firstchar == '-';
-		if (!negative) {
-			if ((firstchar < '0') || (firstchar > '9')) {
-				throw new ConvertException("illegal escape(" + firstchar + ") (position = " + this.position + ")");
+		final int end = this.scanQuoted(b);
+		final int start = this.mark;
+		this.mark = -1;
+		if (this.plain) {
+			return memberTable.find(this.bytes, start, end - start);
+		}
+		return memberTable.find(this.decodeString(this.bytes, start, end));
+	}
+
+	/**
+	 * 读取下一个值的原始内容作为延迟解析的JsonDocument, 复制值所在的字节, 不解码.
+	 *
+	 * @param factory 用于解析JsonDocument中的值的ConvertFactory
+	 * @return 值为null时返回null
+	 */
+	@Override
+	final JsonDocument readDocument(final ConvertFactory factory) {
+		final char ch = this.nextGoodChar();
+		this.backChar(ch);
+		final int oldmark = this.mark;
+		if (oldmark < 0) { // 跳过值时填充内容字节数组需保留值的字节
+			this.mark = this.position + 1;
+		}
+		final int offset = (this.position + 1) - this.mark;
+		this.skipValue();
+		final int start = this.mark + offset;
+		this.mark = oldmark;
+		if ((ch == 'n') || (ch == 'N')) {
+			return null;
+		}
+		final byte[] bs = Arrays.copyOfRange(this.bytes, start, this.position + 1);
+		return new JsonDocument(factory, bs, 0, bs.length);
+	}
+
+	@Override
+	public final void skipValue() {
+		final int b = this.nextGoodByte();
+		if ((b == '"') || (b == '\'')) {
+			this.skipQuoted(b);
+		} else if ((b == '{') || (b == '[')) {
+			int depth = 1;
+			byte[] bs = this.bytes;
+			int pos = this.position;
+			while (depth > 0) {
+				if (pos == this.limit) {
+					this.position = pos;
+					if (!this.fill()) {
+						throw new ConvertException("a json value is not closed (position = " + pos + ")");
+					}
+					bs = this.bytes;
+					pos = this.position;
+				}
+				final byte ch = bs[++pos];
+				if ((ch == '"') || (ch == '\'')) {
+					this.position = pos;
+					this.skipQuoted(ch);
+					bs = this.bytes;
+					pos = this.position;
+				} else if ((ch == '{') || (ch == '[')) {
+					depth++;
+				} else if ((ch == '}') || (ch == ']')) {
+					depth--;
+				}
 			}
-			value = firstchar - '0';
+			this.position = pos;
+		} else if (b >= 0) {
+			this.scanToken();
+			this.mark = -1;
+		} else {
+			throw new ConvertException("a json value is expected but end of input (position = " + this.position + ")");
 		}
+	}
+
+	@Override
+	protected final int readFieldName(final String[] names) {
+		final int b = this.nextGoodByte();
+		if ((b != '"') && (b != '\'')) {
+			if (b >= 0) {
+				this.position--;
+			}
+			return JsonDeserializeReader.indexOf(names, this.readSmallString());
+		}
+		final int end = this.scanQuoted(b);
+		final int start = this.mark;
+		this.mark = -1;
+		if (!this.plain) {
+			return JsonDeserializeReader.indexOf(names, this.decodeString(this.bytes, start, end));
+		}
+		final byte[] bs = this.bytes;
+		final int len = end - start;
+		for (int k = 0; k < names.length; k++) {
+			final String name = names[k];
+			if (name.length() == len) {
+				int i = 0;
+				while ((i < len) && (bs[start + i] == name.charAt(i))) {
+					i++;
+				}
+				if (i == len) {
+					return k;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 跳过带引号的字符串, 不设置mark, 因此读取更多字节时可丢弃已扫描的内容.
+	 *
+	 * @param quote 起始引号
+	 */
+	private void skipQuoted(final int quote) {
+		byte[] bs = this.bytes;
+		int pos = this.position;
+		boolean escape = false;
 		for (;;) {
-			final char ch = this.nextChar();
-			if (ch == 0) {
+			if (pos == this.limit) {
+				this.position = pos;
+				if (!this.fill()) {
+					throw new ConvertException("a json string must end with " + (char) quote + " (position = " + pos + ")");
+				}
+				bs = this.bytes;
+				pos = this.position;
+			}
+			final byte ch = bs[++pos];
+			if (escape) {
+				escape = false;
+			} else if (ch == quote) {
 				break;
+			} else if (ch == '\\') {
+				escape = true;
 			}
-			if ((ch >= '0') && (ch <= '9')) {
-				value = (value << 3) + (value << 1) + (ch - '0');
-			} else if ((ch == '"') || (ch == '\'')) {
-			} else if ((ch == ',') || (ch == '}') || (ch == ']') || (ch <= ' ') || (ch == ':')) {
-				this.backChar(ch);
+		}
+		this.position = pos;
+	}
+
+	/**
+	 * 扫描到与起始引号匹配的结束引号, 扫描结束后mark为字符串内容的起始下标, position为结束引号的下标.
+	 *
+	 * @param quote 起始引号
+	 * @return 结束引号的下标
+	 */
+	private int scanQuoted(final int quote) {
+		byte[] bs = this.bytes;
+		int pos = this.position;
+		this.mark = pos + 1;
+		boolean ascii = true;
+		boolean escape = false;
+		for (;;) {
+			if (pos == this.limit) {
+				this.position = pos;
+				if (!this.fill()) {
+					throw new ConvertException("a json string must end with " + (char) quote + " (position = " + pos + ")");
+				}
+				bs = this.bytes;
+				pos = this.position;
+			}
+			final byte ch = bs[++pos];
+			if (escape) {
+				escape = false;
+			} else if (ch == quote) {
 				break;
-			} else {
-				throw new ConvertException("illegal escape(" + ch + ") (position = " + this.position + ")");
+			} else if (ch == '\\') {
+				escape = true;
+				ascii = false;
+			} else if (ch < 0) {
+				ascii = false;
 			}
 		}
-		return negative ? -value : value;
+		this.plain = ascii;
+		this.position = pos;
+		return pos;
 	}
 
-	@Override
-	public final String readString() {
-		return this.readSmallString();
+	/**
+	 * 扫描不带引号的值直到分隔符(不读取分隔符), 扫描结束后mark为值的起始下标.
+	 *
+	 * @return 值结尾的下一个下标
+	 */
+	private int scanToken() {
+		byte[] bs = this.bytes;
+		int pos = this.position;
+		this.mark = pos;
+		boolean ascii = bs[pos] >= 0;
+		for (;;) {
+			if (pos == this.limit) {
+				this.position = pos;
+				if (!this.fill()) {
+					break;
+				}
+				bs = this.bytes;
+				pos = this.position;
+			}
+			final byte ch = bs[pos + 1];
+			if ((ch == ',') || (ch == ']') || (ch == '}') || ((ch >= 0) && (ch <= ' ')) || (ch == ':')) {
+				break;
+			}
+			if (ch < 0) {
+				ascii = false;
+			}
+			pos++;
+		}
+		this.plain = ascii;
+		this.position = pos;
+		return pos + 1;
+	}
+
+	/**
+	 * 将字节数组指定范围内的UTF-8字节解码为字符串并处理转义字符.
+	 *
+	 * @param bs byte[]
+	 * @param start 起始下标
+	 * @param end 结束下标(不包含)
+	 * @return String
+	 */
+	private String decodeString(final byte[] bs, final int start, final int end) {
+		char[] chs = this.chars;
+		if (chs.length < (end - start)) {
+			chs = new char[end - start];
+			this.chars = chs;
+		}
+		int len = 0;
+		int i = start;
+		while (i < end) {
+			final int b = bs[i++] & 0xff;
+			if (b == '\\') {
+				final int c = bs[i++];
+				switch (c) {
+				case '"':
+				case '\'':
+				case '\\':
+				case '/':
+					chs[len++] = (char) c;
+					break;
+				case 'n':
+					chs[len++] = '\n';
+					break;
+				case 'r':
+					chs[len++] = '\r';
+					break;
+				case 'u':
+					chs[len++] = (char) Integer.parseInt(new String(bs, i, 4, StandardCharsets.ISO_8859_1), 16);
+					i += 4;
+					break;
+				case 't':
+					chs[len++] = '\t';
+					break;
+				case 'b':
+					chs[len++] = '\b';
+					break;
+				case 'f':
+					chs[len++] = '\f';
+					break;
+				default:
+					throw new ConvertException("illegal escape(" + (char) c + ") (position = " + (i - 1) + ")");
+				}
+			} else if (b < 0x80) {
+				chs[len++] = (char) b;
+			} else if ((b >> 5) == 0x06) { // 2 bytes, 11 bits: 110xxxxx 10xxxxxx
+				chs[len++] = (char) (((b & 0x1f) << 6) | (bs[i++] & 0x3f));
+			} else if ((b >> 4) == 0x0e) { // 3 bytes, 16 bits: 1110xxxx 10xxxxxx 10xxxxxx
+				chs[len++] = (char) (((b & 0x0f) << 12) | ((bs[i++] & 0x3f) << 6) | (bs[i++] & 0x3f));
+			} else if ((b >> 3) == 0x1e) { // 4 bytes, 21 bits: 11110xxx 10xxxxxx 10xxxxxx 10xxxxxx
+				final int cp = ((b & 0x07) << 18) | ((bs[i++] & 0x3f) << 12) | ((bs[i++] & 0x3f) << 6) | (bs[i++] & 0x3f);
+				chs[len++] = Character.highSurrogate(cp);
+				chs[len++] = Character.lowSurrogate(cp);
+			} else {
+				throw new ConvertException("illegal utf-8 byte(" + b + ") (position = " + (i - 1) + ")");
+			}
+		}
+		return new String(chs, 0, len);
 	}
 
 }
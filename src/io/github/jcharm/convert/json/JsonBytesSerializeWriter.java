@@ -0,0 +1,407 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import io.github.jcharm.common.CommonUtils;
+import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.SerializeMember;
+
+/**
+ * JSON字节数组序列化输出流, 字符串直接以UTF-8编码输出到字节数组中, 不经过中间字符数组.
+ */
+public class JsonBytesSerializeWriter extends JsonSerializeWriter {
+
+	/** The Constant UTF8. */
+	protected static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final int defaultSize = 1024;
+
+	/** 每次编码的最大字符数, 每个字符编码后最多3个字节. */
+	private static final int SEGMENT = 256;
+
+	/** 需要转义的ASCII字符对应的转义字符, 0表示无需转义. */
+	private static final byte[] ESCAPES = new byte[128];
+
+	static {
+		JsonBytesSerializeWriter.ESCAPES['\n'] = 'n';
+		JsonBytesSerializeWriter.ESCAPES['\r'] = 'r';
+		JsonBytesSerializeWriter.ESCAPES['\t'] = 't';
+		JsonBytesSerializeWriter.ESCAPES['\\'] = '\\';
+		JsonBytesSerializeWriter.ESCAPES['"'] = '"';
+	}
+
+	/** 非UTF-8时使用的字符集, 为null表示UTF-8. */
+	protected Charset charset;
+
+	/** 内容字节数组. */
+	protected byte[] bytes;
+
+	/** 内容字节数组中已输出的字节数. */
+	protected int count;
+
+	/**
+	 * 构造函数.
+	 */
+	public JsonBytesSerializeWriter() {
+		this(JsonBytesSerializeWriter.defaultSize);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param size 初始化字节数组大小
+	 */
+	public JsonBytesSerializeWriter(final int size) {
+		this(null, size);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param charset Charset, 为null表示UTF-8
+	 * @param size 初始化字节数组大小
+	 */
+	protected JsonBytesSerializeWriter(final Charset charset, final int size) {
+		super((char[]) null);
+		this.charset = JsonBytesSerializeWriter.UTF8.equals(charset) ? null : charset;
+		this.bytes = new byte[size > 128 ? size : 128];
+	}
+
+	/**
+	 * 创建一个存放JsonBytesSerializeWriter的对象池.
+	 *
+	 * @param max 对象池存放对象的最大值
+	 * @return ObjectPool
+	 */
+	public static ObjectPool<JsonBytesSerializeWriter> createBytesPool(final int max) {
+		return new ObjectPool<>(max, (final Object... params) -> new JsonBytesSerializeWriter(), null, (final JsonBytesSerializeWriter t) -> t.recycle());
+	}
+
+	@Override
+	protected boolean recycle() {
+		this.count = 0;
+		this.isComma = false;
+		if (this.bytes.length > Math.max(JsonBytesSerializeWriter.defaultSize, this.retainedSize)) {
+			this.bytes = new byte[JsonBytesSerializeWriter.defaultSize];
+		}
+		return true;
+	}
+
+	/**
+	 * 保证内容字节数组至少还能容纳len个字节, 子类可覆盖此方法先将已输出的内容转移到输出目标.
+	 *
+	 * @param len int
+	 */
+	protected void expand(final int len) {
+		final int newcount = this.count + len;
+		if (newcount <= this.bytes.length) {
+			return;
+		}
+		final byte[] newdata = new byte[Math.max((this.bytes.length * 3) / 2, newcount)];
+		System.arraycopy(this.bytes, 0, newdata, 0, this.count);
+		this.bytes = newdata;
+	}
+
+	/**
+	 * 返回内容字节数组的副本.
+	 *
+	 * @return byte[]
+	 */
+	public byte[] toArray() {
+		final byte[] rs = new byte[this.count];
+		System.arraycopy(this.bytes, 0, rs, 0, this.count);
+		return rs;
+	}
+
+	@Override
+	public ByteBuffer[] toBuffers() {
+		return new ByteBuffer[] { ByteBuffer.wrap(this.toArray()) };
+	}
+
+	@Override
+	public int getCount() {
+		return this.count;
+	}
+
+	@Override
+	public void writeTo(final char ch) {// 只能是 0 - 127 的字符
+		this.expand(1);
+		this.bytes[this.count++] = (byte) ch;
+	}
+
+	@Override
+	public void writeTo(final char[] chs, final int start, final int len) {// 只能是 0 - 127 的字符
+		this.expand(len);
+		final byte[] bs = this.bytes;
+		int c = this.count;
+		final int limit = start + len;
+		for (int i = start; i < limit; i++) {
+			bs[c++] = (byte) chs[i];
+		}
+		this.count = c;
+	}
+
+	@Override
+	void writeTo(final byte[] bs, final int len) {
+		this.expand(len);
+		System.arraycopy(bs, 0, this.bytes, this.count, len);
+		this.count += len;
+	}
+
+	@Override
+	void writeRaw(final char[] chs, final int start, final int len) {
+		if (this.charset != null) {
+			this.writeCharsetString(false, new String(chs, start, len));
+			return;
+		}
+		final byte[] bs = CommonUtils.encodeUTF8ToBytes(chs, start, len);
+		this.writeTo(bs, bs.length);
+	}
+
+	@Override
+	void writeRaw(final byte[] bs, final int start, final int len) {
+		if (this.charset != null) {
+			this.writeCharsetString(false, CommonUtils.decodeUTF8ToString(bs, start, len));
+			return;
+		}
+		this.expand(len);
+		System.arraycopy(bs, start, this.bytes, this.count, len);
+		this.count += len;
+	}
+
+	@Override
+	public void writeTo(final boolean quote, final String value) {
+		if (this.charset != null) {
+			this.writeCharsetString(quote, value);
+			return;
+		}
+		if (quote) {
+			this.writeTo('"');
+		}
+		this.writeUTF8(value, false);
+		if (quote) {
+			this.writeTo('"');
+		}
+	}
+
+	@Override
+	public void writeString(final String value) {
+		if (value == null) {
+			this.writeNull();
+			return;
+		}
+		if (this.charset != null) {
+			this.writeCharsetString(true, JsonBytesSerializeWriter.escape(value));
+			return;
+		}
+		this.writeTo('"');
+		this.writeUTF8(value, true);
+		this.writeTo('"');
+	}
+
+	@Override
+	public void writeFieldName(final SerializeMember serializeMember) {
+		if (this.charset != null) {
+			this.writeFieldName(serializeMember.getFieldAttribute());
+			return;
+		}
+		final byte[] name = serializeMember.getFieldNameBytes();
+		this.expand(name.length + 4);
+		final byte[] bs = this.bytes;
+		int c = this.count;
+		if (this.isComma) {// 添加字段分隔符
+			bs[c++] = ',';
+		}
+		bs[c++] = '"';
+		System.arraycopy(name, 0, bs, c, name.length);
+		c += name.length;
+		bs[c++] = '"';
+		bs[c++] = ':';
+		this.count = c;
+	}
+
+	@Override
+	public void writeInt(final int value) {
+		if (value == Integer.MIN_VALUE) {
+			this.writeTo(false, "-2147483648");
+			return;
+		}
+		int v = value < 0 ? -value : value;
+		int size = 1;
+		while (v > JsonSerializeWriter.SIZETABLE[size - 1]) {
+			size++;
+		}
+		if (value < 0) {
+			size++; // 负数
+		}
+		this.expand(size);
+		final byte[] bs = this.bytes;
+		int q, r;
+		int charPos = this.count + size;
+		while (v >= 65536) {
+			q = v / 100;
+			r = v - ((q << 6) + (q << 5) + (q << 2));
+			v = q;
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITONES[r];
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITTENS[r];
+		}
+		for (;;) {
+			q = (v * 52429) >>> (16 + 3);
+			r = v - ((q << 3) + (q << 1));
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITS[r];
+			v = q;
+			if (v == 0) {
+				break;
+			}
+		}
+		if (value < 0) {
+			bs[--charPos] = '-';
+		}
+		this.count += size;
+	}
+
+	@Override
+	public void writeLong(final long value) {
+		if ((value >= Integer.MIN_VALUE) && (value <= Integer.MAX_VALUE)) {
+			this.writeInt((int) value);
+			return;
+		}
+		if (value == Long.MIN_VALUE) {
+			this.writeTo(false, "-9223372036854775808");
+			return;
+		}
+		long v = value < 0 ? -value : value;
+		int size = 19;
+		long p = 10;
+		for (int i = 1; i < 19; i++) {
+			if (v < p) {
+				size = i;
+				break;
+			}
+			p = 10 * p;
+		}
+		if (value < 0) {
+			size++; // 负数
+		}
+		this.expand(size);
+		final byte[] bs = this.bytes;
+		long q;
+		int r;
+		int charPos = this.count + size;
+		while (v > Integer.MAX_VALUE) {
+			q = v / 100;
+			r = (int) (v - ((q << 6) + (q << 5) + (q << 2)));
+			v = q;
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITONES[r];
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITTENS[r];
+		}
+		int q2;
+		int i2 = (int) v;
+		while (i2 >= 65536) {
+			q2 = i2 / 100;
+			r = i2 - ((q2 << 6) + (q2 << 5) + (q2 << 2));
+			i2 = q2;
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITONES[r];
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITTENS[r];
+		}
+		for (;;) {
+			q2 = (i2 * 52429) >>> (16 + 3);
+			r = i2 - ((q2 << 3) + (q2 << 1));
+			bs[--charPos] = (byte) JsonSerializeWriter.DIGITS[r];
+			i2 = q2;
+			if (i2 == 0) {
+				break;
+			}
+		}
+		if (value < 0) {
+			bs[--charPos] = '-';
+		}
+		this.count += size;
+	}
+
+	@Override
+	public void writeDouble(final double value) {
+		this.expand(JsonNumberUtils.MAX_CHARS);
+		this.count = JsonNumberUtils.writeDouble(value, this.bytes, this.count);
+	}
+
+	@Override
+	public void writeFloat(final float value) {
+		this.expand(JsonNumberUtils.MAX_CHARS);
+		this.count = JsonNumberUtils.writeFloat(value, this.bytes, this.count);
+	}
+
+	@Override
+	public String toString() {
+		return new String(this.bytes, 0, this.count, this.charset == null ? JsonBytesSerializeWriter.UTF8 : this.charset);
+	}
+
+	/**
+	 * 将String值按UTF-8编码输出到内容字节数组, 每次最多编码SEGMENT个字符, 保证子类的内容字节数组大小不会因长字符串而无限扩充.
+	 *
+	 * @param value String
+	 * @param escape 是否转义
+	 */
+	private void writeUTF8(final String value, final boolean escape) {
+		final int len = value.length();
+		int i = 0;
+		while (i < len) {
+			final int end = Math.min(len, i + JsonBytesSerializeWriter.SEGMENT);
+			this.expand((end - i) * 3);
+			final byte[] bs = this.bytes;
+			int c = this.count;
+			for (; i < end; i++) {
+				final char ch = value.charAt(i);
+				if (ch < 0x80) {
+					final byte esc = escape ? JsonBytesSerializeWriter.ESCAPES[ch] : 0;
+					if (esc == 0) {
+						bs[c++] = (byte) ch;
+					} else {
+						bs[c++] = '\\';
+						bs[c++] = esc;
+					}
+				} else if (ch < 0x800) {
+					bs[c++] = (byte) (0xc0 | (ch >> 6));
+					bs[c++] = (byte) (0x80 | (ch & 0x3f));
+				} else {
+					bs[c++] = (byte) (0xe0 | ((ch >> 12)));
+					bs[c++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+					bs[c++] = (byte) (0x80 | (ch & 0x3f));
+				}
+			}
+			this.count = c;
+		}
+	}
+
+	private void writeCharsetString(final boolean quote, final String value) {
+		final byte[] bs = value.getBytes(this.charset);
+		this.expand(bs.length + 2);
+		if (quote) {
+			this.bytes[this.count++] = '"';
+		}
+		System.arraycopy(bs, 0, this.bytes, this.count, bs.length);
+		this.count += bs.length;
+		if (quote) {
+			this.bytes[this.count++] = '"';
+		}
+	}
+
+	private static String escape(final String value) {
+		final StringBuilder sb = new StringBuilder(value.length() + 16);
+		for (int i = 0; i < value.length(); i++) {
+			final char ch = value.charAt(i);
+			final byte esc = ch < 0x80 ? JsonBytesSerializeWriter.ESCAPES[ch] : 0;
+			if (esc == 0) {
+				sb.append(ch);
+			} else {
+				sb.append('\\').append((char) esc);
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -3,24 +3,47 @@
  */
 package io.github.jcharm.convert.json;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.ByteBufferOutputStream;
 import io.github.jcharm.convert.Convert;
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.DeSerializeParser;
+import io.github.jcharm.convert.MappedFile;
 
 /**
  * JSON双向序列化类.
  */
 public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerializeWriter> {
 
-	private static final ObjectPool<JsonDeserializeReader> READERPOOL = JsonDeserializeReader.createPool(16);
+	private final ObjectPool<JsonDeserializeReader> readerPool = this.createReaderPool((final Object... params) -> new JsonDeserializeReader(), (final JsonDeserializeReader t) -> t.recycle());
 
-	private static final ObjectPool<JsonSerializeWriter> WRITERPOOL = JsonSerializeWriter.createPool(16);
+	private final ObjectPool<JsonSerializeWriter> writerPool = this.createWriterPool((final Object... params) -> new JsonSerializeWriter(), (final JsonSerializeWriter t) -> t.recycle());
+
+	private final ObjectPool<JsonBytesSerializeWriter> bytesWriterPool = this.createWriterPool((final Object... params) -> new JsonBytesSerializeWriter(), (final JsonBytesSerializeWriter t) -> t.recycle());
+
+	/** 顶层数组的并行反序列化, 为null时不并行. */
+	private final JsonParallelDecoder parallelDecoder;
+
+	private JsonConvert parallelConvert;
+
+	/** 最近一次parallel(threshold, pool)返回的JsonConvert. */
+	private JsonConvert customParallelConvert;
 
 	/**
 	 * 构造函数.
@@ -28,7 +51,12 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	 * @param jsonConvertFactory JsonConvertFactory
 	 */
 	protected JsonConvert(final JsonConvertFactory jsonConvertFactory) {
+		this(jsonConvertFactory, null);
+	}
+
+	private JsonConvert(final JsonConvertFactory jsonConvertFactory, final JsonParallelDecoder parallelDecoder) {
 		super(jsonConvertFactory);
+		this.parallelDecoder = parallelDecoder;
 	}
 
 	@Override
@@ -45,6 +73,54 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		return JsonConvertFactory.instance().getConvert();
 	}
 
+	/**
+	 * 获取并行反序列化顶层数组的JsonConvert, 与当前JsonConvert共用JsonConvertFactory, 使用ForkJoinPool.commonPool().
+	 * <p>
+	 * 从String、char[]或ByteBuffer反序列化数组或集合类型且内容不少于256K个字符(字节)时, 先扫描出各元素的边界, 再分段并行反序列化元素, 结果的顺序及异常与单线程反序列化一致; 其他情况与当前JsonConvert相同.
+	 *
+	 * @return JsonConvert
+	 */
+	public JsonConvert parallel() {
+		if (this.parallelDecoder != null) {
+			return this;
+		}
+		if (this.parallelConvert == null) {
+			this.parallelConvert = new JsonConvert(this.getConvertFactory(), new JsonParallelDecoder(JsonParallelDecoder.DEFAULT_THRESHOLD, ForkJoinPool.commonPool()));
+		}
+		return this.parallelConvert;
+	}
+
+	/**
+	 * 获取并行反序列化顶层数组的JsonConvert, 与当前JsonConvert共用JsonConvertFactory; 缓存最近一次使用的threshold和pool对应的JsonConvert, 相同参数重复调用时返回同一实例.
+	 *
+	 * @param threshold 启用并行的最小内容长度(字符数或字节数)
+	 * @param pool 执行反序列化的ForkJoinPool
+	 * @return JsonConvert
+	 */
+	public JsonConvert parallel(final int threshold, final ForkJoinPool pool) {
+		if (pool == null) {
+			throw new ConvertException("parallel convert requires a ForkJoinPool");
+		}
+		if ((this.parallelDecoder != null) && (this.parallelDecoder.threshold == threshold) && (this.parallelDecoder.pool == pool)) {
+			return this;
+		}
+		JsonConvert rs = this.customParallelConvert;
+		if ((rs == null) || (rs.parallelDecoder.threshold != threshold) || (rs.parallelDecoder.pool != pool)) {
+			rs = new JsonConvert(this.getConvertFactory(), new JsonParallelDecoder(threshold, pool));
+			this.customParallelConvert = rs;
+		}
+		return rs;
+	}
+
+	/**
+	 * 是否并行反序列化顶层数组.
+	 *
+	 * @return boolean
+	 */
+	public boolean isParallel() {
+		return this.parallelDecoder != null;
+	}
+
 	// -----------------------------------------JsonDeserializeReader------------------------------------------------
 
 	/**
@@ -73,7 +149,7 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	 * @return JsonDeserializeReader
 	 */
 	public JsonDeserializeReader pollJsonDeserializeReader() {
-		return JsonConvert.READERPOOL.get();
+		return this.readerPool.get();
 	}
 
 	/**
@@ -83,7 +159,7 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	 */
 	public void offerJsonReader(final JsonDeserializeReader in) {
 		if (in != null) {
-			JsonConvert.READERPOOL.offer(in);
+			this.readerPool.offer(in);
 		}
 	}
 
@@ -100,7 +176,18 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	}
 
 	/**
-	 * 获取JsonStreamByteBufferSerializeWriter序列化输出流.
+	 * 获取按指定编码输出的JsonByteBufferSerializeWriter序列化输出流.
+	 *
+	 * @param charset Charset, 为null表示UTF-8
+	 * @param supplier Supplier
+	 * @return JsonSerializeWriter
+	 */
+	public JsonSerializeWriter pollJsonWriter(final Charset charset, final Supplier<ByteBuffer> supplier) {
+		return new JsonByteBufferSerializeWriter(charset, supplier);
+	}
+
+	/**
+	 * 获取JsonStreamSerializeWriter序列化输出流, 通过convertTo(JsonSerializeWriter, ...)输出时结束后自动flush, 直接调用输出流的write方法时需自行调用flush将缓存的内容写入OutputStream.
 	 *
 	 * @param out OutputStream
 	 * @return JsonSerializeWriter
@@ -110,7 +197,7 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	}
 
 	/**
-	 * 获取JsonStreamByteBufferSerializeWriter序列化输出流.
+	 * 获取JsonStreamSerializeWriter序列化输出流, 通过convertTo(JsonSerializeWriter, ...)输出时结束后自动flush, 直接调用输出流的write方法时需自行调用flush将缓存的内容写入OutputStream.
 	 *
 	 * @param charset Charset
 	 * @param out OutputStream
@@ -126,7 +213,7 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	 * @return JsonSerializeWriter
 	 */
 	public JsonSerializeWriter pollJsonWriter() {
-		return JsonConvert.WRITERPOOL.get();
+		return this.writerPool.get();
 	}
 
 	/**
@@ -136,7 +223,7 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	 */
 	public void offerJsonSerializeWriter(final JsonSerializeWriter out) {
 		if (out != null) {
-			JsonConvert.WRITERPOOL.offer(out);
+			this.writerPool.offer(out);
 		}
 	}
 
@@ -186,10 +273,13 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		if ((text == null) || (type == null)) {
 			return null;
 		}
-		final JsonDeserializeReader in = JsonConvert.READERPOOL.get();
+		if ((this.parallelDecoder != null) && (len >= this.parallelDecoder.threshold)) {
+			return (T) this.parallelDecoder.convertFrom(this, this.convertFactory.loadDeSerializeParser(type), text, start, len);
+		}
+		final JsonDeserializeReader in = this.readerPool.get();
 		in.setText(text, start, len);
 		final T rs = (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(in);
-		JsonConvert.READERPOOL.offer(in);
+		this.readerPool.offer(in);
 		return rs;
 	}
 
@@ -208,6 +298,45 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new JsonStreamDeserializeReader(in));
 	}
 
+	/**
+	 * 反序列化操作, 按窗口内存映射文件并直接读取映射区域, 文件大小可超过2G.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param path 文件路径
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final Path path) {
+		if ((type == null) || (path == null)) {
+			return null;
+		}
+		try (MappedFile file = MappedFile.forRead(path)) {
+			return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new JsonMappedDeserializeReader(file));
+		}
+	}
+
+	/**
+	 * 流式反序列化顶层JSON数组, 每次只读取并解析一个数组元素, 内存占用与输入大小无关; 关闭返回的Stream时同时关闭InputStream.
+	 *
+	 * @param <T> 数组元素的数据类型
+	 * @param elementType 数组元素的Type
+	 * @param in InputStream
+	 * @return Stream
+	 */
+	public <T> Stream<T> convertFromStream(final Type elementType, final InputStream in) {
+		if ((elementType == null) || (in == null)) {
+			return null;
+		}
+		final JsonStreamIterator<T> iterator = new JsonStreamIterator<>(new JsonStreamDeserializeReader(in), this.convertFactory.loadDeSerializeParser(elementType));
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).onClose(() -> {
+			try {
+				in.close();
+			} catch (final IOException e) {
+				throw new ConvertException(e);
+			}
+		});
+	}
+
 	/**
 	 * 反序列化操作.
 	 *
@@ -220,7 +349,12 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		if ((type == null) || (buffers == null) || (buffers.length == 0)) {
 			return null;
 		}
-		return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new JsonByteBufferDeserializeReader(buffers));
+		final DeSerializeParser parser = this.convertFactory.loadDeSerializeParser(type);
+		final JsonByteBufferDeserializeReader in = new JsonByteBufferDeserializeReader(buffers);
+		if ((this.parallelDecoder != null) && ((in.limit - in.position) >= this.parallelDecoder.threshold)) {
+			return (T) this.parallelDecoder.convertFrom(parser, in);
+		}
+		return (T) parser.convertFrom(in);
 	}
 
 	/**
@@ -239,6 +373,52 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		return rs;
 	}
 
+	/**
+	 * 按路径投影提取值, 只解析投影中的路径, 其余内容直接跳过.
+	 *
+	 * @param text String
+	 * @param projection JsonProjection
+	 * @return 按添加路径的顺序存放的值, 路径不存在时为null
+	 */
+	public Object[] extract(final String text, final JsonProjection projection) {
+		if ((text == null) || (projection == null)) {
+			return null;
+		}
+		final JsonDeserializeReader in = this.readerPool.get();
+		in.setText(text);
+		final Object[] rs = projection.extract(in, this.convertFactory);
+		this.readerPool.offer(in);
+		return rs;
+	}
+
+	/**
+	 * 按路径投影提取值, 直接在字节上扫描, 只解析投影中的路径, 其余内容直接跳过.
+	 *
+	 * @param buffers ByteBuffer
+	 * @param projection JsonProjection
+	 * @return 按添加路径的顺序存放的值, 路径不存在时为null
+	 */
+	public Object[] extract(final ByteBuffer[] buffers, final JsonProjection projection) {
+		if ((buffers == null) || (buffers.length == 0) || (projection == null)) {
+			return null;
+		}
+		return projection.extract(new JsonByteBufferDeserializeReader(buffers), this.convertFactory);
+	}
+
+	/**
+	 * 按路径投影提取值, 所有路径都已提取后不再读取InputStream的剩余内容.
+	 *
+	 * @param in InputStream
+	 * @param projection JsonProjection
+	 * @return 按添加路径的顺序存放的值, 路径不存在时为null
+	 */
+	public Object[] extract(final InputStream in, final JsonProjection projection) {
+		if ((in == null) || (projection == null)) {
+			return null;
+		}
+		return projection.extract(new JsonStreamDeserializeReader(in), this.convertFactory);
+	}
+
 	// -------------------------------------------convertTo----------------------------------------------
 
 	/**
@@ -268,10 +448,44 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		if (value == null) {
 			return "null";
 		}
-		final JsonSerializeWriter out = JsonConvert.WRITERPOOL.get();
+		final JsonSerializeWriter out = this.writerPool.get();
 		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
 		final String result = out.toString();
-		JsonConvert.WRITERPOOL.offer(out);
+		this.writerPool.offer(out);
+		return result;
+	}
+
+	/**
+	 * 序列化为UTF-8编码的字节数组.
+	 *
+	 * @param value Object
+	 * @return byte[]
+	 */
+	public byte[] convertToBytes(final Object value) {
+		if (value == null) {
+			return new byte[] { 'n', 'u', 'l', 'l' };
+		}
+		return this.convertToBytes(value.getClass(), value);
+	}
+
+	/**
+	 * 序列化为UTF-8编码的字节数组.
+	 *
+	 * @param type Type
+	 * @param value Object
+	 * @return byte[]
+	 */
+	public byte[] convertToBytes(final Type type, final Object value) {
+		if (type == null) {
+			return null;
+		}
+		if (value == null) {
+			return new byte[] { 'n', 'u', 'l', 'l' };
+		}
+		final JsonBytesSerializeWriter out = this.bytesWriterPool.get();
+		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
+		final byte[] result = out.toArray();
+		this.bytesWriterPool.offer(out);
 		return result;
 	}
 
@@ -282,11 +496,13 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 	 * @param value Object
 	 */
 	public void convertTo(final OutputStream out, final Object value) {
+		final JsonStreamSerializeWriter writer = new JsonStreamSerializeWriter(out);
 		if (value == null) {
-			new JsonStreamSerializeWriter(out).writeNull();
+			writer.writeNull();
 		} else {
-			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(new JsonStreamSerializeWriter(out), value);
+			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(writer, value);
 		}
+		writer.flush();
 	}
 
 	/**
@@ -300,10 +516,45 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		if (type == null) {
 			return;
 		}
+		final JsonStreamSerializeWriter writer = new JsonStreamSerializeWriter(out);
 		if (value == null) {
-			new JsonStreamSerializeWriter(out).writeNull();
+			writer.writeNull();
 		} else {
-			this.convertFactory.loadSerializeParser(type).convertTo(new JsonStreamSerializeWriter(out), value);
+			this.convertFactory.loadSerializeParser(type).convertTo(writer, value);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 序列化操作, 按窗口内存映射文件并直接写入映射区域, 写完后按实际长度截断文件, 文件大小可超过2G.
+	 *
+	 * @param path 文件路径
+	 * @param value Object
+	 */
+	public void convertTo(final Path path, final Object value) {
+		this.convertTo(path, value == null ? Object.class : value.getClass(), value);
+	}
+
+	/**
+	 * 序列化操作, 按窗口内存映射文件并直接写入映射区域, 写完后按实际长度截断文件, 文件大小可超过2G.
+	 *
+	 * @param path 文件路径
+	 * @param type Type
+	 * @param value Object
+	 */
+	public void convertTo(final Path path, final Type type, final Object value) {
+		if ((path == null) || (type == null)) {
+			return;
+		}
+		try (MappedFile file = MappedFile.forWrite(path)) {
+			final JsonByteBufferSerializeWriter out = new JsonByteBufferSerializeWriter(null, file);
+			if (value == null) {
+				out.writeNull();
+			} else {
+				this.convertFactory.loadSerializeParser(type).convertTo(out, value);
+			}
+			out.flush();
+			file.finish();
 		}
 	}
 
@@ -348,6 +599,99 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		return out.toBuffers();
 	}
 
+	/**
+	 * 将Iterator中的元素逐个序列化为数组并写入OutputStream, 内存占用只有一个输出块和一个元素.
+	 *
+	 * @param out OutputStream
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 */
+	public void convertEachTo(final OutputStream out, final Type elementType, final Iterator<?> values) {
+		if ((elementType == null) || (values == null)) {
+			return;
+		}
+		this.convertEachTo(new JsonStreamSerializeWriter(out), elementType, values);
+	}
+
+	/**
+	 * 将Stream中的元素逐个序列化为数组并写入OutputStream, 内存占用只有一个输出块和一个元素, 不会关闭Stream.
+	 *
+	 * @param out OutputStream
+	 * @param elementType 元素的Type
+	 * @param values Stream
+	 */
+	public void convertEachTo(final OutputStream out, final Type elementType, final Stream<?> values) {
+		if (values == null) {
+			return;
+		}
+		this.convertEachTo(out, elementType, values.iterator());
+	}
+
+	/**
+	 * 将Iterator中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 全部ByteBuffer在结束时一起返回, 内存占用随元素个数增长;
+	 * 元素个数未知时使用convertEachTo(OutputStream, ...)或convertEachTo(Supplier, Consumer, ...).
+	 *
+	 * @param supplier Supplier
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] convertEachTo(final Supplier<ByteBuffer> supplier, final Type elementType, final Iterator<?> values) {
+		if ((supplier == null) || (elementType == null) || (values == null)) {
+			return null;
+		}
+		final JsonByteBufferSerializeWriter out = new JsonByteBufferSerializeWriter(supplier);
+		this.convertEachTo(out, elementType, values);
+		return out.toBuffers();
+	}
+
+	/**
+	 * 将Stream中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 不会关闭Stream, 全部ByteBuffer在结束时一起返回, 内存占用随元素个数增长.
+	 *
+	 * @param supplier Supplier
+	 * @param elementType 元素的Type
+	 * @param values Stream
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] convertEachTo(final Supplier<ByteBuffer> supplier, final Type elementType, final Stream<?> values) {
+		if (values == null) {
+			return null;
+		}
+		return this.convertEachTo(supplier, elementType, values.iterator());
+	}
+
+	/**
+	 * 将Iterator中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 每个ByteBuffer写满后flip并立即交给Consumer, 不持有已写满的ByteBuffer.
+	 *
+	 * @param supplier Supplier
+	 * @param consumer 接收写满的ByteBuffer
+	 * @param elementType 元素的Type
+	 * @param values Iterator
+	 */
+	public void convertEachTo(final Supplier<ByteBuffer> supplier, final Consumer<ByteBuffer> consumer, final Type elementType, final Iterator<?> values) {
+		if ((supplier == null) || (consumer == null) || (elementType == null) || (values == null)) {
+			return;
+		}
+		final ByteBufferOutputStream out = new ByteBufferOutputStream(supplier, consumer);
+		this.convertEachTo(out, elementType, values);
+		out.close();
+	}
+
+	/**
+	 * 将Stream中的元素逐个序列化为数组并输出到Supplier提供的ByteBuffer中, 每个ByteBuffer写满后flip并立即交给Consumer, 不会关闭Stream.
+	 *
+	 * @param supplier Supplier
+	 * @param consumer 接收写满的ByteBuffer
+	 * @param elementType 元素的Type
+	 * @param values Stream
+	 */
+	public void convertEachTo(final Supplier<ByteBuffer> supplier, final Consumer<ByteBuffer> consumer, final Type elementType, final Stream<?> values) {
+		if (values == null) {
+			return;
+		}
+		this.convertEachTo(supplier, consumer, elementType, values.iterator());
+	}
+
 	/**
 	 * 序列化操作.
 	 *
@@ -360,6 +704,9 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		} else {
 			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(writer, value);
 		}
+		if (writer instanceof JsonStreamSerializeWriter) { // 输出到OutputStream时将缓存的内容写入, 与缓存之前的行为一致
+			writer.flush();
+		}
 	}
 
 	/**
@@ -378,6 +725,9 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		} else {
 			this.convertFactory.loadSerializeParser(type).convertTo(writer, value);
 		}
+		if (writer instanceof JsonStreamSerializeWriter) {
+			writer.flush();
+		}
 	}
 
 	/**
@@ -404,7 +754,7 @@ public final class JsonConvert extends Convert<JsonDeserializeReader, JsonSerial
 		if (type == null) {
 			return null;
 		}
-		final JsonSerializeWriter out = JsonConvert.WRITERPOOL.get();
+		final JsonSerializeWriter out = this.writerPool.get();
 		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
 		return out;
 	}
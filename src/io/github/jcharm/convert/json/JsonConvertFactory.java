@@ -7,6 +7,10 @@ import java.io.Serializable;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAccessor;
 
 import io.github.jcharm.convert.ConvertFactory;
 import io.github.jcharm.convert.ConvertType;
@@ -22,14 +26,20 @@ public final class JsonConvertFactory extends ConvertFactory<JsonDeserializeRead
 	private static final JsonConvertFactory INSTANCE = new JsonConvertFactory(null);
 
 	static {
-		JsonConvertFactory.INSTANCE.registerParser(InetAddress.class, InetAddressSimpleParser.InetAddressJsonSimpleParser.INSTANCE);
-		JsonConvertFactory.INSTANCE.registerParser(InetSocketAddress.class, InetSocketAddressSimpleParser.InetSocketAddressJsonSimpleParser.INSTANCE);
-		JsonConvertFactory.INSTANCE.registerParser(BigInteger.class, BigIntegerSimpleParser.BigIntegerJsonSimpleParser.INSTANCE);
 		JsonConvertFactory.INSTANCE.registerSerializeParser(Serializable.class, JsonConvertFactory.INSTANCE.loadSerializeParser(Object.class));
 	}
 
 	private JsonConvertFactory(final JsonConvertFactory parent) {
 		super(parent);
+		if (parent == null) {
+			this.registerParser(InetAddress.class, InetAddressSimpleParser.InetAddressJsonSimpleParser.INSTANCE);
+			this.registerParser(InetSocketAddress.class, InetSocketAddressSimpleParser.InetSocketAddressJsonSimpleParser.INSTANCE);
+			this.registerParser(BigInteger.class, BigIntegerSimpleParser.BigIntegerJsonSimpleParser.INSTANCE);
+			this.registerParser(LocalDate.class, JsonTemporalSimpleParser.LOCALDATE);
+			this.registerParser(LocalTime.class, JsonTemporalSimpleParser.LOCALTIME);
+			this.registerParser(LocalDateTime.class, JsonTemporalSimpleParser.LOCALDATETIME);
+		}
+		this.registerParser(JsonDocument.class, new JsonDocumentSimpleParser(this));
 	}
 
 	/**
@@ -50,6 +60,17 @@ public final class JsonConvertFactory extends ConvertFactory<JsonDeserializeRead
 		return new JsonConvertFactory(null);
 	}
 
+	/**
+	 * 设置本工厂中LocalDate、LocalTime或LocalDateTime的文本格式.
+	 *
+	 * @param <T> 日期时间类型
+	 * @param type LocalDate.class、LocalTime.class或LocalDateTime.class
+	 * @param pattern DateTimeFormatter的格式, 为null表示使用默认的固定格式
+	 */
+	public <T extends TemporalAccessor> void registerTemporalPattern(final Class<T> type, final String pattern) {
+		this.registerParser(type, new JsonTemporalSimpleParser<>(type, pattern));
+	}
+
 	@Override
 	public ConvertType getConvertType() {
 		return ConvertType.JSON;
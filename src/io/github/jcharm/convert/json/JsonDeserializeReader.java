@@ -5,8 +5,12 @@ package io.github.jcharm.convert.json;
 
 import io.github.jcharm.common.ObjectPool;
 import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.ConvertFactory;
 import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
 import io.github.jcharm.convert.DeserializeReader;
+import io.github.jcharm.convert.NameTable;
+import io.github.jcharm.convert.StringInternTable;
 
 /**
  * JSON反序列化输入流.
@@ -20,6 +24,9 @@ public class JsonDeserializeReader extends DeserializeReader {
 
 	private int limit;
 
+	/** 解析数字、日期等ASCII内容时使用的临时字节数组. */
+	final byte[] numbers = new byte[64];
+
 	/**
 	 * 构造函数.
 	 */
@@ -120,19 +127,21 @@ public class JsonDeserializeReader extends DeserializeReader {
 	/**
 	 * 跳过空白字符, 返回一个非空白字符.
 	 *
-	 * @return 有效字符
+	 * @return 有效字符, 0表示已到结尾
 	 */
 	protected char nextGoodChar() {
-		char c = this.nextChar();
-		if (c > ' ') {
-			return c;
-		}
-		for (;;) {
-			c = this.nextChar();
+		final char[] text0 = this.text;
+		final int eof = this.limit;
+		int currpos = this.position;
+		while (currpos < eof) {
+			final char c = text0[++currpos];
 			if (c > ' ') {
+				this.position = currpos;
 				return c;
 			}
 		}
+		this.position = currpos;
+		return 0;
 	}
 
 	/**
@@ -144,6 +153,23 @@ public class JsonDeserializeReader extends DeserializeReader {
 		this.position--;
 	}
 
+	/**
+	 * 读取下一个值的原始内容作为延迟解析的JsonDocument, 直接使用内容字符数组, 不复制.
+	 *
+	 * @param factory 用于解析JsonDocument中的值的ConvertFactory
+	 * @return 值为null时返回null
+	 */
+	JsonDocument readDocument(final ConvertFactory factory) {
+		final char ch = this.nextGoodChar();
+		this.backChar(ch);
+		final int start = this.position + 1;
+		this.skipValue();
+		if ((ch == 'n') || (ch == 'N')) {
+			return null;
+		}
+		return new JsonDocument(factory, this.text, start, this.position + 1);
+	}
+
 	/**
 	 * 找到指定的属性值 例如: {id : 1, data : { name : 'a', items : [1,2,3]}} seek('data.items') 直接跳转到 [1,2,3].
 	 *
@@ -154,12 +180,13 @@ public class JsonDeserializeReader extends DeserializeReader {
 			return;
 		}
 		final String[] keys = key.split("\\.");// 根据点符号分隔属性名
-		this.nextGoodChar();
 		for (final String key1 : keys) {
+			final String[] names = { key1 };
+			this.nextGoodChar();// 跳过对象开头的{
 			while (this.hasNext()) {
-				final String field = this.readSmallString();
+				final boolean found = this.readFieldName(names) == 0;
 				this.readBlank();// 判断下一个非空白字符是否:
-				if (key1.equals(field)) {
+				if (found) {
 					break;
 				}
 				this.skipValue();// 跳过属性的值
@@ -183,21 +210,116 @@ public class JsonDeserializeReader extends DeserializeReader {
 	}
 
 	@Override
-	public final double readDouble() {
-		final String chars = this.readSmallString();
-		if ((chars == null) || chars.isEmpty()) {
+	public double readDouble() {
+		return this.readDecimal(false);
+	}
+
+	@Override
+	public float readFloat() {
+		return (float) this.readDecimal(true);
+	}
+
+	/**
+	 * 直接在字符数组中定位浮点数的范围并解析, 不创建中间字符串.
+	 *
+	 * @param isFloat 是否按float精度解析
+	 * @return double
+	 */
+	private double readDecimal(final boolean isFloat) {
+		final int eof = this.limit;
+		if (this.position == eof) {
+			return 0.0;
+		}
+		final char[] text0 = this.text;
+		int currpos = this.position;
+		char ch = text0[++currpos];
+		if (ch <= ' ') {
+			for (;;) {
+				ch = text0[++currpos];
+				if (ch > ' ') {
+					break;
+				}
+			}
+		}
+		final boolean quoted = (ch == '"') || (ch == '\'');
+		final int start = quoted ? currpos + 1 : currpos;
+		int end = start;
+		for (; end <= eof; end++) {
+			final char c = text0[end];
+			if (quoted ? c == ch : (c == ',') || (c == ']') || (c == '}') || (c <= ' ') || (c == ':')) {
+				break;
+			}
+		}
+		this.position = quoted ? end : end - 1;
+		final int len = end - start;
+		if ((len == 0) || ((len == 4) && (text0[start] == 'n') && (text0[start + 1] == 'u') && (text0[start + 2] == 'l') && (text0[start + 3] == 'l'))) {
 			return 0.0;
 		}
-		return Double.parseDouble(chars);
+		final byte[] bs = this.numbers;
+		if (len <= bs.length) {
+			int i = 0;
+			for (; i < len; i++) {
+				final char c = text0[start + i];
+				if (c >= 0x80) {
+					break;
+				}
+				bs[i] = (byte) c;
+			}
+			if (i == len) {
+				return JsonNumberUtils.parse(bs, 0, len, isFloat);
+			}
+		}
+		final String chars = new String(text0, start, len);
+		return isFloat ? Float.parseFloat(chars) : Double.parseDouble(chars);
 	}
 
-	@Override
-	public final float readFloat() {
-		final String chars = this.readSmallString();
-		if ((chars == null) || chars.isEmpty()) {
-			return 0.f;
+	/**
+	 * 读取一个不含转义字符的ASCII值(可带引号)到字节数组中.
+	 *
+	 * @param bs 字节数组
+	 * @return 值的长度, 值为null或空字符串返回-1
+	 */
+	int readTo(final byte[] bs) {
+		final int eof = this.limit;
+		if (this.position == eof) {
+			return -1;
+		}
+		final char[] text0 = this.text;
+		int currpos = this.position;
+		char ch = text0[++currpos];
+		if (ch <= ' ') {
+			for (;;) {
+				ch = text0[++currpos];
+				if (ch > ' ') {
+					break;
+				}
+			}
+		}
+		final boolean quoted = (ch == '"') || (ch == '\'');
+		final int start = quoted ? currpos + 1 : currpos;
+		int end = start;
+		for (; end <= eof; end++) {
+			final char c = text0[end];
+			if (quoted ? c == ch : (c == ',') || (c == ']') || (c == '}') || (c <= ' ') || (c == ':')) {
+				break;
+			}
+		}
+		this.position = quoted ? end : end - 1;
+		final int len = end - start;
+		if ((len == 0) || ((len == 4) && (text0[start] == 'n') && (text0[start + 1] == 'u') && (text0[start + 2] == 'l') && (text0[start + 3] == 'l'))) {
+			return -1;
+		}
+		if (len > bs.length) {
+			throw new ConvertException("value too long (position = " + start + ") in (" + new String(this.text) + ")");
+		}
+		for (int i = 0; i < len; i++) {
+			final char c = text0[start + i];
+			if (c >= 0x80) {
+				throw new ConvertException("illegal char(" + c + ") (position = " + (start + i) + ") in (" + new String(this.text) + ")");
+			}
+			bs[i] = (byte) c;
 		}
-		return Float.parseFloat(chars);
+		return len;
 	}
 
 	@Override
@@ -360,6 +482,60 @@ public class JsonDeserializeReader extends DeserializeReader {
 		}
 	}
 
+	@Override
+	public int readSmallString(final NameTable names) {
+		final int eof = this.limit;
+		if (this.position == eof) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		final char[] text0 = this.text;
+		int currpos = this.position;
+		char ch = text0[++currpos];
+		if (ch <= ' ') {
+			for (;;) {
+				ch = text0[++currpos];
+				if (ch > ' ') {
+					break;
+				}
+			}
+		}
+		int hash = 0;
+		if ((ch == '"') || (ch == '\'')) {
+			final char quote = ch;
+			final int start = currpos + 1;
+			for (;;) {
+				ch = text0[++currpos];
+				if (ch == quote) {
+					break;
+				} else if (ch == '\\') {
+					this.position = currpos - 1;
+					return names.indexOf(this.readEscapeValue(quote, start));
+				}
+				hash = (31 * hash) + ch;
+			}
+			this.position = currpos;
+			return names.indexOf(text0, start, currpos - start, hash);
+		}
+		final int start = currpos;
+		for (;;) {
+			if ((ch == ',') || (ch == ']') || (ch == '}') || (ch <= ' ') || (ch == ':')) {
+				break;
+			}
+			hash = (31 * hash) + ch;
+			if (currpos == eof) {
+				currpos++;
+				break;
+			}
+			ch = text0[++currpos];
+		}
+		this.position = currpos - 1;
+		final int len = currpos - start;
+		if ((len == 4) && (text0[start] == 'n') && (text0[start + 1] == 'u') && (text0[start + 2] == 'l') && (text0[start + 3] == 'l')) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		return names.indexOf(text0, start, len, hash);
+	}
+
 	@Override
 	public String readString() {
 		final char[] text0 = this.text;
@@ -419,6 +595,38 @@ public class JsonDeserializeReader extends DeserializeReader {
 		return new String(text0, start, currpos - start);
 	}
 
+	@Override
+	public String readString(final StringInternTable table) {
+		final char[] text0 = this.text;
+		int currpos = this.position;
+		char quote = text0[++currpos];
+		if (quote <= ' ') {
+			for (;;) {
+				quote = text0[++currpos];
+				if (quote > ' ') {
+					break;
+				}
+			}
+		}
+		if ((quote != '"') && (quote != '\'')) { // null或不带引号的值
+			return table.intern(this.readString());
+		}
+		final int start = currpos + 1;
+		int hash = 0;
+		for (;;) {
+			final char ch = text0[++currpos];
+			if (ch == quote) {
+				break;
+			} else if (ch == '\\') {
+				this.position = currpos - 1;
+				return table.intern(this.readEscapeValue(quote, start));
+			}
+			hash = (31 * hash) + ch;
+		}
+		this.position = currpos;
+		return table.intern(text0, start, currpos - start, hash);
+	}
+
 	@Override
 	public int readArrayBegin() {
 		char ch = this.text[++this.position];
@@ -522,40 +730,133 @@ public class JsonDeserializeReader extends DeserializeReader {
 		return true;
 	}
 
+	/**
+	 * 跳过值, 只记录嵌套深度和字符串状态并直接扫描字符, 不创建字符串.
+	 */
 	@Override
-	public final void skipValue() {
-		final char ch = this.nextGoodChar();
-		switch (ch) {
-		case '"':
-		case '\'':
-			this.backChar(ch);
-			this.readString();
-			break;
-		case '{':
-			while (this.hasNext()) {
-				this.readSmallString();
-				this.readBlank();
-				this.skipValue();
+	public void skipValue() {
+		char ch = this.nextGoodChar();
+		if (ch == 0) {
+			throw new ConvertException("a json value is expected but end of input (position = " + this.position + ")");
+		}
+		final char[] text0 = this.text;
+		final int eof = this.limit;
+		int currpos = this.position;
+		if ((ch == '"') || (ch == '\'')) {
+			this.position = this.skipQuoted(ch, currpos);
+			return;
+		}
+		if ((ch == '{') || (ch == '[')) {
+			int depth = 1;
+			while (depth > 0) {
+				if (currpos == eof) {
+					throw new ConvertException("a json value is not closed (position = " + currpos + ") in (" + new String(this.text) + ")");
+				}
+				ch = text0[++currpos];
+				if ((ch == '"') || (ch == '\'')) {
+					currpos = this.skipQuoted(ch, currpos);
+				} else if ((ch == '{') || (ch == '[')) {
+					depth++;
+				} else if ((ch == '}') || (ch == ']')) {
+					depth--;
+				}
 			}
-			break;
-		case '[':
-			while (this.hasNext()) {
-				this.skipValue();
+			this.position = currpos;
+			return;
+		}
+		while (currpos < eof) {
+			ch = text0[currpos + 1];
+			if ((ch <= ' ') || (ch == '}') || (ch == ']') || (ch == ',') || (ch == ':')) {
+				break;
+			}
+			currpos++;
+		}
+		this.position = currpos;
+	}
+
+	/**
+	 * 跳过带引号的字符串.
+	 *
+	 * @param quote 起始引号
+	 * @param start 起始引号的下标
+	 * @return 结束引号的下标
+	 */
+	private int skipQuoted(final char quote, final int start) {
+		final char[] text0 = this.text;
+		final int eof = this.limit;
+		int currpos = start;
+		for (;;) {
+			if (currpos >= eof) {
+				throw new ConvertException("a json string must end with " + quote + " (position = " + start + ") in (" + new String(this.text) + ")");
 			}
-			break;
-		default:
-			char c;
+			final char ch = text0[++currpos];
+			if (ch == '\\') {
+				currpos++;
+			} else if (ch == quote) {
+				return currpos;
+			}
+		}
+	}
+
+	/**
+	 * 读取字段名并返回其在指定名称数组中的下标, 字段名不含转义字符时直接比较字符, 不创建字符串.
+	 *
+	 * @param names 字段名数组
+	 * @return 下标, 不存在返回-1
+	 */
+	protected int readFieldName(final String[] names) {
+		final char[] text0 = this.text;
+		int currpos = this.position;
+		char ch = text0[++currpos];
+		if (ch <= ' ') {
 			for (;;) {
-				c = this.nextChar();
-				if (c <= ' ') {
-					return;
+				ch = text0[++currpos];
+				if (ch > ' ') {
+					break;
+				}
+			}
+		}
+		if ((ch != '"') && (ch != '\'')) {
+			return JsonDeserializeReader.indexOf(names, this.readSmallString());
+		}
+		final int start = currpos + 1;
+		final int end = this.skipQuoted(ch, currpos);
+		for (int i = start; i < end; i++) {
+			if (text0[i] == '\\') {
+				return JsonDeserializeReader.indexOf(names, this.readSmallString());
+			}
+		}
+		this.position = end;
+		final int len = end - start;
+		for (int k = 0; k < names.length; k++) {
+			final String name = names[k];
+			if (name.length() == len) {
+				int i = 0;
+				while ((i < len) && (text0[start + i] == name.charAt(i))) {
+					i++;
 				}
-				if ((c == '}') || (c == ']') || (c == ',') || (c == ':')) {
-					this.backChar(c);
-					return;
+				if (i == len) {
+					return k;
 				}
 			}
 		}
+		return -1;
+	}
+
+	/**
+	 * 返回字段名在名称数组中的下标.
+	 *
+	 * @param names 字段名数组
+	 * @param field 字段名
+	 * @return 下标, 不存在返回-1
+	 */
+	static int indexOf(final String[] names, final String field) {
+		for (int k = 0; k < names.length; k++) {
+			if (names[k].equals(field)) {
+				return k;
+			}
+		}
+		return -1;
 	}
 
 	@Override
@@ -605,6 +906,53 @@ public class JsonDeserializeReader extends DeserializeReader {
 		return null;
 	}
 
+	@Override
+	public DeSerializeMember readFieldName(final DeSerializeMemberTable memberTable) {
+		final char[] text0 = this.text;
+		int currpos = this.position;
+		char ch = text0[++currpos];
+		if (ch <= ' ') {
+			for (;;) {
+				ch = text0[++currpos];
+				if (ch > ' ') {
+					break;
+				}
+			}
+		}
+		int hash = 0;
+		if ((ch == '"') || (ch == '\'')) {
+			final char quote = ch;
+			final int start = currpos + 1;
+			for (;;) {
+				ch = text0[++currpos];
+				if (ch == quote) {
+					break;
+				} else if (ch == '\\') { // 含转义字符的字段名极少, 直接按字符串匹配
+					this.position = currpos - 1;
+					return memberTable.find(this.readEscapeValue(quote, start));
+				}
+				hash = (31 * hash) + ch;
+			}
+			this.position = currpos;
+			return memberTable.find(text0, start, currpos - start, hash);
+		}
+		final int eof = this.limit;
+		final int start = currpos;
+		for (;;) {
+			if ((ch == ',') || (ch == ']') || (ch == '}') || (ch <= ' ') || (ch == ':')) {
+				break;
+			}
+			hash = (31 * hash) + ch;
+			if (currpos == eof) {
+				currpos++;
+				break;
+			}
+			ch = text0[++currpos];
+		}
+		this.position = currpos - 1;
+		return memberTable.find(text0, start, currpos - start, hash);
+	}
+
 	private String readEscapeValue(final char expected, final int start) {
 		final StringBuilder array = new StringBuilder();
 		final char[] text0 = this.text;
@@ -0,0 +1,386 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.ConvertFactory;
+import io.github.jcharm.convert.NameTable;
+
+/**
+ * 延迟解析的JSON文档, 可作为实体类的字段类型, 用于只读取少数字段或原样转发的无固定结构内容.
+ * <p>
+ * 文档只保存值的原始内容: 从String或char[]读取时直接使用输入流的字符数组, 从字节读取时复制值所在的字节(不解码, 输入的ByteBuffer可能被重复利用). 第一次访问字段或元素时扫描一层并记录各值的起止位置, 值在访问时才反序列化, 嵌套的对象和数组仍为共用存储的JsonDocument. 序列化时未修改的内容按原样复制, 修改过的对象只重新输出修改的字段.
+ * <p>
+ * 非线程安全.
+ */
+public final class JsonDocument {
+
+	/** 字段被删除的标识. */
+	private static final Object REMOVED = new Object();
+
+	private final ConvertFactory factory;
+
+	private final char[] chars;
+
+	private final byte[] bytes;
+
+	private final int start;
+
+	private final int end;
+
+	/** 对象字段名的散列表, 数组时为null. */
+	private NameTable names;
+
+	/** 各字段或元素值的起始位置, 为null表示尚未扫描. */
+	private int[] starts;
+
+	private int[] ends;
+
+	/** 修改过的字段及其新值. */
+	private LinkedHashMap<String, Object> changes;
+
+	/**
+	 * 构造函数, 使用字符数组中指定范围的内容.
+	 *
+	 * @param factory ConvertFactory
+	 * @param chars char[]
+	 * @param start int
+	 * @param end 结束位置(不包含)
+	 */
+	JsonDocument(final ConvertFactory factory, final char[] chars, final int start, final int end) {
+		this.factory = factory;
+		this.chars = chars;
+		this.bytes = null;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * 构造函数, 使用字节数组中指定范围的UTF-8内容.
+	 *
+	 * @param factory ConvertFactory
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param end 结束位置(不包含)
+	 */
+	JsonDocument(final ConvertFactory factory, final byte[] bytes, final int start, final int end) {
+		this.factory = factory;
+		this.chars = null;
+		this.bytes = bytes;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * 是否为JSON数组.
+	 *
+	 * @return boolean
+	 */
+	public boolean isArray() {
+		for (int i = this.start; i < this.end; i++) {
+			final int ch = this.chars == null ? this.bytes[i] : this.chars[i];
+			if (ch > ' ') {
+				return ch == '[';
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 获取对象的字段数或数组的元素数.
+	 *
+	 * @return int
+	 */
+	public int size() {
+		this.index();
+		if (this.changes == null) {
+			return this.starts.length;
+		}
+		int size = this.starts.length;
+		for (final Map.Entry<String, Object> en : this.changes.entrySet()) {
+			final boolean exists = this.names.indexOf(en.getKey()) >= 0;
+			if ((en.getValue() == JsonDocument.REMOVED) && exists) {
+				size--;
+			} else if ((en.getValue() != JsonDocument.REMOVED) && !exists) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 对象是否存在指定的字段.
+	 *
+	 * @param name 字段名
+	 * @return boolean
+	 */
+	public boolean contains(final String name) {
+		if ((this.changes != null) && this.changes.containsKey(name)) {
+			return this.changes.get(name) != JsonDocument.REMOVED;
+		}
+		return this.indexOf(name) >= 0;
+	}
+
+	/**
+	 * 反序列化对象中指定字段的值, 修改过的字段直接返回设置的值.
+	 *
+	 * @param <T> 值的数据类型
+	 * @param name 字段名
+	 * @param type 值的反序列化类型
+	 * @return 字段不存在时返回null
+	 */
+	public <T> T get(final String name, final Type type) {
+		if ((this.changes != null) && this.changes.containsKey(name)) {
+			final Object value = this.changes.get(name);
+			return value == JsonDocument.REMOVED ? null : (T) value;
+		}
+		final int index = this.indexOf(name);
+		return index < 0 ? null : (T) this.decode(index, type);
+	}
+
+	/**
+	 * 获取对象中指定字段的String值.
+	 *
+	 * @param name 字段名
+	 * @return 字段不存在时返回null
+	 */
+	public String getString(final String name) {
+		return this.get(name, String.class);
+	}
+
+	/**
+	 * 获取对象中指定字段的值的JsonDocument, 与当前文档共用存储.
+	 *
+	 * @param name 字段名
+	 * @return 字段不存在或值为null时返回null
+	 */
+	public JsonDocument getDocument(final String name) {
+		if ((this.changes != null) && this.changes.containsKey(name)) {
+			final Object value = this.changes.get(name);
+			if ((value == null) || (value == JsonDocument.REMOVED)) {
+				return null;
+			}
+			if (value instanceof JsonDocument) {
+				return (JsonDocument) value;
+			}
+			throw new ConvertException("field (" + name + ") of JsonDocument is set to " + value.getClass().getName());
+		}
+		final int index = this.indexOf(name);
+		return index < 0 ? null : this.document(index);
+	}
+
+	/**
+	 * 反序列化数组中指定下标的元素.
+	 *
+	 * @param <T> 元素的数据类型
+	 * @param index 下标
+	 * @param type 元素的反序列化类型
+	 * @return T
+	 */
+	public <T> T get(final int index, final Type type) {
+		this.checkIndex(index);
+		return (T) this.decode(index, type);
+	}
+
+	/**
+	 * 获取数组中指定下标的元素的JsonDocument, 与当前文档共用存储.
+	 *
+	 * @param index 下标
+	 * @return 元素为null时返回null
+	 */
+	public JsonDocument getDocument(final int index) {
+		this.checkIndex(index);
+		return this.document(index);
+	}
+
+	/**
+	 * 设置对象中字段的值, 序列化时只重新输出修改的字段.
+	 *
+	 * @param name 字段名
+	 * @param value 值, 可以是JsonDocument
+	 * @return JsonDocument
+	 */
+	public JsonDocument put(final String name, final Object value) {
+		this.changes().put(name, value);
+		return this;
+	}
+
+	/**
+	 * 删除对象中的字段.
+	 *
+	 * @param name 字段名
+	 * @return JsonDocument
+	 */
+	public JsonDocument remove(final String name) {
+		this.changes().put(name, JsonDocument.REMOVED);
+		return this;
+	}
+
+	/**
+	 * 输出到JsonSerializeWriter, 未修改的内容按原样复制.
+	 *
+	 * @param out JsonSerializeWriter
+	 */
+	void writeTo(final JsonSerializeWriter out) {
+		if (this.changes == null) {
+			this.writeRaw(out, this.start, this.end);
+			return;
+		}
+		final LinkedHashMap<String, Object> map = new LinkedHashMap<>(this.changes);
+		out.writeTo('{');
+		boolean comma = false;
+		for (int i = 0; i < this.starts.length; i++) {
+			final String name = this.names.getName(i);
+			final boolean changed = map.containsKey(name);
+			final Object value = changed ? map.remove(name) : null;
+			if (value == JsonDocument.REMOVED) {
+				continue;
+			}
+			if (comma) {
+				out.writeTo(',');
+			}
+			comma = true;
+			out.writeString(name);
+			out.writeTo(':');
+			if (changed) {
+				this.writeValue(out, value);
+			} else {
+				this.writeRaw(out, this.starts[i], this.ends[i]);
+			}
+		}
+		for (final Map.Entry<String, Object> en : map.entrySet()) {
+			if (en.getValue() == JsonDocument.REMOVED) {
+				continue;
+			}
+			if (comma) {
+				out.writeTo(',');
+			}
+			comma = true;
+			out.writeString(en.getKey());
+			out.writeTo(':');
+			this.writeValue(out, en.getValue());
+		}
+		out.writeTo('}');
+	}
+
+	@Override
+	public String toString() {
+		if ((this.changes == null) && (this.chars != null)) {
+			return new String(this.chars, this.start, this.end - this.start);
+		}
+		return ((JsonConvert) this.factory.getConvert()).convertTo(this);
+	}
+
+	private LinkedHashMap<String, Object> changes() {
+		this.index();
+		if (this.names == null) {
+			throw new ConvertException("JsonDocument array can not be modified");
+		}
+		if (this.changes == null) {
+			this.changes = new LinkedHashMap<>();
+		}
+		return this.changes;
+	}
+
+	private void writeValue(final JsonSerializeWriter out, final Object value) {
+		if (value == null) {
+			out.writeNull();
+		} else {
+			this.factory.loadSerializeParser(value.getClass()).convertTo(out, value);
+		}
+	}
+
+	private void writeRaw(final JsonSerializeWriter out, final int from, final int to) {
+		if (this.chars != null) {
+			out.writeRaw(this.chars, from, to - from);
+		} else {
+			out.writeRaw(this.bytes, from, to - from);
+		}
+	}
+
+	private int indexOf(final String name) {
+		this.index();
+		if (this.names == null) {
+			throw new ConvertException("JsonDocument array has no field (" + name + ")");
+		}
+		return this.names.indexOf(name);
+	}
+
+	private void checkIndex(final int index) {
+		this.index();
+		if (this.names != null) {
+			throw new ConvertException("JsonDocument object has no element (" + index + ")");
+		}
+		if ((index < 0) || (index >= this.starts.length)) {
+			throw new ConvertException("JsonDocument array index (" + index + ") out of bounds (" + this.starts.length + ")");
+		}
+	}
+
+	private Object decode(final int index, final Type type) {
+		final JsonDeserializeReader in = this.reader(this.starts[index], this.ends[index]);
+		return this.factory.loadDeSerializeParser(type).convertFrom(in);
+	}
+
+	private JsonDocument document(final int index) {
+		final int from = this.starts[index];
+		final int first = this.chars == null ? this.bytes[from] : this.chars[from];
+		if ((first == 'n') || (first == 'N')) {
+			return null;
+		}
+		return this.chars == null ? new JsonDocument(this.factory, this.bytes, from, this.ends[index]) : new JsonDocument(this.factory, this.chars, from, this.ends[index]);
+	}
+
+	private JsonDeserializeReader reader(final int from, final int to) {
+		if (this.chars != null) {
+			return new JsonDeserializeReader(this.chars, from, to - from);
+		}
+		final JsonByteBufferDeserializeReader in = new JsonByteBufferDeserializeReader();
+		in.setBytes(this.bytes, from, to - from);
+		return in;
+	}
+
+	/**
+	 * 扫描一层对象或数组, 记录各字段或元素值的起止位置.
+	 */
+	private void index() {
+		if (this.starts != null) {
+			return;
+		}
+		final JsonDeserializeReader in = this.reader(this.start, this.end);
+		final char ch = in.nextGoodChar();
+		if ((ch != '{') && (ch != '[')) {
+			throw new ConvertException("a JsonDocument must be a json object or array but '" + ch + "'");
+		}
+		String[] fields = ch == '{' ? new String[8] : null;
+		int[] from = new int[8];
+		int[] to = new int[8];
+		int size = 0;
+		while (in.hasNext()) {
+			if (size == from.length) {
+				from = Arrays.copyOf(from, size * 2);
+				to = Arrays.copyOf(to, size * 2);
+				if (fields != null) {
+					fields = Arrays.copyOf(fields, size * 2);
+				}
+			}
+			if (fields != null) {
+				fields[size] = in.readSmallString();
+				in.readBlank();
+			}
+			in.backChar(in.nextGoodChar());
+			from[size] = in.position + 1;
+			in.skipValue();
+			to[size++] = in.position + 1;
+		}
+		this.names = fields == null ? null : new NameTable(Arrays.copyOf(fields, size));
+		this.ends = Arrays.copyOf(to, size);
+		this.starts = Arrays.copyOf(from, size);
+	}
+
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import io.github.jcharm.convert.ConvertFactory;
+
+/**
+ * JsonDocument的JSON双向序列化解析器, 反序列化时只记录值的原始内容, 序列化时按原样复制未修改的内容.
+ */
+public final class JsonDocumentSimpleParser extends JsonSimpleParser<JsonDocument> {
+
+	private final ConvertFactory factory;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param factory 用于解析JsonDocument中的值的ConvertFactory
+	 */
+	public JsonDocumentSimpleParser(final ConvertFactory factory) {
+		this.factory = factory;
+	}
+
+	@Override
+	public void convertTo(final JsonSerializeWriter out, final JsonDocument value) {
+		if (value == null) {
+			out.writeNull();
+		} else {
+			value.writeTo(out);
+		}
+	}
+
+	@Override
+	public JsonDocument convertFrom(final JsonDeserializeReader in) {
+		return in.readDocument(this.factory);
+	}
+
+}
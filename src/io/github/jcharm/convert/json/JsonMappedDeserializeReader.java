@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.nio.ByteBuffer;
+
+import io.github.jcharm.convert.MappedFile;
+
+/**
+ * JSON内存映射文件反序列化输入流, 按块从当前映射窗口批量复制字节到内容字节数组, 读完一个窗口后再映射下一个窗口.
+ */
+class JsonMappedDeserializeReader extends JsonByteBufferDeserializeReader {
+
+	private static final int defaultSize = 64 * 1024;
+
+	private MappedFile file;
+
+	private ByteBuffer window;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param file 只读模式的MappedFile
+	 */
+	protected JsonMappedDeserializeReader(final MappedFile file) {
+		this.file = file;
+		this.bytes = new byte[JsonMappedDeserializeReader.defaultSize];
+	}
+
+	@Override
+	protected boolean recycle() {
+		super.recycle(); // this.position 初始化值为-1
+		this.file = null;
+		this.window = null;
+		return false;
+	}
+
+	@Override
+	protected boolean fill() {
+		if (this.file == null) {
+			return false;
+		}
+		while ((this.window == null) || !this.window.hasRemaining()) {
+			this.window = this.file.get();
+			if (this.window == null) {
+				this.file = null;
+				return false;
+			}
+		}
+		this.compact();
+		final int count = Math.min(this.window.remaining(), this.bytes.length - this.limit - 1);
+		this.window.get(this.bytes, this.limit + 1, count);
+		this.limit += count;
+		return true;
+	}
+
+}
@@ -0,0 +1,404 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON浮点数处理类.
+ * <p>
+ * 输出使用Schubfach算法生成能还原原值的最短十进制数字, 格式(科学计数法的阈值, 指数写法)与Double.toString/Float.toString相同, 数字与JDK 19及以上版本一致;
+ * JDK 8的Double.toString对部分数值会多输出位数(如2.0E23输出为1.9999999999999998E23), 此类数值的JSON文本与之前不同, 但解析后的值相同. 解析时有效数字和指数较小的常见情况直接精确计算, 其余情况交给JDK处理.
+ */
+final class JsonNumberUtils {
+
+	/** 输出一个浮点数所需的最大字节数. */
+	static final int MAX_CHARS = 26;
+
+	private static final int K_MIN = -324;
+
+	private static final int K_MAX = 292;
+
+	private static final long MASK_63 = (1L << 63) - 1;
+
+	/** 10^-k 的近似值g的高位和低63位, 下标为 k - K_MIN. */
+	private static final long[] G = new long[(JsonNumberUtils.K_MAX - JsonNumberUtils.K_MIN + 1) * 2];
+
+	private static final long[] POW10 = new long[19];
+
+	private static final double[] DOUBLE_POW10 = new double[23];
+
+	private static final float[] FLOAT_POW10 = new float[11];
+
+	private static final byte[] CHARS_NAN = "NaN".getBytes(StandardCharsets.ISO_8859_1);
+
+	private static final byte[] CHARS_INFINITY = "Infinity".getBytes(StandardCharsets.ISO_8859_1);
+
+	static {
+		POW10[0] = 1;
+		for (int i = 1; i < JsonNumberUtils.POW10.length; i++) {
+			JsonNumberUtils.POW10[i] = JsonNumberUtils.POW10[i - 1] * 10;
+		}
+		for (int i = 0; i < JsonNumberUtils.DOUBLE_POW10.length; i++) {
+			JsonNumberUtils.DOUBLE_POW10[i] = i < JsonNumberUtils.POW10.length ? JsonNumberUtils.POW10[i] : Double.parseDouble("1e" + i);
+		}
+		for (int i = 0; i < JsonNumberUtils.FLOAT_POW10.length; i++) {
+			JsonNumberUtils.FLOAT_POW10[i] = JsonNumberUtils.POW10[i];
+		}
+		// 10^-k = β 2^r, 2^125 <= β < 2^126, g = floor(β) + 1
+		for (int k = JsonNumberUtils.K_MIN; k <= JsonNumberUtils.K_MAX; k++) {
+			final int r = JsonNumberUtils.flog2pow10(-k) - 125;
+			BigInteger g;
+			if (k <= 0) {
+				final BigInteger p = BigInteger.TEN.pow(-k);
+				g = r >= 0 ? p.shiftRight(r) : p.shiftLeft(-r);
+			} else {
+				g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+			}
+			g = g.add(BigInteger.ONE);
+			final int index = (k - JsonNumberUtils.K_MIN) * 2;
+			JsonNumberUtils.G[index] = g.shiftRight(63).longValue();
+			JsonNumberUtils.G[index + 1] = g.longValue() & JsonNumberUtils.MASK_63;
+		}
+	}
+
+	private JsonNumberUtils() {
+	}
+
+	/**
+	 * 将double值输出到字节数组, 调用方需保证从offset开始至少有MAX_CHARS个字节空间.
+	 *
+	 * @param value double
+	 * @param bytes 字节数组
+	 * @param offset 起始下标
+	 * @return 输出后的下标
+	 */
+	static int writeDouble(final double value, final byte[] bytes, final int offset) {
+		final long bits = Double.doubleToRawLongBits(value);
+		final long t = bits & ((1L << 52) - 1);
+		final int bq = (int) (bits >>> 52) & 0x7ff;
+		if (bq == 0x7ff) {
+			return JsonNumberUtils.writeSpecial(t != 0, bits < 0, bytes, offset);
+		}
+		int pos = offset;
+		if (bits < 0) {
+			bytes[pos++] = '-';
+		}
+		if (bq != 0) { // 规格化数
+			final int mq = 1075 - bq;
+			final long c = (1L << 52) | t;
+			if ((0 < mq) && (mq < 53)) { // 整数值
+				final long f = c >> mq;
+				if ((f << mq) == c) {
+					return JsonNumberUtils.writeDecimal(f, 0, bytes, pos);
+				}
+			}
+			return JsonNumberUtils.toDecimal(-mq, c, 0, 1L << 52, -1074, bytes, pos);
+		}
+		if (t != 0) { // 非规格化数
+			return t < 3 ? JsonNumberUtils.toDecimal(-1074, 10 * t, -1, 1L << 52, -1074, bytes, pos) : JsonNumberUtils.toDecimal(-1074, t, 0, 1L << 52, -1074, bytes, pos);
+		}
+		return JsonNumberUtils.writeDecimal(0, 0, bytes, pos);
+	}
+
+	/**
+	 * 将float值输出到字节数组, 调用方需保证从offset开始至少有MAX_CHARS个字节空间.
+	 *
+	 * @param value float
+	 * @param bytes 字节数组
+	 * @param offset 起始下标
+	 * @return 输出后的下标
+	 */
+	static int writeFloat(final float value, final byte[] bytes, final int offset) {
+		final int bits = Float.floatToRawIntBits(value);
+		final int t = bits & ((1 << 23) - 1);
+		final int bq = (bits >>> 23) & 0xff;
+		if (bq == 0xff) {
+			return JsonNumberUtils.writeSpecial(t != 0, bits < 0, bytes, offset);
+		}
+		int pos = offset;
+		if (bits < 0) {
+			bytes[pos++] = '-';
+		}
+		if (bq != 0) { // 规格化数
+			final int mq = 150 - bq;
+			final int c = (1 << 23) | t;
+			if ((0 < mq) && (mq < 24)) { // 整数值
+				final int f = c >> mq;
+				if ((f << mq) == c) {
+					return JsonNumberUtils.writeDecimal(f, 0, bytes, pos);
+				}
+			}
+			return JsonNumberUtils.toDecimal(-mq, c, 0, 1L << 23, -149, bytes, pos);
+		}
+		if (t != 0) { // 非规格化数
+			return t < 8 ? JsonNumberUtils.toDecimal(-149, 10L * t, -1, 1L << 23, -149, bytes, pos) : JsonNumberUtils.toDecimal(-149, t, 0, 1L << 23, -149, bytes, pos);
+		}
+		return JsonNumberUtils.writeDecimal(0, 0, bytes, pos);
+	}
+
+	private static int writeSpecial(final boolean nan, final boolean negative, final byte[] bytes, final int offset) {
+		int pos = offset;
+		if (nan) {
+			System.arraycopy(JsonNumberUtils.CHARS_NAN, 0, bytes, pos, JsonNumberUtils.CHARS_NAN.length);
+			return pos + JsonNumberUtils.CHARS_NAN.length;
+		}
+		if (negative) {
+			bytes[pos++] = '-';
+		}
+		System.arraycopy(JsonNumberUtils.CHARS_INFINITY, 0, bytes, pos, JsonNumberUtils.CHARS_INFINITY.length);
+		return pos + JsonNumberUtils.CHARS_INFINITY.length;
+	}
+
+	/**
+	 * Schubfach算法: 计算 c 2^q 的最短十进制表示.
+	 */
+	private static int toDecimal(final int q, final long c, final int dk, final long cmin, final int qmin, final byte[] bytes, final int pos) {
+		final int out = (int) c & 0x1;
+		final long cb = c << 2;
+		final long cbr = cb + 2;
+		long cbl;
+		int k;
+		if ((c != cmin) | (q == qmin)) {
+			cbl = cb - 2;
+			k = JsonNumberUtils.flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = JsonNumberUtils.flog10threeQuartersPow2(q);
+		}
+		final int h = q + JsonNumberUtils.flog2pow10(-k) + 2;
+		final int index = (k - JsonNumberUtils.K_MIN) * 2;
+		final long g1 = JsonNumberUtils.G[index];
+		final long g0 = JsonNumberUtils.G[index + 1];
+		final long vb = JsonNumberUtils.rop(g1, g0, cb << h);
+		final long vbl = JsonNumberUtils.rop(g1, g0, cbl << h);
+		final long vbr = JsonNumberUtils.rop(g1, g0, cbr << h);
+		final long s = vb >> 2;
+		if (s >= 100) {
+			final long sp10 = 10 * JsonNumberUtils.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			final long tp10 = sp10 + 10;
+			final boolean upin = (vbl + out) <= (sp10 << 2);
+			final boolean wpin = ((tp10 << 2) + out) <= vbr;
+			if (upin != wpin) {
+				return JsonNumberUtils.writeDecimal(upin ? sp10 : tp10, k, bytes, pos);
+			}
+		}
+		final long t = s + 1;
+		final boolean uin = (vbl + out) <= (s << 2);
+		final boolean win = ((t << 2) + out) <= vbr;
+		if (uin != win) {
+			return JsonNumberUtils.writeDecimal(uin ? s : t, k + dk, bytes, pos);
+		}
+		final long cmp = vb - ((s + t) << 1);
+		return JsonNumberUtils.writeDecimal((cmp < 0) || ((cmp == 0) && ((s & 0x1) == 0)) ? s : t, k + dk, bytes, pos);
+	}
+
+	/**
+	 * 按Double.toString的格式(数字为最短表示)输出 f 10^e.
+	 */
+	private static int writeDecimal(long f, int e, final byte[] bytes, final int offset) {
+		int pos = offset;
+		if (f == 0) {
+			bytes[pos++] = '0';
+			bytes[pos++] = '.';
+			bytes[pos++] = '0';
+			return pos;
+		}
+		while ((f % 10) == 0) { // 去掉末尾的0
+			f /= 10;
+			e++;
+		}
+		int len = 1;
+		while ((len < JsonNumberUtils.POW10.length) && (f >= JsonNumberUtils.POW10[len])) {
+			len++;
+		}
+		final int exp = (e + len) - 1; // 科学计数法的指数
+		if ((exp >= 0) && (exp < 7)) { // 整数部分有 exp + 1 位
+			if (len <= (exp + 1)) {
+				JsonNumberUtils.writeDigits(f, len, bytes, pos);
+				pos += len;
+				for (int i = len; i <= exp; i++) {
+					bytes[pos++] = '0';
+				}
+				bytes[pos++] = '.';
+				bytes[pos++] = '0';
+				return pos;
+			}
+			JsonNumberUtils.writeDigits(f, len, bytes, pos + 1);
+			System.arraycopy(bytes, pos + 1, bytes, pos, exp + 1);
+			bytes[pos + exp + 1] = '.';
+			return pos + len + 1;
+		}
+		if ((exp < 0) && (exp >= -3)) { // 0.00ddd
+			bytes[pos++] = '0';
+			bytes[pos++] = '.';
+			for (int i = -1; i > exp; i--) {
+				bytes[pos++] = '0';
+			}
+			JsonNumberUtils.writeDigits(f, len, bytes, pos);
+			return pos + len;
+		}
+		JsonNumberUtils.writeDigits(f, len, bytes, pos + 1);
+		bytes[pos] = bytes[pos + 1];
+		bytes[pos + 1] = '.';
+		pos += len + 1;
+		if (len == 1) {
+			bytes[pos++] = '0';
+		}
+		bytes[pos++] = 'E';
+		int ev = exp;
+		if (ev < 0) {
+			bytes[pos++] = '-';
+			ev = -ev;
+		}
+		if (ev >= 100) {
+			bytes[pos++] = (byte) ('0' + (ev / 100));
+			ev %= 100;
+			bytes[pos++] = (byte) ('0' + (ev / 10));
+		} else if (ev >= 10) {
+			bytes[pos++] = (byte) ('0' + (ev / 10));
+		}
+		bytes[pos++] = (byte) ('0' + (ev % 10));
+		return pos;
+	}
+
+	private static void writeDigits(long f, final int len, final byte[] bytes, final int offset) {
+		for (int i = (offset + len) - 1; i >= offset; i--) {
+			final long q = f / 10;
+			bytes[i] = (byte) ('0' + (f - (q * 10)));
+			f = q;
+		}
+	}
+
+	private static int flog10pow2(final int e) {
+		return (int) ((e * 661_971_961_083L) >> 41);
+	}
+
+	private static int flog10threeQuartersPow2(final int e) {
+		return (int) (((e * 661_971_961_083L) + -274_743_187_321L) >> 41);
+	}
+
+	private static int flog2pow10(final int e) {
+		return (int) ((e * 913_124_641_741L) >> 38);
+	}
+
+	private static long rop(final long g1, final long g0, final long cp) {
+		final long x1 = JsonNumberUtils.multiplyHigh(g0, cp);
+		final long y0 = g1 * cp;
+		final long y1 = JsonNumberUtils.multiplyHigh(g1, cp);
+		final long z = (y0 >>> 1) + x1;
+		final long vbp = y1 + (z >>> 63);
+		return vbp | (((z & JsonNumberUtils.MASK_63) + JsonNumberUtils.MASK_63) >>> 63);
+	}
+
+	private static long multiplyHigh(final long x, final long y) {
+		final long x1 = x >> 32;
+		final long x2 = x & 0xFFFFFFFFL;
+		final long y1 = y >> 32;
+		final long y2 = y & 0xFFFFFFFFL;
+		final long z2 = x2 * y2;
+		final long t = (x1 * y2) + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		final long z0 = t >> 32;
+		z1 += x2 * y1;
+		return (x1 * y1) + z0 + (z1 >> 32);
+	}
+
+	/**
+	 * 解析字节数组中指定范围的ASCII数字, 有效数字不超过15位(float为7位)且十进制指数较小时直接精确计算, 否则交给JDK解析.
+	 *
+	 * @param bytes 字节数组
+	 * @param start 起始下标
+	 * @param end 结束下标(不包含)
+	 * @param isFloat 是否按float精度解析
+	 * @return double, 按float精度解析时为float值
+	 */
+	static double parse(final byte[] bytes, final int start, final int end, final boolean isFloat) {
+		int i = start;
+		final boolean negative = (i < end) && (bytes[i] == '-');
+		if (negative || ((i < end) && (bytes[i] == '+'))) {
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int exp10 = 0;
+		boolean hasDigit = false;
+		for (; i < end; i++) {
+			final int d = bytes[i] - '0';
+			if ((d < 0) || (d > 9)) {
+				break;
+			}
+			hasDigit = true;
+			if ((mantissa != 0) || (d != 0)) {
+				if (digits >= 18) {
+					return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+				}
+				mantissa = (mantissa * 10) + d;
+				digits++;
+			}
+		}
+		if ((i < end) && (bytes[i] == '.')) {
+			for (i++; i < end; i++) {
+				final int d = bytes[i] - '0';
+				if ((d < 0) || (d > 9)) {
+					break;
+				}
+				hasDigit = true;
+				if ((mantissa != 0) || (d != 0)) {
+					if (digits >= 18) {
+						return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+					}
+					mantissa = (mantissa * 10) + d;
+					digits++;
+				}
+				exp10--;
+			}
+		}
+		if (!hasDigit) {
+			return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+		}
+		if ((i < end) && ((bytes[i] == 'e') || (bytes[i] == 'E'))) {
+			i++;
+			final boolean expNegative = (i < end) && (bytes[i] == '-');
+			if (expNegative || ((i < end) && (bytes[i] == '+'))) {
+				i++;
+			}
+			if (i == end) {
+				return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+			}
+			int exp = 0;
+			for (; i < end; i++) {
+				final int d = bytes[i] - '0';
+				if ((d < 0) || (d > 9) || (exp > 10000)) {
+					return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+				}
+				exp = (exp * 10) + d;
+			}
+			exp10 += expNegative ? -exp : exp;
+		}
+		if (i != end) {
+			return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+		}
+		if (mantissa == 0) {
+			return negative ? -0.0 : 0.0;
+		}
+		if (isFloat) {
+			if ((mantissa < (1L << 24)) && (exp10 >= -10) && (exp10 <= 10)) {
+				final float value = exp10 < 0 ? (float) mantissa / JsonNumberUtils.FLOAT_POW10[-exp10] : (float) mantissa * JsonNumberUtils.FLOAT_POW10[exp10];
+				return negative ? -value : value;
+			}
+		} else if ((mantissa < (1L << 53)) && (exp10 >= -22) && (exp10 <= 22)) {
+			final double value = exp10 < 0 ? mantissa / JsonNumberUtils.DOUBLE_POW10[-exp10] : mantissa * JsonNumberUtils.DOUBLE_POW10[exp10];
+			return negative ? -value : value;
+		}
+		return JsonNumberUtils.parseByJdk(bytes, start, end, isFloat);
+	}
+
+	private static double parseByJdk(final byte[] bytes, final int start, final int end, final boolean isFloat) {
+		final String text = new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+		return isFloat ? Float.parseFloat(text) : Double.parseDouble(text);
+	}
+
+}
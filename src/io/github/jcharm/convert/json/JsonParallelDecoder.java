@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import io.github.jcharm.convert.ArrayDeSerializeParser;
+import io.github.jcharm.convert.CollectionDeSerializeParser;
+import io.github.jcharm.convert.DeSerializeParser;
+import io.github.jcharm.convert.DeserializeReader;
+
+/**
+ * 顶层JSON数组的并行反序列化.
+ * <p>
+ * 先扫描一遍内容找出各数组元素的边界(只识别引号、转义和括号, 不解析值), 再将元素按顺序分段交给ForkJoinPool并行反序列化, 每段重复使用一个输入流; 结果按元素原有的顺序合并, 多段出错时抛出位置最靠前的异常, 与单线程反序列化的结果一致.
+ */
+final class JsonParallelDecoder {
+
+	/** 默认启用并行的最小内容长度(字符数或字节数). */
+	static final int DEFAULT_THRESHOLD = 256 * 1024;
+
+	/** 每段最少的元素数. */
+	private static final int MIN_CHUNK_ELEMENTS = 16;
+
+	/** 启用并行的最小内容长度. */
+	final int threshold;
+
+	/** 执行反序列化的ForkJoinPool. */
+	final ForkJoinPool pool;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param threshold 启用并行的最小内容长度
+	 * @param pool ForkJoinPool
+	 */
+	JsonParallelDecoder(final int threshold, final ForkJoinPool pool) {
+		this.threshold = threshold;
+		this.pool = pool;
+	}
+
+	/**
+	 * 反序列化字符数组, 类型不是数组或集合、内容不是数组或元素过少时按单线程反序列化.
+	 *
+	 * @param convert JsonConvert
+	 * @param parser DeSerializeParser
+	 * @param text char[]
+	 * @param start int
+	 * @param len int
+	 * @return Object
+	 */
+	Object convertFrom(final JsonConvert convert, final DeSerializeParser parser, final char[] text, final int start, final int len) {
+		final DeSerializeParser component = JsonParallelDecoder.componentParser(parser);
+		final int[] bounds = component == null ? null : JsonParallelDecoder.scan(text, start, start + len);
+		if ((bounds == null) || (this.chunks(bounds) < 2)) {
+			final JsonDeserializeReader in = convert.pollJsonDeserializeReader();
+			in.setText(text, start, len);
+			final Object rs = parser.convertFrom(in);
+			convert.offerJsonReader(in);
+			return rs;
+		}
+		final Object[] elements = new Object[bounds.length / 2];
+		this.invoke(bounds, (from, to) -> {
+			final JsonDeserializeReader in = convert.pollJsonDeserializeReader();
+			try {
+				for (int i = from; i < to; i++) {
+					in.setText(text, bounds[2 * i], bounds[(2 * i) + 1] - bounds[2 * i]);
+					elements[i] = component.convertFrom(in);
+				}
+			} finally {
+				convert.offerJsonReader(in);
+			}
+		});
+		return JsonParallelDecoder.create(parser, elements);
+	}
+
+	/**
+	 * 反序列化字节输入流的内容, 类型不是数组或集合、内容不是数组或元素过少时按单线程反序列化.
+	 *
+	 * @param parser DeSerializeParser
+	 * @param in JsonByteBufferDeserializeReader
+	 * @return Object
+	 */
+	Object convertFrom(final DeSerializeParser parser, final JsonByteBufferDeserializeReader in) {
+		final DeSerializeParser component = JsonParallelDecoder.componentParser(parser);
+		final byte[] bytes = in.bytes;
+		final int[] bounds = component == null ? null : JsonParallelDecoder.scan(bytes, in.position + 1, in.limit + 1);
+		if ((bounds == null) || (this.chunks(bounds) < 2)) {
+			return parser.convertFrom(in);
+		}
+		final Object[] elements = new Object[bounds.length / 2];
+		this.invoke(bounds, (from, to) -> {
+			final JsonByteBufferDeserializeReader reader = new JsonByteBufferDeserializeReader();
+			for (int i = from; i < to; i++) {
+				reader.setBytes(bytes, bounds[2 * i], bounds[(2 * i) + 1] - bounds[2 * i]);
+				elements[i] = component.convertFrom(reader);
+			}
+		});
+		return JsonParallelDecoder.create(parser, elements);
+	}
+
+	private int chunks(final int[] bounds) {
+		return Math.min(this.pool.getParallelism() * 4, (bounds.length / 2) / JsonParallelDecoder.MIN_CHUNK_ELEMENTS);
+	}
+
+	/**
+	 * 将元素按顺序分段并行反序列化, 等待所有分段完成后抛出位置最靠前的分段的异常.
+	 */
+	private void invoke(final int[] bounds, final Chunk chunk) {
+		final int count = bounds.length / 2;
+		final ForkJoinTask[] tasks = new ForkJoinTask[this.chunks(bounds)];
+		for (int i = 0; i < tasks.length; i++) {
+			final int from = (int) (((long) count * i) / tasks.length);
+			final int to = (int) (((long) count * (i + 1)) / tasks.length);
+			tasks[i] = this.pool.submit(() -> chunk.decode(from, to));
+		}
+		RuntimeException error = null;
+		for (final ForkJoinTask task : tasks) {
+			try {
+				task.join();
+			} catch (final RuntimeException e) {
+				if (error == null) {
+					error = e;
+				}
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	private static DeSerializeParser<DeserializeReader, ?> componentParser(final DeSerializeParser parser) {
+		if (parser instanceof ArrayDeSerializeParser) {
+			return ((ArrayDeSerializeParser) parser).getComponentDeSerializeParser();
+		}
+		if (parser instanceof CollectionDeSerializeParser) {
+			return ((CollectionDeSerializeParser) parser).getComponentDeSerializeParser();
+		}
+		return null;
+	}
+
+	private static Object create(final DeSerializeParser parser, final Object[] elements) {
+		if (parser instanceof ArrayDeSerializeParser) {
+			return ((ArrayDeSerializeParser) parser).createArray(Arrays.asList(elements));
+		}
+		return ((CollectionDeSerializeParser) parser).createCollection(Arrays.asList(elements));
+	}
+
+	/**
+	 * 扫描顶层数组各元素的边界.
+	 *
+	 * @param text char[]
+	 * @param start 起始下标
+	 * @param end 结束下标(不含)
+	 * @return 按顺序存放每个元素的起始下标和结束下标(不含), 内容不是完整的数组时返回null
+	 */
+	static int[] scan(final char[] text, final int start, final int end) {
+		int i = start;
+		while ((i < end) && (text[i] <= ' ')) {
+			i++;
+		}
+		if ((i == end) || (text[i] != '[')) {
+			return null;
+		}
+		int[] bounds = new int[64];
+		int count = 0;
+		int depth = 0;
+		int begin = -1;
+		for (i++; i < end; i++) {
+			final char ch = text[i];
+			if (ch <= ' ') {
+				continue;
+			}
+			if (depth == 0) {
+				if ((ch == ',') || (ch == ']')) {
+					if (begin < 0) {
+						return (ch == ']') && (count == 0) ? new int[0] : null;
+					}
+					if (count == bounds.length) {
+						bounds = Arrays.copyOf(bounds, count * 2);
+					}
+					bounds[count++] = begin;
+					bounds[count++] = i;
+					begin = -1;
+					if (ch == ']') {
+						return Arrays.copyOf(bounds, count);
+					}
+					continue;
+				}
+				if (begin < 0) {
+					begin = i;
+				}
+			}
+			if ((ch == '"') || (ch == '\'')) {
+				for (i++; (i < end) && (text[i] != ch); i++) {
+					if (text[i] == '\\') {
+						i++;
+					}
+				}
+			} else if ((ch == '{') || (ch == '[')) {
+				depth++;
+			} else if (((ch == '}') || (ch == ']')) && (--depth < 0)) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 扫描顶层数组各元素的边界, UTF-8多字节字符的各字节都不会与引号、转义符和括号相同.
+	 *
+	 * @param bytes byte[]
+	 * @param start 起始下标
+	 * @param end 结束下标(不含)
+	 * @return 按顺序存放每个元素的起始下标和结束下标(不含), 内容不是完整的数组时返回null
+	 */
+	static int[] scan(final byte[] bytes, final int start, final int end) {
+		int i = start;
+		while ((i < end) && ((bytes[i] & 0xff) <= ' ')) {
+			i++;
+		}
+		if ((i == end) || (bytes[i] != '[')) {
+			return null;
+		}
+		int[] bounds = new int[64];
+		int count = 0;
+		int depth = 0;
+		int begin = -1;
+		for (i++; i < end; i++) {
+			final int b = bytes[i] & 0xff;
+			if (b <= ' ') {
+				continue;
+			}
+			if (depth == 0) {
+				if ((b == ',') || (b == ']')) {
+					if (begin < 0) {
+						return (b == ']') && (count == 0) ? new int[0] : null;
+					}
+					if (count == bounds.length) {
+						bounds = Arrays.copyOf(bounds, count * 2);
+					}
+					bounds[count++] = begin;
+					bounds[count++] = i;
+					begin = -1;
+					if (b == ']') {
+						return Arrays.copyOf(bounds, count);
+					}
+					continue;
+				}
+				if (begin < 0) {
+					begin = i;
+				}
+			}
+			if ((b == '"') || (b == '\'')) {
+				for (i++; (i < end) && (bytes[i] != b); i++) {
+					if (bytes[i] == '\\') {
+						i++;
+					}
+				}
+			} else if ((b == '{') || (b == '[')) {
+				depth++;
+			} else if (((b == '}') || (b == ']')) && (--depth < 0)) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 一段连续元素的反序列化.
+	 */
+	@FunctionalInterface
+	private interface Chunk {
+
+		void decode(int from, int to);
+	}
+
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.ConvertFactory;
+import io.github.jcharm.convert.DeSerializeParser;
+
+/**
+ * JSON路径投影, 一次扫描中提取多个路径的值, 其余内容直接跳过, 不反序列化整个文档.
+ * <p>
+ * 路径由字段名和数组下标组成, 例如: user.id、items[0].sku、[2].name, 一个路径不能是另一个路径的前缀. 提取结果按添加路径的顺序存放, 路径不存在时为null.
+ */
+public final class JsonProjection {
+
+	private final Node root = new Node();
+
+	private Type[] types = new Type[0];
+
+	private String[] paths = new String[0];
+
+	private volatile Binding binding;
+
+	/**
+	 * 添加需要提取的路径.
+	 *
+	 * @param path 路径
+	 * @param type 值的反序列化类型
+	 * @return JsonProjection
+	 */
+	public synchronized JsonProjection path(final String path, final Type type) {
+		if ((path == null) || path.isEmpty() || (type == null)) {
+			throw new ConvertException("illegal projection path (" + path + ")");
+		}
+		Node node = this.root;
+		int i = 0;
+		final int len = path.length();
+		while (i < len) {
+			if (node.slot >= 0) {
+				throw new ConvertException("projection path (" + path + ") conflicts with " + this.paths[node.slot]);
+			}
+			final char ch = path.charAt(i);
+			if (ch == '[') {
+				final int end = path.indexOf(']', i);
+				int index = -1;
+				try {
+					index = end < 0 ? -1 : Integer.parseInt(path.substring(i + 1, end));
+				} catch (final NumberFormatException e) {
+					throw new ConvertException("illegal projection path (" + path + ")", e);
+				}
+				if (index < 0) {
+					throw new ConvertException("illegal projection path (" + path + ")");
+				}
+				node = node.element(index);
+				i = end + 1;
+			} else {
+				if ((ch == '.') && (i > 0)) {
+					i++;
+				}
+				int end = i;
+				while ((end < len) && (path.charAt(end) != '.') && (path.charAt(end) != '[')) {
+					end++;
+				}
+				if (end == i) {
+					throw new ConvertException("illegal projection path (" + path + ")");
+				}
+				node = node.field(path.substring(i, end));
+				i = end;
+			}
+		}
+		if ((node.slot >= 0) || (node.names.length > 0) || (node.indexes.length > 0)) {
+			throw new ConvertException("projection path (" + path + ") conflicts with another path");
+		}
+		node.slot = this.types.length;
+		this.types = Arrays.copyOf(this.types, this.types.length + 1);
+		this.types[node.slot] = type;
+		this.paths = Arrays.copyOf(this.paths, this.paths.length + 1);
+		this.paths[node.slot] = path;
+		this.binding = null;
+		return this;
+	}
+
+	/**
+	 * 获取已添加的路径数.
+	 *
+	 * @return int
+	 */
+	public int size() {
+		return this.types.length;
+	}
+
+	/**
+	 * 从输入流中提取各路径的值.
+	 *
+	 * @param in JsonDeserializeReader
+	 * @param factory 用于加载反序列化解析器的ConvertFactory
+	 * @return 按添加路径的顺序存放的值
+	 */
+	Object[] extract(final JsonDeserializeReader in, final ConvertFactory factory) {
+		Binding bind = this.binding;
+		if ((bind == null) || (bind.factory != factory)) {
+			synchronized (this) {
+				final DeSerializeParser[] parsers = new DeSerializeParser[this.types.length];
+				for (int i = 0; i < parsers.length; i++) {
+					parsers[i] = factory.loadDeSerializeParser(this.types[i]);
+				}
+				bind = new Binding(factory, parsers);
+				this.binding = bind;
+			}
+		}
+		final Object[] values = new Object[bind.parsers.length];
+		if (values.length > 0) {
+			this.extract(in, this.root, bind.parsers, values, new int[] { values.length });
+		}
+		return values;
+	}
+
+	/**
+	 * 读取当前节点对应的值, 所有路径都已提取时返回true并停止扫描.
+	 */
+	private boolean extract(final JsonDeserializeReader in, final Node node, final DeSerializeParser[] parsers, final Object[] values, final int[] remain) {
+		if (node.slot >= 0) {
+			values[node.slot] = parsers[node.slot].convertFrom(in);
+			return --remain[0] == 0;
+		}
+		final char ch = in.nextGoodChar();
+		if (ch == 0) {
+			throw new ConvertException("a json value is expected but end of input");
+		}
+		if ((ch == '{') && (node.names.length > 0)) {
+			while (in.hasNext()) {
+				final int index = in.readFieldName(node.names);
+				in.readBlank();
+				if (index < 0) {
+					in.skipValue();
+				} else if (this.extract(in, node.fields[index], parsers, values, remain)) {
+					return true;
+				}
+			}
+		} else if ((ch == '[') && (node.indexes.length > 0)) {
+			int i = 0;
+			while (in.hasNext()) {
+				final Node child = node.child(i++);
+				if (child == null) {
+					in.skipValue();
+				} else if (this.extract(in, child, parsers, values, remain)) {
+					return true;
+				}
+			}
+		} else {
+			in.backChar(ch);
+			in.skipValue();
+		}
+		return false;
+	}
+
+	/**
+	 * 路径树的节点.
+	 */
+	private static final class Node {
+
+		private int slot = -1;
+
+		private String[] names = new String[0];
+
+		private Node[] fields = new Node[0];
+
+		private int[] indexes = new int[0];
+
+		private Node[] elements = new Node[0];
+
+		private Node field(final String name) {
+			final int index = JsonDeserializeReader.indexOf(this.names, name);
+			if (index >= 0) {
+				return this.fields[index];
+			}
+			this.names = Arrays.copyOf(this.names, this.names.length + 1);
+			this.names[this.names.length - 1] = name;
+			this.fields = Arrays.copyOf(this.fields, this.fields.length + 1);
+			return this.fields[this.fields.length - 1] = new Node();
+		}
+
+		private Node element(final int index) {
+			final Node node = this.child(index);
+			if (node != null) {
+				return node;
+			}
+			this.indexes = Arrays.copyOf(this.indexes, this.indexes.length + 1);
+			this.indexes[this.indexes.length - 1] = index;
+			this.elements = Arrays.copyOf(this.elements, this.elements.length + 1);
+			return this.elements[this.elements.length - 1] = new Node();
+		}
+
+		private Node child(final int index) {
+			for (int i = 0; i < this.indexes.length; i++) {
+				if (this.indexes[i] == index) {
+					return this.elements[i];
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * 路径类型在指定ConvertFactory中对应的反序列化解析器.
+	 */
+	private static final class Binding {
+
+		private final ConvertFactory factory;
+
+		private final DeSerializeParser[] parsers;
+
+		private Binding(final ConvertFactory factory, final DeSerializeParser[] parsers) {
+			this.factory = factory;
+			this.parsers = parsers;
+		}
+	}
+
+}
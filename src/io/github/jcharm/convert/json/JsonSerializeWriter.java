@@ -8,6 +8,7 @@ import java.nio.ByteBuffer;
 import io.github.jcharm.common.CommonUtils;
 import io.github.jcharm.common.FieldAttribute;
 import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.SerializeMember;
 import io.github.jcharm.convert.SerializeWriter;
 
 /**
@@ -17,10 +18,19 @@ public class JsonSerializeWriter extends SerializeWriter {
 
 	private static final int defaultSize = 1024;
 
+	private static final char[] CHARS_TRUE = "true".toCharArray();
+
+	private static final char[] CHARS_FALSE = "false".toCharArray();
+
+	private static final char[] CHARS_NULL = "null".toCharArray();
+
 	private int count;
 
 	private char[] content;
 
+	/** 输出数字、日期等ASCII内容时使用的临时字节数组. */
+	final byte[] numbers = new byte[JsonNumberUtils.MAX_CHARS];
+
 	/**
 	 * 构造函数.
 	 */
@@ -37,6 +47,15 @@ public class JsonSerializeWriter extends SerializeWriter {
 		this.content = new char[size > 128 ? size : 128];
 	}
 
+	/**
+	 * 构造函数, 供不使用内容字符数组的子类使用.
+	 *
+	 * @param content 内容字符数组, 可为null
+	 */
+	protected JsonSerializeWriter(final char[] content) {
+		this.content = content;
+	}
+
 	/**
 	 * 创建一个存放JsonSerializeWriter的对象池.
 	 *
@@ -54,7 +73,7 @@ public class JsonSerializeWriter extends SerializeWriter {
 	 */
 	protected boolean recycle() {
 		this.count = 0;
-		if (this.content.length > JsonSerializeWriter.defaultSize) {
+		if (this.content.length > Math.max(JsonSerializeWriter.defaultSize, this.retainedSize)) {
 			this.content = new char[JsonSerializeWriter.defaultSize];
 		}
 		return true;
@@ -146,7 +165,7 @@ public class JsonSerializeWriter extends SerializeWriter {
 
 	@Override
 	public final void writeBoolean(final boolean value) {
-		this.writeTo(value ? "true".toCharArray() : "false".toCharArray());
+		this.writeTo(value ? JsonSerializeWriter.CHARS_TRUE : JsonSerializeWriter.CHARS_FALSE);
 	}
 
 	@Override
@@ -160,17 +179,63 @@ public class JsonSerializeWriter extends SerializeWriter {
 	}
 
 	@Override
-	public final void writeDouble(final double value) {
-		this.writeTo(false, String.valueOf(value));
+	public void writeDouble(final double value) {
+		final byte[] bs = this.numbers;
+		this.writeTo(bs, JsonNumberUtils.writeDouble(value, bs, 0));
 	}
 
 	@Override
-	public final void writeFloat(final float value) {
-		this.writeTo(false, String.valueOf(value));
+	public void writeFloat(final float value) {
+		final byte[] bs = this.numbers;
+		this.writeTo(bs, JsonNumberUtils.writeFloat(value, bs, 0));
+	}
+
+	/**
+	 * 将字节数组中的ASCII字符输出到内容字符数组中.
+	 *
+	 * @param bs 只能是 0 - 127 的字符
+	 * @param len int
+	 */
+	void writeTo(final byte[] bs, final int len) {
+		final char[] chs = this.expand(len);
+		int c = this.count;
+		for (int i = 0; i < len; i++) {
+			chs[c++] = (char) bs[i];
+		}
+		this.count = c;
+	}
+
+	/**
+	 * 原样输出字符数组中指定范围的JSON文本.
+	 *
+	 * @param chs char[]
+	 * @param start int
+	 * @param len int
+	 */
+	void writeRaw(final char[] chs, final int start, final int len) {
+		final char[] content0 = this.expand(len);
+		System.arraycopy(chs, start, content0, this.count, len);
+		this.count += len;
+	}
+
+	/**
+	 * 原样输出字节数组中指定范围的UTF-8编码的JSON文本.
+	 *
+	 * @param bs byte[]
+	 * @param start int
+	 * @param len int
+	 */
+	void writeRaw(final byte[] bs, final int start, final int len) {
+		final char[] chs = CommonUtils.decodeUTF8ToChars(bs, start, len);
+		this.writeRaw(chs, 0, chs.length);
 	}
 
 	@Override
 	public void writeInt(int value) {
+		if (value == Integer.MIN_VALUE) {
+			this.writeTo(false, "-2147483648");
+			return;
+		}
 		final char sign = value >= 0 ? 0 : '-';
 		if (value < 0) {
 			value = -value;
@@ -212,6 +277,10 @@ public class JsonSerializeWriter extends SerializeWriter {
 
 	@Override
 	public void writeLong(long value) {
+		if (value == Long.MIN_VALUE) {
+			this.writeTo(false, "-9223372036854775808");
+			return;
+		}
 		final char sign = value >= 0 ? 0 : '-';
 		if (value < 0) {
 			value = -value;
@@ -336,6 +405,20 @@ public class JsonSerializeWriter extends SerializeWriter {
 		this.writeTo(':');
 	}
 
+	@Override
+	public void writeFieldName(final SerializeMember serializeMember) {
+		final char[] name = serializeMember.getFieldNameChars();
+		final char[] chs = this.expand(name.length + 4);
+		if (this.isComma) {// 添加字段分隔符
+			chs[this.count++] = ',';
+		}
+		chs[this.count++] = '"';
+		System.arraycopy(name, 0, chs, this.count, name.length);
+		this.count += name.length;
+		chs[this.count++] = '"';
+		chs[this.count++] = ':';
+	}
+
 	@Override
 	public final void writeMapEnd() {
 		this.writeTo('}');
@@ -354,7 +437,7 @@ public class JsonSerializeWriter extends SerializeWriter {
 
 	@Override
 	public final void writeNull() {
-		this.writeTo('n', 'u', 'l', 'l');
+		this.writeTo(JsonSerializeWriter.CHARS_NULL);
 	}
 
 	@Override
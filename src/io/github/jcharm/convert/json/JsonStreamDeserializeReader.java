@@ -9,10 +9,12 @@ import java.io.InputStream;
 import io.github.jcharm.convert.ConvertException;
 
 /**
- * JSON Stream反序列化输入流.
+ * JSON Stream反序列化输入流, 按块从InputStream读取字节到内容字节数组, 内容字节数组只保留尚未解析完的内容.
  */
 class JsonStreamDeserializeReader extends JsonByteBufferDeserializeReader {
 
+	private static final int defaultSize = 8192;
+
 	private InputStream in;
 
 	/**
@@ -22,6 +24,7 @@ class JsonStreamDeserializeReader extends JsonByteBufferDeserializeReader {
 	 */
 	protected JsonStreamDeserializeReader(final InputStream in) {
 		this.in = in;
+		this.bytes = new byte[JsonStreamDeserializeReader.defaultSize];
 	}
 
 	@Override
@@ -32,11 +35,18 @@ class JsonStreamDeserializeReader extends JsonByteBufferDeserializeReader {
 	}
 
 	@Override
-	protected byte nextByte() {
+	protected boolean fill() {
+		if (this.in == null) {
+			return false;
+		}
+		this.compact();
 		try {
-			final byte b = (byte) this.in.read();
-			this.position++;
-			return b;
+			final int count = this.in.read(this.bytes, this.limit + 1, this.bytes.length - this.limit - 1);
+			if (count < 1) {
+				return false;
+			}
+			this.limit += count;
+			return true;
 		} catch (final IOException e) {
 			throw new ConvertException(e);
 		}
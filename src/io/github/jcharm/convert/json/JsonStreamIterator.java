@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import io.github.jcharm.convert.DeSerializeParser;
+import io.github.jcharm.convert.DeserializeReader;
+
+/**
+ * 逐个反序列化JSON顶层数组元素的迭代器, 只有调用next时才读取并解析下一个元素.
+ *
+ * @param <T> 数组元素的数据类型
+ */
+class JsonStreamIterator<T> implements Iterator<T> {
+
+	private static final int STATE_BEGIN = 0;
+
+	private static final int STATE_CHECK = 1;
+
+	private static final int STATE_READY = 2;
+
+	private static final int STATE_END = 3;
+
+	private final JsonDeserializeReader reader;
+
+	private final DeSerializeParser<JsonDeserializeReader, T> deSerializeParser;
+
+	private int state = JsonStreamIterator.STATE_BEGIN;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param reader JsonDeserializeReader
+	 * @param deSerializeParser 数组元素的反序列化解析器
+	 */
+	JsonStreamIterator(final JsonDeserializeReader reader, final DeSerializeParser<JsonDeserializeReader, T> deSerializeParser) {
+		this.reader = reader;
+		this.deSerializeParser = deSerializeParser;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (this.state == JsonStreamIterator.STATE_BEGIN) {
+			if (this.reader.readArrayBegin() == DeserializeReader.SIGN_NULL) {
+				this.state = JsonStreamIterator.STATE_END;
+				return false;
+			}
+			this.state = JsonStreamIterator.STATE_CHECK;
+		}
+		if (this.state == JsonStreamIterator.STATE_CHECK) {
+			this.state = this.reader.hasNext() ? JsonStreamIterator.STATE_READY : JsonStreamIterator.STATE_END;
+		}
+		return this.state == JsonStreamIterator.STATE_READY;
+	}
+
+	@Override
+	public T next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		this.state = JsonStreamIterator.STATE_CHECK;
+		return this.deSerializeParser.convertFrom(this.reader);
+	}
+
+}
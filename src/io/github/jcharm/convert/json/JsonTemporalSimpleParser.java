@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.json;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+import io.github.jcharm.convert.ConvertException;
+
+/**
+ * LocalDate、LocalTime、LocalDateTime的JSON双向序列化解析器.
+ * <p>
+ * 未指定格式时LocalDate为yyyy-MM-dd, LocalTime为ISO_LOCAL_TIME格式, LocalDateTime为yyyy-MM-dd HH:mm:ss, 按固定位置直接读写数字, 不创建DateTimeFormatter和中间字符串; 指定格式时使用构造时创建的DateTimeFormatter. 格式错误时抛出ConvertException.
+ *
+ * @param <T> LocalDate、LocalTime或LocalDateTime
+ */
+public final class JsonTemporalSimpleParser<T extends TemporalAccessor> extends JsonSimpleParser<T> {
+
+	/** LocalDate的默认格式实例. */
+	public static final JsonTemporalSimpleParser<LocalDate> LOCALDATE = new JsonTemporalSimpleParser<>(LocalDate.class, null);
+
+	/** LocalTime的默认格式实例. */
+	public static final JsonTemporalSimpleParser<LocalTime> LOCALTIME = new JsonTemporalSimpleParser<>(LocalTime.class, null);
+
+	/** LocalDateTime的默认格式实例. */
+	public static final JsonTemporalSimpleParser<LocalDateTime> LOCALDATETIME = new JsonTemporalSimpleParser<>(LocalDateTime.class, null);
+
+	private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	private static final int DATE = 1;
+
+	private static final int TIME = 2;
+
+	private static final int DATETIME = 3;
+
+	private final int kind;
+
+	private final DateTimeFormatter formatter;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param type LocalDate.class、LocalTime.class或LocalDateTime.class
+	 * @param pattern DateTimeFormatter的格式, 为null表示使用默认的固定格式
+	 */
+	public JsonTemporalSimpleParser(final Class<T> type, final String pattern) {
+		if (type == LocalDate.class) {
+			this.kind = JsonTemporalSimpleParser.DATE;
+		} else if (type == LocalTime.class) {
+			this.kind = JsonTemporalSimpleParser.TIME;
+		} else if (type == LocalDateTime.class) {
+			this.kind = JsonTemporalSimpleParser.DATETIME;
+		} else {
+			throw new ConvertException("not supported temporal type " + type);
+		}
+		this.formatter = pattern == null ? null : DateTimeFormatter.ofPattern(pattern);
+	}
+
+	@Override
+	public void convertTo(final JsonSerializeWriter out, final T value) {
+		if (value == null) {
+			out.writeNull();
+			return;
+		}
+		if (this.formatter != null) {
+			out.writeString(this.formatter.format(value));
+			return;
+		}
+		final byte[] bs = out.numbers;
+		int len;
+		if (this.kind == JsonTemporalSimpleParser.DATE) {
+			final LocalDate date = (LocalDate) value;
+			len = JsonTemporalSimpleParser.writeDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), bs, 1);
+		} else if (this.kind == JsonTemporalSimpleParser.TIME) {
+			final LocalTime time = (LocalTime) value;
+			len = JsonTemporalSimpleParser.writeTime(time.getHour(), time.getMinute(), time.getSecond(), time.getNano(), bs, 1);
+		} else {
+			final LocalDateTime dateTime = (LocalDateTime) value;
+			len = dateTime.getYear() > 0 ? JsonTemporalSimpleParser.writeDate(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), bs, 1) : -1;
+			if (len > 0) {
+				bs[len++] = ' ';
+				len = JsonTemporalSimpleParser.writeTime(dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), 0, bs, len);
+			}
+		}
+		if (len < 0) { // 年份超出yyyy的范围
+			out.writeString(this.defaultFormatter().format(value));
+			return;
+		}
+		bs[0] = '"';
+		bs[len++] = '"';
+		out.writeTo(bs, len);
+	}
+
+	@Override
+	public T convertFrom(final JsonDeserializeReader in) {
+		if (this.formatter != null) {
+			final String text = in.readSmallString();
+			if ((text == null) || text.isEmpty()) {
+				return null;
+			}
+			return this.parse(text, this.formatter);
+		}
+		final byte[] bs = in.numbers;
+		final int len = in.readTo(bs);
+		if (len < 0) {
+			return null;
+		}
+		Object rs = null;
+		try {
+			if (this.kind == JsonTemporalSimpleParser.DATE) {
+				rs = JsonTemporalSimpleParser.readDate(bs, 0, len);
+			} else if (this.kind == JsonTemporalSimpleParser.TIME) {
+				rs = JsonTemporalSimpleParser.readTime(bs, 0, len);
+			} else if ((len == 19) && (bs[10] == ' ')) {
+				final LocalDate date = JsonTemporalSimpleParser.readDate(bs, 0, 10);
+				final LocalTime time = JsonTemporalSimpleParser.readTime(bs, 11, 8);
+				rs = (date == null) || (date.getYear() == 0) || (time == null) ? null : LocalDateTime.of(date, time);
+			}
+		} catch (final DateTimeException e) {
+			rs = null; // 交给DateTimeFormatter处理, 以保持其解析规则
+		}
+		if (rs == null) {
+			return this.parse(new String(bs, 0, len, StandardCharsets.ISO_8859_1), this.defaultFormatter());
+		}
+		return (T) rs;
+	}
+
+	private DateTimeFormatter defaultFormatter() {
+		if (this.kind == JsonTemporalSimpleParser.DATE) {
+			return DateTimeFormatter.ISO_LOCAL_DATE;
+		}
+		return this.kind == JsonTemporalSimpleParser.TIME ? DateTimeFormatter.ISO_LOCAL_TIME : JsonTemporalSimpleParser.DATETIME_FORMATTER;
+	}
+
+	private T parse(final String text, final DateTimeFormatter dtf) {
+		try {
+			if (this.kind == JsonTemporalSimpleParser.DATE) {
+				return (T) LocalDate.parse(text, dtf);
+			}
+			return (T) (this.kind == JsonTemporalSimpleParser.TIME ? LocalTime.parse(text, dtf) : LocalDateTime.parse(text, dtf));
+		} catch (final DateTimeException e) {
+			throw new ConvertException("illegal temporal value (" + text + ")", e);
+		}
+	}
+
+	/**
+	 * 按yyyy-MM-dd输出, 年份不在0-9999之间时返回-1.
+	 */
+	private static int writeDate(final int year, final int month, final int day, final byte[] bs, int pos) {
+		if ((year < 0) || (year > 9999)) {
+			return -1;
+		}
+		pos = JsonTemporalSimpleParser.writeDigits(year, 4, bs, pos);
+		bs[pos++] = '-';
+		pos = JsonTemporalSimpleParser.writeDigits(month, 2, bs, pos);
+		bs[pos++] = '-';
+		return JsonTemporalSimpleParser.writeDigits(day, 2, bs, pos);
+	}
+
+	/**
+	 * 按HH:mm:ss输出, 纳秒不为0时再输出去掉末尾0的小数部分.
+	 */
+	private static int writeTime(final int hour, final int minute, final int second, int nano, final byte[] bs, int pos) {
+		pos = JsonTemporalSimpleParser.writeDigits(hour, 2, bs, pos);
+		bs[pos++] = ':';
+		pos = JsonTemporalSimpleParser.writeDigits(minute, 2, bs, pos);
+		bs[pos++] = ':';
+		pos = JsonTemporalSimpleParser.writeDigits(second, 2, bs, pos);
+		if (nano != 0) {
+			int size = 9;
+			while ((nano % 10) == 0) {
+				nano /= 10;
+				size--;
+			}
+			bs[pos++] = '.';
+			pos = JsonTemporalSimpleParser.writeDigits(nano, size, bs, pos);
+		}
+		return pos;
+	}
+
+	private static int writeDigits(int value, final int size, final byte[] bs, final int pos) {
+		for (int i = (pos + size) - 1; i >= pos; i--) {
+			bs[i] = (byte) ('0' + (value % 10));
+			value /= 10;
+		}
+		return pos + size;
+	}
+
+	/**
+	 * 解析yyyy-MM-dd, 格式不符时返回null.
+	 */
+	private static LocalDate readDate(final byte[] bs, final int start, final int len) {
+		if ((len != 10) || (bs[start + 4] != '-') || (bs[start + 7] != '-')) {
+			return null;
+		}
+		final int year = JsonTemporalSimpleParser.readDigits(bs, start, 4);
+		final int month = JsonTemporalSimpleParser.readDigits(bs, start + 5, 2);
+		final int day = JsonTemporalSimpleParser.readDigits(bs, start + 8, 2);
+		if ((year < 0) || (month < 0) || (day < 0)) {
+			return null;
+		}
+		return LocalDate.of(year, month, day);
+	}
+
+	/**
+	 * 解析HH:mm[:ss[.SSSSSSSSS]], 格式不符时返回null.
+	 */
+	private static LocalTime readTime(final byte[] bs, final int start, final int len) {
+		if ((len < 5) || (bs[start + 2] != ':') || ((len > 5) && ((len < 8) || (bs[start + 5] != ':'))) || ((len > 8) && ((len < 10) || (len > 18) || (bs[start + 8] != '.')))) {
+			return null;
+		}
+		final int hour = JsonTemporalSimpleParser.readDigits(bs, start, 2);
+		final int minute = JsonTemporalSimpleParser.readDigits(bs, start + 3, 2);
+		final int second = len > 5 ? JsonTemporalSimpleParser.readDigits(bs, start + 6, 2) : 0;
+		int nano = len > 8 ? JsonTemporalSimpleParser.readDigits(bs, start + 9, len - 9) : 0;
+		if ((hour < 0) || (minute < 0) || (second < 0) || (nano < 0)) {
+			return null;
+		}
+		for (int i = len; i < 18; i++) {
+			nano *= 10;
+		}
+		return LocalTime.of(hour, minute, second, len > 8 ? nano : 0);
+	}
+
+	/**
+	 * 读取指定个数的十进制数字, 含非数字字符时返回-1.
+	 */
+	private static int readDigits(final byte[] bs, final int start, final int size) {
+		int value = 0;
+		for (int i = start; i < (start + size); i++) {
+			final int d = bs[i] - '0';
+			if ((d < 0) || (d > 9)) {
+				return -1;
+			}
+			value = (value * 10) + d;
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.nio.ByteBuffer;
+
+import io.github.jcharm.common.CommonUtils;
+import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
+
+/**
+ * MessagePack ByteBuffer反序列化输入流.
+ */
+public class MsgpackByteBufferDeserializeReader extends MsgpackDeserializeReader {
+
+	private ByteBuffer[] buffers;
+
+	private int currentIndex = 0;
+
+	private ByteBuffer currentBuffer;
+
+	protected MsgpackByteBufferDeserializeReader(final ByteBuffer... buffers) {
+		this.buffers = buffers;
+		if ((buffers != null) && (buffers.length > 0)) {
+			this.currentBuffer = buffers[this.currentIndex];
+		}
+	}
+
+	@Override
+	protected boolean recycle() {
+		super.recycle(); // this.position 初始化值为-1
+		this.currentIndex = 0;
+		this.currentBuffer = null;
+		this.buffers = null;
+		return false;
+	}
+
+	@Override
+	protected byte nextByte() {
+		if (this.currentBuffer.hasRemaining()) {
+			this.position++;
+			return this.currentBuffer.get();
+		}
+		for (;;) {
+			this.currentBuffer = this.buffers[++this.currentIndex];
+			if (this.currentBuffer.hasRemaining()) {
+				this.position++;
+				return this.currentBuffer.get();
+			}
+		}
+	}
+
+	/**
+	 * 读取指定长度的原始字节.
+	 *
+	 * @param len 字节长度
+	 * @return byte[]
+	 */
+	protected byte[] read(final int len) {
+		final byte[] bs = new byte[len];
+		int pos = 0;
+		while (pos < len) {
+			if (!this.currentBuffer.hasRemaining()) {
+				this.currentBuffer = this.buffers[++this.currentIndex];
+				continue;
+			}
+			final int n = Math.min(this.currentBuffer.remaining(), len - pos);
+			this.currentBuffer.get(bs, pos, n);
+			pos += n;
+		}
+		this.position += len;
+		return bs;
+	}
+
+	@Override
+	protected String readUTF8(final int len) {
+		final ByteBuffer buffer = this.currentBuffer;
+		if (buffer.remaining() >= len) { // 字符串在同一个buffer中, 直接解码
+			final String value = CommonUtils.decodeUTF8ToString(buffer, len);
+			this.position += len;
+			return value;
+		}
+		return CommonUtils.decodeUTF8ToString(this.read(len), 0, len);
+	}
+
+	@Override
+	protected void skip(long len) {
+		this.position += (int) len;
+		while (len > 0) {
+			if (!this.currentBuffer.hasRemaining()) {
+				this.currentBuffer = this.buffers[++this.currentIndex];
+				continue;
+			}
+			final int n = (int) Math.min(this.currentBuffer.remaining(), len);
+			this.currentBuffer.position(this.currentBuffer.position() + n);
+			len -= n;
+		}
+	}
+
+	@Override
+	protected DeSerializeMember findMember(final DeSerializeMemberTable memberTable, final int len) {
+		final ByteBuffer buffer = this.currentBuffer;
+		if (buffer.remaining() >= len) { // 字段名在同一个buffer中, 直接匹配
+			final int start = buffer.position();
+			final DeSerializeMember member = memberTable.find(buffer, start, len);
+			if (member == null) {
+				for (int i = start; i < (start + len); i++) {
+					if (buffer.get(i) < 0) { // 非ASCII字段名
+						return MsgpackDeserializeReader.findMember(memberTable, this.read(len), 0, len);
+					}
+				}
+			}
+			buffer.position(start + len);
+			this.position += len;
+			return member;
+		}
+		return MsgpackDeserializeReader.findMember(memberTable, this.read(len), 0, len);
+	}
+
+}
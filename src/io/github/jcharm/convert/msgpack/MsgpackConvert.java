@@ -0,0 +1,369 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.Convert;
+
+/**
+ * MessagePack双向序列化类.
+ */
+public final class MsgpackConvert extends Convert<MsgpackDeserializeReader, MsgpackSerializeWriter> {
+
+	private final ObjectPool<MsgpackDeserializeReader> readerPool = this.createReaderPool((final Object... params) -> new MsgpackDeserializeReader(), (final MsgpackDeserializeReader t) -> t.recycle());
+
+	private final ObjectPool<MsgpackSerializeWriter> writerPool = this.createWriterPool((final Object... params) -> new MsgpackSerializeWriter(), (final MsgpackSerializeWriter t) -> t.recycle());
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param msgpackConvertFactory MsgpackConvertFactory
+	 */
+	protected MsgpackConvert(final MsgpackConvertFactory msgpackConvertFactory) {
+		super(msgpackConvertFactory);
+	}
+
+	@Override
+	public MsgpackConvertFactory getConvertFactory() {
+		return (MsgpackConvertFactory) super.getConvertFactory();
+	}
+
+	/**
+	 * 获取双向序列化类实例.
+	 *
+	 * @return MsgpackConvert
+	 */
+	public static MsgpackConvert instance() {
+		return MsgpackConvertFactory.instance().getConvert();
+	}
+
+	// ---------------------------------------MsgpackDeserializeReader-----------------------------------------------
+
+	/**
+	 * 获取MsgpackByteBufferDeserializeReader反序列化输入流.
+	 *
+	 * @param buffers ByteBuffer
+	 * @return MsgpackDeserializeReader
+	 */
+	public MsgpackDeserializeReader pollMsgpackDeserializeReader(final ByteBuffer... buffers) {
+		return new MsgpackByteBufferDeserializeReader(buffers);
+	}
+
+	/**
+	 * 获取MsgpackStreamDeserializeReader反序列化输入流.
+	 *
+	 * @param in InputStream
+	 * @return MsgpackDeserializeReader
+	 */
+	public MsgpackDeserializeReader pollMsgpackDeserializeReader(final InputStream in) {
+		return new MsgpackStreamDeserializeReader(in);
+	}
+
+	/**
+	 * 获取当前MsgpackConvert的MsgpackDeserializeReader反序列化输入流.
+	 *
+	 * @return MsgpackDeserializeReader
+	 */
+	public MsgpackDeserializeReader pollMsgpackDeserializeReader() {
+		return this.readerPool.get();
+	}
+
+	/**
+	 * 将MsgpackDeserializeReader反序列化输入流存放到对象池中.
+	 *
+	 * @param in MsgpackDeserializeReader
+	 */
+	public void offerMsgpackDeserializeReader(final MsgpackDeserializeReader in) {
+		if (in != null) {
+			this.readerPool.offer(in);
+		}
+	}
+
+	// ---------------------------------------MsgpackSerializeWriter-------------------------------------------------
+
+	/**
+	 * 获取MsgpackByteBufferSerializeWriter序列化输出流.
+	 *
+	 * @param supplier Supplier
+	 * @return MsgpackByteBufferSerializeWriter
+	 */
+	public MsgpackByteBufferSerializeWriter pollMsgpackSerializeWriter(final Supplier<ByteBuffer> supplier) {
+		return new MsgpackByteBufferSerializeWriter(supplier);
+	}
+
+	/**
+	 * 获取MsgpackStreamSerializeWriter序列化输出流, 输出完毕后需调用flush方法将缓存的内容写入OutputStream.
+	 *
+	 * @param out OutputStream
+	 * @return MsgpackSerializeWriter
+	 */
+	public MsgpackSerializeWriter pollMsgpackSerializeWriter(final OutputStream out) {
+		return new MsgpackStreamSerializeWriter(out);
+	}
+
+	/**
+	 * 获取当前MsgpackConvert的MsgpackSerializeWriter序列化输出流.
+	 *
+	 * @return MsgpackSerializeWriter
+	 */
+	public MsgpackSerializeWriter pollMsgpackSerializeWriter() {
+		return this.writerPool.get();
+	}
+
+	/**
+	 * 将MsgpackSerializeWriter序列化输出流存放到对象池中.
+	 *
+	 * @param out MsgpackSerializeWriter
+	 */
+	public void offerMsgpackSerializeWriter(final MsgpackSerializeWriter out) {
+		if (out != null) {
+			this.writerPool.offer(out);
+		}
+	}
+
+	// ------------------------------------------------convertFrom------------------------------------------------
+
+	/**
+	 * 反序列化操作.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final byte[] bytes, final int start, final int len) {
+		if (type == null) {
+			return null;
+		}
+		final MsgpackDeserializeReader in = this.readerPool.get();
+		in.setBytes(bytes, start, len);
+		final T rs = (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(in);
+		this.readerPool.offer(in);
+		return rs;
+	}
+
+	/**
+	 * 反序列化操作.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param bytes byte[]
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		return this.convertFrom(type, bytes, 0, bytes.length);
+	}
+
+	/**
+	 * 反序列化操作.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param in InputStream
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final InputStream in) {
+		if ((type == null) || (in == null)) {
+			return null;
+		}
+		return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new MsgpackStreamDeserializeReader(in));
+	}
+
+	/**
+	 * 反序列化操作.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param buffers ByteBuffer
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final ByteBuffer... buffers) {
+		if ((type == null) || (buffers.length < 1)) {
+			return null;
+		}
+		return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(new MsgpackByteBufferDeserializeReader(buffers));
+	}
+
+	/**
+	 * 反序列化操作.
+	 *
+	 * @param <T> 反序列化数据类型
+	 * @param type Type
+	 * @param reader MsgpackDeserializeReader
+	 * @return T
+	 */
+	public <T> T convertFrom(final Type type, final MsgpackDeserializeReader reader) {
+		if (type == null) {
+			return null;
+		}
+		return (T) this.convertFactory.loadDeSerializeParser(type).convertFrom(reader);
+	}
+
+	// -------------------------------------------------convertTo-------------------------------------------------
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param type Type
+	 * @param value Object
+	 * @return byte[]
+	 */
+	public byte[] convertTo(final Type type, final Object value) {
+		if (type == null) {
+			return null;
+		}
+		final MsgpackSerializeWriter out = this.writerPool.get();
+		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
+		final byte[] result = out.toArray();
+		this.writerPool.offer(out);
+		return result;
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param value Object
+	 * @return byte[]
+	 */
+	public byte[] convertTo(final Object value) {
+		if (value == null) {
+			return new byte[] { MsgpackFormat.NIL };
+		}
+		return this.convertTo(value.getClass(), value);
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param out OutputStream
+	 * @param value Object
+	 */
+	public void convertTo(final OutputStream out, final Object value) {
+		final MsgpackSerializeWriter writer = new MsgpackStreamSerializeWriter(out);
+		this.convertTo(writer, value);
+		writer.flush();
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param out OutputStream
+	 * @param type Type
+	 * @param value Object
+	 */
+	public void convertTo(final OutputStream out, final Type type, final Object value) {
+		if (type == null) {
+			return;
+		}
+		final MsgpackSerializeWriter writer = new MsgpackStreamSerializeWriter(out);
+		this.convertTo(writer, type, value);
+		writer.flush();
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param supplier Supplier
+	 * @param type Type
+	 * @param value Object
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] convertTo(final Supplier<ByteBuffer> supplier, final Type type, final Object value) {
+		if ((supplier == null) || (type == null)) {
+			return null;
+		}
+		final MsgpackByteBufferSerializeWriter out = new MsgpackByteBufferSerializeWriter(supplier);
+		this.convertTo(out, type, value);
+		return out.toBuffers();
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param supplier Supplier
+	 * @param value Object
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] convertTo(final Supplier<ByteBuffer> supplier, final Object value) {
+		if (supplier == null) {
+			return null;
+		}
+		final MsgpackByteBufferSerializeWriter out = new MsgpackByteBufferSerializeWriter(supplier);
+		this.convertTo(out, value);
+		return out.toBuffers();
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param writer MsgpackSerializeWriter
+	 * @param value Object
+	 */
+	public void convertTo(final MsgpackSerializeWriter writer, final Object value) {
+		if (value == null) {
+			writer.writeNull();
+		} else {
+			this.convertFactory.loadSerializeParser(value.getClass()).convertTo(writer, value);
+		}
+	}
+
+	/**
+	 * 序列化操作.
+	 *
+	 * @param writer MsgpackSerializeWriter
+	 * @param type Type
+	 * @param value Object
+	 */
+	public void convertTo(final MsgpackSerializeWriter writer, final Type type, final Object value) {
+		if (type == null) {
+			return;
+		}
+		if (value == null) {
+			writer.writeNull();
+		} else {
+			this.convertFactory.loadSerializeParser(type).convertTo(writer, value);
+		}
+	}
+
+	/**
+	 * 获取MsgpackSerializeWriter序列化输出流.
+	 *
+	 * @param value Object
+	 * @return MsgpackSerializeWriter
+	 */
+	public MsgpackSerializeWriter convertToWriter(final Object value) {
+		if (value == null) {
+			return null;
+		}
+		return this.convertToWriter(value.getClass(), value);
+	}
+
+	/**
+	 * 获取MsgpackSerializeWriter序列化输出流, 使用完毕后可调用offerMsgpackSerializeWriter放回对象池.
+	 *
+	 * @param type Type
+	 * @param value Object
+	 * @return MsgpackSerializeWriter
+	 */
+	public MsgpackSerializeWriter convertToWriter(final Type type, final Object value) {
+		if (type == null) {
+			return null;
+		}
+		final MsgpackSerializeWriter out = this.writerPool.get();
+		this.convertFactory.loadSerializeParser(type).convertTo(out, value);
+		return out;
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import io.github.jcharm.convert.ConvertFactory;
+import io.github.jcharm.convert.ConvertType;
+import io.github.jcharm.convert.DeSerializeParser;
+import io.github.jcharm.convert.SerializeParser;
+
+/**
+ * MessagePack双向序列化工厂类.
+ */
+public final class MsgpackConvertFactory extends ConvertFactory<MsgpackDeserializeReader, MsgpackSerializeWriter> {
+
+	private static final MsgpackConvertFactory INSTANCE = new MsgpackConvertFactory(null);
+
+	/** The Constant objectDeSerializeParser. */
+	static final DeSerializeParser objectDeSerializeParser = MsgpackConvertFactory.INSTANCE.loadDeSerializeParser(Object.class);
+
+	/** The Constant objectSerializeParser. */
+	static final SerializeParser objectSerializeParser = MsgpackConvertFactory.INSTANCE.loadSerializeParser(Object.class);
+
+	static {
+		MsgpackConvertFactory.INSTANCE.registerDeSerializeParser(Serializable.class, MsgpackConvertFactory.objectDeSerializeParser);
+		MsgpackConvertFactory.INSTANCE.registerSerializeParser(Serializable.class, MsgpackConvertFactory.objectSerializeParser);
+	}
+
+	private MsgpackConvertFactory(final ConvertFactory parentConvertFactory) {
+		super(parentConvertFactory);
+		if (parentConvertFactory == null) {
+			this.registerParser(LocalDate.class, MsgpackTemporalSimpleParser.LOCALDATE);
+			this.registerParser(LocalTime.class, MsgpackTemporalSimpleParser.LOCALTIME);
+			this.registerParser(LocalDateTime.class, MsgpackTemporalSimpleParser.LOCALDATETIME);
+		}
+	}
+
+	/**
+	 * 获取双向序列化工厂实例.
+	 *
+	 * @return MsgpackConvertFactory
+	 */
+	public static MsgpackConvertFactory instance() {
+		return MsgpackConvertFactory.INSTANCE;
+	}
+
+	/**
+	 * 创建新的双向序列化工厂类.
+	 *
+	 * @return MsgpackConvertFactory
+	 */
+	public static MsgpackConvertFactory createFactory() {
+		return new MsgpackConvertFactory(null);
+	}
+
+	@Override
+	public ConvertType getConvertType() {
+		return ConvertType.MSGPACK;
+	}
+
+	@Override
+	public ConvertFactory createChildFactory() {
+		return new MsgpackConvertFactory(this);
+	}
+
+	@Override
+	public MsgpackConvert getConvert() {
+		if (this.convert == null) {
+			this.convert = new MsgpackConvert(this);
+		}
+		return (MsgpackConvert) this.convert;
+	}
+
+}
@@ -0,0 +1,560 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import io.github.jcharm.common.CommonUtils;
+import io.github.jcharm.common.ConstructCreator;
+import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
+import io.github.jcharm.convert.DeserializeReader;
+
+/**
+ * MessagePack反序列化输入流.
+ * <p>
+ * 对象读取自以字段别名为键的map, 整数可为任意整数格式, 小数可为float32、float64或整数格式; 不存在的字段按格式字节跳过, 可读取其他语言的MessagePack库输出的内容.
+ */
+public class MsgpackDeserializeReader extends DeserializeReader {
+
+	/** 位置下标. */
+	protected int position = -1;
+
+	private byte[] content;
+
+	/** 各层对象剩余的字段数. */
+	private int[] remains = new int[8];
+
+	private int depth;
+
+	/**
+	 * 构造函数.
+	 */
+	public MsgpackDeserializeReader() {
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param bytes byte[]
+	 */
+	public MsgpackDeserializeReader(final byte[] bytes) {
+		this.setBytes(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 */
+	public MsgpackDeserializeReader(final byte[] bytes, final int start, final int len) {
+		this.setBytes(bytes, start, len);
+	}
+
+	/**
+	 * 创建一个存放MsgpackDeserializeReader的对象池.
+	 *
+	 * @param max 对象池存放对象的最大值
+	 * @return ObjectPool
+	 */
+	public static ObjectPool<MsgpackDeserializeReader> createPool(final int max) {
+		return new ObjectPool<MsgpackDeserializeReader>(max, new ConstructCreator<MsgpackDeserializeReader>() {
+
+			@Override
+			public MsgpackDeserializeReader construct(final Object... params) {
+				return new MsgpackDeserializeReader();
+			}
+		}, null, new Predicate<MsgpackDeserializeReader>() {
+
+			@Override
+			public boolean test(final MsgpackDeserializeReader t) {
+				return t.recycle();
+			}
+		});
+	}
+
+	/**
+	 * 将指定范围的字节数组赋值给字节内容数组.
+	 *
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len int
+	 */
+	public final void setBytes(final byte[] bytes, final int start, final int len) {
+		if (bytes == null) {
+			this.position = 0;
+		} else {
+			this.content = bytes;
+			this.position = start - 1;
+		}
+	}
+
+	/**
+	 * 将字节数组赋值给字节内容数组.
+	 *
+	 * @param bytes byte[]
+	 */
+	public final void setBytes(final byte[] bytes) {
+		if (bytes == null) {
+			this.position = 0;
+		} else {
+			this.setBytes(bytes, 0, bytes.length);
+		}
+	}
+
+	/**
+	 * 是否允重复利用对象池中存储的对象.
+	 *
+	 * @return boolean
+	 */
+	protected boolean recycle() {
+		this.position = -1;
+		this.content = null;
+		this.depth = 0;
+		return true;
+	}
+
+	/**
+	 * 读取下一个原始字节.
+	 *
+	 * @return byte
+	 */
+	protected byte nextByte() {
+		return this.content[++this.position];
+	}
+
+	/**
+	 * 读取指定长度的UTF-8字节并解码为字符串.
+	 *
+	 * @param len 字节长度
+	 * @return String
+	 */
+	protected String readUTF8(final int len) {
+		final String value = CommonUtils.decodeUTF8ToString(this.content, this.position + 1, len);
+		this.position += len;
+		return value;
+	}
+
+	/**
+	 * 跳过指定长度的原始字节.
+	 *
+	 * @param len 字节长度
+	 */
+	protected void skip(final long len) {
+		this.position += (int) len;
+	}
+
+	/**
+	 * 读取指定长度的字段名并在散列表中匹配.
+	 *
+	 * @param memberTable DeSerializeMemberTable
+	 * @param len 字段名的UTF-8字节长度
+	 * @return DeSerializeMember, 字段不存在返回null
+	 */
+	protected DeSerializeMember findMember(final DeSerializeMemberTable memberTable, final int len) {
+		final DeSerializeMember member = MsgpackDeserializeReader.findMember(memberTable, this.content, this.position + 1, len);
+		this.position += len;
+		return member;
+	}
+
+	/**
+	 * 在散列表中匹配字节数组中指定范围的UTF-8字段名, 按字节匹配不到且含有非ASCII字符时解码后再匹配.
+	 *
+	 * @param memberTable DeSerializeMemberTable
+	 * @param bytes byte[]
+	 * @param start int
+	 * @param len 字段名的UTF-8字节长度
+	 * @return DeSerializeMember, 字段不存在返回null
+	 */
+	protected static DeSerializeMember findMember(final DeSerializeMemberTable memberTable, final byte[] bytes, final int start, final int len) {
+		final DeSerializeMember member = memberTable.find(bytes, start, len);
+		if (member != null) {
+			return member;
+		}
+		for (int i = start; i < (start + len); i++) {
+			if (bytes[i] < 0) {
+				return memberTable.find(CommonUtils.decodeUTF8ToString(bytes, start, len));
+			}
+		}
+		return null;
+	}
+
+	private int readRaw16() {
+		return ((this.nextByte() & 0xff) << 8) | (this.nextByte() & 0xff);
+	}
+
+	private int readRaw32() {
+		return ((this.nextByte() & 0xff) << 24) | ((this.nextByte() & 0xff) << 16) | ((this.nextByte() & 0xff) << 8) | (this.nextByte() & 0xff);
+	}
+
+	private long readRaw64() {
+		return ((long) this.readRaw32() << 32) | (this.readRaw32() & 0xffffffffL);
+	}
+
+	/**
+	 * 按格式字节读取整数.
+	 */
+	private long readInteger(final byte format) {
+		if ((format >= 0) || ((format & 0xe0) == 0xe0)) { // positive fixint、negative fixint
+			return format;
+		}
+		switch (format) {
+		case MsgpackFormat.UINT8:
+			return this.nextByte() & 0xff;
+		case MsgpackFormat.UINT16:
+			return this.readRaw16();
+		case MsgpackFormat.UINT32:
+			return this.readRaw32() & 0xffffffffL;
+		case MsgpackFormat.UINT64:
+		case MsgpackFormat.INT64:
+			return this.readRaw64();
+		case MsgpackFormat.INT8:
+			return this.nextByte();
+		case MsgpackFormat.INT16:
+			return (short) this.readRaw16();
+		case MsgpackFormat.INT32:
+			return this.readRaw32();
+		default:
+			throw this.illegalFormat("integer", format);
+		}
+	}
+
+	private ConvertException illegalFormat(final String expected, final byte format) {
+		return new ConvertException("msgpack " + expected + " expected but format '0x" + Integer.toHexString(format & 0xff) + "' at position(" + this.position + ")");
+	}
+
+	@Override
+	public boolean readBoolean() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.TRUE) {
+			return true;
+		}
+		if (b != MsgpackFormat.FALSE) {
+			throw this.illegalFormat("boolean", b);
+		}
+		return false;
+	}
+
+	@Override
+	public byte readByte() {
+		return (byte) this.readInteger(this.nextByte());
+	}
+
+	@Override
+	public char readChar() {
+		return (char) this.readInteger(this.nextByte());
+	}
+
+	/**
+	 * 读取short, 值为nil时返回SIGN_NULL.
+	 *
+	 * @return short
+	 */
+	@Override
+	public short readShort() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.NIL) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		return (short) this.readInteger(b);
+	}
+
+	@Override
+	public int readInt() {
+		return (int) this.readInteger(this.nextByte());
+	}
+
+	@Override
+	public long readLong() {
+		return this.readInteger(this.nextByte());
+	}
+
+	@Override
+	public double readDouble() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.FLOAT64) {
+			return Double.longBitsToDouble(this.readRaw64());
+		}
+		if (b == MsgpackFormat.FLOAT32) {
+			return Float.intBitsToFloat(this.readRaw32());
+		}
+		return this.readInteger(b);
+	}
+
+	@Override
+	public float readFloat() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.FLOAT32) {
+			return Float.intBitsToFloat(this.readRaw32());
+		}
+		if (b == MsgpackFormat.FLOAT64) {
+			return (float) Double.longBitsToDouble(this.readRaw64());
+		}
+		return this.readInteger(b);
+	}
+
+	@Override
+	public String readSmallString() {
+		return this.readString();
+	}
+
+	@Override
+	public String readString() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.NIL) {
+			return null;
+		}
+		final int len = this.readStringSize(b);
+		if (len < 0) {
+			throw this.illegalFormat("string", b);
+		}
+		return this.readUTF8(len);
+	}
+
+	/**
+	 * 按格式字节读取字符串的字节长度, 不是字符串格式时返回-1.
+	 */
+	private int readStringSize(final byte format) {
+		if ((format & 0xe0) == (MsgpackFormat.FIXSTR & 0xff)) {
+			return format & 0x1f;
+		}
+		switch (format) {
+		case MsgpackFormat.STR8:
+			return this.nextByte() & 0xff;
+		case MsgpackFormat.STR16:
+			return this.readRaw16();
+		case MsgpackFormat.STR32:
+			return this.readRaw32();
+		default:
+			return -1;
+		}
+	}
+
+	@Override
+	public int readArrayBegin() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.NIL) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		if ((b & 0xf0) == (MsgpackFormat.FIXARRAY & 0xff)) {
+			return b & 0x0f;
+		}
+		if (b == MsgpackFormat.ARRAY16) {
+			return this.readRaw16();
+		}
+		if (b == MsgpackFormat.ARRAY32) {
+			return this.readRaw32();
+		}
+		throw this.illegalFormat("array", b);
+	}
+
+	@Override
+	public void readArrayEnd() {
+	}
+
+	@Override
+	public int readMapBegin() {
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.NIL) {
+			return DeserializeReader.SIGN_NULL;
+		}
+		return this.readMapSize(b);
+	}
+
+	private int readMapSize(final byte format) {
+		if ((format & 0xf0) == (MsgpackFormat.FIXMAP & 0xff)) {
+			return format & 0x0f;
+		}
+		if (format == MsgpackFormat.MAP16) {
+			return this.readRaw16();
+		}
+		if (format == MsgpackFormat.MAP32) {
+			return this.readRaw32();
+		}
+		throw this.illegalFormat("map", format);
+	}
+
+	@Override
+	public void readMapEnd() {
+	}
+
+	@Override
+	public String readObjectBegin(final Class clazz) {
+		this.fieldIndex = 0;
+		final byte b = this.nextByte();
+		if (b == MsgpackFormat.NIL) {
+			return null;
+		}
+		final int size = this.readMapSize(b);
+		if (this.depth == this.remains.length) {
+			this.remains = Arrays.copyOf(this.remains, this.depth * 2);
+		}
+		this.remains[this.depth++] = size;
+		return "";
+	}
+
+	@Override
+	public void readObjectEnd(final Class clazz) {
+		this.depth--;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ((this.depth == 0) || (this.remains[this.depth - 1] == 0)) {
+			return false;
+		}
+		this.remains[this.depth - 1]--;
+		return true;
+	}
+
+	@Override
+	public void skipValue() {
+		this.skipValue(this.nextByte());
+	}
+
+	/**
+	 * 跳过格式字节已读取的值, 嵌套的数组和map按剩余元素个数循环跳过而不递归.
+	 */
+	private void skipValue(final byte format) {
+		long count = this.skipOne(format); // 还需跳过的值的个数
+		while (count-- > 0) {
+			count += this.skipOne(this.nextByte());
+		}
+	}
+
+	/**
+	 * 跳过一个值的内容, 返回其包含的需继续跳过的元素个数.
+	 */
+	private long skipOne(final byte b) {
+		if ((b >= 0) || ((b & 0xe0) == 0xe0) || (b == MsgpackFormat.NIL) || (b == MsgpackFormat.FALSE) || (b == MsgpackFormat.TRUE)) {
+			return 0;
+		}
+		switch (b & 0xf0) {
+		case 0x80: // fixmap
+			return (b & 0x0f) * 2L;
+		case 0x90: // fixarray
+			return b & 0x0f;
+		case 0xa0: // fixstr
+		case 0xb0:
+			this.skip(b & 0x1f);
+			return 0;
+		default:
+			break;
+		}
+		switch (b) {
+		case MsgpackFormat.UINT8:
+		case MsgpackFormat.INT8:
+			this.skip(1);
+			return 0;
+		case MsgpackFormat.UINT16:
+		case MsgpackFormat.INT16:
+			this.skip(2);
+			return 0;
+		case MsgpackFormat.UINT32:
+		case MsgpackFormat.INT32:
+		case MsgpackFormat.FLOAT32:
+			this.skip(4);
+			return 0;
+		case MsgpackFormat.UINT64:
+		case MsgpackFormat.INT64:
+		case MsgpackFormat.FLOAT64:
+			this.skip(8);
+			return 0;
+		case MsgpackFormat.STR8:
+		case MsgpackFormat.BIN8:
+			this.skip(this.nextByte() & 0xff);
+			return 0;
+		case MsgpackFormat.STR16:
+		case MsgpackFormat.BIN16:
+			this.skip(this.readRaw16());
+			return 0;
+		case MsgpackFormat.STR32:
+		case MsgpackFormat.BIN32:
+			this.skip(this.readRaw32() & 0xffffffffL);
+			return 0;
+		case MsgpackFormat.FIXEXT1:
+			this.skip(2);
+			return 0;
+		case MsgpackFormat.FIXEXT2:
+			this.skip(3);
+			return 0;
+		case MsgpackFormat.FIXEXT4:
+			this.skip(5);
+			return 0;
+		case MsgpackFormat.FIXEXT8:
+			this.skip(9);
+			return 0;
+		case MsgpackFormat.FIXEXT16:
+			this.skip(17);
+			return 0;
+		case MsgpackFormat.EXT8:
+			this.skip((this.nextByte() & 0xff) + 1L);
+			return 0;
+		case MsgpackFormat.EXT16:
+			this.skip(this.readRaw16() + 1L);
+			return 0;
+		case MsgpackFormat.EXT32:
+			this.skip((this.readRaw32() & 0xffffffffL) + 1);
+			return 0;
+		case MsgpackFormat.ARRAY16:
+			return this.readRaw16();
+		case MsgpackFormat.ARRAY32:
+			return this.readRaw32() & 0xffffffffL;
+		case MsgpackFormat.MAP16:
+			return this.readRaw16() * 2L;
+		case MsgpackFormat.MAP32:
+			return (this.readRaw32() & 0xffffffffL) * 2;
+		default:
+			throw this.illegalFormat("value", b);
+		}
+	}
+
+	@Override
+	public void readBlank() {
+	}
+
+	@Override
+	public String readClassName() {
+		return "";
+	}
+
+	@Override
+	public DeSerializeMember readFieldName(final DeSerializeMember[] deSerializeMembers) {
+		final String exceptedfield = this.readString();
+		final int len = deSerializeMembers.length;
+		if (this.fieldIndex >= len) {
+			this.fieldIndex = 0;
+		}
+		for (int k = this.fieldIndex; k < len; k++) {
+			if (deSerializeMembers[k].getFieldAttribute().getFieldAliasName().equals(exceptedfield)) {
+				this.fieldIndex = k;
+				return deSerializeMembers[k];
+			}
+		}
+		for (int k = 0; k < this.fieldIndex; k++) {
+			if (deSerializeMembers[k].getFieldAttribute().getFieldAliasName().equals(exceptedfield)) {
+				this.fieldIndex = k;
+				return deSerializeMembers[k];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public DeSerializeMember readFieldName(final DeSerializeMemberTable memberTable) {
+		final byte b = this.nextByte();
+		final int len = this.readStringSize(b);
+		if (len < 0) { // 键不是字符串, 跳过后按不存在的字段处理
+			this.skipValue(b);
+			return null;
+		}
+		return this.findMember(memberTable, len);
+	}
+
+}
@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.nio.ByteBuffer;
+import java.util.function.Predicate;
+
+import io.github.jcharm.common.CommonUtils;
+import io.github.jcharm.common.ConstructCreator;
+import io.github.jcharm.common.FieldAttribute;
+import io.github.jcharm.common.ObjectPool;
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.NameTable;
+import io.github.jcharm.convert.SerializeMember;
+import io.github.jcharm.convert.SerializeWriter;
+
+/**
+ * MessagePack序列化输出流.
+ * <p>
+ * 对象输出为以字段别名为键的map, 为null的字段不输出; 整数按值的大小使用最短的格式; 不输出类名, 其他语言的MessagePack库可直接读取.
+ */
+public class MsgpackSerializeWriter extends SerializeWriter {
+
+	private static final int defaultSize = 1024;
+
+	private byte[] content;
+
+	/** 编码字符串时重复使用的字符数组. */
+	private char[] chars;
+
+	/** 字节内容数组大小. */
+	protected int count;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param bs byte[]
+	 */
+	protected MsgpackSerializeWriter(final byte[] bs) {
+		this.content = bs;
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param size int
+	 */
+	public MsgpackSerializeWriter(final int size) {
+		this.content = new byte[size > 128 ? size : 128];
+	}
+
+	/**
+	 * 构造函数.
+	 */
+	public MsgpackSerializeWriter() {
+		this(MsgpackSerializeWriter.defaultSize);
+	}
+
+	/**
+	 * 创建一个存放MsgpackSerializeWriter的对象池.
+	 *
+	 * @param max 对象池存放对象的最大值
+	 * @return ObjectPool
+	 */
+	public static ObjectPool<MsgpackSerializeWriter> createPool(final int max) {
+		return new ObjectPool<MsgpackSerializeWriter>(max, new ConstructCreator<MsgpackSerializeWriter>() {
+
+			@Override
+			public MsgpackSerializeWriter construct(final Object... params) {
+				return new MsgpackSerializeWriter();
+			}
+		}, null, new Predicate<MsgpackSerializeWriter>() {
+
+			@Override
+			public boolean test(final MsgpackSerializeWriter t) {
+				return t.recycle();
+			}
+		});
+	}
+
+	/**
+	 * 输出字节数组, 总是返回副本, 字节内容数组随输出流回收到池中后会被复用.
+	 *
+	 * @return byte[]
+	 */
+	public byte[] toArray() {
+		final byte[] newdata = new byte[this.count];
+		System.arraycopy(this.content, 0, newdata, 0, this.count);
+		return newdata;
+	}
+
+	/**
+	 * 将字节内容数组包装到缓存区.
+	 *
+	 * @return ByteBuffer[]
+	 */
+	public ByteBuffer[] toBuffers() {
+		return new ByteBuffer[] { ByteBuffer.wrap(this.content, 0, this.count) };
+	}
+
+	/**
+	 * 扩充指定长度的缓冲区.
+	 *
+	 * @param len int
+	 * @return int
+	 */
+	protected int expand(final int len) {
+		final int newcount = this.count + len;
+		if (newcount <= this.content.length) {
+			return 0;
+		}
+		final byte[] newdata = new byte[Math.max((this.content.length * 3) / 2, newcount)];
+		System.arraycopy(this.content, 0, newdata, 0, this.count);
+		this.content = newdata;
+		return 0;
+	}
+
+	/**
+	 * 将一个字节输出到字节内容数组中.
+	 *
+	 * @param bt byte
+	 */
+	public void writeTo(final byte bt) {
+		this.expand(1);
+		this.content[this.count++] = bt;
+	}
+
+	/**
+	 * 将字节数值中指定位置及长度的数组输出到字节内容数组中.
+	 *
+	 * @param bts byte[]
+	 * @param start int
+	 * @param len int
+	 */
+	public void writeTo(final byte[] bts, final int start, final int len) {
+		this.expand(len);
+		System.arraycopy(bts, start, this.content, this.count, len);
+		this.count += len;
+	}
+
+	/**
+	 * 将字节数组输出到字节内容数组中.
+	 *
+	 * @param bts bytes
+	 */
+	public final void writeTo(final byte... bts) {
+		this.writeTo(bts, 0, bts.length);
+	}
+
+	/**
+	 * 是否允重复利用对象池中存储的对象.
+	 *
+	 * @return boolean
+	 */
+	protected boolean recycle() {
+		this.count = 0;
+		if (this.content.length > Math.max(MsgpackSerializeWriter.defaultSize, this.retainedSize)) {
+			this.content = new byte[MsgpackSerializeWriter.defaultSize];
+		}
+		if ((this.chars != null) && (this.chars.length > MsgpackSerializeWriter.defaultSize)) {
+			this.chars = null;
+		}
+		return true;
+	}
+
+	@Override
+	public void writeBoolean(final boolean value) {
+		this.writeTo(value ? MsgpackFormat.TRUE : MsgpackFormat.FALSE);
+	}
+
+	@Override
+	public void writeByte(final byte value) {
+		this.writeLong(value);
+	}
+
+	@Override
+	public void writeChar(final char value) {
+		this.writeLong(value);
+	}
+
+	@Override
+	public void writeShort(final short value) {
+		this.writeLong(value);
+	}
+
+	@Override
+	public void writeInt(final int value) {
+		this.writeLong(value);
+	}
+
+	@Override
+	public void writeLong(final long value) {
+		if (value >= 0) {
+			if (value < 128) {
+				this.writeTo((byte) value);
+			} else if (value < 0x100) {
+				this.writeTo(MsgpackFormat.UINT8, (byte) value);
+			} else if (value < 0x10000) {
+				this.writeTo(MsgpackFormat.UINT16, (byte) (value >> 8), (byte) value);
+			} else if (value < 0x100000000L) {
+				this.writeTo(MsgpackFormat.UINT32, (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value);
+			} else {
+				this.writeTo(MsgpackFormat.UINT64, (byte) (value >> 56), (byte) (value >> 48), (byte) (value >> 40), (byte) (value >> 32), (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value);
+			}
+		} else if (value >= -32) {
+			this.writeTo((byte) value);
+		} else if (value >= Byte.MIN_VALUE) {
+			this.writeTo(MsgpackFormat.INT8, (byte) value);
+		} else if (value >= Short.MIN_VALUE) {
+			this.writeTo(MsgpackFormat.INT16, (byte) (value >> 8), (byte) value);
+		} else if (value >= Integer.MIN_VALUE) {
+			this.writeTo(MsgpackFormat.INT32, (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value);
+		} else {
+			this.writeTo(MsgpackFormat.INT64, (byte) (value >> 56), (byte) (value >> 48), (byte) (value >> 40), (byte) (value >> 32), (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value);
+		}
+	}
+
+	@Override
+	public void writeFloat(final float value) {
+		final int bits = Float.floatToIntBits(value);
+		this.writeTo(MsgpackFormat.FLOAT32, (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits);
+	}
+
+	@Override
+	public void writeDouble(final double value) {
+		final long bits = Double.doubleToLongBits(value);
+		this.writeTo(MsgpackFormat.FLOAT64, (byte) (bits >> 56), (byte) (bits >> 48), (byte) (bits >> 40), (byte) (bits >> 32), (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits);
+	}
+
+	@Override
+	public void writeSmallString(final String value) {
+		this.writeString(value);
+	}
+
+	@Override
+	public void writeString(final String value) {
+		if (value == null) {
+			this.writeNull();
+			return;
+		}
+		final int len = value.length();
+		if ((this.chars == null) || (this.chars.length < len)) {
+			this.chars = new char[Math.max(len, 64)];
+		}
+		final byte[] bytes = CommonUtils.encodeUTF8ToBytes(value, this.chars);
+		this.writeStringHeader(bytes.length);
+		this.writeTo(bytes);
+	}
+
+	@Override
+	public void writeSmallString(final NameTable names, final int index) {
+		final byte[] bytes = names.getBytes(index);
+		this.writeStringHeader(bytes.length);
+		this.writeTo(bytes);
+	}
+
+	/**
+	 * 输出字符串的格式及UTF-8字节长度.
+	 *
+	 * @param len UTF-8字节长度
+	 */
+	protected final void writeStringHeader(final int len) {
+		if (len < 32) {
+			this.writeTo((byte) (MsgpackFormat.FIXSTR | len));
+		} else if (len < 0x100) {
+			this.writeTo(MsgpackFormat.STR8, (byte) len);
+		} else if (len < 0x10000) {
+			this.writeTo(MsgpackFormat.STR16, (byte) (len >> 8), (byte) len);
+		} else {
+			this.writeTo(MsgpackFormat.STR32, (byte) (len >> 24), (byte) (len >> 16), (byte) (len >> 8), (byte) len);
+		}
+	}
+
+	@Override
+	public void writeArrayBegin(final int size) {
+		if (size < 16) {
+			this.writeTo((byte) (MsgpackFormat.FIXARRAY | size));
+		} else if (size < 0x10000) {
+			this.writeTo(MsgpackFormat.ARRAY16, (byte) (size >> 8), (byte) size);
+		} else {
+			this.writeTo(MsgpackFormat.ARRAY32, (byte) (size >> 24), (byte) (size >> 16), (byte) (size >> 8), (byte) size);
+		}
+	}
+
+	@Override
+	public void writeArrayMark() {
+	}
+
+	@Override
+	public void writeArrayEnd() {
+	}
+
+	@Override
+	public void writeUnsizedArrayBegin() {
+		throw new ConvertException("msgpack array must begin with its size");
+	}
+
+	@Override
+	public void writeMapBegin(final int size) {
+		if (size < 16) {
+			this.writeTo((byte) (MsgpackFormat.FIXMAP | size));
+		} else if (size < 0x10000) {
+			this.writeTo(MsgpackFormat.MAP16, (byte) (size >> 8), (byte) size);
+		} else {
+			this.writeTo(MsgpackFormat.MAP32, (byte) (size >> 24), (byte) (size >> 16), (byte) (size >> 8), (byte) size);
+		}
+	}
+
+	@Override
+	public void writeMapMark() {
+	}
+
+	@Override
+	public void writeMapEnd() {
+	}
+
+	@Override
+	public void writeObjectFields(final SerializeMember[] serializeMembers, final Object obj) {
+		int size = 0; // map的长度为值不为null的字段数
+		for (final SerializeMember member : serializeMembers) {
+			final FieldAttribute attribute = member.getFieldAttribute();
+			if (attribute.getFieldType().isPrimitive() || (attribute.getFieldValue(obj) != null)) {
+				size++;
+			}
+		}
+		this.writeMapBegin(size);
+		super.writeObjectFields(serializeMembers, obj);
+	}
+
+	@Override
+	public void writeObjectEnd(final Object obj) {
+	}
+
+	@Override
+	public void writeNull() {
+		this.writeTo(MsgpackFormat.NIL);
+	}
+
+	@Override
+	public void writeFieldName(final FieldAttribute fieldAttribute) {
+		this.writeString(fieldAttribute.getFieldAliasName());
+	}
+
+	@Override
+	public void writeFieldName(final SerializeMember serializeMember) {
+		final byte[] bytes = serializeMember.getFieldNameBytes();
+		this.writeStringHeader(bytes.length);
+		this.writeTo(bytes);
+	}
+
+	@Override
+	public void writeClassName(final Class clazz) {
+	}
+
+	@Override
+	public boolean needWriteClassName() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[count=" + this.count + "]";
+	}
+
+}
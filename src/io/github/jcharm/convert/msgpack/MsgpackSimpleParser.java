@@ -0,0 +1,15 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import io.github.jcharm.convert.parser.AbstractSimpleParser;
+
+/**
+ * MessagePack格式双向序列化抽象解析器.
+ *
+ * @param <T> 序列化/反序列化数据类型
+ */
+public abstract class MsgpackSimpleParser<T> extends AbstractSimpleParser<MsgpackDeserializeReader, MsgpackSerializeWriter, T> {
+
+}
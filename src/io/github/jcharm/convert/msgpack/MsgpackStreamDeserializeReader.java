@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import io.github.jcharm.common.CommonUtils;
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.DeSerializeMember;
+import io.github.jcharm.convert.DeSerializeMemberTable;
+
+/**
+ * MessagePack Stream反序列化输入流.
+ */
+class MsgpackStreamDeserializeReader extends MsgpackByteBufferDeserializeReader {
+
+	private InputStream in;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param in InputStream
+	 */
+	protected MsgpackStreamDeserializeReader(final InputStream in) {
+		this.in = in;
+	}
+
+	@Override
+	protected boolean recycle() {
+		super.recycle(); // this.position 初始化值为-1
+		this.in = null;
+		return false;
+	}
+
+	@Override
+	protected byte nextByte() {
+		try {
+			final int b = this.in.read();
+			if (b < 0) {
+				throw new ConvertException("msgpack stream ends at position(" + this.position + ")");
+			}
+			this.position++;
+			return (byte) b;
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+	@Override
+	protected byte[] read(final int len) {
+		final byte[] bs = new byte[len];
+		try {
+			int pos = 0;
+			while (pos < len) {
+				final int n = this.in.read(bs, pos, len - pos);
+				if (n < 0) {
+					throw new ConvertException("msgpack stream ends at position(" + (this.position + pos) + ")");
+				}
+				pos += n;
+			}
+			this.position += len;
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+		return bs;
+	}
+
+	@Override
+	protected String readUTF8(final int len) {
+		return CommonUtils.decodeUTF8ToString(this.read(len), 0, len);
+	}
+
+	@Override
+	protected void skip(final long len) {
+		for (long i = 0; i < len; i++) {
+			this.nextByte();
+		}
+	}
+
+	@Override
+	protected DeSerializeMember findMember(final DeSerializeMemberTable memberTable, final int len) {
+		return MsgpackDeserializeReader.findMember(memberTable, this.read(len), 0, len);
+	}
+
+}
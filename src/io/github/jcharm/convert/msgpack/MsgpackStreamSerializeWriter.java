@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.github.jcharm.convert.ConvertException;
+
+/**
+ * MessagePack Stream序列化输出流, 内容先输出到固定大小的块中, 块写满或调用flush时批量写入OutputStream.
+ */
+class MsgpackStreamSerializeWriter extends MsgpackByteBufferSerializeWriter {
+
+	private static final int chunkSize = 8192;
+
+	private OutputStream out;
+
+	private final byte[] chunk = new byte[MsgpackStreamSerializeWriter.chunkSize];
+
+	private int chunkCount;
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param out OutputStream
+	 */
+	protected MsgpackStreamSerializeWriter(final OutputStream out) {
+		super(null);
+		this.out = out;
+	}
+
+	@Override
+	protected boolean recycle() {
+		super.recycle();
+		this.out = null;
+		this.chunkCount = 0;
+		return false;
+	}
+
+	@Override
+	public void writeTo(final byte[] chs, final int start, final int len) {
+		if (len > (this.chunk.length - this.chunkCount)) {
+			this.flush();
+			if (len > this.chunk.length) {
+				this.write(chs, start, len);
+				return;
+			}
+		}
+		System.arraycopy(chs, start, this.chunk, this.chunkCount, len);
+		this.chunkCount += len;
+	}
+
+	@Override
+	public void writeTo(final byte ch) {
+		if (this.chunkCount == this.chunk.length) {
+			this.flush();
+		}
+		this.chunk[this.chunkCount++] = ch;
+	}
+
+	/**
+	 * 将块中的内容写入OutputStream.
+	 */
+	@Override
+	public void flush() {
+		if (this.chunkCount > 0) {
+			this.write(this.chunk, 0, this.chunkCount);
+			this.chunkCount = 0;
+		}
+	}
+
+	private void write(final byte[] bs, final int start, final int len) {
+		try {
+			this.out.write(bs, start, len);
+		} catch (final IOException e) {
+			throw new ConvertException(e);
+		}
+	}
+
+}
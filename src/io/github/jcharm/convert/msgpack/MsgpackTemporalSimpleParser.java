@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.convert.msgpack;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAccessor;
+
+import io.github.jcharm.convert.ConvertException;
+
+/**
+ * LocalDate、LocalTime、LocalDateTime的MessagePack双向序列化解析器, 每个值输出为一个ISO-8601格式的str(保留纳秒), null输出为nil.
+ *
+ * @param <T> LocalDate、LocalTime或LocalDateTime
+ */
+public final class MsgpackTemporalSimpleParser<T extends TemporalAccessor> extends MsgpackSimpleParser<T> {
+
+	/** LocalDate实例. */
+	public static final MsgpackTemporalSimpleParser<LocalDate> LOCALDATE = new MsgpackTemporalSimpleParser<>(LocalDate.class);
+
+	/** LocalTime实例. */
+	public static final MsgpackTemporalSimpleParser<LocalTime> LOCALTIME = new MsgpackTemporalSimpleParser<>(LocalTime.class);
+
+	/** LocalDateTime实例. */
+	public static final MsgpackTemporalSimpleParser<LocalDateTime> LOCALDATETIME = new MsgpackTemporalSimpleParser<>(LocalDateTime.class);
+
+	private final Class<T> type;
+
+	private MsgpackTemporalSimpleParser(final Class<T> type) {
+		this.type = type;
+	}
+
+	@Override
+	public void convertTo(final MsgpackSerializeWriter out, final T value) {
+		if (value == null) {
+			out.writeNull();
+			return;
+		}
+		out.writeString(value.toString());
+	}
+
+	@Override
+	public T convertFrom(final MsgpackDeserializeReader in) {
+		final String text = in.readString();
+		if (text == null) {
+			return null;
+		}
+		try {
+			if (this.type == LocalDate.class) {
+				return this.type.cast(LocalDate.parse(text));
+			} else if (this.type == LocalTime.class) {
+				return this.type.cast(LocalTime.parse(text));
+			}
+			return this.type.cast(LocalDateTime.parse(text));
+		} catch (final DateTimeException e) {
+			throw new ConvertException("invalid msgpack " + this.type.getSimpleName() + " value '" + text + "'", e);
+		}
+	}
+
+}
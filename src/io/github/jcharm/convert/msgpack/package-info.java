@@ -0,0 +1,4 @@
+/**
+ * MessagePack的序列化及反序列化实现包.
+ */
+package io.github.jcharm.convert.msgpack;
@@ -3,11 +3,15 @@
  */
 package io.github.jcharm.convert.parser;
 
+import io.github.jcharm.convert.ConvertException;
 import io.github.jcharm.convert.DeserializeReader;
+import io.github.jcharm.convert.NameTable;
 import io.github.jcharm.convert.SerializeWriter;
 
 /**
  * Enum的双向序列化解析器.
+ * <p>
+ * 名称模式下按枚举常量的toString()输出, 读取时用原始字符或字节在预先计算的名称表中匹配, 不创建String; 序号模式(见ConvertColumn.ordinal)下按ordinal()输出short值, null输出-1.
  *
  * @param <R> 反序列化输入流
  * @param <W> 序列化输出流
@@ -17,31 +21,68 @@ public final class EnumSimpleParser<R extends DeserializeReader, W extends Seria
 
 	private final Class<T> type;
 
+	private final T[] constants;
+
+	private final NameTable names;
+
+	private final boolean ordinal;
+
 	/**
 	 * 构造函数.
 	 *
 	 * @param type Class<T>
 	 */
 	public EnumSimpleParser(final Class<T> type) {
+		this(type, false);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param type Class<T>
+	 * @param ordinal 是否按序号双向序列化
+	 */
+	public EnumSimpleParser(final Class<T> type, final boolean ordinal) {
 		this.type = type;
+		this.ordinal = ordinal;
+		this.constants = type.getEnumConstants();
+		final String[] strs = new String[this.constants.length];
+		for (int i = 0; i < strs.length; i++) {
+			strs[i] = this.constants[i].toString();
+		}
+		this.names = new NameTable(strs);
+	}
+
+	/**
+	 * 是否按序号双向序列化.
+	 *
+	 * @return boolean
+	 */
+	public boolean isOrdinal() {
+		return this.ordinal;
 	}
 
 	@Override
 	public void convertTo(final W out, final T value) {
-		if (value == null) {
+		if (this.ordinal) {
+			out.writeShort(value == null ? -1 : (short) value.ordinal());
+		} else if (value == null) {
 			out.writeNull();
 		} else {
-			out.writeSmallString(value.toString());
+			out.writeSmallString(this.names, value.ordinal());
 		}
 	}
 
 	@Override
 	public T convertFrom(final R in) {
-		final String value = in.readSmallString();
-		if (value == null) {
+		final int index = this.ordinal ? in.readShort() : in.readSmallString(this.names);
+		if (index == DeserializeReader.SIGN_NULL) {
 			return null;
 		}
-		return (T) Enum.valueOf(this.type, value);
+		if ((index < 0) || (index >= this.constants.length)) {
+			throw new ConvertException("(" + this.type.getName() + ") has no such enum constant" + (this.ordinal ? " (ordinal = " + index + ")" : ""));
+		}
+		return this.constants[index];
 	}
 
 }
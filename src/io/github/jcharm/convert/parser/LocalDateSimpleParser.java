@@ -3,14 +3,18 @@
  */
 package io.github.jcharm.convert.parser;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import io.github.jcharm.convert.ConvertException;
 import io.github.jcharm.convert.DeserializeReader;
 import io.github.jcharm.convert.SerializeWriter;
 
 /**
  * LocalDate的双向序列化解析器.
+ * <p>
+ * 按ISO_LOCAL_DATE格式输出, 年份在0-9999之间时直接按位置写入字符, 不经过DateTimeFormatter和中间字符串; 格式错误时抛出ConvertException.
  *
  * @param <R> 反序列化输入流
  * @param <W> 序列化输出流
@@ -22,16 +26,51 @@ public final class LocalDateSimpleParser<R extends DeserializeReader, W extends
 
 	@Override
 	public void convertTo(final W out, final LocalDate value) {
-		out.writeSmallString(value.format(DateTimeFormatter.ISO_LOCAL_DATE));
+		final char[] chars = new char[10];
+		final int len = LocalDateSimpleParser.writeDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), chars, 0);
+		if (len < 0) { // 年份超出yyyy的范围
+			out.writeSmallString(value.format(DateTimeFormatter.ISO_LOCAL_DATE));
+			return;
+		}
+		out.writeSmallString(chars, 0, len);
 	}
 
 	@Override
 	public LocalDate convertFrom(final R in) {
-		try {
-			return LocalDate.parse(in.readSmallString());
-		} catch (final Exception e) {
+		final String text = in.readSmallString();
+		if (text == null) {
 			return null;
 		}
+		try {
+			return LocalDate.parse(text);
+		} catch (final DateTimeException e) {
+			throw new ConvertException("illegal LocalDate value (" + text + ")", e);
+		}
+	}
+
+	/**
+	 * 按yyyy-MM-dd输出, 年份不在0-9999之间时返回-1.
+	 */
+	static int writeDate(final int year, final int month, final int day, final char[] chars, int pos) {
+		if ((year < 0) || (year > 9999)) {
+			return -1;
+		}
+		pos = LocalDateSimpleParser.writeDigits(year, 4, chars, pos);
+		chars[pos++] = '-';
+		pos = LocalDateSimpleParser.writeDigits(month, 2, chars, pos);
+		chars[pos++] = '-';
+		return LocalDateSimpleParser.writeDigits(day, 2, chars, pos);
+	}
+
+	/**
+	 * 输出指定个数的十进制数字, 不足时前面补0.
+	 */
+	static int writeDigits(int value, final int size, final char[] chars, final int pos) {
+		for (int i = (pos + size) - 1; i >= pos; i--) {
+			chars[i] = (char) ('0' + (value % 10));
+			value /= 10;
+		}
+		return pos + size;
 	}
 
 }
@@ -3,14 +3,18 @@
  */
 package io.github.jcharm.convert.parser;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import io.github.jcharm.convert.ConvertException;
 import io.github.jcharm.convert.DeserializeReader;
 import io.github.jcharm.convert.SerializeWriter;
 
 /**
  * LocalDateTime的双向序列化解析器.
+ * <p>
+ * 按yyyy-MM-dd HH:mm:ss格式输出, 年份在1-9999之间时直接按位置写入字符, 不经过DateTimeFormatter和中间字符串; 格式错误时抛出ConvertException.
  *
  * @param <R> 反序列化输入流
  * @param <W> 序列化输出流
@@ -20,18 +24,31 @@ public final class LocalDateTimeSimpleParser<R extends DeserializeReader, W exte
 	/** 实例对象. */
 	public static final LocalDateTimeSimpleParser INSTANCE = new LocalDateTimeSimpleParser();
 
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
 	@Override
 	public void convertTo(final W out, final LocalDateTime value) {
-		out.writeSmallString(value.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+		final char[] chars = new char[19];
+		int len = value.getYear() > 0 ? LocalDateSimpleParser.writeDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), chars, 0) : -1;
+		if (len < 0) { // 年份超出yyyy的范围, yyyy按纪元年份输出
+			out.writeSmallString(value.format(LocalDateTimeSimpleParser.FORMATTER));
+			return;
+		}
+		chars[len++] = ' ';
+		out.writeSmallString(chars, 0, LocalTimeSimpleParser.writeTime(value.getHour(), value.getMinute(), value.getSecond(), 0, chars, len));
 	}
 
 	@Override
 	public LocalDateTime convertFrom(final R in) {
-		try {
-			return LocalDateTime.parse(in.readSmallString(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-		} catch (final Exception e) {
+		final String text = in.readSmallString();
+		if (text == null) {
 			return null;
 		}
+		try {
+			return LocalDateTime.parse(text, LocalDateTimeSimpleParser.FORMATTER);
+		} catch (final DateTimeException e) {
+			throw new ConvertException("illegal LocalDateTime value (" + text + ")", e);
+		}
 	}
 
 }
@@ -3,14 +3,17 @@
  */
 package io.github.jcharm.convert.parser;
 
+import java.time.DateTimeException;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 
+import io.github.jcharm.convert.ConvertException;
 import io.github.jcharm.convert.DeserializeReader;
 import io.github.jcharm.convert.SerializeWriter;
 
 /**
  * LocalTime的双向序列化解析器.
+ * <p>
+ * 按ISO_LOCAL_TIME格式输出, 直接按位置写入字符, 不经过DateTimeFormatter和中间字符串; 格式错误时抛出ConvertException.
  *
  * @param <R> 反序列化输入流
  * @param <W> 序列化输出流
@@ -22,16 +25,42 @@ public final class LocalTimeSimpleParser<R extends DeserializeReader, W extends
 
 	@Override
 	public void convertTo(final W out, final LocalTime value) {
-		out.writeSmallString(value.format(DateTimeFormatter.ISO_LOCAL_TIME));
+		final char[] chars = new char[18];
+		out.writeSmallString(chars, 0, LocalTimeSimpleParser.writeTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano(), chars, 0));
 	}
 
 	@Override
 	public LocalTime convertFrom(final R in) {
-		try {
-			return LocalTime.parse(in.readSmallString());
-		} catch (final Exception e) {
+		final String text = in.readSmallString();
+		if (text == null) {
 			return null;
 		}
+		try {
+			return LocalTime.parse(text);
+		} catch (final DateTimeException e) {
+			throw new ConvertException("illegal LocalTime value (" + text + ")", e);
+		}
+	}
+
+	/**
+	 * 按HH:mm:ss输出, 纳秒不为0时再输出去掉末尾0的小数部分.
+	 */
+	static int writeTime(final int hour, final int minute, final int second, int nano, final char[] chars, int pos) {
+		pos = LocalDateSimpleParser.writeDigits(hour, 2, chars, pos);
+		chars[pos++] = ':';
+		pos = LocalDateSimpleParser.writeDigits(minute, 2, chars, pos);
+		chars[pos++] = ':';
+		pos = LocalDateSimpleParser.writeDigits(second, 2, chars, pos);
+		if (nano != 0) {
+			int size = 9;
+			while ((nano % 10) == 0) {
+				nano /= 10;
+				size--;
+			}
+			chars[pos++] = '.';
+			pos = LocalDateSimpleParser.writeDigits(nano, size, chars, pos);
+		}
+		return pos;
 	}
 
 }
@@ -5,6 +5,7 @@ package io.github.jcharm.convert.parser;
 
 import io.github.jcharm.convert.DeserializeReader;
 import io.github.jcharm.convert.SerializeWriter;
+import io.github.jcharm.convert.StringInternTable;
 
 /**
  * String的双向序列化解析器.
@@ -17,6 +18,24 @@ public final class StringSimpleParser<R extends DeserializeReader, W extends Ser
 	/** 实例对象. */
 	public static final StringSimpleParser INSTANCE = new StringSimpleParser();
 
+	private final StringInternTable internTable;
+
+	/**
+	 * 构造函数.
+	 */
+	public StringSimpleParser() {
+		this(null);
+	}
+
+	/**
+	 * 构造函数.
+	 *
+	 * @param internTable 反序列化时使用的字符串去重表, 为null表示不去重
+	 */
+	public StringSimpleParser(final StringInternTable internTable) {
+		this.internTable = internTable;
+	}
+
 	@Override
 	public void convertTo(final W out, final String value) {
 		out.writeString(value);
@@ -24,7 +43,7 @@ public final class StringSimpleParser<R extends DeserializeReader, W extends Ser
 
 	@Override
 	public String convertFrom(final R in) {
-		return in.readString();
+		return this.internTable == null ? in.readString() : in.readString(this.internTable);
 	}
 
 }
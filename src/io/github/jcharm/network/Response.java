@@ -8,6 +8,11 @@ import java.nio.channels.CompletionHandler;
 import java.time.LocalDateTime;
 import java.util.function.BiConsumer;
 
+import io.github.jcharm.convert.bson.BsonByteBufferSerializeWriter;
+import io.github.jcharm.convert.bson.BsonConvert;
+import io.github.jcharm.convert.json.JsonConvert;
+import io.github.jcharm.convert.json.JsonSerializeWriter;
+
 /**
  * Response抽象类.
  *
@@ -249,6 +254,54 @@ public abstract class Response<C extends Context, R extends Request<C>> {
 		this.asyncConnection.write(byteBuffers, byteBuffers, this.finishHandlerTwo);
 	}
 
+	/**
+	 * 将对象序列化为JSON按响应结果输出, 直接输出到Context的ByteBuffer池中的ByteBuffer, 写完后由写操作的回调放回ByteBuffer池.
+	 *
+	 * @param obj Object
+	 */
+	public void finishJson(final Object obj) {
+		final JsonConvert convert = this.context.getJsonConvert();
+		final JsonSerializeWriter out = convert.pollJsonWriter(this.context.getCharset(), this.context.getBufferSupplier());
+		try {
+			convert.convertTo(out, obj);
+		} catch (final RuntimeException e) {
+			this.offerBuffers(out.toBuffers());
+			throw e;
+		}
+		this.finishBuffers(out.toBuffers());
+	}
+
+	/**
+	 * 将对象序列化为BSON按响应结果输出, 直接输出到Context的ByteBuffer池中的ByteBuffer, 写完后由写操作的回调放回ByteBuffer池.
+	 *
+	 * @param obj Object
+	 */
+	public void finishBson(final Object obj) {
+		final BsonConvert convert = this.context.getBsonConvert();
+		final BsonByteBufferSerializeWriter out = convert.pollBsonSerializeWriter(this.context.getBufferSupplier());
+		try {
+			convert.convertTo(out, obj);
+		} catch (final RuntimeException e) {
+			this.offerBuffers(out.toBuffers());
+			throw e;
+		}
+		this.finishBuffers(out.toBuffers());
+	}
+
+	private void finishBuffers(final ByteBuffer[] byteBuffers) {
+		if (byteBuffers.length == 1) {
+			this.finish(byteBuffers[0]);
+		} else {
+			this.finish(byteBuffers);
+		}
+	}
+
+	private void offerBuffers(final ByteBuffer[] byteBuffers) {
+		for (final ByteBuffer buffer : byteBuffers) {
+			this.context.offerBuffer(buffer);
+		}
+	}
+
 	/**
 	 * 发送数据.
 	 *
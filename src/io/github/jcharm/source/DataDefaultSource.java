@@ -18,6 +18,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -899,6 +900,11 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 	}
 
 	private <T> void update(final Connection conn, final EntityInfo<T> info, final T... values) {
+		final EntityCache<T> cache = info.getCache();
+		final T[] changes = cache == null ? values : DataDefaultSource.changedValues(cache, values);
+		if (changes.length == 0) {
+			return;
+		}
 		try {
 			final Class clazz = info.getType();
 			if (!info.isVirtualEntity()) {
@@ -910,7 +916,7 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 				final FieldAttribute<T, Serializable>[] attrs = info.updateAttributes;
 				String[] sqls = null;
 				if (this.writeListener == null) {
-					for (final T value : values) {
+					for (final T value : changes) {
 						int i = 0;
 						for (final FieldAttribute<T, Serializable> attr : attrs) {
 							prestmt.setObject(++i, attr.getFieldValue(value));
@@ -920,10 +926,10 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 					}
 				} else {
 					final char[] sqlchars = info.updateSQL.toCharArray();
-					sqls = new String[values.length];
+					sqls = new String[changes.length];
 					final CharSequence[] ps = new CharSequence[attrs.length];
 					int index = 0;
-					for (final T value : values) {
+					for (final T value : changes) {
 						int i = 0;
 						for (final FieldAttribute<T, Serializable> attr : attrs) {
 							final Object a = attr.getFieldValue(value);
@@ -950,21 +956,39 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 					this.writeListener.update(sqls);
 				}
 			}
-			final EntityCache<T> cache = info.getCache();
 			if (cache == null) {
 				return;
 			}
-			for (final T value : values) {
+			for (final T value : changes) {
 				cache.update(value);
 			}
 			if (this.cacheListener != null) {
-				this.cacheListener.updateCache(clazz, values);
+				this.cacheListener.updateCache(clazz, changes);
 			}
 		} catch (final SQLException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	/**
+	 * 过滤掉与缓存中同一主键值的对象相同的对象, 这些对象无需更新.
+	 *
+	 * @param <T> Entity类泛型
+	 * @param cache EntityCache
+	 * @param values T[]
+	 * @return 需要更新的对象, 都需要更新时返回values
+	 */
+	private static <T> T[] changedValues(final EntityCache<T> cache, final T[] values) {
+		final T[] rs = Arrays.copyOf(values, values.length);
+		int count = 0;
+		for (final T value : values) {
+			if (cache.diff(value) != 0) {
+				rs[count++] = value;
+			}
+		}
+		return count == values.length ? values : Arrays.copyOf(rs, count);
+	}
+
 	private <T> void updateColumn(final Connection conn, final EntityInfo<T> info, final Serializable id, final String column, final Serializable value) {
 		try {
 			if (!info.isVirtualEntity()) {
@@ -1006,11 +1030,16 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 			final Serializable id = info.getPrimary().getFieldValue(bean);
 			final List<FieldAttribute<T, Serializable>> attrs = new ArrayList<>();
 			final boolean virtual = info.isVirtualEntity();
+			final EntityCache<T> cache = info.getCache();
+			final long mask = cache == null ? -1 : cache.diff(bean);
 			for (final String col : columns) {
 				final FieldAttribute<T, Serializable> attr = info.getUpdateAttribute(col);
 				if (attr == null) {
 					continue;
 				}
+				if ((cache != null) && !cache.isChanged(mask, col)) { // 与缓存中的值相同的字段无需更新
+					continue;
+				}
 				attrs.add(attr);
 				if (!virtual) {
 					if (setsql.length() > 0) {
@@ -1019,6 +1048,9 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 					setsql.append(info.getSQLColumn(null, col)).append(" = ").append(FilterBuild.formatToString(attr.getFieldValue(bean)));
 				}
 			}
+			if (attrs.isEmpty()) {
+				return;
+			}
 			if (!virtual) {
 				final String sql = "UPDATE " + info.getTable() + " SET " + setsql + " WHERE " + info.getPrimarySQLColumn() + " = " + FilterBuild.formatToString(id);
 				if (this.debug.get()) {
@@ -1031,7 +1063,6 @@ public final class DataDefaultSource implements DataSource, Function<Class, Enti
 					this.writeListener.update(sql);
 				}
 			}
-			final EntityCache<T> cache = info.getCache();
 			if (cache == null) {
 				return;
 			}
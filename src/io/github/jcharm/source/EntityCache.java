@@ -26,6 +26,7 @@ import java.util.stream.Stream;
 import io.github.jcharm.common.ConstructCreator;
 import io.github.jcharm.common.FieldAttribute;
 import io.github.jcharm.common.ObjectCopy;
+import io.github.jcharm.common.ObjectDiffCopy;
 import io.github.jcharm.source.annotation.EntityColumn;
 import io.github.jcharm.source.annotation.EntityTransient;
 
@@ -53,7 +54,9 @@ public final class EntityCache<T> {
 
 	private final ObjectCopy<T, T> newReproduce;
 
-	private final ObjectCopy<T, T> chgReproduce;
+	private final ObjectDiffCopy<T, T> chgReproduce;
+
+	private final String[] chgColumns;
 
 	private volatile boolean fullloaded;
 
@@ -78,7 +81,7 @@ public final class EntityCache<T> {
 				return true;
 			}
 		});
-		this.chgReproduce = ObjectCopy.create(this.type, this.type, (m) -> {
+		this.chgReproduce = ObjectDiffCopy.create(this.type, this.type, (m) -> {
 			try {
 				final Field field = this.type.getDeclaredField(m);
 				if (field.getAnnotation(EntityTransient.class) != null) {
@@ -93,6 +96,7 @@ public final class EntityCache<T> {
 				return true;
 			}
 		});
+		this.chgColumns = this.chgReproduce.getColumns();
 	}
 
 	/**
@@ -541,19 +545,53 @@ public final class EntityCache<T> {
 	}
 
 	/**
-	 * 更新缓存.
+	 * 更新缓存, 只拷贝值改变的字段.
 	 *
 	 * @param value T
+	 * @return 改变字段的位掩码(见isChanged), 缓存中不存在或没有字段改变时为0
 	 */
-	public void update(final T value) {
+	public long update(final T value) {
 		if (value == null) {
-			return;
+			return 0;
 		}
 		final T rs = this.map.get(this.primary.getFieldValue(value));
 		if (rs == null) {
-			return;
+			return 0;
+		}
+		return this.chgReproduce.diffCopy(rs, value);
+	}
+
+	/**
+	 * 比较对象与缓存中同一主键值的对象, 不修改缓存.
+	 *
+	 * @param value T
+	 * @return 值不同的字段的位掩码(见isChanged), 没有不同时为0, 缓存中不存在时为-1(所有字段都视为已改变)
+	 */
+	public long diff(final T value) {
+		if (value == null) {
+			return 0;
+		}
+		final T rs = this.map.get(this.primary.getFieldValue(value));
+		if (rs == null) {
+			return -1;
+		}
+		return this.chgReproduce.diff(rs, value);
+	}
+
+	/**
+	 * 判断字段在update、diff返回的位掩码中是否已改变, 不参与比较的字段(如不可更新的字段)总是视为已改变.
+	 *
+	 * @param mask 位掩码
+	 * @param column 字段名
+	 * @return boolean
+	 */
+	public boolean isChanged(final long mask, final String column) {
+		for (int i = 0; i < this.chgColumns.length; i++) {
+			if (this.chgColumns[i].equals(column)) {
+				return (mask & ObjectDiffCopy.columnBit(i)) != 0;
+			}
 		}
-		this.chgReproduce.copy(rs, value);
+		return true;
 	}
 
 	/**
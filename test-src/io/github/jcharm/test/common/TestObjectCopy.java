@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.test.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.jcharm.common.ObjectDiffCopy;
+
+/**
+ * ObjectCopy测试类.
+ */
+public class TestObjectCopy {
+
+	/**
+	 * Test diff copy.
+	 */
+	@Test
+	public void testDiffCopy() {
+		final ObjectDiffCopy<SimpleBean, SimpleBean> copy = ObjectDiffCopy.create(SimpleBean.class, SimpleBean.class, (c) -> !"testXieBie".equals(c));
+		final List<String> columns = Arrays.asList(copy.getColumns());
+		System.out.println("参与拷贝的字段: " + columns);
+		Assert.assertFalse(columns.contains("testXieBie"));
+		final SimpleBean dest = new SimpleBean("DanielWang", 28, false);
+		dest.setTestDouble(Double.NaN);
+		final SimpleBean src = new SimpleBean("DanielWang", 28, true);
+		src.setTestDouble(Double.NaN);
+		Assert.assertEquals(0, copy.diffCopy(dest, src));
+		src.setTestAge(40);
+		src.setTestName("Wang Wei");
+		final long mask = ObjectDiffCopy.columnBit(columns.indexOf("testAge")) | ObjectDiffCopy.columnBit(columns.indexOf("testName"));
+		Assert.assertEquals(mask, copy.diff(dest, src));
+		Assert.assertEquals(28, dest.getTestAge());
+		Assert.assertEquals(mask, copy.diffCopy(dest, src));
+		Assert.assertEquals(40, dest.getTestAge());
+		Assert.assertEquals("Wang Wei", dest.getTestName());
+		Assert.assertFalse(dest.isTestXieBie());
+		Assert.assertEquals(0, copy.diff(dest, src));
+	}
+
+}
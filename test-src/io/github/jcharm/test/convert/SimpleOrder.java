@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.test.convert;
+
+import io.github.jcharm.convert.ConvertType;
+import io.github.jcharm.convert.annotation.ConvertColumn;
+import io.github.jcharm.convert.json.JsonDocument;
+
+/**
+ * The Class SimpleOrder.
+ */
+public class SimpleOrder {
+
+	/**
+	 * The Enum Status.
+	 */
+	public enum Status {
+
+		/** The created. */
+		CREATED,
+
+		/** The paid. */
+		PAID,
+
+		/** The shipped. */
+		SHIPPED
+	}
+
+	private Status status;
+
+	@ConvertColumn(ordinal = true, type = ConvertType.BSON)
+	private Status level;
+
+	@ConvertColumn(intern = true)
+	private String country;
+
+	private SimpleOrder parent;
+
+	private SimpleBook book;
+
+	@ConvertColumn(ignore = true, type = ConvertType.BSON)
+	private JsonDocument extra;
+
+	/**
+	 * Gets the status.
+	 *
+	 * @return the status
+	 */
+	public Status getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * Sets the status.
+	 *
+	 * @param status the new status
+	 */
+	public void setStatus(final Status status) {
+		this.status = status;
+	}
+
+	/**
+	 * Gets the level.
+	 *
+	 * @return the level
+	 */
+	public Status getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * Sets the level.
+	 *
+	 * @param level the new level
+	 */
+	public void setLevel(final Status level) {
+		this.level = level;
+	}
+
+	/**
+	 * Gets the country.
+	 *
+	 * @return the country
+	 */
+	public String getCountry() {
+		return this.country;
+	}
+
+	/**
+	 * Sets the country.
+	 *
+	 * @param country the new country
+	 */
+	public void setCountry(final String country) {
+		this.country = country;
+	}
+
+	/**
+	 * Gets the parent.
+	 *
+	 * @return the parent
+	 */
+	public SimpleOrder getParent() {
+		return this.parent;
+	}
+
+	/**
+	 * Sets the parent.
+	 *
+	 * @param parent the new parent
+	 */
+	public void setParent(final SimpleOrder parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Gets the book.
+	 *
+	 * @return the book
+	 */
+	public SimpleBook getBook() {
+		return this.book;
+	}
+
+	/**
+	 * Sets the book.
+	 *
+	 * @param book the new book
+	 */
+	public void setBook(final SimpleBook book) {
+		this.book = book;
+	}
+
+	/**
+	 * Gets the extra.
+	 *
+	 * @return the extra
+	 */
+	public JsonDocument getExtra() {
+		return this.extra;
+	}
+
+	/**
+	 * Sets the extra.
+	 *
+	 * @param extra the new extra
+	 */
+	public void setExtra(final JsonDocument extra) {
+		this.extra = extra;
+	}
+
+}
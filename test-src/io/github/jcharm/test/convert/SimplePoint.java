@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.test.convert;
+
+/**
+ * The Class SimplePoint.
+ */
+public class SimplePoint {
+
+	private final String name;
+
+	private final int x;
+
+	private final long y;
+
+	/**
+	 * Instantiates a new simple point.
+	 *
+	 * @param name the name
+	 * @param x the x
+	 * @param y the y
+	 */
+	public SimplePoint(final String name, final int x, final long y) {
+		this.name = name;
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * Gets the name.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the x.
+	 *
+	 * @return the x
+	 */
+	public int getX() {
+		return this.x;
+	}
+
+	/**
+	 * Gets the y.
+	 *
+	 * @return the y
+	 */
+	public long getY() {
+		return this.y;
+	}
+
+}
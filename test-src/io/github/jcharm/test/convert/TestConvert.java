@@ -3,19 +3,48 @@
  */
 package io.github.jcharm.test.convert;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.github.jcharm.common.CommonUtils;
 import io.github.jcharm.common.GenericsType;
+import io.github.jcharm.convert.AotGenerator;
+import io.github.jcharm.convert.ConvertException;
+import io.github.jcharm.convert.ConvertFactory;
+import io.github.jcharm.convert.MappedFile;
 import io.github.jcharm.convert.bson.BsonConvert;
+import io.github.jcharm.convert.bson.BsonConvertFactory;
 import io.github.jcharm.convert.json.JsonConvert;
 import io.github.jcharm.convert.json.JsonConvertFactory;
+import io.github.jcharm.convert.json.JsonDeserializeReader;
+import io.github.jcharm.convert.json.JsonDocument;
+import io.github.jcharm.convert.json.JsonProjection;
+import io.github.jcharm.convert.msgpack.MsgpackConvert;
+import io.github.jcharm.convert.msgpack.MsgpackConvertFactory;
+import io.github.jcharm.convert.msgpack.MsgpackDeserializeReader;
+import io.github.jcharm.convert.parser.IntegerArraySimpleParser;
 
 /**
  * The Class TestConvert.
@@ -107,4 +136,712 @@ public class TestConvert {
 		System.out.println(sBean.toString());
 	}
 
+	/**
+	 * Simple field name match.
+	 */
+	@Test
+	public void simpleFieldNameMatch() {
+		final String jsonStr = "{\"unknown\":{\"a\":[1,{\"b\":\"c\"}]},\"book\\u004eame\":\"十万个为什么\",\"bookPrice\":47.5}";
+		final SimpleBook jsonBook = JsonConvert.instance().convertFrom(SimpleBook.class, jsonStr);
+		Assert.assertEquals("十万个为什么", jsonBook.getBookName());
+		Assert.assertEquals(47.5, jsonBook.getBookPrice(), 0);
+		final BsonConvert convert = BsonConvert.instance();
+		final SimpleBook bsonBook = convert.convertFrom(SimpleBook.class, convert.convertTo(jsonBook));
+		Assert.assertEquals(jsonBook.getBookName(), bsonBook.getBookName());
+		Assert.assertEquals(jsonBook.getBookPrice(), bsonBook.getBookPrice(), 0);
+	}
+
+	/**
+	 * Simple json bytes convert.
+	 */
+	@Test
+	public void simpleJsonBytesConvert() {
+		final JsonConvert convert = JsonConvert.instance();
+		final String jsonStr = convert.convertTo(this.simpleBean);
+		Assert.assertEquals(jsonStr, new String(convert.convertToBytes(this.simpleBean), StandardCharsets.UTF_8));
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		convert.convertTo(out, this.simpleBean);
+		Assert.assertEquals(jsonStr, new String(out.toByteArray(), StandardCharsets.UTF_8));
+		final ByteBuffer[] buffers = convert.convertTo(() -> ByteBuffer.allocate(16), this.simpleBean);
+		final ByteArrayOutputStream bufferOut = new ByteArrayOutputStream();
+		for (final ByteBuffer buffer : buffers) {
+			bufferOut.write(buffer.array(), 0, buffer.remaining());
+		}
+		Assert.assertEquals(jsonStr, new String(bufferOut.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Simple json buffer to object.
+	 */
+	@Test
+	public void simpleJsonBufferToObject() {
+		final JsonConvert convert = JsonConvert.instance();
+		final String jsonStr = convert.convertTo(this.simpleBean);
+		final byte[] bytes = convert.convertToBytes(this.simpleBean);
+		final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length - 7);
+		direct.put(bytes, 0, bytes.length - 7).flip();
+		final SimpleBean bufferBean = convert.convertFrom(SimpleBean.class, direct, ByteBuffer.wrap(bytes, bytes.length - 7, 7));
+		Assert.assertEquals(jsonStr, convert.convertTo(bufferBean));
+		final SimpleBean streamBean = convert.convertFrom(SimpleBean.class, new ByteArrayInputStream(bytes));
+		Assert.assertEquals(jsonStr, convert.convertTo(streamBean));
+		final double[] values = convert.convertFrom(double[].class, ByteBuffer.wrap("[1.5, -2,3e2]".getBytes(StandardCharsets.UTF_8)));
+		Assert.assertArrayEquals(new double[] { 1.5, -2, 300 }, values, 0);
+	}
+
+	/**
+	 * Simple json stream to objects.
+	 */
+	@Test
+	public void simpleJsonStreamToObjects() {
+		final JsonConvert convert = JsonConvert.instance();
+		final String jsonStr = "[{\"bookName\":\"JAVA编程\",\"bookPrice\":74}, {\"bookName\":\"计算机原理\",\"bookPrice\":32},{\"bookName\":\"十万个为什么\"}]";
+		try (Stream<SimpleBook> books = convert.convertFromStream(SimpleBook.class, new ByteArrayInputStream(jsonStr.getBytes(StandardCharsets.UTF_8)))) {
+			final List<String> names = books.limit(2).map(SimpleBook::getBookName).collect(Collectors.toList());
+			Assert.assertEquals(2, names.size());
+			Assert.assertEquals("计算机原理", names.get(1));
+		}
+	}
+
+	/**
+	 * Simple bson each convert.
+	 */
+	@Test
+	public void simpleBsonEachConvert() {
+		final BsonConvert convert = BsonConvert.instance();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		convert.convertEachTo(out, SimpleBook.class, Stream.of(this.simpleBean.getSimpleBook(), null, this.simpleBean.getSimpleBook()));
+		final List<SimpleBook> books = convert.convertFrom(new GenericsType<List<SimpleBook>>() {
+		}.getType(), out.toByteArray());
+		Assert.assertEquals(3, books.size());
+		Assert.assertNull(books.get(1));
+		Assert.assertEquals(this.simpleBean.getSimpleBook().getBookName(), books.get(2).getBookName());
+	}
+
+	/**
+	 * Simple bson compact convert.
+	 */
+	@Test
+	public void simpleBsonCompactConvert() {
+		final BsonConvert convert = BsonConvert.instance().compact();
+		this.simpleBean.setName(null);
+		final byte[] bytes = convert.convertTo(this.simpleBean);
+		final SimpleBean bean = BsonConvert.instance().convertFrom(SimpleBean.class, bytes);
+		Assert.assertNull(bean.getName());
+		Assert.assertEquals(28, bean.getAge());
+		Assert.assertEquals(this.simpleBean.getBirthDate(), bean.getBirthDate());
+		Assert.assertEquals(this.simpleBean.getBooks(), bean.getBooks());
+		Assert.assertEquals(47.5, bean.getSimpleBook().getBookPrice(), 0);
+		final Type type = new GenericsType<List<SimpleBook>>() {
+		}.getType();
+		final List<SimpleBook> list = Arrays.asList(this.simpleBean.getSimpleBook(), new SimpleBook(), this.simpleBean.getSimpleBook());
+		final byte[] listBytes = convert.convertTo(type, list);
+		Assert.assertTrue(listBytes.length < BsonConvert.instance().convertTo(type, list).length);
+		final List<SimpleBook> books = BsonConvert.instance().convertFrom(type, ByteBuffer.wrap(listBytes));
+		Assert.assertEquals("十万个为什么", books.get(0).getBookName());
+		Assert.assertNull(books.get(1).getBookName());
+		for (final int age : new int[] { 1 << 30, -(1 << 30) - 1, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+			this.simpleBean.setAge(age);
+			final byte[] ageBytes = convert.convertTo(this.simpleBean);
+			Assert.assertEquals(age, BsonConvert.instance().<SimpleBean> convertFrom(SimpleBean.class, ageBytes).getAge());
+			Assert.assertEquals(age, BsonConvert.instance().<SimpleBean> convertFrom(SimpleBean.class, ByteBuffer.wrap(ageBytes)).getAge());
+		}
+	}
+
+	/**
+	 * Simple json decimal convert.
+	 */
+	@Test
+	public void simpleJsonDecimalConvert() {
+		final JsonConvert convert = JsonConvert.instance();
+		final double[] values = { 0.1, -2.5E-7, 1.0E23, 123456.789, Double.MIN_VALUE, Double.MAX_VALUE, 100 };
+		final String jsonStr = convert.convertTo(values);
+		Assert.assertEquals("[0.1,-2.5E-7,1.0E23,123456.789,4.9E-324,1.7976931348623157E308,100.0]", jsonStr);
+		Assert.assertEquals(jsonStr, new String(convert.convertToBytes(values), StandardCharsets.UTF_8));
+		Assert.assertArrayEquals(values, convert.convertFrom(double[].class, jsonStr), 0);
+		Assert.assertArrayEquals(values, convert.convertFrom(double[].class, ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8))), 0);
+		Assert.assertEquals("[3.4028235E38,1.0E-5,0.33333334]", convert.convertTo(new float[] { Float.MAX_VALUE, 1.0E-5f, 1f / 3 }));
+	}
+
+	/**
+	 * Simple json shortest decimal convert.
+	 */
+	@Test
+	public void simpleJsonShortestDecimalConvert() {
+		final JsonConvert convert = JsonConvert.instance();
+		// JDK 8的Double.toString输出为1.9999999999999998E23, 8.409999999999999E21
+		final double[] values = { 2e23, 8.41E21 };
+		Assert.assertEquals("[2.0E23,8.41E21]", convert.convertTo(values));
+		Assert.assertArrayEquals(values, convert.convertFrom(double[].class, convert.convertTo(values)), 0);
+	}
+
+	/**
+	 * Simple temporal convert.
+	 */
+	@Test
+	public void simpleTemporalConvert() {
+		final LocalDateTime dateTime = LocalDateTime.of(2016, 5, 6, 7, 8, 9, 10);
+		final JsonConvert convert = JsonConvert.instance();
+		Assert.assertEquals("[\"2016-05-06 07:08:09\"]", convert.convertTo(new LocalDateTime[] { dateTime }));
+		Assert.assertEquals("[\"07:08:09.00000001\"]", convert.convertTo(new LocalTime[] { dateTime.toLocalTime() }));
+		final LocalTime[] times = convert.convertFrom(LocalTime[].class, "[\"10:15\",\"10:15:30.5\",null]");
+		Assert.assertArrayEquals(new LocalTime[] { LocalTime.of(10, 15), LocalTime.of(10, 15, 30, 500000000), null }, times);
+		final JsonConvertFactory factory = JsonConvertFactory.createFactory();
+		factory.registerTemporalPattern(LocalDate.class, "yyyy年MM月dd日");
+		final String jsonStr = factory.getConvert().convertTo(this.simpleBean);
+		Assert.assertTrue(jsonStr.contains("\"1986年01月06日\""));
+		final SimpleBean bean = factory.getConvert().convertFrom(SimpleBean.class, jsonStr);
+		Assert.assertEquals(this.simpleBean.getBirthDate(), bean.getBirthDate());
+		final BsonConvert bsonConvert = BsonConvert.instance();
+		final byte[] bytes = bsonConvert.convertTo(new LocalDateTime[] { dateTime.withNano(0) });
+		Assert.assertArrayEquals(new LocalDateTime[] { dateTime.withNano(0) }, bsonConvert.convertFrom(LocalDateTime[].class, bytes));
+		final BsonConvertFactory bsonFactory = BsonConvertFactory.createFactory();
+		bsonFactory.registerBinaryTemporal();
+		final BsonConvert binaryConvert = bsonFactory.getConvert();
+		Assert.assertFalse(Arrays.equals(bytes, binaryConvert.convertTo(new LocalDateTime[] { dateTime.withNano(0) })));
+		final LocalDateTime[] values = binaryConvert.convertFrom(LocalDateTime[].class, binaryConvert.convertTo(new LocalDateTime[] { dateTime, LocalDateTime.MIN, LocalDateTime.MAX }));
+		Assert.assertArrayEquals(new LocalDateTime[] { dateTime, LocalDateTime.MIN, LocalDateTime.MAX }, values);
+		final SimpleBean binaryBean = binaryConvert.convertFrom(SimpleBean.class, binaryConvert.compact().convertTo(this.simpleBean));
+		Assert.assertEquals(this.simpleBean.getBirthDate(), binaryBean.getBirthDate());
+	}
+
+	/**
+	 * Simple json skip value.
+	 */
+	@Test
+	public void simpleJsonSkipValue() {
+		final JsonConvert convert = JsonConvert.instance();
+		final String jsonStr = "{\"tags\":[{\"a\":\"x\\\"]}{[\"},[[],{}]],\"bookName\":\"JAVA编程\",\"note\":'}',\"bookPrice\":74,\"rank\":-1.5e3}";
+		final SimpleBook book = convert.convertFrom(SimpleBook.class, jsonStr);
+		Assert.assertEquals("JAVA编程", book.getBookName());
+		final SimpleBook bufferBook = convert.convertFrom(SimpleBook.class, ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8)));
+		Assert.assertEquals(book.getBookPrice(), bufferBook.getBookPrice(), 0);
+		final JsonDeserializeReader reader = new JsonDeserializeReader("{\"id\":1,\"data\":{\"name\":\"a]\",\"items\":[1,2,3]}}");
+		reader.seek("data.items");
+		Assert.assertArrayEquals(new int[] { 1, 2, 3 }, IntegerArraySimpleParser.INSTANCE.convertFrom(reader));
+	}
+
+	/**
+	 * Simple json projection.
+	 */
+	@Test
+	public void simpleJsonProjection() {
+		final JsonConvert convert = JsonConvert.instance();
+		final String jsonStr = "{\"route\":{\"region\":\"cn-east\",\"weight\":3},\"books\":[{\"bookName\":\"JAVA编程\"},{\"bookName\":\"计算机原理\",\"bookPrice\":32}],\"tail\":[[1,2],[3,4]]}";
+		final JsonProjection projection = new JsonProjection().path("route.region", String.class).path("books[1]", SimpleBook.class).path("tail[1][0]", int.class).path("route.missing", String.class);
+		final Object[] values = convert.extract(new ByteBuffer[] { ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8)) }, projection);
+		Assert.assertEquals("cn-east", values[0]);
+		Assert.assertEquals("计算机原理", ((SimpleBook) values[1]).getBookName());
+		Assert.assertEquals(3, values[2]);
+		Assert.assertNull(values[3]);
+		final Object[] textValues = convert.extract(jsonStr, projection);
+		Assert.assertEquals(values[0], textValues[0]);
+		Assert.assertEquals(values[2], textValues[2]);
+	}
+
+	/**
+	 * Simple msgpack convert.
+	 */
+	@Test
+	public void simpleMsgpackConvert() {
+		final MsgpackConvert convert = MsgpackConvert.instance();
+		Assert.assertArrayEquals(new byte[] { (byte) 0x93, 0x01, (byte) 0xcd, 0x01, 0x2c, (byte) 0xfb }, convert.convertTo(new int[] { 1, 300, -5 }));
+		final byte[] bytes = convert.convertTo(this.simpleBean);
+		final SimpleBean bean = convert.convertFrom(SimpleBean.class, bytes);
+		Assert.assertEquals(28, bean.getAge());
+		Assert.assertEquals(this.simpleBean.getBirthDate(), bean.getBirthDate());
+		Assert.assertEquals(this.simpleBean.getHobbies(), bean.getHobbies());
+		Assert.assertEquals(this.simpleBean.getBooks(), bean.getBooks());
+		Assert.assertEquals(47.5, bean.getSimpleBook().getBookPrice(), 0);
+		final SimpleBean bufferBean = convert.convertFrom(SimpleBean.class, ByteBuffer.wrap(bytes));
+		Assert.assertEquals("十万个为什么", bufferBean.getSimpleBook().getBookName());
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		convert.convertTo(out, this.simpleBean);
+		Assert.assertArrayEquals(bytes, out.toByteArray());
+		final SimpleBean streamBean = convert.convertFrom(SimpleBean.class, new ByteArrayInputStream(out.toByteArray()));
+		Assert.assertEquals(this.simpleBean.getBooks(), streamBean.getBooks());
+		final SimpleBook book = convert.convertFrom(SimpleBook.class, bytes); // 不存在的字段全部跳过
+		Assert.assertNull(book.getBookName());
+	}
+
+	/**
+	 * Simple json parallel convert.
+	 */
+	@Test
+	public void simpleJsonParallelConvert() {
+		final List<SimpleBook> list = new ArrayList();
+		for (int i = 0; i < 500; i++) {
+			final SimpleBook book = new SimpleBook();
+			book.setBookName("第" + i + "本 \"],[{\\");
+			book.setBookPrice(i);
+			list.add(book);
+		}
+		final Type type = new GenericsType<List<SimpleBook>>() {
+		}.getType();
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			final JsonConvert convert = JsonConvert.instance().parallel(0, pool);
+			Assert.assertSame(convert, JsonConvert.instance().parallel(0, pool));
+			final String jsonStr = convert.convertTo(type, list);
+			final List<SimpleBook> books = convert.convertFrom(type, jsonStr);
+			Assert.assertEquals(500, books.size());
+			Assert.assertEquals(list.get(321).getBookName(), books.get(321).getBookName());
+			Assert.assertEquals(499, books.get(499).getBookPrice(), 0);
+			final SimpleBook[] array = convert.convertFrom(SimpleBook[].class, ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8)));
+			Assert.assertEquals(jsonStr, convert.convertTo(array));
+			Assert.assertEquals(0, convert.<SimpleBook[]> convertFrom(SimpleBook[].class, " [ ] ").length);
+			Assert.assertNull(convert.convertFrom(type, "null"));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Simple mapped file convert.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void simpleMappedFileConvert() throws IOException {
+		final Path path = Files.createTempFile("jcharm", ".dat");
+		try {
+			JsonConvert.instance().convertTo(path, this.simpleBean);
+			Assert.assertEquals(JsonConvert.instance().convertTo(this.simpleBean), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+			final SimpleBean jsonBean = JsonConvert.instance().convertFrom(SimpleBean.class, path);
+			Assert.assertEquals(this.simpleBean.getBooks(), jsonBean.getBooks());
+			BsonConvert.instance().convertTo(path, this.simpleBean);
+			Assert.assertArrayEquals(BsonConvert.instance().convertTo(this.simpleBean), Files.readAllBytes(path));
+			final SimpleBean bsonBean = BsonConvert.instance().convertFrom(SimpleBean.class, path);
+			Assert.assertEquals(this.simpleBean.getHobbies(), bsonBean.getHobbies());
+			try (MappedFile file = MappedFile.forRead(path, 5)) {
+				final SimpleBean windowBean = BsonConvert.instance().convertFrom(SimpleBean.class, file.getAll());
+				Assert.assertEquals(47.5, windowBean.getSimpleBook().getBookPrice(), 0);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Simple convert pool counter.
+	 */
+	@Test
+	public void simpleConvertPoolCounter() {
+		final JsonConvert convert = JsonConvertFactory.createFactory().getConvert();
+		convert.setRetainedBufferSize(64 * 1024);
+		final String jsonStr = convert.convertTo(this.simpleBean);
+		Assert.assertEquals(jsonStr, convert.convertTo(this.simpleBean));
+		Assert.assertEquals(1, convert.getCreatCounter().get());
+		Assert.assertEquals(2, convert.getCycleCounter().get());
+		Assert.assertEquals(this.simpleBean.getBooks(), convert.<SimpleBean> convertFrom(SimpleBean.class, jsonStr).getBooks());
+		Assert.assertEquals(2, convert.getCreatCounter().get());
+	}
+
+	/**
+	 * Simple aot generator.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void simpleAotGenerator() throws IOException {
+		final Path dir = Files.createTempDirectory("jcharm");
+		try {
+			final String hostName = SimpleBook.class.getName().replace('.', '/');
+			final Path host = dir.resolve(hostName + ".class");
+			Files.createDirectories(host.getParent());
+			Files.copy(SimpleBook.class.getResourceAsStream("/" + hostName + ".class"), host);
+			final int count = AotGenerator.generate(dir, Arrays.asList(SimpleBook.class, SimpleBean.class));
+			Assert.assertTrue(count > 0);
+			try (Stream<Path> stream = Files.walk(dir)) {
+				Assert.assertEquals(count + 1, stream.filter((p) -> p.toString().endsWith(".class")).count());
+			}
+		} finally {
+			try (Stream<Path> stream = Files.walk(dir)) {
+				stream.sorted((a, b) -> b.compareTo(a)).forEach((p) -> p.toFile().delete());
+			}
+		}
+	}
+
+	/**
+	 * Simple convert factory preload.
+	 */
+	@Test
+	public void simpleConvertFactoryPreload() {
+		final JsonConvertFactory factory = JsonConvertFactory.createFactory();
+		factory.preload(Arrays.asList(SimpleBean.class, SimpleBook[].class));
+		Assert.assertSame(factory.loadSerializeParser(SimpleBean.class), factory.loadSerializeParser(SimpleBean.class));
+		final String jsonStr = factory.getConvert().convertTo(this.simpleBean);
+		final JsonConvert convert = JsonConvertFactory.createFactory().getConvert();
+		final List<String> results = Stream.generate(() -> this.simpleBean).limit(64).parallel().map((b) -> convert.convertTo(b)).collect(Collectors.toList());
+		for (final String result : results) {
+			Assert.assertEquals(jsonStr, result);
+		}
+	}
+
+	/**
+	 * Simple child factory parser cache.
+	 */
+	@Test
+	public void simpleChildFactoryParserCache() {
+		final JsonConvertFactory factory = JsonConvertFactory.createFactory();
+		final ConvertFactory child = factory.createChildFactory();
+		Assert.assertSame(factory.loadSerializeParser(SimpleBook.class), child.loadSerializeParser(SimpleBook.class));
+		factory.reloadParser(SimpleBook.class);
+		Assert.assertSame(factory.loadSerializeParser(SimpleBook.class), child.loadSerializeParser(SimpleBook.class));
+		Assert.assertSame(factory.loadDeSerializeParser(SimpleBook.class), child.loadDeSerializeParser(SimpleBook.class));
+		final String jsonStr = ((JsonConvert) child.getConvert()).convertTo(new Object[] { this.simpleBean.getSimpleBook(), this.simpleBean.getSimpleBook() });
+		Assert.assertEquals("[{\"bookName\":\"" + this.simpleBean.getSimpleBook().getBookName() + "\",\"bookPrice\":47.5},{\"bookName\":\"" + this.simpleBean.getSimpleBook().getBookName() + "\",\"bookPrice\":47.5}]", jsonStr);
+	}
+
+	/**
+	 * Simple enum convert.
+	 */
+	@Test
+	public void simpleEnumConvert() {
+		final SimpleOrder order = new SimpleOrder();
+		order.setStatus(SimpleOrder.Status.PAID);
+		order.setLevel(SimpleOrder.Status.SHIPPED);
+		final String jsonStr = JsonConvert.instance().convertTo(order);
+		Assert.assertEquals("{\"level\":\"SHIPPED\",\"status\":\"PAID\"}", jsonStr);
+		Assert.assertEquals(SimpleOrder.Status.PAID, JsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, jsonStr).getStatus());
+		Assert.assertEquals(SimpleOrder.Status.SHIPPED, JsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8))).getLevel());
+		Assert.assertNull(JsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, "{\"status\":null}").getStatus());
+		final byte[] bytes = BsonConvert.instance().convertTo(order);
+		final SimpleOrder bsonOrder = BsonConvert.instance().convertFrom(SimpleOrder.class, bytes);
+		Assert.assertEquals(SimpleOrder.Status.PAID, bsonOrder.getStatus());
+		Assert.assertEquals(SimpleOrder.Status.SHIPPED, bsonOrder.getLevel());
+		Assert.assertEquals(SimpleOrder.Status.SHIPPED, BsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, ByteBuffer.wrap(bytes)).getLevel());
+		order.setLevel(null);
+		Assert.assertEquals(1 + 1 + "level".length() + 1 + 2, bytes.length - BsonConvert.instance().convertTo(order).length); // 序号按short输出
+	}
+
+	/**
+	 * Simple string intern convert.
+	 */
+	@Test
+	public void simpleStringInternConvert() {
+		final SimpleOrder order = new SimpleOrder();
+		order.setCountry("CN");
+		final String jsonStr = JsonConvert.instance().convertTo(order);
+		final SimpleOrder[] orders = JsonConvert.instance().convertFrom(SimpleOrder[].class, "[" + jsonStr + "," + jsonStr + "]");
+		Assert.assertEquals("CN", orders[0].getCountry());
+		Assert.assertSame(orders[0].getCountry(), orders[1].getCountry());
+		final SimpleOrder byteOrder = JsonConvert.instance().convertFrom(SimpleOrder.class, ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8)));
+		Assert.assertSame(orders[0].getCountry(), byteOrder.getCountry());
+		final byte[] bytes = BsonConvert.instance().convertTo(order);
+		final String country = BsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, bytes).getCountry(); // 每个ConvertFactory中的字段各有一个去重表
+		Assert.assertEquals("CN", country);
+		Assert.assertSame(country, BsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, ByteBuffer.wrap(bytes)).getCountry());
+		order.setCountry("中国");
+		final SimpleOrder bsonOrder = BsonConvert.instance().convertFrom(SimpleOrder.class, BsonConvert.instance().convertTo(order));
+		Assert.assertEquals("中国", bsonOrder.getCountry());
+		Assert.assertSame(bsonOrder.getCountry(), BsonConvert.instance().<SimpleOrder> convertFrom(SimpleOrder.class, BsonConvert.instance().convertTo(order)).getCountry());
+	}
+
+	/**
+	 * Simple bson reference convert.
+	 */
+	@Test
+	public void simpleBsonReferenceConvert() {
+		final SimpleOrder order = new SimpleOrder();
+		order.setBook(this.simpleBean.getSimpleBook());
+		final SimpleOrder child = new SimpleOrder();
+		child.setBook(this.simpleBean.getSimpleBook());
+		final SimpleOrder[] orders = new SimpleOrder[] { order, child, child };
+		final byte[] plainBytes = BsonConvert.instance().convertTo(orders);
+		final byte[] bytes = BsonConvert.instance().references().convertTo(orders);
+		Assert.assertTrue(bytes.length < plainBytes.length);
+		SimpleOrder[] results = BsonConvert.instance().convertFrom(SimpleOrder[].class, bytes);
+		Assert.assertEquals(this.simpleBean.getSimpleBook().getBookName(), results[0].getBook().getBookName());
+		Assert.assertSame(results[0].getBook(), results[1].getBook());
+		Assert.assertSame(results[1], results[2]);
+		Assert.assertFalse(results[0] == results[1]);
+		order.setParent(order); // 循环引用
+		child.setParent(order);
+		for (final BsonConvert convert : new BsonConvert[] { BsonConvert.instance().references(), BsonConvert.instance().compact().references() }) {
+			final byte[] cyclicBytes = convert.convertTo(orders);
+			results = convert.convertFrom(SimpleOrder[].class, ByteBuffer.wrap(cyclicBytes));
+			Assert.assertSame(results[0], results[0].getParent());
+			Assert.assertSame(results[0], results[1].getParent());
+			Assert.assertSame(results[0].getBook(), results[2].getBook());
+		}
+	}
+
+	/**
+	 * Simple json document convert.
+	 */
+	@Test
+	public void simpleJsonDocumentConvert() {
+		final String jsonStr = "{\"country\":\"CN\",\"extra\":{\"id\": 7, \"name\":\"王维\",\"tags\":[\"a\", \"b\"],\"meta\":{\"x\":1},\"none\":null},\"status\":\"PAID\"}";
+		final SimpleOrder order = JsonConvert.instance().convertFrom(SimpleOrder.class, jsonStr);
+		final SimpleOrder byteOrder = JsonConvert.instance().convertFrom(SimpleOrder.class, ByteBuffer.wrap(jsonStr.getBytes(StandardCharsets.UTF_8)));
+		Assert.assertEquals(jsonStr, JsonConvert.instance().convertTo(order)); // 未修改的内容按原样复制
+		Assert.assertEquals(jsonStr, new String(JsonConvert.instance().convertToBytes(byteOrder), StandardCharsets.UTF_8));
+		for (final JsonDocument extra : new JsonDocument[] { order.getExtra(), byteOrder.getExtra() }) {
+			Assert.assertFalse(extra.isArray());
+			Assert.assertEquals(5, extra.size());
+			Assert.assertEquals(7, (int) extra.<Integer> get("id", int.class));
+			Assert.assertEquals("王维", extra.getString("name"));
+			Assert.assertTrue(extra.getDocument("tags").isArray());
+			Assert.assertEquals("b", extra.getDocument("tags").get(1, String.class));
+			Assert.assertEquals("{\"x\":1}", extra.getDocument("meta").toString());
+			Assert.assertNull(extra.getDocument("none"));
+			Assert.assertNull(extra.getString("missing"));
+			extra.put("id", 8).remove("tags").put("note", "新");
+			Assert.assertEquals("{\"id\":8,\"name\":\"王维\",\"meta\":{\"x\":1},\"none\":null,\"note\":\"新\"}", extra.toString());
+			Assert.assertEquals(5, extra.size());
+		}
+		Assert.assertEquals(JsonConvert.instance().convertTo(order), new String(JsonConvert.instance().convertToBytes(byteOrder), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Simple construct convert.
+	 */
+	@Test
+	public void simpleConstructConvert() {
+		final io.github.jcharm.test.common.SimpleBean bean = new io.github.jcharm.test.common.SimpleBean("王维", 30, true);
+		bean.setTestDouble(1.5);
+		final io.github.jcharm.test.common.SimpleBean[] results = { JsonConvert.instance().convertFrom(io.github.jcharm.test.common.SimpleBean.class, JsonConvert.instance().convertTo(bean)), BsonConvert.instance().convertFrom(io.github.jcharm.test.common.SimpleBean.class, BsonConvert.instance().convertTo(bean)) };
+		for (final io.github.jcharm.test.common.SimpleBean result : results) {
+			Assert.assertEquals("王维", result.getTestName());
+			Assert.assertEquals(30, result.getTestAge());
+			Assert.assertTrue(result.isTestXieBie());
+			Assert.assertEquals(1.5, result.getTestDouble(), 0);
+		}
+	}
+
+	/**
+	 * Simple utf8 convert.
+	 */
+	@Test
+	public void simpleUTF8Convert() {
+		final String text = "JCharm 微服务框架 ©2016, order-id=12345678";
+		final byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+		Assert.assertArrayEquals(expected, CommonUtils.encodeUTF8ToBytes(text));
+		Assert.assertEquals(expected.length, CommonUtils.encodeUTF8Length(text));
+		final byte[] dest = new byte[(text.length() * 3) + 2];
+		Assert.assertEquals(expected.length + 2, CommonUtils.encodeUTF8(text, dest, 2));
+		Assert.assertEquals(text, CommonUtils.decodeUTF8ToString(dest, 2, expected.length));
+		Assert.assertEquals(text, new String(CommonUtils.decodeUTF8ToChars(expected)));
+		final char[] chars = new char[text.length() + 8]; // 重复使用的字符数组可以比字符串长
+		Assert.assertArrayEquals(expected, CommonUtils.encodeUTF8ToBytes(text, chars));
+		Assert.assertEquals(expected.length + 2, CommonUtils.encodeUTF8(text, chars, dest, 2));
+		Assert.assertEquals(text, CommonUtils.decodeUTF8ToString(dest, 2, expected.length));
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(expected.length);
+		Assert.assertEquals(expected.length, CommonUtils.encodeUTF8(text, buffer));
+		buffer.flip();
+		Assert.assertEquals(text, CommonUtils.decodeUTF8ToString(buffer, expected.length));
+		final Type type = new GenericsType<List<String>>() {
+		}.getType();
+		final List<String> list = Arrays.asList(text, "ascii", "", null, text + text);
+		final byte[] bytes = BsonConvert.instance().convertTo(type, list);
+		final ByteBuffer[] buffers = BsonConvert.instance().convertTo(() -> ByteBuffer.allocate(40), type, list); // 字符串跨多个ByteBuffer
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (final ByteBuffer bb : buffers) {
+			out.write(bb.array(), 0, bb.limit());
+		}
+		Assert.assertArrayEquals(bytes, out.toByteArray());
+		out.reset();
+		BsonConvert.instance().convertTo(out, type, list);
+		Assert.assertArrayEquals(bytes, out.toByteArray());
+		Assert.assertEquals(list, BsonConvert.instance().convertFrom(type, buffers));
+		Assert.assertEquals(list, MsgpackConvert.instance().convertFrom(type, MsgpackConvert.instance().convertTo(type, list)));
+	}
+
+	/**
+	 * Simple json stream writer convert.
+	 */
+	@Test
+	public void simpleJsonStreamWriterConvert() {
+		final JsonConvert convert = JsonConvert.instance();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		convert.convertTo(convert.pollJsonWriter(out), this.simpleBean);
+		Assert.assertEquals(convert.convertTo(this.simpleBean), new String(out.toByteArray(), StandardCharsets.UTF_8));
+		out.reset();
+		convert.convertTo(convert.pollJsonWriter(out), SimpleBean.class, this.simpleBean);
+		Assert.assertEquals(convert.convertTo(this.simpleBean), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Simple each convert consumer.
+	 */
+	@Test
+	public void simpleEachConvertConsumer() {
+		final List<SimpleBook> values = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			values.add(this.simpleBean.getSimpleBook());
+		}
+		final ByteArrayOutputStream jsonOut = new ByteArrayOutputStream();
+		final int[] outstanding = new int[1];
+		final JsonConvert jsonConvert = JsonConvert.instance();
+		jsonConvert.convertEachTo(() -> {
+			Assert.assertEquals(0, outstanding[0]++);
+			return ByteBuffer.allocate(64);
+		}, (buffer) -> {
+			outstanding[0]--;
+			jsonOut.write(buffer.array(), buffer.position(), buffer.remaining());
+		}, SimpleBook.class, values.stream());
+		Assert.assertEquals(0, outstanding[0]);
+		Assert.assertEquals(jsonConvert.convertTo(values), new String(jsonOut.toByteArray(), StandardCharsets.UTF_8));
+		final ByteArrayOutputStream bsonOut = new ByteArrayOutputStream();
+		final BsonConvert bsonConvert = BsonConvert.instance();
+		bsonConvert.convertEachTo(() -> {
+			Assert.assertEquals(0, outstanding[0]++);
+			return ByteBuffer.allocate(64);
+		}, (buffer) -> {
+			outstanding[0]--;
+			bsonOut.write(buffer.array(), buffer.position(), buffer.remaining());
+		}, SimpleBook.class, values.iterator());
+		Assert.assertEquals(0, outstanding[0]);
+		final List<SimpleBook> books = bsonConvert.convertFrom(new GenericsType<List<SimpleBook>>() {
+		}.getType(), bsonOut.toByteArray());
+		Assert.assertEquals(values.size(), books.size());
+		Assert.assertEquals(this.simpleBean.getSimpleBook().getBookName(), books.get(49).getBookName());
+	}
+
+	/**
+	 * Simple json empty input.
+	 */
+	@Test
+	public void simpleJsonEmptyInput() {
+		final JsonConvert convert = JsonConvert.instance();
+		final JsonProjection projection = new JsonProjection().path("route.region", String.class);
+		for (final String text : new String[] { "", " \r\n\t " }) {
+			try {
+				new JsonDeserializeReader(text).skipValue();
+				Assert.fail("skipValue must fail on '" + text + "'");
+			} catch (final ConvertException e) {
+			}
+			try {
+				convert.extract(text, projection);
+				Assert.fail("extract must fail on '" + text + "'");
+			} catch (final ConvertException e) {
+			}
+			try {
+				convert.extract(new ByteBuffer[] { ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)) }, projection);
+				Assert.fail("extract must fail on '" + text + "'");
+			} catch (final ConvertException e) {
+			}
+		}
+	}
+
+	/**
+	 * Simple msgpack temporal convert.
+	 */
+	@Test
+	public void simpleMsgpackTemporalConvert() {
+		final MsgpackConvert convert = MsgpackConvert.instance();
+		final LocalDateTime[] values = { LocalDateTime.of(2016, 5, 6, 7, 8, 9, 10), LocalDateTime.MIN, LocalDateTime.MAX };
+		Assert.assertArrayEquals(values, convert.convertFrom(LocalDateTime[].class, convert.convertTo(values)));
+		for (final byte[] bytes : new byte[][] { convert.convertTo(values), convert.convertTo(this.simpleBean) }) {
+			final byte[] content = Arrays.copyOf(bytes, bytes.length + 1);
+			content[bytes.length] = 0x07; // 紧跟在后面的值, 跳过时必须刚好消耗完前一个值的全部字节
+			final MsgpackDeserializeReader reader = new MsgpackDeserializeReader(content);
+			reader.skipValue();
+			Assert.assertEquals(7, reader.readInt());
+		}
+	}
+
+	/**
+	 * Simple pooled writer to array.
+	 */
+	@Test
+	public void simplePooledWriterToArray() {
+		final char[] chars = new char[3000];
+		Arrays.fill(chars, 'a');
+		final MsgpackConvert msgpackConvert = MsgpackConvertFactory.createFactory().getConvert();
+		final byte[] first = msgpackConvert.convertTo(new String(chars)); // 输出刚好写满字节内容数组
+		Arrays.fill(chars, 'b');
+		final byte[] second = msgpackConvert.convertTo(new String(chars));
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals(new String(chars).replace('b', 'a'), msgpackConvert.convertFrom(String.class, first));
+		Assert.assertEquals(new String(chars), msgpackConvert.convertFrom(String.class, second));
+		final BsonConvert bsonConvert = BsonConvertFactory.createFactory().getConvert();
+		final byte[] bytes = new byte[1020];
+		final byte[] bsonFirst = bsonConvert.convertTo(bytes); // 4字节长度加1020字节内容, 刚好写满默认的1024字节
+		Arrays.fill(bytes, (byte) 1);
+		final byte[] bsonSecond = bsonConvert.convertTo(bytes);
+		Assert.assertNotSame(bsonFirst, bsonSecond);
+		Assert.assertArrayEquals(new byte[1020], bsonConvert.convertFrom(byte[].class, bsonFirst));
+		Assert.assertArrayEquals(bytes, bsonConvert.convertFrom(byte[].class, bsonSecond));
+	}
+
+	/**
+	 * Simple discarded factory collect.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+	@Test
+	public void simpleDiscardedFactoryCollect() throws InterruptedException {
+		ConvertFactory factory = JsonConvertFactory.instance().createChildFactory();
+		factory.reloadParser(SimpleBook.class);
+		Assert.assertNotNull(factory.loadSerializeParser(SimpleBook.class));
+		Assert.assertNotNull(factory.loadDeSerializeParser(SimpleBook.class));
+		final WeakReference<ConvertFactory> ref = new WeakReference<>(factory);
+		factory = null;
+		for (int i = 0; (i < 50) && (ref.get() != null); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assert.assertNull(ref.get());
+	}
+
+	/**
+	 * Simple construct without setter convert.
+	 */
+	@Test
+	public void simpleConstructWithoutSetterConvert() {
+		final SimplePoint point = new SimplePoint("原点", -3, 1L << 40);
+		final JsonConvert jsonConvert = JsonConvert.instance();
+		final BsonConvert bsonConvert = BsonConvert.instance();
+		final MsgpackConvert msgpackConvert = MsgpackConvert.instance();
+		final SimplePoint[] results = { jsonConvert.convertFrom(SimplePoint.class, jsonConvert.convertTo(point)), bsonConvert.convertFrom(SimplePoint.class, bsonConvert.convertTo(point)), msgpackConvert.convertFrom(SimplePoint.class, msgpackConvert.convertTo(point)) };
+		for (final SimplePoint result : results) {
+			Assert.assertEquals("原点", result.getName());
+			Assert.assertEquals(-3, result.getX());
+			Assert.assertEquals(1L << 40, result.getY());
+		}
+	}
+
+	/**
+	 * Simple msgpack non ascii field convert.
+	 */
+	@Test
+	public void simpleMsgpackNonAsciiFieldConvert() {
+		final MsgpackConvertFactory factory = MsgpackConvertFactory.createFactory();
+		factory.registerConvertColumn(SimpleBook.class, "bookName", "书名");
+		final MsgpackConvert convert = factory.getConvert();
+		final SimpleBook book = new SimpleBook();
+		book.setBookName("张三");
+		book.setBookPrice(12.5);
+		final byte[] bytes = convert.convertTo(book);
+		final SimpleBook[] results = { convert.convertFrom(SimpleBook.class, bytes), convert.convertFrom(SimpleBook.class, ByteBuffer.wrap(bytes)), convert.convertFrom(SimpleBook.class, new ByteArrayInputStream(bytes)) };
+		for (final SimpleBook result : results) {
+			Assert.assertEquals("张三", result.getBookName());
+			Assert.assertEquals(12.5, result.getBookPrice(), 0);
+		}
+	}
+
+	/**
+	 * Simple bson temporal convert.
+	 */
+	@Test
+	public void simpleBsonTemporalConvert() {
+		final BsonConvert convert = BsonConvert.instance();
+		final LocalDate[] dates = { LocalDate.of(2016, 5, 6), LocalDate.of(0, 1, 1), LocalDate.of(10000, 12, 31), LocalDate.of(-5, 2, 3) };
+		Assert.assertArrayEquals(dates, convert.convertFrom(LocalDate[].class, convert.convertTo(dates)));
+		final LocalTime[] times = { LocalTime.MIDNIGHT, LocalTime.of(7, 8, 9, 10), LocalTime.of(10, 15, 30, 500000000), LocalTime.MAX };
+		Assert.assertArrayEquals(times, convert.convertFrom(LocalTime[].class, convert.convertTo(times)));
+		final LocalDateTime[] dateTimes = { LocalDateTime.of(2016, 5, 6, 7, 8, 9), LocalDateTime.of(10000, 1, 1, 0, 0) };
+		Assert.assertArrayEquals(dateTimes, convert.convertFrom(LocalDateTime[].class, convert.convertTo(dateTimes)));
+		final byte[] bytes = convert.convertTo(new LocalDate[] { LocalDate.of(2016, 5, 6) });
+		final int pos = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("2016-05-06");
+		bytes[pos + 5] = '1';
+		bytes[pos + 6] = '3';
+		try {
+			convert.convertFrom(LocalDate[].class, bytes);
+			Assert.fail("2016-13-06 must fail");
+		} catch (final ConvertException e) {
+		}
+	}
+
 }
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.test.source;
+
+import java.util.Date;
+
+import io.github.jcharm.source.annotation.EntityId;
+import io.github.jcharm.source.annotation.EntityVirtual;
+
+/**
+ * 测试EntityCache比较字段差异的虚拟Entity, 包含可变类型的字段.
+ */
+@EntityVirtual
+public class DiffTestEntity {
+
+	@EntityId
+	private int id;
+
+	private String name;
+
+	private byte[] data;
+
+	private Date time;
+
+	/**
+	 * Instantiates a new diff test entity.
+	 */
+	public DiffTestEntity() {
+	}
+
+	/**
+	 * Instantiates a new diff test entity.
+	 *
+	 * @param id the id
+	 * @param name the name
+	 * @param data the data
+	 * @param time the time
+	 */
+	public DiffTestEntity(final int id, final String name, final byte[] data, final Date time) {
+		this.id = id;
+		this.name = name;
+		this.data = data;
+		this.time = time;
+	}
+
+	/**
+	 * Gets the id.
+	 *
+	 * @return the id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Sets the id.
+	 *
+	 * @param id the new id
+	 */
+	public void setId(final int id) {
+		this.id = id;
+	}
+
+	/**
+	 * Gets the name.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Sets the name.
+	 *
+	 * @param name the new name
+	 */
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gets the data.
+	 *
+	 * @return the data
+	 */
+	public byte[] getData() {
+		return this.data;
+	}
+
+	/**
+	 * Sets the data.
+	 *
+	 * @param data the new data
+	 */
+	public void setData(final byte[] data) {
+		this.data = data;
+	}
+
+	/**
+	 * Gets the time.
+	 *
+	 * @return the time
+	 */
+	public Date getTime() {
+		return this.time;
+	}
+
+	/**
+	 * Sets the time.
+	 *
+	 * @param time the new time
+	 */
+	public void setTime(final Date time) {
+		this.time = time;
+	}
+
+}
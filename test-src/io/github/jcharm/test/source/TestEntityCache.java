@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2016, Wang Wei (JCharm@aliyun.com) All rights reserved.
+ */
+package io.github.jcharm.test.source;
+
+import java.util.Date;
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.jcharm.source.EntityCache;
+import io.github.jcharm.source.EntityInfo;
+
+/**
+ * EntityCache测试类, 使用虚拟Entity, 不需要数据库.
+ */
+public class TestEntityCache {
+
+	/**
+	 * Test diff.
+	 */
+	@Test
+	public void testDiff() {
+		final EntityCache<DiffTestEntity> cache = EntityInfo.load(DiffTestEntity.class, 0, false, new Properties(), null).getCache();
+		cache.insert(new DiffTestEntity(1, "DanielWang", new byte[] { 1, 2, 3 }, new Date(1000L)));
+		// 值相同的新对象, 可以跳过更新
+		Assert.assertEquals(0, cache.diff(new DiffTestEntity(1, "DanielWang", new byte[] { 1, 2, 3 }, new Date(1000L))));
+		final DiffTestEntity changed = new DiffTestEntity(1, "DanielWang", new byte[] { 1, 2, 4 }, new Date(2000L));
+		long mask = cache.diff(changed);
+		Assert.assertFalse(cache.isChanged(mask, "name"));
+		Assert.assertTrue(cache.isChanged(mask, "data"));
+		Assert.assertTrue(cache.isChanged(mask, "time"));
+		// find返回浅拷贝, 原地修改的数组、Date与缓存共用, 不能视为未改变
+		final DiffTestEntity found = cache.find(1);
+		found.getData()[0] = 9;
+		found.getTime().setTime(3000L);
+		mask = cache.diff(found);
+		Assert.assertFalse(cache.isChanged(mask, "name"));
+		Assert.assertTrue(cache.isChanged(mask, "data"));
+		Assert.assertTrue(cache.isChanged(mask, "time"));
+		Assert.assertTrue(cache.update(found) != 0);
+	}
+
+}